@@ -0,0 +1,83 @@
+package org.decepticons.linkshortener.api.click;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Lookup latency of {@link GeoIpTable} on a synthetic table sized like a
+ * country-level GeoIP export (about 250k ranges).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class GeoIpTableBenchmark {
+
+  private static final int RANGES = 250_000;
+  private static final int ADDRESSES = 4096;
+
+  private GeoIpTable table;
+  private long[] numericAddresses;
+  private String[] textAddresses;
+  private int next;
+
+  /**
+   * Builds the table and a fixed set of random addresses to look up.
+   *
+   * @throws IOException never, the CSV is built in memory
+   */
+  @Setup
+  public void setUp() throws IOException {
+    Random random = new Random(42);
+    long step = 0x1_0000_0000L / RANGES;
+    StringBuilder csv = new StringBuilder(RANGES * 24);
+    for (int i = 0; i < RANGES; i++) {
+      long start = i * step;
+      char first = (char) ('A' + random.nextInt(25));
+      char second = (char) ('A' + random.nextInt(26));
+      csv.append(start).append(',').append(start + step - 2).append(',')
+          .append(first).append(second).append('\n');
+    }
+    table = GeoIpTable.parse(new BufferedReader(new StringReader(csv.toString())));
+
+    numericAddresses = new long[ADDRESSES];
+    textAddresses = new String[ADDRESSES];
+    for (int i = 0; i < ADDRESSES; i++) {
+      long ip = random.nextLong(0x1_0000_0000L);
+      numericAddresses[i] = ip;
+      textAddresses[i] = (ip >>> 24) + "." + ((ip >>> 16) & 0xFF) + "."
+          + ((ip >>> 8) & 0xFF) + "." + (ip & 0xFF);
+    }
+  }
+
+  /**
+   * Binary search on an already parsed address.
+   *
+   * @return the country id, returned to keep the lookup alive
+   */
+  @Benchmark
+  public short lookupNumeric() {
+    next = (next + 1) & (ADDRESSES - 1);
+    return table.lookup(numericAddresses[next]);
+  }
+
+  /**
+   * Address parsing plus binary search, as done per redirect.
+   *
+   * @return the country id, returned to keep the lookup alive
+   */
+  @Benchmark
+  public short lookupText() {
+    next = (next + 1) & (ADDRESSES - 1);
+    return table.lookup(textAddresses[next]);
+  }
+}
@@ -0,0 +1,76 @@
+package org.decepticons.linkshortener.api.code;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * In-memory cost of choosing a short code as the {@code links} table grows:
+ * the length choice of the keyspace monitor with the Base62 encoding of a
+ * random candidate, and the next code of a leased sequence block. The monitor
+ * is primed with the given number of existing links (spread over 7 and 8
+ * characters the way the adaptive length would leave them) and the sequence
+ * generator starts at the matching block. This is not the latency of a
+ * create: the collision checks and inserts of {@code LinkService.createLink}
+ * are not included.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class CodeChoiceBenchmark {
+
+  private static final long BLOCK_SIZE = 1000;
+
+  @Param({"1000000", "100000000", "1000000000"})
+  private long links;
+
+  private KeyspaceMonitor monitor;
+  private BlockLeasedCodeGenerator sequenceGenerator;
+  private final SplittableRandom random = new SplittableRandom(42);
+
+  /**
+   * Primes the monitor and the sequence generator for the table size.
+   */
+  @Setup
+  public void setUp() {
+    long[] counts = new long[Base62.MAX_LENGTH + 1];
+    long sevenCharLimit = Base62.keyspace(7) / 1000;
+    counts[7] = Math.min(links, sevenCharLimit);
+    counts[8] = links - counts[7];
+    monitor = new KeyspaceMonitor(() -> counts, new SimpleMeterRegistry(), 7, 0.001);
+
+    AtomicLong nextBlock = new AtomicLong(links / BLOCK_SIZE);
+    sequenceGenerator = new BlockLeasedCodeGenerator(nextBlock::getAndIncrement, BLOCK_SIZE, 7,
+        new CodeScrambler("benchmark"));
+  }
+
+  /**
+   * Length choice plus one random candidate, as drawn by the code pool.
+   *
+   * @return the candidate, returned to keep it alive
+   */
+  @Benchmark
+  public String randomCandidate() {
+    int length = monitor.currentLength();
+    return Base62.encode(random.nextLong(Base62.keyspace(length)), length);
+  }
+
+  /**
+   * Next scrambled code of a leased sequence block.
+   *
+   * @return the code, returned to keep it alive
+   */
+  @Benchmark
+  public String sequenceCode() {
+    return sequenceGenerator.nextCode();
+  }
+}
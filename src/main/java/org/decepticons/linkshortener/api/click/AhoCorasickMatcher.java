@@ -0,0 +1,163 @@
+package org.decepticons.linkshortener.api.click;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.Queue;
+
+/**
+ * Immutable, case-insensitive multi-substring matcher.
+ * The patterns are compiled into an Aho-Corasick automaton whose failure links
+ * are folded into a dense transition table, so matching is one array lookup per
+ * input character with no allocation. Characters that occur in no pattern share
+ * a single input class, which keeps the table small.
+ * Only ASCII patterns are supported; patterns with other characters are ignored.
+ */
+public final class AhoCorasickMatcher {
+
+  private static final int ASCII_SIZE = 128;
+
+  private final int[] charClass;
+  private final int classCount;
+  private final int[] transitions;
+  private final boolean[] accepting;
+
+  private AhoCorasickMatcher(int[] charClass, int classCount, int[] transitions,
+                             boolean[] accepting) {
+    this.charClass = charClass;
+    this.classCount = classCount;
+    this.transitions = transitions;
+    this.accepting = accepting;
+  }
+
+  /**
+   * Compiles the given patterns. Blank and non-ASCII patterns are skipped.
+   *
+   * @param patterns the substrings to look for
+   * @return a matcher reporting whether any of the patterns occurs in a text
+   */
+  public static AhoCorasickMatcher compile(Collection<String> patterns) {
+    List<String> accepted = new ArrayList<>(patterns.size());
+    for (String pattern : patterns) {
+      if (pattern != null && !pattern.isBlank() && isAscii(pattern)) {
+        accepted.add(pattern.toLowerCase(Locale.ROOT));
+      }
+    }
+
+    int[] charClass = new int[ASCII_SIZE];
+    int classCount = 1;
+    for (String pattern : accepted) {
+      for (int i = 0; i < pattern.length(); i++) {
+        char c = pattern.charAt(i);
+        if (charClass[c] == 0) {
+          charClass[c] = classCount++;
+        }
+      }
+    }
+    for (char c = 'a'; c <= 'z'; c++) {
+      charClass[Character.toUpperCase(c)] = charClass[c];
+    }
+
+    List<int[]> trie = new ArrayList<>();
+    List<Boolean> terminal = new ArrayList<>();
+    trie.add(newRow(classCount));
+    terminal.add(Boolean.FALSE);
+    for (String pattern : accepted) {
+      int state = 0;
+      for (int i = 0; i < pattern.length(); i++) {
+        int cls = charClass[pattern.charAt(i)];
+        if (trie.get(state)[cls] < 0) {
+          trie.get(state)[cls] = trie.size();
+          trie.add(newRow(classCount));
+          terminal.add(Boolean.FALSE);
+        }
+        state = trie.get(state)[cls];
+      }
+      terminal.set(state, Boolean.TRUE);
+    }
+
+    int stateCount = trie.size();
+    int[] transitions = new int[stateCount * classCount];
+    boolean[] accepting = new boolean[stateCount];
+    int[] failure = new int[stateCount];
+    for (int s = 0; s < stateCount; s++) {
+      accepting[s] = terminal.get(s);
+    }
+
+    Queue<Integer> queue = new ArrayDeque<>();
+    for (int cls = 0; cls < classCount; cls++) {
+      int child = trie.get(0)[cls];
+      if (child < 0) {
+        transitions[cls] = 0;
+      } else {
+        transitions[cls] = child;
+        failure[child] = 0;
+        queue.add(child);
+      }
+    }
+    while (!queue.isEmpty()) {
+      int state = queue.remove();
+      int[] row = trie.get(state);
+      int fallback = failure[state];
+      for (int cls = 0; cls < classCount; cls++) {
+        int child = row[cls];
+        if (child < 0) {
+          transitions[state * classCount + cls] = transitions[fallback * classCount + cls];
+        } else {
+          transitions[state * classCount + cls] = child;
+          failure[child] = transitions[fallback * classCount + cls];
+          accepting[child] |= accepting[failure[child]];
+          queue.add(child);
+        }
+      }
+    }
+
+    return new AhoCorasickMatcher(charClass, classCount, transitions, accepting);
+  }
+
+  /**
+   * Tells whether any pattern occurs in the text, ignoring ASCII case.
+   *
+   * @param text the text to scan
+   * @return {@code true} on the first pattern found
+   */
+  public boolean matches(CharSequence text) {
+    int state = 0;
+    for (int i = 0; i < text.length(); i++) {
+      char c = text.charAt(i);
+      int cls = c < ASCII_SIZE ? charClass[c] : 0;
+      state = transitions[state * classCount + cls];
+      if (accepting[state]) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Returns the number of automaton states, which is bounded by the total pattern length.
+   *
+   * @return the state count
+   */
+  public int stateCount() {
+    return accepting.length;
+  }
+
+  private static int[] newRow(int classCount) {
+    int[] row = new int[classCount];
+    Arrays.fill(row, -1);
+    return row;
+  }
+
+  private static boolean isAscii(String pattern) {
+    for (int i = 0; i < pattern.length(); i++) {
+      if (pattern.charAt(i) >= ASCII_SIZE) {
+        return false;
+      }
+    }
+    return true;
+  }
+}
@@ -0,0 +1,142 @@
+package org.decepticons.linkshortener.api.click;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Classifies redirect requests as bot or human traffic by their user agent.
+ * Signatures are compiled into an {@link AhoCorasickMatcher}, and verdicts for
+ * recently seen user-agent strings are memoized in a small direct-mapped cache.
+ * The signature list comes from {@code bot-signatures.txt} on the classpath or,
+ * when {@code link.bot-filter.signatures-file} is set, from a file that is
+ * reloaded whenever it changes.
+ */
+@Component
+public class BotClassifier {
+
+  private static final Logger LOG = LoggerFactory.getLogger(BotClassifier.class);
+
+  private static final String DEFAULT_SIGNATURES = "/bot-signatures.txt";
+
+  /**
+   * Number of memoized verdicts; must be a power of two.
+   */
+  private static final int CACHE_SIZE = 4096;
+
+  private final Path signaturesFile;
+  private volatile Snapshot snapshot;
+  private long loadedModifiedMillis = -1L;
+
+  /**
+   * Creates the classifier and compiles the initial signature list.
+   *
+   * @param signaturesFile optional path of an external signature file, blank for the built-in list
+   */
+  public BotClassifier(@Value("${link.bot-filter.signatures-file:}") String signaturesFile) {
+    this.signaturesFile = signaturesFile.isBlank() ? null : Path.of(signaturesFile);
+    this.snapshot = compile(loadDefaultSignatures());
+    reloadIfChanged();
+  }
+
+  /**
+   * Tells whether a request with the given user agent comes from a bot.
+   * Requests without a user agent are treated as bots.
+   *
+   * @param userAgent the {@code User-Agent} header, may be {@code null}
+   * @return {@code true} if the click should not be counted
+   */
+  public boolean isBot(String userAgent) {
+    if (userAgent == null || userAgent.isBlank()) {
+      return true;
+    }
+    Snapshot current = snapshot;
+    int index = userAgent.hashCode() & (CACHE_SIZE - 1);
+    Verdict cached = current.cache()[index];
+    if (cached != null && cached.userAgent().equals(userAgent)) {
+      return cached.bot();
+    }
+    boolean bot = current.matcher().matches(userAgent);
+    current.cache()[index] = new Verdict(userAgent, bot);
+    return bot;
+  }
+
+  /**
+   * Recompiles the signatures if the external signature file has changed.
+   * A file that cannot be read keeps the previous signatures in place.
+   */
+  @Scheduled(fixedDelayString = "${link.bot-filter.reload-interval-ms:30000}")
+  public synchronized void reloadIfChanged() {
+    if (signaturesFile == null) {
+      return;
+    }
+    try {
+      long modified = Files.getLastModifiedTime(signaturesFile).toMillis();
+      if (modified == loadedModifiedMillis) {
+        return;
+      }
+      List<String> signatures;
+      try (BufferedReader reader = Files.newBufferedReader(signaturesFile)) {
+        signatures = parse(reader);
+      }
+      snapshot = compile(signatures);
+      loadedModifiedMillis = modified;
+      LOG.info("Loaded {} bot signatures from {}", signatures.size(), signaturesFile);
+    } catch (IOException | UncheckedIOException e) {
+      LOG.warn("Cannot read bot signatures from {}, keeping the current list: {}",
+          signaturesFile, e.getMessage());
+    }
+  }
+
+  private static List<String> loadDefaultSignatures() {
+    try (InputStream in = BotClassifier.class.getResourceAsStream(DEFAULT_SIGNATURES)) {
+      if (in == null) {
+        throw new IllegalStateException("Missing classpath resource " + DEFAULT_SIGNATURES);
+      }
+      return parse(new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8)));
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  private static List<String> parse(BufferedReader reader) {
+    return reader.lines()
+        .map(String::trim)
+        .filter(line -> !line.isEmpty() && !line.startsWith("#"))
+        .toList();
+  }
+
+  private static Snapshot compile(List<String> signatures) {
+    return new Snapshot(AhoCorasickMatcher.compile(signatures), new Verdict[CACHE_SIZE]);
+  }
+
+  /**
+   * Memoized classification of one user-agent string.
+   *
+   * @param userAgent the classified user agent
+   * @param bot the verdict
+   */
+  private record Verdict(String userAgent, boolean bot) {
+  }
+
+  /**
+   * Compiled signatures together with the verdict cache that belongs to them.
+   * Cache slots are written without locking; a lost update only costs a recomputation.
+   *
+   * @param matcher the compiled signatures
+   * @param cache direct-mapped verdict cache indexed by user-agent hash
+   */
+  private record Snapshot(AhoCorasickMatcher matcher, Verdict[] cache) {
+  }
+}
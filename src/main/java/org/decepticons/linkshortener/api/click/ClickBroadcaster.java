@@ -0,0 +1,208 @@
+package org.decepticons.linkshortener.api.click;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.decepticons.linkshortener.api.dto.LiveClickDto;
+import org.decepticons.linkshortener.api.dto.LiveClicksDto;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Fans redirect clicks out to live Server-Sent Events subscribers.
+ * There is one channel per subscribed short code holding a shared
+ * {@link LiveClickBuffer}; publishing a click only appends to that buffer, so
+ * the redirect path costs the same for one or ten thousand dashboards, and
+ * nothing at all for codes nobody watches. A dispatcher thread coalesces the
+ * buffered clicks into at most {@code link.live.max-events-per-second}
+ * messages per subscriber and hands them to virtual threads for sending, so a
+ * slow client only delays itself. A subscriber still sending its previous
+ * message skips the tick and catches up later, losing the oldest clicks if
+ * it falls more than the buffer size behind.
+ */
+@Component
+public class ClickBroadcaster {
+
+  private static final String EVENT_NAME = "clicks";
+
+  private final Map<String, Channel> channels = new ConcurrentHashMap<>();
+  private final long dispatchIntervalMs;
+  private final int bufferSize;
+  private final long timeoutMs;
+  private final long heartbeatMs;
+  private ScheduledExecutorService dispatcher;
+  private ExecutorService senders;
+
+  /**
+   * Creates the broadcaster.
+   *
+   * @param maxEventsPerSecond the maximum number of messages per subscriber and second
+   * @param bufferSize the number of latest clicks kept per code for slow subscribers
+   * @param timeoutMs the lifetime of a subscription before the client has to reconnect
+   * @param heartbeatMs the idle time after which a keep-alive comment is sent
+   */
+  public ClickBroadcaster(
+      @Value("${link.live.max-events-per-second:5}") int maxEventsPerSecond,
+      @Value("${link.live.buffer-size:256}") int bufferSize,
+      @Value("${link.live.timeout-ms:1800000}") long timeoutMs,
+      @Value("${link.live.heartbeat-ms:15000}") long heartbeatMs
+  ) {
+    this.dispatchIntervalMs = Math.max(1, 1000 / Math.max(1, maxEventsPerSecond));
+    this.bufferSize = bufferSize;
+    this.timeoutMs = timeoutMs;
+    this.heartbeatMs = heartbeatMs;
+  }
+
+  /**
+   * Starts the dispatcher thread.
+   */
+  @PostConstruct
+  public void start() {
+    senders = Executors.newVirtualThreadPerTaskExecutor();
+    dispatcher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+      Thread thread = new Thread(runnable, "live-click-dispatcher");
+      thread.setDaemon(true);
+      return thread;
+    });
+    dispatcher.scheduleAtFixedRate(
+        this::dispatch, dispatchIntervalMs, dispatchIntervalMs, TimeUnit.MILLISECONDS);
+  }
+
+  /**
+   * Publishes a click to the live subscribers of its code, if there are any.
+   *
+   * @param code the short code of the clicked link
+   * @param click the click
+   */
+  public void publish(String code, LiveClickDto click) {
+    Channel channel = channels.get(code);
+    if (channel != null) {
+      channel.buffer.append(click);
+    }
+  }
+
+  /**
+   * Opens a live stream of the clicks of the given code.
+   *
+   * @param code the short code to watch
+   * @return the emitter to return from the controller
+   */
+  public SseEmitter subscribe(String code) {
+    SseEmitter emitter = new SseEmitter(timeoutMs);
+    Subscriber[] holder = new Subscriber[1];
+    channels.compute(code, (key, channel) -> {
+      Channel target = channel == null ? new Channel(bufferSize) : channel;
+      holder[0] = new Subscriber(emitter, target.buffer.position());
+      target.subscribers.add(holder[0]);
+      return target;
+    });
+    Subscriber subscriber = holder[0];
+    Runnable unsubscribe = () -> unsubscribe(code, subscriber);
+    emitter.onCompletion(unsubscribe);
+    emitter.onTimeout(unsubscribe);
+    emitter.onError(error -> unsubscribe.run());
+    return emitter;
+  }
+
+  /**
+   * Returns the number of open subscriptions of a code.
+   *
+   * @param code the short code
+   * @return the subscriber count
+   */
+  public int subscriberCount(String code) {
+    Channel channel = channels.get(code);
+    return channel == null ? 0 : channel.subscribers.size();
+  }
+
+  /**
+   * Stops dispatching and closes all open streams.
+   */
+  @PreDestroy
+  public void close() {
+    if (dispatcher != null) {
+      dispatcher.shutdownNow();
+      senders.shutdownNow();
+    }
+    channels.values().forEach(channel ->
+        channel.subscribers.forEach(subscriber -> subscriber.emitter.complete()));
+    channels.clear();
+  }
+
+  private void unsubscribe(String code, Subscriber subscriber) {
+    channels.computeIfPresent(code, (key, channel) -> {
+      channel.subscribers.remove(subscriber);
+      return channel.subscribers.isEmpty() ? null : channel;
+    });
+  }
+
+  private void dispatch() {
+    long now = System.currentTimeMillis();
+    channels.values().forEach(channel -> {
+      long position = channel.buffer.position();
+      for (Subscriber subscriber : channel.subscribers) {
+        boolean pending = subscriber.cursor < position;
+        boolean idle = now - subscriber.lastSentMillis >= heartbeatMs;
+        if ((pending || idle) && subscriber.sending.compareAndSet(false, true)) {
+          LiveClicksDto message = pending
+              ? channel.buffer.read(subscriber.cursor, position) : null;
+          subscriber.cursor = position;
+          subscriber.lastSentMillis = now;
+          senders.execute(() -> send(subscriber, message));
+        }
+      }
+    });
+  }
+
+  private static void send(Subscriber subscriber, LiveClicksDto message) {
+    try {
+      if (message == null) {
+        subscriber.emitter.send(SseEmitter.event().comment("keep-alive"));
+      } else {
+        subscriber.emitter.send(SseEmitter.event().name(EVENT_NAME).data(message));
+      }
+    } catch (IOException | IllegalStateException e) {
+      subscriber.emitter.completeWithError(e);
+    } finally {
+      subscriber.sending.set(false);
+    }
+  }
+
+  /**
+   * The shared buffer and the subscribers of one code.
+   */
+  private static final class Channel {
+    private final LiveClickBuffer buffer;
+    private final List<Subscriber> subscribers = new CopyOnWriteArrayList<>();
+
+    private Channel(int bufferSize) {
+      this.buffer = new LiveClickBuffer(bufferSize);
+    }
+  }
+
+  /**
+   * One open stream and its read position in the channel buffer.
+   * The position is only touched by the dispatcher thread.
+   */
+  private static final class Subscriber {
+    private final SseEmitter emitter;
+    private final AtomicBoolean sending = new AtomicBoolean();
+    private long cursor;
+    private long lastSentMillis = System.currentTimeMillis();
+
+    private Subscriber(SseEmitter emitter, long cursor) {
+      this.emitter = emitter;
+      this.cursor = cursor;
+    }
+  }
+}
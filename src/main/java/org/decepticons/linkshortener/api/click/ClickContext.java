@@ -0,0 +1,18 @@
+package org.decepticons.linkshortener.api.click;
+
+/**
+ * Request-derived details recorded together with a counted click.
+ *
+ * @param country two-letter country code of the client, or {@code null} if unknown
+ * @param referrer registrable domain of the referring site, or {@code null} for direct traffic
+ */
+public record ClickContext(
+    String country,
+    String referrer
+) {
+
+  /**
+   * Context of a click about which nothing is known.
+   */
+  public static final ClickContext UNKNOWN = new ClickContext(null, null);
+}
@@ -0,0 +1,123 @@
+package org.decepticons.linkshortener.api.click;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Suppresses repeated clicks of the same visitor on the same link within a
+ * short window, so refresh storms and double taps are counted once.
+ * A visitor is identified by a 64-bit fingerprint of the link code, client
+ * address and user agent. Fingerprints are kept in rotating time buckets of a
+ * third of the window each, and a click is a duplicate if its fingerprint is in
+ * the current bucket or one of the three before it. The buckets are split into
+ * lock stripes and their total size is capped by {@code link.dedup.max-entries};
+ * when a bucket is full, further clicks are counted rather than suppressed.
+ */
+@Component
+public class ClickDeduplicator {
+
+  /**
+   * Number of older buckets checked besides the current one.
+   */
+  private static final int WINDOW_BUCKETS = 3;
+
+  private static final int BUCKETS = WINDOW_BUCKETS + 1;
+
+  private static final int STRIPES = 16;
+
+  private static final long FNV_OFFSET = 0xCBF29CE484222325L;
+
+  private static final long FNV_PRIME = 0x100000001B3L;
+
+  private final long bucketMillis;
+  private final Stripe[] stripes;
+
+  /**
+   * Creates the deduplicator.
+   *
+   * @param windowSeconds the dedup window; {@code 0} counts every click
+   * @param maxEntries the maximum number of fingerprints held in memory
+   */
+  public ClickDeduplicator(@Value("${link.dedup.window-seconds:0}") long windowSeconds,
+                           @Value("${link.dedup.max-entries:262144}") int maxEntries) {
+    this.bucketMillis = windowSeconds <= 0
+        ? 0 : Math.max(1, windowSeconds * 1000 / WINDOW_BUCKETS);
+    int entriesPerBucket = Math.max(1, maxEntries / (STRIPES * BUCKETS));
+    this.stripes = new Stripe[bucketMillis == 0 ? 0 : STRIPES];
+    for (int i = 0; i < stripes.length; i++) {
+      stripes[i] = new Stripe(entriesPerBucket);
+    }
+  }
+
+  /**
+   * Tells whether a click should be counted, remembering the visitor for the window.
+   *
+   * @param code the short code of the clicked link
+   * @param address the client address, may be {@code null}
+   * @param userAgent the {@code User-Agent} header, may be {@code null}
+   * @return {@code false} if the same visitor clicked the link within the window
+   */
+  public boolean isFirstClick(String code, String address, String userAgent) {
+    if (bucketMillis == 0) {
+      return true;
+    }
+    return isFirstClick(fingerprint(code, address, userAgent), System.currentTimeMillis());
+  }
+
+  boolean isFirstClick(long fingerprint, long nowMillis) {
+    Stripe stripe = stripes[(int) (fingerprint >>> 60) & (STRIPES - 1)];
+    long epoch = nowMillis / bucketMillis;
+    synchronized (stripe) {
+      for (long e = epoch - WINDOW_BUCKETS; e <= epoch; e++) {
+        int index = (int) Math.floorMod(e, (long) BUCKETS);
+        if (stripe.epochs[index] == e && stripe.buckets[index].contains(fingerprint)) {
+          return false;
+        }
+      }
+      int current = (int) Math.floorMod(epoch, (long) BUCKETS);
+      if (stripe.epochs[current] != epoch) {
+        stripe.buckets[current].clear();
+        stripe.epochs[current] = epoch;
+      }
+      stripe.buckets[current].add(fingerprint);
+      return true;
+    }
+  }
+
+  static long fingerprint(String code, String address, String userAgent) {
+    long hash = FNV_OFFSET;
+    hash = mix(hash, code);
+    hash = mix(hash, address);
+    hash = mix(hash, userAgent);
+    hash ^= hash >>> 33;
+    hash *= 0xFF51AFD7ED558CCDL;
+    hash ^= hash >>> 33;
+    hash *= 0xC4CEB9FE1A85EC53L;
+    return hash ^ (hash >>> 33);
+  }
+
+  private static long mix(long hash, String value) {
+    long result = hash;
+    if (value != null) {
+      for (int i = 0; i < value.length(); i++) {
+        result = (result ^ value.charAt(i)) * FNV_PRIME;
+      }
+    }
+    return (result ^ 0xFF) * FNV_PRIME;
+  }
+
+  /**
+   * The rotating buckets of one lock stripe.
+   */
+  private static final class Stripe {
+    private final FingerprintSet[] buckets = new FingerprintSet[BUCKETS];
+    private final long[] epochs = new long[BUCKETS];
+
+    private Stripe(int entriesPerBucket) {
+      for (int i = 0; i < BUCKETS; i++) {
+        buckets[i] = new FingerprintSet(entriesPerBucket);
+        epochs[i] = Long.MIN_VALUE;
+      }
+    }
+  }
+}
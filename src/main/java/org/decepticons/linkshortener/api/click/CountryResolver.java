@@ -0,0 +1,74 @@
+package org.decepticons.linkshortener.api.click;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Resolves the country of a client address from a local GeoIP range file.
+ * The file is loaded into a {@link GeoIpTable} and swapped atomically whenever
+ * it changes on disk, so updated data is picked up without a restart. Without
+ * a configured file every address resolves to an unknown country.
+ */
+@Component
+public class CountryResolver {
+
+  private static final Logger LOG = LoggerFactory.getLogger(CountryResolver.class);
+
+  private final Path dataFile;
+  private volatile GeoIpTable table = GeoIpTable.empty();
+  private long loadedModifiedMillis = -1L;
+
+  /**
+   * Creates the resolver and loads the data file, if one is configured.
+   *
+   * @param dataFile path of the GeoIP CSV file, blank to disable the lookup
+   */
+  public CountryResolver(@Value("${link.geoip.file:}") String dataFile) {
+    this.dataFile = dataFile.isBlank() ? null : Path.of(dataFile);
+    reloadIfChanged();
+  }
+
+  /**
+   * Returns the country of the given client address.
+   *
+   * @param address the remote address of the request, may be {@code null}
+   * @return the two-letter country code, or {@code null} if unknown
+   */
+  public String countryOf(String address) {
+    return GeoIpTable.countryCode(table.lookup(address));
+  }
+
+  /**
+   * Reloads the data file if its modification time has changed.
+   * A file that cannot be read keeps the previous table in place.
+   */
+  @Scheduled(fixedDelayString = "${link.geoip.reload-interval-ms:60000}")
+  public synchronized void reloadIfChanged() {
+    if (dataFile == null) {
+      return;
+    }
+    try {
+      long modified = Files.getLastModifiedTime(dataFile).toMillis();
+      if (modified == loadedModifiedMillis) {
+        return;
+      }
+      GeoIpTable loaded;
+      try (BufferedReader reader = Files.newBufferedReader(dataFile)) {
+        loaded = GeoIpTable.parse(reader);
+      }
+      table = loaded;
+      loadedModifiedMillis = modified;
+      LOG.info("Loaded {} GeoIP ranges from {}", loaded.size(), dataFile);
+    } catch (IOException e) {
+      LOG.warn("Cannot read GeoIP data from {}, keeping the current table: {}",
+          dataFile, e.getMessage());
+    }
+  }
+}
@@ -0,0 +1,112 @@
+package org.decepticons.linkshortener.api.click;
+
+import java.util.Arrays;
+
+/**
+ * Fixed-capacity set of 64-bit fingerprints with open addressing and linear
+ * probing over a plain {@code long[]}, so neither lookups nor inserts allocate.
+ * The table never grows: once the configured number of entries is reached,
+ * further fingerprints are rejected until the set is cleared.
+ * Not thread-safe.
+ */
+final class FingerprintSet {
+
+  /**
+   * Marker of an empty slot; a zero fingerprint is stored as {@link #ZERO_REPLACEMENT}.
+   */
+  private static final long EMPTY = 0L;
+
+  private static final long ZERO_REPLACEMENT = 1L;
+
+  private final long[] slots;
+  private final int mask;
+  private final int maxEntries;
+  private int size;
+
+  /**
+   * Creates a set holding up to {@code maxEntries} fingerprints at a load factor of at most 0.5.
+   *
+   * @param maxEntries the entry limit
+   */
+  FingerprintSet(int maxEntries) {
+    int capacity = Integer.highestOneBit(Math.max(2, maxEntries) * 2 - 1) << 1;
+    this.slots = new long[capacity];
+    this.mask = capacity - 1;
+    this.maxEntries = maxEntries;
+  }
+
+  /**
+   * Adds a fingerprint.
+   *
+   * @param fingerprint the fingerprint
+   * @return {@code true} if it was added, {@code false} if it was already present
+   *     or the set is full
+   */
+  boolean add(long fingerprint) {
+    long key = fingerprint == EMPTY ? ZERO_REPLACEMENT : fingerprint;
+    int index = slot(key);
+    while (slots[index] != EMPTY) {
+      if (slots[index] == key) {
+        return false;
+      }
+      index = (index + 1) & mask;
+    }
+    if (size >= maxEntries) {
+      return false;
+    }
+    slots[index] = key;
+    size++;
+    return true;
+  }
+
+  /**
+   * Tells whether a fingerprint is present.
+   *
+   * @param fingerprint the fingerprint
+   * @return {@code true} if it was added since the last {@link #clear()}
+   */
+  boolean contains(long fingerprint) {
+    long key = fingerprint == EMPTY ? ZERO_REPLACEMENT : fingerprint;
+    int index = slot(key);
+    while (slots[index] != EMPTY) {
+      if (slots[index] == key) {
+        return true;
+      }
+      index = (index + 1) & mask;
+    }
+    return false;
+  }
+
+  /**
+   * Tells whether the entry limit has been reached.
+   *
+   * @return {@code true} if no further fingerprint can be added
+   */
+  boolean isFull() {
+    return size >= maxEntries;
+  }
+
+  /**
+   * Removes all fingerprints.
+   */
+  void clear() {
+    if (size > 0) {
+      Arrays.fill(slots, EMPTY);
+      size = 0;
+    }
+  }
+
+  /**
+   * Returns the number of fingerprints held.
+   *
+   * @return the entry count
+   */
+  int size() {
+    return size;
+  }
+
+  private int slot(long key) {
+    long mixed = key * 0x9E3779B97F4A7C15L;
+    return (int) (mixed >>> 32) & mask;
+  }
+}
@@ -0,0 +1,258 @@
+package org.decepticons.linkshortener.api.click;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Comparator;
+
+/**
+ * Immutable IPv4-to-country range table.
+ * Ranges are held in parallel primitive arrays (range start, range end and a
+ * {@code short} country column) sorted by start address, and looked up with a
+ * binary search. Neither parsing an address nor looking it up allocates.
+ *
+ * <h2>Input format</h2>
+ * CSV lines of {@code start,end,country}, where addresses are either dotted
+ * quads or unsigned 32-bit integers and the country is an ISO 3166 alpha-2 code,
+ * as found in the common GeoIP "country lite" exports. Header lines, comments
+ * ({@code #}) and rows with an unknown country ({@code -}, {@code ZZ}) are skipped.
+ */
+public final class GeoIpTable {
+
+  /**
+   * Country id returned when an address is not covered by any range.
+   */
+  public static final short UNKNOWN = 0;
+
+  private static final int LETTERS = 26;
+
+  private static final String[] CODES = new String[LETTERS * LETTERS + 1];
+
+  private static final GeoIpTable EMPTY = new GeoIpTable(new long[0], new long[0], new short[0]);
+
+  static {
+    for (int first = 0; first < LETTERS; first++) {
+      for (int second = 0; second < LETTERS; second++) {
+        CODES[first * LETTERS + second + 1] =
+            new String(new char[] {(char) ('A' + first), (char) ('A' + second)});
+      }
+    }
+  }
+
+  private final long[] starts;
+  private final long[] ends;
+  private final short[] countries;
+
+  private GeoIpTable(long[] starts, long[] ends, short[] countries) {
+    this.starts = starts;
+    this.ends = ends;
+    this.countries = countries;
+  }
+
+  /**
+   * Returns a table without any range.
+   *
+   * @return the empty table
+   */
+  public static GeoIpTable empty() {
+    return EMPTY;
+  }
+
+  /**
+   * Parses a range table from CSV.
+   *
+   * @param reader source of the CSV lines
+   * @return the parsed table
+   * @throws IOException if the reader fails
+   */
+  public static GeoIpTable parse(BufferedReader reader) throws IOException {
+    long[] starts = new long[1024];
+    long[] ends = new long[1024];
+    short[] countries = new short[1024];
+    int size = 0;
+
+    String line;
+    while ((line = reader.readLine()) != null) {
+      String[] fields = line.split(",");
+      if (fields.length < 3 || line.startsWith("#")) {
+        continue;
+      }
+      long start = parseAddress(unquote(fields[0]));
+      long end = parseAddress(unquote(fields[1]));
+      short country = countryId(unquote(fields[2]));
+      if (start < 0 || end < start || country == UNKNOWN) {
+        continue;
+      }
+      if (size == starts.length) {
+        starts = Arrays.copyOf(starts, size * 2);
+        ends = Arrays.copyOf(ends, size * 2);
+        countries = Arrays.copyOf(countries, size * 2);
+      }
+      starts[size] = start;
+      ends[size] = end;
+      countries[size] = country;
+      size++;
+    }
+    return sorted(starts, ends, countries, size);
+  }
+
+  /**
+   * Looks up the country of an address in textual form.
+   *
+   * @param address an IPv4 address or an IPv4-mapped IPv6 address, may be {@code null}
+   * @return the country id, or {@link #UNKNOWN}
+   */
+  public short lookup(CharSequence address) {
+    long ip = parseIpv4(address);
+    return ip < 0 ? UNKNOWN : lookup(ip);
+  }
+
+  /**
+   * Looks up the country of a numeric IPv4 address.
+   *
+   * @param ip the address as an unsigned 32-bit value
+   * @return the country id, or {@link #UNKNOWN}
+   */
+  public short lookup(long ip) {
+    int low = 0;
+    int high = starts.length - 1;
+    while (low <= high) {
+      int mid = (low + high) >>> 1;
+      if (starts[mid] <= ip) {
+        low = mid + 1;
+      } else {
+        high = mid - 1;
+      }
+    }
+    return high >= 0 && ip <= ends[high] ? countries[high] : UNKNOWN;
+  }
+
+  /**
+   * Returns the number of ranges in the table.
+   *
+   * @return the range count
+   */
+  public int size() {
+    return starts.length;
+  }
+
+  /**
+   * Converts a country id back to its two-letter code without allocating.
+   *
+   * @param countryId an id returned by {@link #lookup}
+   * @return the upper-case code, or {@code null} for {@link #UNKNOWN}
+   */
+  public static String countryCode(short countryId) {
+    return countryId <= 0 || countryId >= CODES.length ? null : CODES[countryId];
+  }
+
+  /**
+   * Converts a two-letter country code to its id.
+   *
+   * @param code the country code, in any case
+   * @return the id, or {@link #UNKNOWN} if the code is not two ASCII letters
+   */
+  public static short countryId(CharSequence code) {
+    if (code == null || code.length() != 2) {
+      return UNKNOWN;
+    }
+    int first = Character.toUpperCase(code.charAt(0)) - 'A';
+    int second = Character.toUpperCase(code.charAt(1)) - 'A';
+    if (first < 0 || first >= LETTERS || second < 0 || second >= LETTERS
+        || (first == LETTERS - 1 && second == LETTERS - 1)) {
+      return UNKNOWN;
+    }
+    return (short) (first * LETTERS + second + 1);
+  }
+
+  /**
+   * Parses a dotted-quad IPv4 address, also accepting the {@code ::ffff:a.b.c.d} form.
+   *
+   * @param address the address text, may be {@code null}
+   * @return the address as an unsigned 32-bit value, or {@code -1} if it is not IPv4
+   */
+  public static long parseIpv4(CharSequence address) {
+    if (address == null) {
+      return -1;
+    }
+    int from = 0;
+    int length = address.length();
+    for (int i = length - 1; i >= 0; i--) {
+      if (address.charAt(i) == ':') {
+        from = i + 1;
+        break;
+      }
+    }
+
+    long ip = 0;
+    int octet = -1;
+    int dots = 0;
+    for (int i = from; i < length; i++) {
+      char c = address.charAt(i);
+      if (c == '.') {
+        if (octet < 0 || ++dots > 3) {
+          return -1;
+        }
+        ip = (ip << 8) | octet;
+        octet = -1;
+      } else if (c >= '0' && c <= '9') {
+        octet = (octet < 0 ? 0 : octet * 10) + (c - '0');
+        if (octet > 255) {
+          return -1;
+        }
+      } else {
+        return -1;
+      }
+    }
+    if (dots != 3 || octet < 0) {
+      return -1;
+    }
+    return (ip << 8) | octet;
+  }
+
+  private static long parseAddress(String field) {
+    if (field.indexOf('.') >= 0) {
+      return parseIpv4(field);
+    }
+    try {
+      long value = Long.parseLong(field);
+      return value >= 0 && value <= 0xFFFFFFFFL ? value : -1;
+    } catch (NumberFormatException e) {
+      return -1;
+    }
+  }
+
+  private static String unquote(String field) {
+    String trimmed = field.trim();
+    if (trimmed.length() >= 2 && trimmed.startsWith("\"") && trimmed.endsWith("\"")) {
+      return trimmed.substring(1, trimmed.length() - 1);
+    }
+    return trimmed;
+  }
+
+  private static GeoIpTable sorted(long[] starts, long[] ends, short[] countries, int size) {
+    boolean ordered = true;
+    for (int i = 1; i < size && ordered; i++) {
+      ordered = starts[i - 1] <= starts[i];
+    }
+    if (ordered) {
+      return new GeoIpTable(Arrays.copyOf(starts, size), Arrays.copyOf(ends, size),
+          Arrays.copyOf(countries, size));
+    }
+
+    Integer[] order = new Integer[size];
+    for (int i = 0; i < size; i++) {
+      order[i] = i;
+    }
+    Arrays.sort(order, Comparator.comparingLong(i -> starts[i]));
+    long[] sortedStarts = new long[size];
+    long[] sortedEnds = new long[size];
+    short[] sortedCountries = new short[size];
+    for (int i = 0; i < size; i++) {
+      sortedStarts[i] = starts[order[i]];
+      sortedEnds[i] = ends[order[i]];
+      sortedCountries[i] = countries[order[i]];
+    }
+    return new GeoIpTable(sortedStarts, sortedEnds, sortedCountries);
+  }
+}
@@ -0,0 +1,61 @@
+package org.decepticons.linkshortener.api.click;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.decepticons.linkshortener.api.dto.LiveClickDto;
+import org.decepticons.linkshortener.api.dto.LiveClicksDto;
+
+/**
+ * Bounded ring of the latest clicks of one link, shared by all of its live
+ * subscribers. Each subscriber keeps its own read position; when it falls
+ * more than the capacity behind, the oldest clicks are dropped for it.
+ */
+final class LiveClickBuffer {
+
+  private final LiveClickDto[] ring;
+  private long written;
+
+  /**
+   * Creates a buffer keeping the given number of latest clicks.
+   *
+   * @param capacity the ring size
+   */
+  LiveClickBuffer(int capacity) {
+    this.ring = new LiveClickDto[capacity];
+  }
+
+  /**
+   * Appends a click, overwriting the oldest one when the ring is full.
+   *
+   * @param click the click
+   */
+  synchronized void append(LiveClickDto click) {
+    ring[(int) (written % ring.length)] = click;
+    written++;
+  }
+
+  /**
+   * Returns the position after the latest click, i.e. the next one to be written.
+   *
+   * @return the write position
+   */
+  synchronized long position() {
+    return written;
+  }
+
+  /**
+   * Reads the clicks written between two positions.
+   *
+   * @param from the position of the first unread click
+   * @param to the position after the last click to read, at most {@link #position()}
+   * @return the clicks still in the ring and the number of unread ones already overwritten
+   */
+  synchronized LiveClicksDto read(long from, long to) {
+    long start = Math.max(from, written - ring.length);
+    List<LiveClickDto> clicks = new ArrayList<>((int) Math.max(0, to - start));
+    for (long position = start; position < to; position++) {
+      clicks.add(ring[(int) (position % ring.length)]);
+    }
+    return new LiveClicksDto(clicks, Math.min(start, to) - from);
+  }
+}
@@ -0,0 +1,130 @@
+package org.decepticons.linkshortener.api.click;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Immutable public-suffix list compiled into a trie of domain labels, keyed
+ * from the top-level domain down. It answers which part of a host name was
+ * registered by its owner, e.g. {@code ycombinator.com} for
+ * {@code news.ycombinator.com} or {@code bbc.co.uk} for {@code www.bbc.co.uk}.
+ *
+ * <h2>Input format</h2>
+ * The format of the list published at {@code publicsuffix.org}: one rule per
+ * line, {@code //} comments, {@code *.} wildcard rules and {@code !} exception
+ * rules. Hosts not covered by any rule fall back to the implicit {@code *} rule,
+ * i.e. their top-level label is the public suffix.
+ */
+public final class PublicSuffixList {
+
+  private static final String WILDCARD = "*";
+
+  private final Node root;
+  private final int ruleCount;
+
+  private PublicSuffixList(Node root, int ruleCount) {
+    this.root = root;
+    this.ruleCount = ruleCount;
+  }
+
+  /**
+   * Parses a list in the public-suffix-list format.
+   *
+   * @param reader source of the rules
+   * @return the compiled list
+   * @throws IOException if the reader fails
+   */
+  public static PublicSuffixList parse(BufferedReader reader) throws IOException {
+    Node root = new Node();
+    int ruleCount = 0;
+    String line;
+    while ((line = reader.readLine()) != null) {
+      String rule = line.strip();
+      int space = rule.indexOf(' ');
+      if (space >= 0) {
+        rule = rule.substring(0, space);
+      }
+      if (rule.isEmpty() || rule.startsWith("//")) {
+        continue;
+      }
+      boolean exception = rule.startsWith("!");
+      String[] labels = (exception ? rule.substring(1) : rule)
+          .toLowerCase(Locale.ROOT)
+          .split("\\.");
+      Node node = root;
+      for (int i = labels.length - 1; i >= 0; i--) {
+        node = node.children.computeIfAbsent(labels[i], label -> new Node());
+      }
+      if (exception) {
+        node.exception = true;
+      } else {
+        node.suffix = true;
+      }
+      ruleCount++;
+    }
+    return new PublicSuffixList(root, ruleCount);
+  }
+
+  /**
+   * Returns the registrable domain of a host: its public suffix plus one more label.
+   *
+   * @param host a lower-case host name without trailing dot
+   * @return the registrable domain, or {@code null} if the host is itself a public suffix
+   */
+  public String registrableDomain(String host) {
+    int labelCount = 1;
+    for (int i = 0; i < host.length(); i++) {
+      if (host.charAt(i) == '.') {
+        labelCount++;
+      }
+    }
+
+    int suffixLabels = 1;
+    Node node = root;
+    int end = host.length();
+    for (int depth = 1; depth <= labelCount && node != null; depth++) {
+      int start = host.lastIndexOf('.', end - 1) + 1;
+      Node child = node.children.get(host.substring(start, end));
+      if (child != null && child.exception) {
+        suffixLabels = depth - 1;
+        break;
+      }
+      Node wildcard = node.children.get(WILDCARD);
+      if ((child != null && child.suffix) || (wildcard != null && wildcard.suffix)) {
+        suffixLabels = depth;
+      }
+      node = child;
+      end = start - 1;
+    }
+
+    if (labelCount <= suffixLabels) {
+      return null;
+    }
+    int start = host.length();
+    for (int i = 0; i <= suffixLabels; i++) {
+      start = host.lastIndexOf('.', start - 1);
+    }
+    return host.substring(start + 1);
+  }
+
+  /**
+   * Returns the number of rules in the list.
+   *
+   * @return the rule count
+   */
+  public int size() {
+    return ruleCount;
+  }
+
+  /**
+   * One label of the trie; children are keyed by the next label to the left.
+   */
+  private static final class Node {
+    private final Map<String, Node> children = new HashMap<>(4);
+    private boolean suffix;
+    private boolean exception;
+  }
+}
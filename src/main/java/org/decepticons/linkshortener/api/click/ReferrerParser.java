@@ -0,0 +1,156 @@
+package org.decepticons.linkshortener.api.click;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Attributes clicks to the site that referred them.
+ * The host of the {@code Referer} header is reduced to its registrable domain
+ * with a {@link PublicSuffixList}, and the results for recently seen hosts are
+ * kept in a direct-mapped cache, so popular referrers cost one array lookup
+ * and click threads never wait on a lock.
+ * The list comes from {@code public-suffix-list.dat} on the classpath or from
+ * the file named by {@code link.referrer.public-suffix-file}.
+ */
+@Component
+public class ReferrerParser {
+
+  private static final String DEFAULT_LIST = "/public-suffix-list.dat";
+
+  /**
+   * Cached value of hosts without a registrable domain, told apart from an empty slot.
+   */
+  private static final String NO_DOMAIN = "";
+
+  private final PublicSuffixList suffixList;
+
+  /**
+   * Direct-mapped cache indexed by host hash; its length is a power of two.
+   * Slots are written without locking; a lost update only costs a recomputation.
+   */
+  private final ResolvedHost[] recentHosts;
+
+  /**
+   * Creates the parser and compiles the public-suffix list.
+   *
+   * @param suffixFile optional path of a full public-suffix list, blank for the built-in one
+   * @param cacheSize number of cached hosts, rounded up to a power of two
+   */
+  public ReferrerParser(@Value("${link.referrer.public-suffix-file:}") String suffixFile,
+                        @Value("${link.referrer.cache-size:10000}") int cacheSize) {
+    this.suffixList = suffixFile.isBlank() ? loadDefaultList() : loadFile(Path.of(suffixFile));
+    this.recentHosts =
+        new ResolvedHost[Integer.highestOneBit(Math.max(1, cacheSize - 1)) << 1];
+  }
+
+  /**
+   * Returns the registrable domain of the site a click came from.
+   *
+   * @param referer the {@code Referer} header, may be {@code null}
+   * @return the domain, e.g. {@code ycombinator.com}, or {@code null} for direct
+   *     traffic and referrers without a host name
+   */
+  public String referringDomain(String referer) {
+    String host = hostOf(referer);
+    if (host == null) {
+      return null;
+    }
+    int index = host.hashCode() & (recentHosts.length - 1);
+    ResolvedHost cached = recentHosts[index];
+    String domain;
+    if (cached != null && cached.host().equals(host)) {
+      domain = cached.domain();
+    } else {
+      domain = resolve(host);
+      recentHosts[index] = new ResolvedHost(host, domain);
+    }
+    return domain.isEmpty() ? null : domain;
+  }
+
+  private String resolve(String host) {
+    if (isIpLiteral(host)) {
+      return host;
+    }
+    String domain = suffixList.registrableDomain(host);
+    return domain == null ? NO_DOMAIN : domain;
+  }
+
+  /**
+   * Extracts the lower-case host of an absolute http(s) URL.
+   */
+  static String hostOf(String referer) {
+    if (referer == null) {
+      return null;
+    }
+    int schemeEnd = referer.indexOf("://");
+    boolean http = (schemeEnd == 4 || schemeEnd == 5)
+        && referer.regionMatches(true, 0, "https", 0, schemeEnd);
+    if (!http) {
+      return null;
+    }
+    int start = schemeEnd + 3;
+    int end = start;
+    while (end < referer.length() && "/?#".indexOf(referer.charAt(end)) < 0) {
+      end++;
+    }
+    int at = referer.lastIndexOf('@', end - 1);
+    if (at >= start) {
+      start = at + 1;
+    }
+    if (start < end && referer.charAt(start) == '[') {
+      int close = referer.indexOf(']', start);
+      return close < 0 || close > end ? null
+          : referer.substring(start + 1, close).toLowerCase(Locale.ROOT);
+    }
+    int colon = referer.indexOf(':', start);
+    if (colon >= 0 && colon < end) {
+      end = colon;
+    }
+    if (end > start && referer.charAt(end - 1) == '.') {
+      end--;
+    }
+    return start < end ? referer.substring(start, end).toLowerCase(Locale.ROOT) : null;
+  }
+
+  private static boolean isIpLiteral(String host) {
+    return host.indexOf(':') >= 0 || GeoIpTable.parseIpv4(host) >= 0;
+  }
+
+  private static PublicSuffixList loadDefaultList() {
+    try (InputStream in = ReferrerParser.class.getResourceAsStream(DEFAULT_LIST)) {
+      if (in == null) {
+        throw new IllegalStateException("Missing classpath resource " + DEFAULT_LIST);
+      }
+      return PublicSuffixList.parse(
+          new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8)));
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  private static PublicSuffixList loadFile(Path file) {
+    try (BufferedReader reader = Files.newBufferedReader(file)) {
+      return PublicSuffixList.parse(reader);
+    } catch (IOException e) {
+      throw new UncheckedIOException("Cannot read public-suffix list " + file, e);
+    }
+  }
+
+  /**
+   * Cached registrable domain of one host.
+   *
+   * @param host the referrer host
+   * @param domain its registrable domain, or {@link #NO_DOMAIN}
+   */
+  private record ResolvedHost(String host, String domain) {
+  }
+}
@@ -0,0 +1,5 @@
+/**
+ * Contains the components that inspect a redirect before its click is counted,
+ * such as the user-agent based bot classifier and the GeoIP country lookup.
+ */
+package org.decepticons.linkshortener.api.click;
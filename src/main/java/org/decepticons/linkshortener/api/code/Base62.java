@@ -0,0 +1,86 @@
+package org.decepticons.linkshortener.api.code;
+
+/**
+ * Fixed-width base62 encoding of non-negative numbers into short codes.
+ * The alphabet matches the one random codes have always been drawn from.
+ */
+public final class Base62 {
+
+  /**
+   * The code alphabet; its first character is used as padding.
+   */
+  public static final String ALPHABET =
+      "abcdefghijklmnopqrstuvwxyzABCDEFGHIJKLMNOPQRSTUVWXYZ0123456789";
+
+  /**
+   * The number of code characters.
+   */
+  public static final int RADIX = ALPHABET.length();
+
+  /**
+   * The longest code length whose keyspace still fits in a {@code long}.
+   */
+  public static final int MAX_LENGTH = 10;
+
+  private Base62() {
+  }
+
+  /**
+   * Returns the number of distinct codes of the given length.
+   *
+   * @param length the code length, at most {@link #MAX_LENGTH}
+   * @return {@code 62^length}
+   */
+  public static long keyspace(int length) {
+    if (length < 0 || length > MAX_LENGTH) {
+      throw new IllegalArgumentException("Unsupported code length: " + length);
+    }
+    long size = 1;
+    for (int i = 0; i < length; i++) {
+      size *= RADIX;
+    }
+    return size;
+  }
+
+  /**
+   * Encodes a value as a code of exactly the given length.
+   *
+   * @param value the value, in {@code [0, keyspace(length))}
+   * @param length the code length
+   * @return the left-padded code
+   */
+  public static String encode(long value, int length) {
+    if (value < 0 || value >= keyspace(length)) {
+      throw new IllegalArgumentException(value + " does not fit in " + length + " characters");
+    }
+    char[] code = new char[length];
+    long rest = value;
+    for (int i = length - 1; i >= 0; i--) {
+      code[i] = ALPHABET.charAt((int) (rest % RADIX));
+      rest /= RADIX;
+    }
+    return new String(code);
+  }
+
+  /**
+   * Decodes a code back to its value.
+   *
+   * @param code the code
+   * @return the value, or {@code -1} if the code has characters outside the alphabet
+   *     or is longer than {@link #MAX_LENGTH}
+   */
+  public static long decode(CharSequence code) {
+    if (code.length() > MAX_LENGTH) {
+      return -1;
+    }
+    long value = 0;
+    for (int i = 0; i < code.length(); i++) {
+      int digit = ALPHABET.indexOf(code.charAt(i));
+      if (digit < 0) {
+        return -1;
+      }
+      value = value * RADIX + digit;
+    }
+    return value;
+  }
+}
@@ -0,0 +1,132 @@
+package org.decepticons.linkshortener.api.code;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Code generator handing out consecutive sequence values, leased from the
+ * database in blocks (hi/lo), as base62 codes.
+ * One short transaction on the {@code code_blocks} row reserves a block of
+ * {@code link.code.block-size} values for this node; codes are then taken from
+ * the local block with a single atomic increment. Sequence values fill the
+ * keyspace of {@code link.code.min-length} characters first and then move on
+ * to longer codes. With scrambling enabled each value is permuted within its
+ * keyspace by a {@link CodeScrambler}, so consecutive links do not get
+ * adjacent codes.
+ */
+@Component
+@ConditionalOnProperty(name = "link.code.generator", havingValue = "sequence",
+    matchIfMissing = true)
+public class BlockLeasedCodeGenerator implements CodeGenerator {
+
+  private static final String LEASE_SQL =
+      "UPDATE code_blocks SET next_block = next_block + 1 WHERE name = ?";
+
+  private static final String READ_SQL =
+      "SELECT next_block - 1 FROM code_blocks WHERE name = ?";
+
+  private static final String BLOCK_NAME = "links";
+
+  private final LongSupplier blockLeaser;
+  private final long blockSize;
+  private final int minLength;
+  private final CodeScrambler scrambler;
+  private volatile Block block = new Block(0, 0);
+
+  /**
+   * Creates a generator leasing its blocks from the {@code code_blocks} table.
+   *
+   * @param jdbcTemplate template used for the lease statements
+   * @param transactionManager transaction manager shared with JPA
+   * @param blockSize the number of sequence values leased at once
+   * @param minLength the length of the first codes issued
+   * @param scramble whether codes are permuted within their keyspace
+   * @param secret the secret of the permutation; it must never change once codes are issued
+   */
+  @Autowired
+  public BlockLeasedCodeGenerator(
+      JdbcTemplate jdbcTemplate,
+      PlatformTransactionManager transactionManager,
+      @Value("${link.code.block-size:1000}") long blockSize,
+      @Value("${link.code.min-length:7}") int minLength,
+      @Value("${link.code.scramble:true}") boolean scramble,
+      @Value("${link.code.scramble-secret:link-shortener}") String secret
+  ) {
+    this(databaseLeaser(jdbcTemplate, transactionManager), blockSize, minLength,
+        scramble ? new CodeScrambler(secret) : null);
+  }
+
+  BlockLeasedCodeGenerator(LongSupplier blockLeaser, long blockSize, int minLength,
+                           CodeScrambler scrambler) {
+    if (minLength < 1 || minLength > Base62.MAX_LENGTH) {
+      throw new IllegalArgumentException("Unsupported code length: " + minLength);
+    }
+    this.blockLeaser = blockLeaser;
+    this.blockSize = blockSize;
+    this.minLength = minLength;
+    this.scrambler = scrambler;
+  }
+
+  @Override
+  public String nextCode() {
+    while (true) {
+      Block current = block;
+      long value = current.next.getAndIncrement();
+      if (value < current.end) {
+        return encode(value);
+      }
+      leaseAfter(current);
+    }
+  }
+
+  private synchronized void leaseAfter(Block exhausted) {
+    if (block == exhausted) {
+      long start = Math.multiplyExact(blockLeaser.getAsLong(), blockSize);
+      block = new Block(start, start + blockSize);
+    }
+  }
+
+  private String encode(long sequence) {
+    long offset = sequence;
+    for (int length = minLength; length <= Base62.MAX_LENGTH; length++) {
+      long keyspace = Base62.keyspace(length);
+      if (offset < keyspace) {
+        long value = scrambler == null ? offset : scrambler.permute(offset, keyspace);
+        return Base62.encode(value, length);
+      }
+      offset -= keyspace;
+    }
+    throw new IllegalStateException("Short code keyspace exhausted");
+  }
+
+  private static LongSupplier databaseLeaser(JdbcTemplate jdbcTemplate,
+                                             PlatformTransactionManager transactionManager) {
+    TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+    transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    return () -> transactionTemplate.execute(status -> {
+      jdbcTemplate.update(LEASE_SQL, BLOCK_NAME);
+      return jdbcTemplate.queryForObject(READ_SQL, Long.class, BLOCK_NAME);
+    });
+  }
+
+  /**
+   * A leased range of sequence values, {@code [next, end)}.
+   */
+  private static final class Block {
+    private final AtomicLong next;
+    private final long end;
+
+    private Block(long start, long end) {
+      this.next = new AtomicLong(start);
+      this.end = end;
+    }
+  }
+}
@@ -0,0 +1,63 @@
+package org.decepticons.linkshortener.api.code;
+
+/**
+ * Fixed-size Bloom filter over short codes.
+ * The probe positions are derived from one 64-bit hash of the code by double
+ * hashing, so a lookup costs one pass over the code and a few array reads.
+ * The filter is filled once by its builder and only read afterwards.
+ */
+final class BloomFilter {
+
+  private final long[] bits;
+  private final long bitCount;
+  private final int hashCount;
+
+  /**
+   * Creates a filter sized for the given number of codes and false-positive rate.
+   *
+   * @param expectedCodes the number of codes that will be added
+   * @param falsePositiveRate the wanted false-positive rate, between 0 and 1
+   */
+  BloomFilter(long expectedCodes, double falsePositiveRate) {
+    long n = Math.max(1, expectedCodes);
+    double ln2 = Math.log(2);
+    long m = (long) Math.ceil(-n * Math.log(falsePositiveRate) / (ln2 * ln2));
+    this.bits = new long[(int) Math.max(1, (m + 63) >>> 6)];
+    this.bitCount = (long) bits.length << 6;
+    this.hashCount = (int) Math.max(1, Math.min(16, Math.round((double) m / n * ln2)));
+  }
+
+  void add(CharSequence code) {
+    long hash = hash(code);
+    long step = (hash >>> 32) | 1;
+    for (int i = 0; i < hashCount; i++) {
+      long bit = Long.remainderUnsigned(hash + i * step, bitCount);
+      bits[(int) (bit >>> 6)] |= 1L << bit;
+    }
+  }
+
+  boolean mightContain(CharSequence code) {
+    long hash = hash(code);
+    long step = (hash >>> 32) | 1;
+    for (int i = 0; i < hashCount; i++) {
+      long bit = Long.remainderUnsigned(hash + i * step, bitCount);
+      if ((bits[(int) (bit >>> 6)] & (1L << bit)) == 0) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * FNV-1a over the characters, finished with the SplitMix64 mixer.
+   */
+  private static long hash(CharSequence code) {
+    long hash = 0xcbf29ce484222325L;
+    for (int i = 0; i < code.length(); i++) {
+      hash = (hash ^ code.charAt(i)) * 0x100000001b3L;
+    }
+    hash = (hash ^ (hash >>> 30)) * 0xbf58476d1ce4e5b9L;
+    hash = (hash ^ (hash >>> 27)) * 0x94d049bb133111ebL;
+    return hash ^ (hash >>> 31);
+  }
+}
@@ -0,0 +1,242 @@
+package org.decepticons.linkshortener.api.code;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import javax.sql.DataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * In-memory index of the codes in use, answering availability checks for
+ * custom aliases without a database round trip.
+ * A snapshot of all codes is loaded at startup: a {@link BloomFilter} rejects
+ * most free codes after one hash, and a front-coded sorted set settles the
+ * rest. The codes are streamed in order from a read-only cursor straight into
+ * the front-coded set, so a load holds no list of strings. Codes created or
+ * deleted through this node since the snapshot are kept in two overlay sets,
+ * and the snapshot is rebuilt only once these grow past
+ * {@code link.alias.index-max-overlay} codes or after
+ * {@code link.alias.index-rebuild-interval-ms}, which picks up the codes of
+ * other nodes. The index is advisory only; the {@code uk_links_code}
+ * constraint still decides when two nodes hand out the same code at once.
+ */
+@Component
+public class CodeAvailabilityIndex {
+
+  private static final Logger LOG = LoggerFactory.getLogger(CodeAvailabilityIndex.class);
+
+  private static final String CODES_SQL = "SELECT code FROM links ORDER BY code";
+
+  /**
+   * PostgreSQL sorts by the column collation, which may not be the binary
+   * order of {@link String#compareTo} that front coding relies on.
+   */
+  private static final String POSTGRES_CODES_SQL =
+      "SELECT code FROM links ORDER BY code COLLATE \"C\"";
+
+  private static final int FETCH_SIZE = 10_000;
+
+  private static final double FALSE_POSITIVE_RATE = 0.01;
+
+  private static final int MAX_SUGGESTION_ATTEMPTS = 1000;
+
+  private final Consumer<Consumer<String>> codeSource;
+  private final long rebuildIntervalMs;
+  private final int maxOverlay;
+  private final Set<String> added = ConcurrentHashMap.newKeySet();
+  private final Set<String> removed = ConcurrentHashMap.newKeySet();
+  private volatile Snapshot snapshot;
+  private volatile long builtAt;
+
+  /**
+   * Creates an index of the codes in the {@code links} table.
+   *
+   * @param dataSource the application data source
+   * @param transactionManager transaction manager shared with JPA
+   * @param rebuildIntervalMs longest time between two loads of all codes
+   * @param maxOverlay number of codes changed through this node that triggers a load
+   */
+  @Autowired
+  public CodeAvailabilityIndex(
+      DataSource dataSource,
+      PlatformTransactionManager transactionManager,
+      @Value("${link.alias.index-rebuild-interval-ms:21600000}") long rebuildIntervalMs,
+      @Value("${link.alias.index-max-overlay:100000}") int maxOverlay
+  ) {
+    this(databaseCodes(dataSource, transactionManager), rebuildIntervalMs, maxOverlay);
+  }
+
+  CodeAvailabilityIndex(Consumer<Consumer<String>> codeSource, long rebuildIntervalMs,
+                        int maxOverlay) {
+    this.codeSource = codeSource;
+    this.rebuildIntervalMs = rebuildIntervalMs;
+    this.maxOverlay = maxOverlay;
+  }
+
+  /**
+   * Streams the codes of the {@code links} table in ascending order, with a
+   * bounded fetch size in a read-only transaction so that PostgreSQL uses a
+   * server-side cursor instead of sending the whole result at once.
+   */
+  private static Consumer<Consumer<String>> databaseCodes(
+      DataSource dataSource, PlatformTransactionManager transactionManager) {
+    JdbcTemplate cursorTemplate = new JdbcTemplate(dataSource);
+    cursorTemplate.setFetchSize(FETCH_SIZE);
+    TransactionTemplate readOnlyTransaction = new TransactionTemplate(transactionManager);
+    readOnlyTransaction.setReadOnly(true);
+    return sink -> readOnlyTransaction.executeWithoutResult(status -> {
+      boolean postgres = cursorTemplate.execute((ConnectionCallback<Boolean>)
+          connection -> "PostgreSQL".equals(connection.getMetaData().getDatabaseProductName()));
+      RowCallbackHandler addCode = rs -> sink.accept(rs.getString(1));
+      cursorTemplate.query(Boolean.TRUE.equals(postgres) ? POSTGRES_CODES_SQL : CODES_SQL,
+          addCode);
+    });
+  }
+
+  /**
+   * Tells whether a code is in use.
+   *
+   * @param code the code to check
+   * @return {@code true} if a link with the code is known to exist
+   */
+  public boolean isTaken(String code) {
+    if (added.contains(code)) {
+      return true;
+    }
+    Snapshot current = loadedSnapshot();
+    return current.bloom().mightContain(code)
+        && !removed.contains(code)
+        && current.codes().contains(code);
+  }
+
+  /**
+   * Suggests free variants of a taken alias by appending a number, with and
+   * without a dash, shortening the alias where the result would be too long.
+   *
+   * @param alias the wanted alias
+   * @param count the number of suggestions
+   * @param maxLength the longest allowed code
+   * @return up to {@code count} free codes, in order of preference
+   */
+  public List<String> suggest(String alias, int count, int maxLength) {
+    List<String> suggestions = new ArrayList<>(count);
+    for (int n = 1; n <= MAX_SUGGESTION_ATTEMPTS && suggestions.size() < count; n++) {
+      for (String separator : new String[] {"", "-"}) {
+        String suffix = separator + n;
+        String base = alias.substring(0, Math.min(alias.length(), maxLength - suffix.length()));
+        String candidate = base + suffix;
+        if (suggestions.size() < count && !suggestions.contains(candidate)
+            && !isTaken(candidate)) {
+          suggestions.add(candidate);
+        }
+      }
+    }
+    return suggestions;
+  }
+
+  /**
+   * Records a code taken through this node.
+   *
+   * @param code the code of the new link
+   */
+  public void codeTaken(String code) {
+    removed.remove(code);
+    added.add(code);
+  }
+
+  /**
+   * Records a code freed through this node.
+   *
+   * @param code the code of the deleted link
+   */
+  public void codeFreed(String code) {
+    added.remove(code);
+    removed.add(code);
+  }
+
+  /**
+   * Loads the codes once the application has started, so that the first
+   * availability check does not wait for the load.
+   */
+  @EventListener(ApplicationReadyEvent.class)
+  public void warmUp() {
+    loadedSnapshot();
+  }
+
+  /**
+   * Checks every minute by default whether the snapshot is due: once the
+   * overlays hold {@code link.alias.index-max-overlay} codes, or once the
+   * rebuild interval, six hours by default, has passed since the last load.
+   */
+  @Scheduled(fixedDelayString = "${link.alias.index-check-interval-ms:60000}",
+      initialDelayString = "${link.alias.index-check-interval-ms:60000}")
+  public void rebuildIfDue() {
+    if (added.size() + removed.size() >= maxOverlay
+        || System.currentTimeMillis() - builtAt >= rebuildIntervalMs) {
+      rebuild();
+    }
+  }
+
+  /**
+   * Reloads all codes, so that codes created or deleted through other nodes
+   * are picked up and the overlays are emptied.
+   */
+  public void rebuild() {
+    try {
+      Snapshot rebuilt = load();
+      snapshot = rebuilt;
+      builtAt = System.currentTimeMillis();
+      added.removeIf(code -> rebuilt.codes().contains(code));
+      removed.removeIf(code -> !rebuilt.codes().contains(code));
+    } catch (DataAccessException | IllegalArgumentException e) {
+      LOG.warn("Code availability index not rebuilt: {}", e.getMessage());
+    }
+  }
+
+  private Snapshot loadedSnapshot() {
+    Snapshot current = snapshot;
+    if (current == null) {
+      synchronized (this) {
+        if (snapshot == null) {
+          rebuild();
+          if (snapshot == null) {
+            snapshot = new Snapshot(new BloomFilter(1, FALSE_POSITIVE_RATE),
+                FrontCodedCodeSet.empty());
+          }
+        }
+        current = snapshot;
+      }
+    }
+    return current;
+  }
+
+  private Snapshot load() {
+    FrontCodedCodeSet.Builder builder = new FrontCodedCodeSet.Builder();
+    codeSource.accept(builder::add);
+    FrontCodedCodeSet codeSet = builder.build();
+    BloomFilter bloom = new BloomFilter(codeSet.size(), FALSE_POSITIVE_RATE);
+    codeSet.forEach(bloom::add);
+    return new Snapshot(bloom, codeSet);
+  }
+
+  /**
+   * Codes loaded at one point in time.
+   */
+  private record Snapshot(BloomFilter bloom, FrontCodedCodeSet codes) {
+  }
+}
@@ -0,0 +1,15 @@
+package org.decepticons.linkshortener.api.code;
+
+/**
+ * Source of short codes for new links.
+ * Implementations are thread-safe and never return the same code twice.
+ */
+public interface CodeGenerator {
+
+  /**
+   * Returns a code that no other link has been given.
+   *
+   * @return the new short code
+   */
+  String nextCode();
+}
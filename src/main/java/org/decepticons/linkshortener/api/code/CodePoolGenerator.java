@@ -0,0 +1,218 @@
+package org.decepticons.linkshortener.api.code;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+
+/**
+ * Code generator serving random codes from a pool of codes reserved in advance.
+ * A background worker keeps a lock-free queue filled: it draws candidates from
+ * a {@link SplittableRandom}, drops those already used or reserved, and
+ * reserves the rest with one multi-row insert into {@code code_reservations},
+ * committed on its own so a rolled-back link does not release pooled codes.
+ * Candidates have the length chosen by the {@link KeyspaceMonitor}, so the
+ * pool moves to longer codes before collisions become frequent.
+ * Creating a link then only polls the queue. Pooled codes older than the
+ * reservation TTL are discarded, since their reservations may have been purged.
+ * Pool depth and refill latency are published as {@code link.code.pool.depth}
+ * and {@code link.code.pool.refill}.
+ */
+@Component
+@ConditionalOnProperty(name = "link.code.generator", havingValue = "pool")
+public class CodePoolGenerator implements CodeGenerator {
+
+  private static final Logger LOG = LoggerFactory.getLogger(CodePoolGenerator.class);
+
+  private final CodeReserver reserver;
+  private final JdbcCodeReserver purger;
+  private final KeyspaceMonitor keyspaceMonitor;
+  private final int targetSize;
+  private final int batchSize;
+  private final long refillIntervalMs;
+  private final Duration reservationTtl;
+  private final Queue<PooledCode> pool = new ConcurrentLinkedQueue<>();
+  private final AtomicInteger depth = new AtomicInteger();
+  private final SplittableRandom random = new SplittableRandom();
+  private final Timer refillTimer;
+  private ScheduledExecutorService refiller;
+
+  /**
+   * Creates a pool reserving its codes in the {@code code_reservations} table.
+   *
+   * @param jdbcTemplate template used for the reservation statements
+   * @param transactionManager transaction manager shared with JPA
+   * @param meterRegistry registry of the pool metrics
+   * @param keyspaceMonitor source of the length of new codes
+   * @param targetSize the number of codes kept ready
+   * @param batchSize the number of codes reserved per round trip
+   * @param refillIntervalMs the interval of the background refill
+   * @param reservationTtlHours how long a reserved code may wait in a pool
+   */
+  @Autowired
+  public CodePoolGenerator(
+      JdbcTemplate jdbcTemplate,
+      PlatformTransactionManager transactionManager,
+      MeterRegistry meterRegistry,
+      KeyspaceMonitor keyspaceMonitor,
+      @Value("${link.code.pool.target-size:10000}") int targetSize,
+      @Value("${link.code.pool.batch-size:1000}") int batchSize,
+      @Value("${link.code.pool.refill-interval-ms:200}") long refillIntervalMs,
+      @Value("${link.code.pool.reservation-ttl-hours:24}") long reservationTtlHours
+  ) {
+    this(new JdbcCodeReserver(jdbcTemplate, transactionManager), meterRegistry,
+        keyspaceMonitor, targetSize, batchSize, refillIntervalMs,
+        Duration.ofHours(reservationTtlHours));
+  }
+
+  CodePoolGenerator(CodeReserver reserver, MeterRegistry meterRegistry,
+                    KeyspaceMonitor keyspaceMonitor, int targetSize, int batchSize,
+                    long refillIntervalMs, Duration reservationTtl) {
+    if (reservationTtl.isNegative() || reservationTtl.isZero()) {
+      throw new IllegalArgumentException("Reservation TTL must be positive");
+    }
+    this.reserver = reserver;
+    this.purger = reserver instanceof JdbcCodeReserver jdbc ? jdbc : null;
+    this.keyspaceMonitor = keyspaceMonitor;
+    this.targetSize = targetSize;
+    this.batchSize = batchSize;
+    this.refillIntervalMs = refillIntervalMs;
+    this.reservationTtl = reservationTtl;
+    this.refillTimer = Timer.builder("link.code.pool.refill")
+        .description("Latency of reserving one batch of pooled short codes")
+        .register(meterRegistry);
+    Gauge.builder("link.code.pool.depth", depth, AtomicInteger::get)
+        .description("Number of reserved short codes ready in this node's pool")
+        .register(meterRegistry);
+  }
+
+  /**
+   * Starts the background refill and the purge of stale reservations.
+   */
+  @PostConstruct
+  public void start() {
+    refiller = Executors.newSingleThreadScheduledExecutor(runnable -> {
+      Thread thread = new Thread(runnable, "code-pool-refill");
+      thread.setDaemon(true);
+      return thread;
+    });
+    refiller.scheduleWithFixedDelay(this::refillQuietly, 0, refillIntervalMs,
+        TimeUnit.MILLISECONDS);
+    if (purger != null) {
+      long purgeMinutes = Math.max(1, reservationTtl.toMinutes() / 4);
+      refiller.scheduleWithFixedDelay(this::purgeQuietly, purgeMinutes, purgeMinutes,
+          TimeUnit.MINUTES);
+    }
+  }
+
+  /**
+   * Stops the background refill.
+   */
+  @PreDestroy
+  public void stop() {
+    if (refiller != null) {
+      refiller.shutdownNow();
+    }
+  }
+
+  @Override
+  public String nextCode() {
+    while (true) {
+      PooledCode pooled = pool.poll();
+      if (pooled == null) {
+        refill();
+        pooled = pool.poll();
+        if (pooled == null) {
+          throw new IllegalStateException("No short code could be reserved");
+        }
+      }
+      depth.decrementAndGet();
+      if (pooled.reservedAt().plus(reservationTtl).isAfter(Instant.now())) {
+        return pooled.code();
+      }
+    }
+  }
+
+  /**
+   * Returns the number of codes ready in the pool.
+   *
+   * @return the pool depth
+   */
+  public int depth() {
+    return depth.get();
+  }
+
+  /**
+   * Tops the pool up to its target size, one reservation batch at a time.
+   * A batch of which nothing could be reserved ends the round.
+   */
+  synchronized void refill() {
+    while (depth.get() < targetSize) {
+      int wanted = Math.min(batchSize, targetSize - depth.get());
+      List<String> reserved = refillTimer.record(() -> reserver.reserve(candidates(wanted)));
+      if (reserved.isEmpty()) {
+        return;
+      }
+      Instant reservedAt = Instant.now();
+      for (String code : reserved) {
+        pool.add(new PooledCode(code, reservedAt));
+      }
+      depth.addAndGet(reserved.size());
+    }
+  }
+
+  private List<String> candidates(int count) {
+    Set<String> candidates = new LinkedHashSet<>(count * 2);
+    int codeLength = keyspaceMonitor.currentLength();
+    long keyspace = Base62.keyspace(codeLength);
+    while (candidates.size() < count) {
+      candidates.add(Base62.encode(random.nextLong(keyspace), codeLength));
+    }
+    return new ArrayList<>(candidates);
+  }
+
+  private void refillQuietly() {
+    try {
+      refill();
+    } catch (DataAccessException e) {
+      LOG.warn("Short code pool refill postponed: {}", e.getMessage());
+    }
+  }
+
+  private void purgeQuietly() {
+    try {
+      purger.purgeBefore(Instant.now().minus(reservationTtl.multipliedBy(2)));
+    } catch (DataAccessException e) {
+      LOG.warn("Purge of stale short code reservations postponed: {}", e.getMessage());
+    }
+  }
+
+  /**
+   * A reserved code and the moment it was reserved.
+   */
+  private record PooledCode(String code, Instant reservedAt) {
+  }
+}
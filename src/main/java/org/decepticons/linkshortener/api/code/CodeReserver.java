@@ -0,0 +1,17 @@
+package org.decepticons.linkshortener.api.code;
+
+import java.util.List;
+
+/**
+ * Reserves candidate codes cluster-wide, so no other node pools or issues them.
+ */
+interface CodeReserver {
+
+  /**
+   * Reserves as many of the candidates as are still free.
+   *
+   * @param candidates distinct candidate codes
+   * @return the candidates that are now reserved for the caller
+   */
+  List<String> reserve(List<String> candidates);
+}
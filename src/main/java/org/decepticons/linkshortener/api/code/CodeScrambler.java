@@ -0,0 +1,67 @@
+package org.decepticons.linkshortener.api.code;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Keyed bijection on {@code [0, n)} that turns consecutive numbers into
+ * codes that do not reveal their neighbours.
+ * It is a four-round Feistel network on an {@code m x m} square with
+ * {@code m = ceil(sqrt(n))}, restricted to {@code [0, n)} by cycle walking,
+ * so every input maps to a distinct output of the same keyspace.
+ */
+public final class CodeScrambler {
+
+  private static final int ROUNDS = 4;
+
+  private final long key;
+
+  /**
+   * Creates a scrambler for the given secret.
+   * The same secret must be used for the lifetime of the issued codes.
+   *
+   * @param secret the secret the permutation is derived from
+   */
+  public CodeScrambler(String secret) {
+    long hash = 0xCBF29CE484222325L;
+    for (byte b : secret.getBytes(StandardCharsets.UTF_8)) {
+      hash = (hash ^ b) * 0x100000001B3L;
+    }
+    this.key = hash;
+  }
+
+  /**
+   * Permutes a value within a keyspace.
+   *
+   * @param value the value, in {@code [0, n)}
+   * @param n the keyspace size
+   * @return the permuted value, in {@code [0, n)}
+   */
+  public long permute(long value, long n) {
+    long side = (long) Math.ceil(Math.sqrt((double) n));
+    while (side * side < n) {
+      side++;
+    }
+    long result = value;
+    do {
+      long left = result / side;
+      long right = result % side;
+      for (int round = 0; round < ROUNDS; round++) {
+        long mixed = (left + roundFunction(round, right) % side) % side;
+        left = right;
+        right = mixed;
+      }
+      result = left * side + right;
+    } while (result >= n);
+    return result;
+  }
+
+  private long roundFunction(int round, long input) {
+    long x = input ^ key ^ (round * 0x9E3779B97F4A7C15L);
+    x ^= x >>> 33;
+    x *= 0xFF51AFD7ED558CCDL;
+    x ^= x >>> 33;
+    x *= 0xC4CEB9FE1A85EC53L;
+    x ^= x >>> 33;
+    return x >>> 1;
+  }
+}
@@ -0,0 +1,226 @@
+package org.decepticons.linkshortener.api.code;
+
+import java.util.Arrays;
+import java.util.function.Consumer;
+
+/**
+ * Immutable sorted set of ASCII codes stored with front coding.
+ * Codes are grouped in blocks of {@value #BLOCK_SIZE}; the first code of a
+ * block is stored in full and every other code as the length of the prefix it
+ * shares with its predecessor plus the remaining characters. Short codes from
+ * one keyspace share long prefixes once sorted, so the set takes a few bytes
+ * per code. A lookup binary-searches the block heads and decodes one block.
+ * A {@link Builder} takes the codes already sorted, as read from an index.
+ */
+final class FrontCodedCodeSet {
+
+  private static final int BLOCK_SIZE = 16;
+
+  private static final FrontCodedCodeSet EMPTY =
+      new FrontCodedCodeSet(new byte[0], new int[0], 0);
+
+  private final byte[] data;
+  private final int[] blockOffsets;
+  private final int size;
+
+  private FrontCodedCodeSet(byte[] data, int[] blockOffsets, int size) {
+    this.data = data;
+    this.blockOffsets = blockOffsets;
+    this.size = size;
+  }
+
+  static FrontCodedCodeSet empty() {
+    return EMPTY;
+  }
+
+  /**
+   * Builds a set from codes in any order. Duplicates, codes longer than 255
+   * characters and codes with non-ASCII characters are dropped.
+   *
+   * @param codes the codes; the array is sorted in place
+   * @param count the number of codes in the array to use
+   * @return the set
+   */
+  static FrontCodedCodeSet of(String[] codes, int count) {
+    Arrays.sort(codes, 0, count);
+    Builder builder = new Builder();
+    for (int i = 0; i < count; i++) {
+      builder.add(codes[i]);
+    }
+    return builder.build();
+  }
+
+  boolean contains(CharSequence code) {
+    int low = 0;
+    int high = blockOffsets.length - 1;
+    while (low <= high) {
+      int mid = (low + high) >>> 1;
+      int cmp = compareHead(mid, code);
+      if (cmp == 0) {
+        return true;
+      } else if (cmp < 0) {
+        low = mid + 1;
+      } else {
+        high = mid - 1;
+      }
+    }
+    return high >= 0 && blockContains(high, code);
+  }
+
+  int size() {
+    return size;
+  }
+
+  /**
+   * Passes every code, in order, to the action. The character sequence is
+   * reused between calls, so the action must not keep it.
+   *
+   * @param action the action to run per code
+   */
+  void forEach(Consumer<CharSequence> action) {
+    StringBuilder current = new StringBuilder(16);
+    int offset = 0;
+    for (int i = 0; i < size; i++) {
+      int shared = 0;
+      if (i % BLOCK_SIZE != 0) {
+        shared = data[offset++] & 0xFF;
+      }
+      int suffix = data[offset++] & 0xFF;
+      current.setLength(shared);
+      for (int c = 0; c < suffix; c++) {
+        current.append((char) data[offset++]);
+      }
+      action.accept(current);
+    }
+  }
+
+  /**
+   * Returns the number of bytes holding the codes, block index excluded.
+   */
+  int encodedBytes() {
+    return data.length;
+  }
+
+  private int compareHead(int block, CharSequence code) {
+    int offset = blockOffsets[block];
+    int length = data[offset] & 0xFF;
+    int limit = Math.min(length, code.length());
+    for (int i = 0; i < limit; i++) {
+      int diff = (data[offset + 1 + i] & 0xFF) - code.charAt(i);
+      if (diff != 0) {
+        return diff;
+      }
+    }
+    return length - code.length();
+  }
+
+  private boolean blockContains(int block, CharSequence code) {
+    byte[] current = new byte[255];
+    int offset = blockOffsets[block];
+    int end = block + 1 < blockOffsets.length ? blockOffsets[block + 1] : data.length;
+    int length = data[offset++] & 0xFF;
+    System.arraycopy(data, offset, current, 0, length);
+    offset += length;
+    while (offset < end) {
+      int shared = data[offset++] & 0xFF;
+      int suffix = data[offset++] & 0xFF;
+      System.arraycopy(data, offset, current, shared, suffix);
+      offset += suffix;
+      length = shared + suffix;
+      int cmp = compare(current, length, code);
+      if (cmp >= 0) {
+        return cmp == 0;
+      }
+    }
+    return false;
+  }
+
+  private static int compare(byte[] bytes, int length, CharSequence code) {
+    int limit = Math.min(length, code.length());
+    for (int i = 0; i < limit; i++) {
+      int diff = (bytes[i] & 0xFF) - code.charAt(i);
+      if (diff != 0) {
+        return diff;
+      }
+    }
+    return length - code.length();
+  }
+
+  private static boolean isAscii(String code) {
+    for (int i = 0; i < code.length(); i++) {
+      if (code.charAt(i) >= 128) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Builds a set from codes passed in ascending order, one at a time, so
+   * that no copy of the codes is held besides the encoded bytes.
+   */
+  static final class Builder {
+
+    private byte[] data = new byte[1024];
+    private int[] blockOffsets = new int[64];
+    private int length;
+    private int size;
+    private String previous;
+
+    /**
+     * Appends a code. Repeats of the previous code, codes longer than 255
+     * characters and codes with non-ASCII characters are dropped.
+     *
+     * @param code the code, not smaller than the previous one
+     * @throws IllegalArgumentException if the code sorts before the previous one
+     */
+    void add(String code) {
+      if (code.length() > 255 || !isAscii(code)) {
+        return;
+      }
+      if (previous != null) {
+        int order = code.compareTo(previous);
+        if (order == 0) {
+          return;
+        }
+        if (order < 0) {
+          throw new IllegalArgumentException(
+              "Code '" + code + "' sorts before '" + previous + "'");
+        }
+      }
+      if (data.length - length < code.length() + 2) {
+        data = Arrays.copyOf(data, Math.max(data.length * 2, length + code.length() + 2));
+      }
+      int shared = 0;
+      if (size % BLOCK_SIZE == 0) {
+        if (size / BLOCK_SIZE == blockOffsets.length) {
+          blockOffsets = Arrays.copyOf(blockOffsets, blockOffsets.length * 2);
+        }
+        blockOffsets[size / BLOCK_SIZE] = length;
+      } else {
+        int limit = Math.min(previous.length(), code.length());
+        while (shared < limit && previous.charAt(shared) == code.charAt(shared)) {
+          shared++;
+        }
+        data[length++] = (byte) shared;
+      }
+      data[length++] = (byte) (code.length() - shared);
+      for (int c = shared; c < code.length(); c++) {
+        data[length++] = (byte) code.charAt(c);
+      }
+      previous = code;
+      size++;
+    }
+
+    /**
+     * Returns the set of the codes added so far, trimmed to size.
+     *
+     * @return the set
+     */
+    FrontCodedCodeSet build() {
+      int blocks = (size + BLOCK_SIZE - 1) / BLOCK_SIZE;
+      return new FrontCodedCodeSet(Arrays.copyOf(data, length),
+          Arrays.copyOf(blockOffsets, blocks), size);
+    }
+  }
+}
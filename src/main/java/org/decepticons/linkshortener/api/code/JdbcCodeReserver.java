@@ -0,0 +1,100 @@
+package org.decepticons.linkshortener.api.code;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * {@link CodeReserver} backed by the {@code code_reservations} table.
+ * One query filters out candidates already used by a link or reserved by
+ * another node, and one multi-row insert reserves the rest, in a transaction
+ * of its own. The primary key of the table rejects a batch that raced with
+ * another node; the batch is then filtered again, which drops the codes the
+ * other node took, and reserved in a new attempt.
+ */
+final class JdbcCodeReserver implements CodeReserver {
+
+  /**
+   * Number of attempts at reserving a batch that keeps racing with other nodes.
+   */
+  static final int MAX_ATTEMPTS = 3;
+
+  private final JdbcTemplate jdbcTemplate;
+  private final TransactionTemplate transactionTemplate;
+
+  JdbcCodeReserver(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+    this.jdbcTemplate = jdbcTemplate;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    this.transactionTemplate.setPropagationBehavior(
+        TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+  }
+
+  @Override
+  public List<String> reserve(List<String> candidates) {
+    if (candidates.isEmpty()) {
+      return List.of();
+    }
+    for (int attempt = 1; ; attempt++) {
+      try {
+        return transactionTemplate.execute(status -> reserveFree(candidates));
+      } catch (DuplicateKeyException e) {
+        if (attempt == MAX_ATTEMPTS) {
+          throw e;
+        }
+      }
+    }
+  }
+
+  private List<String> reserveFree(List<String> candidates) {
+    String placeholders = String.join(", ", Collections.nCopies(candidates.size(), "?"));
+    List<Object> lookupArgs = new ArrayList<>(candidates.size() * 2);
+    lookupArgs.addAll(candidates);
+    lookupArgs.addAll(candidates);
+    Set<String> taken = new HashSet<>(jdbcTemplate.queryForList(
+        "SELECT code FROM links WHERE code IN (" + placeholders + ")"
+            + " UNION SELECT code FROM code_reservations WHERE code IN (" + placeholders + ")",
+        String.class, lookupArgs.toArray()));
+
+    List<String> free = new ArrayList<>(candidates.size());
+    for (String candidate : candidates) {
+      if (!taken.contains(candidate)) {
+        free.add(candidate);
+      }
+    }
+    if (free.isEmpty()) {
+      return free;
+    }
+
+    Timestamp now = Timestamp.from(Instant.now());
+    List<Object> insertArgs = new ArrayList<>(free.size() * 2);
+    for (String code : free) {
+      insertArgs.add(code);
+      insertArgs.add(now);
+    }
+    jdbcTemplate.update(
+        "INSERT INTO code_reservations (code, reserved_at) VALUES "
+            + String.join(", ", Collections.nCopies(free.size(), "(?, ?)")),
+        insertArgs.toArray());
+    return free;
+  }
+
+  /**
+   * Deletes reservations older than the given moment.
+   *
+   * @param before the cut-off
+   * @return the number of deleted reservations
+   */
+  int purgeBefore(Instant before) {
+    return jdbcTemplate.update(
+        "DELETE FROM code_reservations WHERE reserved_at < ?", Timestamp.from(before));
+  }
+}
@@ -0,0 +1,62 @@
+package org.decepticons.linkshortener.api.code;
+
+import java.util.List;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * {@link NodeLeaser} backed by the {@code code_nodes} table.
+ * A node id is taken with a conditional update on its row, so two nodes
+ * racing for the same expired id cannot both win. The lease is committed in
+ * its own transaction, independent of the link creation that needed it.
+ */
+final class JdbcNodeLeaser implements NodeLeaser {
+
+  private final JdbcTemplate jdbcTemplate;
+  private final TransactionTemplate transactionTemplate;
+
+  JdbcNodeLeaser(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+    this.jdbcTemplate = jdbcTemplate;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    this.transactionTemplate.setPropagationBehavior(
+        TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+  }
+
+  @Override
+  public Lease acquire(String owner, long now, long expiresAt) {
+    return transactionTemplate.execute(status -> tryAcquire(owner, now, expiresAt));
+  }
+
+  private Lease tryAcquire(String owner, long now, long expiresAt) {
+    List<long[]> expired = jdbcTemplate.query(
+        "SELECT node_id, lease_expires_at FROM code_nodes WHERE lease_expires_at < ?"
+            + " ORDER BY lease_expires_at",
+        (rs, rowNum) -> new long[] {rs.getLong(1), rs.getLong(2)}, now);
+    for (long[] row : expired) {
+      int taken = jdbcTemplate.update(
+          "UPDATE code_nodes SET owner = ?, lease_expires_at = ?"
+              + " WHERE node_id = ? AND lease_expires_at = ?",
+          owner, expiresAt, row[0], row[1]);
+      if (taken == 1) {
+        return new Lease((int) row[0], row[1]);
+      }
+    }
+    return null;
+  }
+
+  @Override
+  public boolean renew(int nodeId, String owner, long expiresAt) {
+    return jdbcTemplate.update(
+        "UPDATE code_nodes SET lease_expires_at = ? WHERE node_id = ? AND owner = ?",
+        expiresAt, nodeId, owner) == 1;
+  }
+
+  @Override
+  public void release(int nodeId, String owner, long expiresAt) {
+    jdbcTemplate.update(
+        "UPDATE code_nodes SET lease_expires_at = ? WHERE node_id = ? AND owner = ?",
+        expiresAt, nodeId, owner);
+  }
+}
@@ -0,0 +1,182 @@
+package org.decepticons.linkshortener.api.code;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Supplier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Tracks how full the keyspace of each code length is and picks the length of
+ * new random codes.
+ * The number of links per code length is loaded from the database once and
+ * then maintained incrementally as links are created and deleted, counting a
+ * change made in a transaction only once it commits. A resync, every six
+ * hours by default, is only a safety net that also picks up links of other
+ * nodes; a lagging count only delays the move to a longer length, and
+ * colliding candidates are skipped anyway. The occupancy of a length,
+ * {@code links / 62^length}, is the probability that a random code of that
+ * length is already taken. New random codes use the shortest length from
+ * {@code link.code.min-length} whose occupancy is below
+ * {@code link.code.max-occupancy}, so codes move to 8, 9, ... characters
+ * before collisions become noticeable. The chosen length and its occupancy
+ * are published as {@code link.code.length} and {@code link.code.occupancy}.
+ */
+@Component
+public class KeyspaceMonitor {
+
+  private static final Logger LOG = LoggerFactory.getLogger(KeyspaceMonitor.class);
+
+  private static final String COUNT_SQL =
+      "SELECT LENGTH(code), COUNT(*) FROM links GROUP BY LENGTH(code)";
+
+  private final Supplier<long[]> loader;
+  private final int minLength;
+  private final double maxOccupancy;
+  private final AtomicLongArray counts = new AtomicLongArray(Base62.MAX_LENGTH + 1);
+  private volatile boolean loaded;
+
+  /**
+   * Creates a monitor counting the links in the {@code links} table.
+   *
+   * @param jdbcTemplate template used for the count query
+   * @param meterRegistry registry of the keyspace metrics
+   * @param minLength the shortest length of new codes
+   * @param maxOccupancy the occupancy from which a length is no longer used
+   */
+  @Autowired
+  public KeyspaceMonitor(
+      JdbcTemplate jdbcTemplate,
+      MeterRegistry meterRegistry,
+      @Value("${link.code.min-length:7}") int minLength,
+      @Value("${link.code.max-occupancy:0.001}") double maxOccupancy
+  ) {
+    this(() -> countByLength(jdbcTemplate), meterRegistry, minLength, maxOccupancy);
+  }
+
+  KeyspaceMonitor(Supplier<long[]> loader, MeterRegistry meterRegistry, int minLength,
+                  double maxOccupancy) {
+    this.loader = loader;
+    this.minLength = minLength;
+    this.maxOccupancy = maxOccupancy;
+    Gauge.builder("link.code.length", this, monitor -> monitor.currentLength())
+        .description("Length of new random short codes")
+        .register(meterRegistry);
+    Gauge.builder("link.code.occupancy", this,
+            monitor -> monitor.occupancy(monitor.currentLength()))
+        .description("Probability that a random code of the current length is taken")
+        .register(meterRegistry);
+  }
+
+  /**
+   * Returns the length new random codes should have.
+   *
+   * @return the shortest length whose occupancy is below the threshold
+   */
+  public int currentLength() {
+    ensureLoaded();
+    for (int length = minLength; length < Base62.MAX_LENGTH; length++) {
+      if (occupancy(length) < maxOccupancy) {
+        return length;
+      }
+    }
+    return Base62.MAX_LENGTH;
+  }
+
+  /**
+   * Returns the fraction of the keyspace of a length that is in use, which is
+   * also the expected collision rate of a random code of that length.
+   *
+   * @param length the code length
+   * @return the occupancy, {@code 0} for lengths outside the supported range
+   */
+  public double occupancy(int length) {
+    if (length < 1 || length > Base62.MAX_LENGTH) {
+      return 0;
+    }
+    return (double) counts.get(length) / Base62.keyspace(length);
+  }
+
+  /**
+   * Counts a newly created link, once the current transaction commits.
+   *
+   * @param code the code of the link
+   */
+  public void linkCreated(String code) {
+    afterCommit(code, 1);
+  }
+
+  /**
+   * Uncounts a deleted link, once the current transaction commits.
+   *
+   * @param code the code of the link
+   */
+  public void linkDeleted(String code) {
+    afterCommit(code, -1);
+  }
+
+  private void afterCommit(String code, long delta) {
+    if (code.length() > Base62.MAX_LENGTH) {
+      return;
+    }
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+      counts.addAndGet(code.length(), delta);
+      return;
+    }
+    TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+      @Override
+      public void afterCommit() {
+        counts.addAndGet(code.length(), delta);
+      }
+    });
+  }
+
+  /**
+   * Replaces the counts with the ones in the database, every six hours by default.
+   */
+  @Scheduled(fixedDelayString = "${link.code.keyspace-resync-interval-ms:21600000}",
+      initialDelayString = "${link.code.keyspace-resync-interval-ms:21600000}")
+  public void resync() {
+    try {
+      long[] loadedCounts = loader.get();
+      for (int length = 0; length < counts.length(); length++) {
+        counts.set(length, length < loadedCounts.length ? loadedCounts[length] : 0);
+      }
+      loaded = true;
+    } catch (DataAccessException e) {
+      LOG.warn("Short code keyspace counts not refreshed: {}", e.getMessage());
+    }
+  }
+
+  private void ensureLoaded() {
+    if (!loaded) {
+      synchronized (this) {
+        if (!loaded) {
+          resync();
+        }
+      }
+    }
+  }
+
+  private static long[] countByLength(JdbcTemplate jdbcTemplate) {
+    long[] result = new long[Base62.MAX_LENGTH + 1];
+    List<long[]> rows = jdbcTemplate.query(COUNT_SQL,
+        (rs, rowNum) -> new long[] {rs.getLong(1), rs.getLong(2)});
+    for (long[] row : rows) {
+      if (row[0] >= 0 && row[0] < result.length) {
+        result[(int) row[0]] = row[1];
+      }
+    }
+    return result;
+  }
+}
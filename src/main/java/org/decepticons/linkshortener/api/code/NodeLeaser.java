@@ -0,0 +1,47 @@
+package org.decepticons.linkshortener.api.code;
+
+/**
+ * Leases node ids of the time-ordered code generator, so that no two nodes
+ * issue codes under the same id at the same time.
+ */
+interface NodeLeaser {
+
+  /**
+   * Leases a node id whose previous lease has expired.
+   *
+   * @param owner identifier of the leasing node
+   * @param now the current time in epoch milliseconds
+   * @param expiresAt the end of the new lease in epoch milliseconds
+   * @return the lease, or {@code null} if all node ids are leased
+   */
+  Lease acquire(String owner, long now, long expiresAt);
+
+  /**
+   * Extends a lease that is still held by the owner.
+   *
+   * @param nodeId the leased node id
+   * @param owner identifier of the leasing node
+   * @param expiresAt the new end of the lease in epoch milliseconds
+   * @return {@code false} if the node id has been leased by another node meanwhile
+   */
+  boolean renew(int nodeId, String owner, long expiresAt);
+
+  /**
+   * Gives a node id back early.
+   *
+   * @param nodeId the leased node id
+   * @param owner identifier of the leasing node
+   * @param expiresAt the earliest time another node may use the id
+   */
+  void release(int nodeId, String owner, long expiresAt);
+
+  /**
+   * A leased node id and the end of its previous lease, which the new owner's
+   * timestamps must stay after.
+   *
+   * @param nodeId the node id
+   * @param previousExpiry end of the previous lease in epoch milliseconds
+   */
+  record Lease(int nodeId, long previousExpiry) {
+  }
+}
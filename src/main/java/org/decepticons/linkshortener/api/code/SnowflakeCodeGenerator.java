@@ -0,0 +1,236 @@
+package org.decepticons.linkshortener.api.code;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.time.Instant;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+
+/**
+ * Code generator composing each code from a millisecond timestamp, a node id
+ * and a per-node sequence (Snowflake layout), encoded as a 10-character base62
+ * code.
+ * Node ids are leased from the {@code code_nodes} table and kept alive by a
+ * background heartbeat, so creating a link needs no coordination. Codes are
+ * increasing per node and unique cluster-wide:
+ * <ul>
+ *   <li>a node issues codes only while its lease is valid, and records the
+ *       lease end, which the next owner of the id waits out;</li>
+ *   <li>a clock that steps back by up to {@code link.code.snowflake.max-clock-drift-ms}
+ *       is waited out, a larger step fails code generation until it is fixed.</li>
+ * </ul>
+ */
+@Component
+@ConditionalOnProperty(name = "link.code.generator", havingValue = "snowflake")
+public class SnowflakeCodeGenerator implements CodeGenerator {
+
+  /**
+   * Start of the timestamp field, 2025-01-01T00:00:00Z; the 40-bit field lasts until 2059.
+   */
+  static final long EPOCH = Instant.parse("2025-01-01T00:00:00Z").toEpochMilli();
+
+  static final int NODE_BITS = 8;
+
+  static final int SEQUENCE_BITS = 11;
+
+  static final int MAX_NODE_ID = (1 << NODE_BITS) - 1;
+
+  private static final int TIMESTAMP_BITS = 40;
+
+  private static final long MAX_SEQUENCE = (1L << SEQUENCE_BITS) - 1;
+
+  private static final Logger LOG = LoggerFactory.getLogger(SnowflakeCodeGenerator.class);
+
+  private final NodeLeaser leaser;
+  private final LongSupplier clock;
+  private final long leaseTtlMs;
+  private final long maxClockDriftMs;
+  private final String owner = ownerName();
+  private int nodeId = -1;
+  private long leaseExpiresAt;
+  private long lastTimestamp;
+  private long sequence;
+  private ScheduledExecutorService heartbeat;
+
+  /**
+   * Creates a generator leasing its node id from the {@code code_nodes} table.
+   *
+   * @param jdbcTemplate template used for the lease statements
+   * @param transactionManager transaction manager shared with JPA
+   * @param leaseTtlMs how long a node id stays leased without a heartbeat
+   * @param maxClockDriftMs the largest backward clock step that is waited out
+   */
+  @Autowired
+  public SnowflakeCodeGenerator(
+      JdbcTemplate jdbcTemplate,
+      PlatformTransactionManager transactionManager,
+      @Value("${link.code.snowflake.lease-ttl-ms:30000}") long leaseTtlMs,
+      @Value("${link.code.snowflake.max-clock-drift-ms:500}") long maxClockDriftMs
+  ) {
+    this(new JdbcNodeLeaser(jdbcTemplate, transactionManager), System::currentTimeMillis,
+        leaseTtlMs, maxClockDriftMs);
+  }
+
+  SnowflakeCodeGenerator(NodeLeaser leaser, LongSupplier clock, long leaseTtlMs,
+                         long maxClockDriftMs) {
+    this.leaser = leaser;
+    this.clock = clock;
+    this.leaseTtlMs = leaseTtlMs;
+    this.maxClockDriftMs = maxClockDriftMs;
+  }
+
+  /**
+   * Starts the lease heartbeat, renewing the node id at a third of its TTL.
+   */
+  @PostConstruct
+  public void start() {
+    heartbeat = Executors.newSingleThreadScheduledExecutor(runnable -> {
+      Thread thread = new Thread(runnable, "code-node-heartbeat");
+      thread.setDaemon(true);
+      return thread;
+    });
+    long interval = Math.max(1, leaseTtlMs / 3);
+    heartbeat.scheduleWithFixedDelay(this::renewQuietly, interval, interval,
+        TimeUnit.MILLISECONDS);
+  }
+
+  /**
+   * Stops the heartbeat and hands the node id back, so a restarted node need
+   * not wait for the lease to expire.
+   */
+  @PreDestroy
+  public synchronized void stop() {
+    if (heartbeat != null) {
+      heartbeat.shutdownNow();
+    }
+    if (nodeId >= 0) {
+      try {
+        leaser.release(nodeId, owner, lastTimestamp + 1);
+      } catch (DataAccessException e) {
+        LOG.warn("Code node {} not released: {}", nodeId, e.getMessage());
+      }
+      nodeId = -1;
+    }
+  }
+
+  @Override
+  public synchronized String nextCode() {
+    long now = clock.getAsLong();
+    if (nodeId < 0 || now >= leaseExpiresAt) {
+      acquire(now);
+    }
+    if (now < lastTimestamp) {
+      if (lastTimestamp - now > maxClockDriftMs) {
+        throw new IllegalStateException("Clock moved back by " + (lastTimestamp - now)
+            + " ms; refusing to generate short codes");
+      }
+      now = waitUntilAfter(lastTimestamp - 1);
+    }
+    if (now == lastTimestamp) {
+      sequence = (sequence + 1) & MAX_SEQUENCE;
+      if (sequence == 0) {
+        now = waitUntilAfter(lastTimestamp);
+      }
+    } else {
+      sequence = 0;
+    }
+    if (now >= leaseExpiresAt) {
+      throw new IllegalStateException("Lease of code node " + nodeId + " expired");
+    }
+    lastTimestamp = now;
+    return Base62.encode(compose(now, nodeId, sequence), Base62.MAX_LENGTH);
+  }
+
+  /**
+   * Combines the three fields into the numeric value of a code.
+   *
+   * @param timestamp epoch milliseconds
+   * @param nodeId the node id
+   * @param sequence the sequence within the millisecond
+   * @return the value
+   */
+  static long compose(long timestamp, int nodeId, long sequence) {
+    long elapsed = timestamp - EPOCH;
+    if (elapsed < 0 || elapsed >>> TIMESTAMP_BITS != 0) {
+      throw new IllegalStateException("Timestamp outside the code range: " + timestamp);
+    }
+    return elapsed << (NODE_BITS + SEQUENCE_BITS) | (long) nodeId << SEQUENCE_BITS | sequence;
+  }
+
+  private void acquire(long now) {
+    if (nodeId >= 0 && leaser.renew(nodeId, owner, now + leaseTtlMs)) {
+      leaseExpiresAt = now + leaseTtlMs;
+      return;
+    }
+    NodeLeaser.Lease lease = leaser.acquire(owner, now, now + leaseTtlMs);
+    if (lease == null) {
+      nodeId = -1;
+      throw new IllegalStateException("All " + (MAX_NODE_ID + 1) + " code node ids are leased");
+    }
+    nodeId = lease.nodeId();
+    leaseExpiresAt = now + leaseTtlMs;
+    lastTimestamp = Math.max(lastTimestamp, lease.previousExpiry());
+    LOG.info("Leased code node id {}", nodeId);
+  }
+
+  private void renewQuietly() {
+    int leased;
+    synchronized (this) {
+      leased = nodeId;
+    }
+    if (leased < 0) {
+      return;
+    }
+    long expiresAt = clock.getAsLong() + leaseTtlMs;
+    try {
+      boolean renewed = leaser.renew(leased, owner, expiresAt);
+      synchronized (this) {
+        if (nodeId != leased) {
+          return;
+        }
+        if (renewed) {
+          leaseExpiresAt = Math.max(leaseExpiresAt, expiresAt);
+        } else {
+          LOG.warn("Lease of code node {} was taken over", leased);
+          nodeId = -1;
+        }
+      }
+    } catch (DataAccessException e) {
+      LOG.warn("Lease of code node {} not renewed: {}", leased, e.getMessage());
+    }
+  }
+
+  private long waitUntilAfter(long timestamp) {
+    long now = clock.getAsLong();
+    while (now <= timestamp) {
+      Thread.onSpinWait();
+      now = clock.getAsLong();
+    }
+    return now;
+  }
+
+  private static String ownerName() {
+    String host;
+    try {
+      host = InetAddress.getLocalHost().getHostName();
+    } catch (UnknownHostException e) {
+      host = "unknown";
+    }
+    String suffix = UUID.randomUUID().toString().substring(0, 8);
+    return host.substring(0, Math.min(host.length(), 80)) + "-" + suffix;
+  }
+}
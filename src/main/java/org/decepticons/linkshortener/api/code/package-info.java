@@ -0,0 +1,6 @@
+/**
+ * Contains the generation of short link codes.
+ * Generators hand out codes that are unique by construction, so creating a
+ * link never has to probe the database for a free code.
+ */
+package org.decepticons.linkshortener.api.code;
@@ -0,0 +1,17 @@
+package org.decepticons.linkshortener.api.dto;
+
+import java.util.List;
+
+/**
+ * Data transfer object answering whether a custom alias can be used.
+ *
+ * @param alias the alias that was checked
+ * @param available whether the alias is valid and not in use
+ * @param suggestions free variants of the alias when it is taken, otherwise empty
+ */
+public record AliasAvailabilityDto(
+    String alias,
+    boolean available,
+    List<String> suggestions
+) {
+}
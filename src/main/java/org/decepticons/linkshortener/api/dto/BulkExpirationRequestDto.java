@@ -0,0 +1,15 @@
+package org.decepticons.linkshortener.api.dto;
+
+import java.time.Instant;
+
+/**
+ * Data transfer object for setting a new expiration date on a set of links.
+ *
+ * @param filter the links to update
+ * @param newExpirationDate the new expiration date, which must be in the future
+ */
+public record BulkExpirationRequestDto(
+    LinkFilterDto filter,
+    Instant newExpirationDate
+) {
+}
@@ -0,0 +1,11 @@
+package org.decepticons.linkshortener.api.dto;
+
+/**
+ * Data transfer object reporting the outcome of a bulk operation on links.
+ *
+ * @param affected the number of links changed or deleted
+ */
+public record BulkOperationResultDto(
+    long affected
+) {
+}
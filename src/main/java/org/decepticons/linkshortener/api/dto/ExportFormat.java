@@ -0,0 +1,40 @@
+package org.decepticons.linkshortener.api.dto;
+
+/**
+ * Output formats supported by the streaming export endpoints.
+ *
+ * <ul>
+ *   <li>{@code NDJSON} – one JSON object per line.</li>
+ *   <li>{@code CSV} – a header line followed by comma-separated rows.</li>
+ * </ul>
+ */
+public enum ExportFormat {
+  NDJSON("application/x-ndjson", "ndjson"),
+  CSV("text/csv", "csv");
+
+  private final String mediaType;
+  private final String fileExtension;
+
+  ExportFormat(String mediaType, String fileExtension) {
+    this.mediaType = mediaType;
+    this.fileExtension = fileExtension;
+  }
+
+  /**
+   * Returns the content type of the exported document.
+   *
+   * @return the media type, e.g. {@code text/csv}
+   */
+  public String getMediaType() {
+    return mediaType;
+  }
+
+  /**
+   * Returns the file extension suggested to clients.
+   *
+   * @return the extension without a leading dot
+   */
+  public String getFileExtension() {
+    return fileExtension;
+  }
+}
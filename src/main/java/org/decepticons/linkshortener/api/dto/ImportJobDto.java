@@ -0,0 +1,65 @@
+package org.decepticons.linkshortener.api.dto;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.UUID;
+import org.decepticons.linkshortener.api.model.ImportJob;
+import org.decepticons.linkshortener.api.model.ImportJobStatus;
+
+/**
+ * Data transfer object reporting the progress of a link import job.
+ *
+ * @param id the job identifier
+ * @param status the job state
+ * @param totalRows the number of data rows in the upload
+ * @param processedRows the number of rows in committed chunks
+ * @param createdRows the number of links created
+ * @param failedRows the number of rejected rows
+ * @param rowsPerSecond throughput of the current run, {@code 0} before it starts
+ * @param etaSeconds estimated seconds left, {@code null} while unknown
+ * @param createdAt when the upload was accepted
+ * @param finishedAt when the job completed or failed, {@code null} before
+ * @param error the reason of a failure, {@code null} otherwise
+ */
+public record ImportJobDto(
+    UUID id,
+    ImportJobStatus status,
+    long totalRows,
+    long processedRows,
+    long createdRows,
+    long failedRows,
+    double rowsPerSecond,
+    Long etaSeconds,
+    Instant createdAt,
+    Instant finishedAt,
+    String error
+) {
+
+  /**
+   * Builds the progress report of a job as of the given moment.
+   *
+   * @param job the job
+   * @param now the current time
+   * @return the report
+   */
+  public static ImportJobDto of(ImportJob job, Instant now) {
+    Instant end = job.getFinishedAt() != null ? job.getFinishedAt() : now;
+    double rowsPerSecond = 0;
+    if (job.getStartedAt() != null) {
+      long millis = Duration.between(job.getStartedAt(), end).toMillis();
+      long rows = job.getProcessedRows() - job.getRowsAtStart();
+      rowsPerSecond = millis > 0 ? rows * 1000.0 / millis : 0;
+    }
+    Long etaSeconds = null;
+    if (job.getStatus() == ImportJobStatus.COMPLETED) {
+      etaSeconds = 0L;
+    } else if (job.getStatus() == ImportJobStatus.RUNNING && rowsPerSecond > 0) {
+      long remaining = job.getTotalRows() - job.getProcessedRows();
+      etaSeconds = (long) Math.ceil(remaining / rowsPerSecond);
+    }
+    return new ImportJobDto(job.getId(), job.getStatus(), job.getTotalRows(),
+        job.getProcessedRows(), job.getCreatedRows(), job.getFailedRows(),
+        Math.round(rowsPerSecond * 10) / 10.0, etaSeconds, job.getCreatedAt(),
+        job.getFinishedAt(), job.getError());
+  }
+}
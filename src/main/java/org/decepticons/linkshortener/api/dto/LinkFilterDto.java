@@ -0,0 +1,37 @@
+package org.decepticons.linkshortener.api.dto;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import org.decepticons.linkshortener.api.model.LinkStatus;
+
+/**
+ * Data transfer object selecting a set of the current user's links.
+ * All given criteria must match; ranges include their start and exclude their end.
+ *
+ * @param ids the link identifiers, or {@code null} for any
+ * @param status the link status, or {@code null} for any
+ * @param createdFrom earliest creation time, or {@code null}
+ * @param createdTo creation time the links are created before, or {@code null}
+ * @param expiresFrom earliest expiry time, or {@code null}
+ * @param expiresTo expiry time the links expire before, or {@code null}
+ */
+public record LinkFilterDto(
+    List<UUID> ids,
+    LinkStatus status,
+    Instant createdFrom,
+    Instant createdTo,
+    Instant expiresFrom,
+    Instant expiresTo
+) {
+
+  /**
+   * Tells whether no criterion is set, which would select all of a user's links.
+   *
+   * @return {@code true} if the filter is empty
+   */
+  public boolean isEmpty() {
+    return ids == null && status == null && createdFrom == null && createdTo == null
+        && expiresFrom == null && expiresTo == null;
+  }
+}
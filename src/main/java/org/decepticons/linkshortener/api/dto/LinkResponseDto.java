@@ -2,6 +2,7 @@ package org.decepticons.linkshortener.api.dto;
 
 import java.time.Instant;
 import java.util.UUID;
+import org.decepticons.linkshortener.api.model.LinkStatus;
 
 /**
  * Data transfer object representing a shortened link.
@@ -27,4 +28,22 @@ public record LinkResponseDto(
     String status,
     UUID ownerId
 ) {
+
+  /**
+   * Constructs the DTO from the columns of a link, as used by the JPQL
+   * constructor expressions of {@code LinkRepository}.
+   *
+   * @param id the unique identifier of the link
+   * @param code the generated short code for the link
+   * @param originalUrl the original URL provided by the user
+   * @param createdAt the timestamp when the link was created
+   * @param expiresAt the timestamp when the link will expire
+   * @param clicks the number of times the short link has been accessed
+   * @param status the current status of the link
+   * @param ownerId the unique identifier of the user who owns this link
+   */
+  public LinkResponseDto(UUID id, String code, String originalUrl, Instant createdAt,
+                         Instant expiresAt, long clicks, LinkStatus status, UUID ownerId) {
+    this(id, code, originalUrl, createdAt, expiresAt, clicks, status.name(), ownerId);
+  }
 }
@@ -0,0 +1,29 @@
+package org.decepticons.linkshortener.api.dto;
+
+/**
+ * Data transfer object with the criteria of a search in the current user's
+ * links. All given criteria must match; blank values count as not given.
+ *
+ * @param domain the host of the destination URL, matched exactly and case-insensitively
+ * @param urlContains text the destination URL contains, case-insensitively
+ * @param codePrefix the beginning of the short code
+ */
+public record LinkSearchDto(
+    String domain,
+    String urlContains,
+    String codePrefix
+) {
+
+  /**
+   * Tells whether no criterion is set.
+   *
+   * @return {@code true} if every criterion is blank
+   */
+  public boolean isEmpty() {
+    return isBlank(domain) && isBlank(urlContains) && isBlank(codePrefix);
+  }
+
+  private static boolean isBlank(String value) {
+    return value == null || value.isBlank();
+  }
+}
@@ -0,0 +1,17 @@
+package org.decepticons.linkshortener.api.dto;
+
+import java.util.List;
+
+/**
+ * Data transfer object holding one page of a cursor-paginated link listing.
+ *
+ * @param items the links of this page, newest first
+ * @param nextCursor the token for the following page, {@code null} on the last page
+ * @param total the number of links in the whole listing, {@code null} if not tracked
+ */
+public record LinkSliceDto(
+    List<LinkResponseDto> items,
+    String nextCursor,
+    Long total
+) {
+}
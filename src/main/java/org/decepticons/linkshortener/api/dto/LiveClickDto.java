@@ -0,0 +1,17 @@
+package org.decepticons.linkshortener.api.dto;
+
+import java.time.Instant;
+
+/**
+ * Data transfer object representing one click pushed to live dashboards.
+ *
+ * @param clickedAt the moment of the click
+ * @param country the two-letter country code of the client, or {@code null}
+ * @param referrer the registrable domain of the referring site, or {@code null}
+ */
+public record LiveClickDto(
+    Instant clickedAt,
+    String country,
+    String referrer
+) {
+}
@@ -0,0 +1,15 @@
+package org.decepticons.linkshortener.api.dto;
+
+import java.util.List;
+
+/**
+ * Data transfer object representing one coalesced message of a live click stream.
+ *
+ * @param clicks the clicks since the previous message, oldest first
+ * @param dropped the number of older clicks skipped because the subscriber fell behind
+ */
+public record LiveClicksDto(
+    List<LiveClickDto> clicks,
+    long dropped
+) {
+}
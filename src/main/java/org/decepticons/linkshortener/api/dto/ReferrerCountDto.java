@@ -0,0 +1,13 @@
+package org.decepticons.linkshortener.api.dto;
+
+/**
+ * Data transfer object representing one row of a link's top-referrer table.
+ *
+ * @param domain the registrable domain of the referring site
+ * @param clicks the number of clicks referred by the domain
+ */
+public record ReferrerCountDto(
+    String domain,
+    long clicks
+) {
+}
@@ -0,0 +1,13 @@
+package org.decepticons.linkshortener.api.dto;
+
+import java.util.List;
+
+/**
+ * Data transfer object listing the short codes to resolve in one call.
+ *
+ * @param codes the short codes; duplicates are resolved once
+ */
+public record ResolveLinksRequestDto(
+    List<String> codes
+) {
+}
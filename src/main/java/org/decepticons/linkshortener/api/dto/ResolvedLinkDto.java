@@ -0,0 +1,29 @@
+package org.decepticons.linkshortener.api.dto;
+
+import java.time.Instant;
+
+/**
+ * Data transfer object describing where a short code leads, without counting a click.
+ *
+ * @param code the short code
+ * @param status {@code ACTIVE}, {@code INACTIVE}, {@code EXPIRED} or {@code NOT_FOUND}
+ * @param expiresAt the expiration time, {@code null} if none or not found
+ * @param originalUrl the destination, {@code null} if not found
+ */
+public record ResolvedLinkDto(
+    String code,
+    String status,
+    Instant expiresAt,
+    String originalUrl
+) {
+
+  /**
+   * Status of a code that belongs to no link.
+   */
+  public static final String NOT_FOUND = "NOT_FOUND";
+
+  /**
+   * Status of an active link past its expiration time.
+   */
+  public static final String EXPIRED = "EXPIRED";
+}
@@ -9,20 +9,42 @@ import lombok.Setter;
  * Data Transfer Object for receiving a URL from the client.
  * This object is used when creating a new short link.
  * The URL must not be blank and must start with "http://" or "https://".
+ * An optional alias requests a custom short code instead of a generated one.
 
  * Example JSON:
  * {
- *   "url": "https://www.example.com"
+ *   "url": "https://www.example.com",
+ *   "alias": "spring-sale"
  * }
  */
 
 @Getter
 @Setter
 public class UrlRequestDto {
-  @Pattern(regexp = "https?://.+", message = "URL must start with http:// or https://")
+
+  /**
+   * Accepted URLs: anything starting with {@code http://} or {@code https://}.
+   */
+  public static final String URL_PATTERN = "https?://.+";
+
+  /**
+   * Allowed custom aliases: 3 to 12 letters, digits, dashes or underscores,
+   * starting with a letter or digit. Aliases of 7 to 10 letters and digits
+   * only are reserved for generated codes, so an alias never takes a code a
+   * generator may hand out.
+   */
+  public static final String ALIAS_PATTERN =
+      "(?![A-Za-z0-9]{7,10}$)[A-Za-z0-9][A-Za-z0-9_-]{2,11}";
+
+  @Pattern(regexp = URL_PATTERN, message = "URL must start with http:// or https://")
   @NotBlank
   private String url;
 
+  @Pattern(regexp = ALIAS_PATTERN,
+      message = "Alias must be 3-12 letters, digits, '-' or '_', starting with a letter or digit;"
+          + " aliases of 7-10 letters and digits only need a '-' or '_'")
+  private String alias;
+
   /**
    * Default constructor required for deserialization by frameworks like Jackson.
    */
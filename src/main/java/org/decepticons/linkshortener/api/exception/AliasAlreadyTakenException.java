@@ -0,0 +1,26 @@
+package org.decepticons.linkshortener.api.exception;
+
+import java.util.List;
+import lombok.Getter;
+
+/**
+ * Thrown when a link is created with a custom alias that is already in use.
+ */
+@Getter
+public class AliasAlreadyTakenException extends BaseException {
+
+  private final String alias;
+  private final List<String> suggestions;
+
+  /**
+   * Constructs a new AliasAlreadyTakenException.
+   *
+   * @param alias the alias that is taken
+   * @param suggestions free variants of the alias
+   */
+  public AliasAlreadyTakenException(final String alias, final List<String> suggestions) {
+    super("Alias '" + alias + "' is already taken");
+    this.alias = alias;
+    this.suggestions = suggestions;
+  }
+}
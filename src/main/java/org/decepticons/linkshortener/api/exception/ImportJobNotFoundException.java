@@ -0,0 +1,23 @@
+package org.decepticons.linkshortener.api.exception;
+
+import java.util.UUID;
+import lombok.Getter;
+
+/**
+ * Thrown when an import job does not exist or belongs to another user.
+ */
+@Getter
+public class ImportJobNotFoundException extends BaseException {
+
+  private final UUID jobId;
+
+  /**
+   * Constructs a new ImportJobNotFoundException.
+   *
+   * @param jobId the identifier that was looked up
+   */
+  public ImportJobNotFoundException(final UUID jobId) {
+    super("No import job " + jobId);
+    this.jobId = jobId;
+  }
+}
@@ -0,0 +1,25 @@
+package org.decepticons.linkshortener.api.exception;
+
+import lombok.Getter;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Exception thrown when a pagination continuation token cannot be decoded.
+ */
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+@Getter
+public class InvalidCursorException extends BaseException {
+
+  private final String cursor;
+
+  /**
+   * Constructs a new InvalidCursorException.
+   *
+   * @param cursor the rejected token
+   */
+  public InvalidCursorException(final String cursor) {
+    super("Invalid pagination cursor");
+    this.cursor = cursor;
+  }
+}
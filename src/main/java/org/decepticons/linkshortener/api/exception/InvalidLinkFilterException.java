@@ -0,0 +1,21 @@
+package org.decepticons.linkshortener.api.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Exception thrown when a bulk operation is requested with a filter that is
+ * empty or selects too many links by identifier.
+ */
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class InvalidLinkFilterException extends BaseException {
+
+  /**
+   * Constructs a new InvalidLinkFilterException.
+   *
+   * @param message the reason the filter is rejected
+   */
+  public InvalidLinkFilterException(final String message) {
+    super(message);
+  }
+}
@@ -0,0 +1,25 @@
+package org.decepticons.linkshortener.api.exception;
+
+import lombok.Getter;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Exception thrown when a batch request names more short codes than allowed.
+ */
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+@Getter
+public class TooManyCodesException extends BaseException {
+
+  private final int maxCodes;
+
+  /**
+   * Constructs a new TooManyCodesException.
+   *
+   * @param maxCodes the largest number of codes accepted per request
+   */
+  public TooManyCodesException(final int maxCodes) {
+    super("At most " + maxCodes + " codes are accepted per request");
+    this.maxCodes = maxCodes;
+  }
+}
@@ -0,0 +1,467 @@
+package org.decepticons.linkshortener.api.journal;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Local append-only journal of redirect clicks.
+ * Clicks are written as fixed-size, CRC-checked records into memory-mapped
+ * segment files, so a redirect never waits for the database. A background
+ * thread forces dirty pages to disk every few milliseconds (group fsync), and
+ * only records that reached the disk are handed to the replayer.
+ *
+ * <h2>Layout</h2>
+ * <ul>
+ *   <li>Segments are named {@code segment-<first sequence>.log}; record {@code i}
+ *       of a segment always carries sequence {@code first + i}.</li>
+ *   <li>Each record is {@value #RECORD_SIZE} bytes: sequence, epoch millis,
+ *       code length, code bytes, country code, reserved space and a trailing CRC32.</li>
+ *   <li>The newest segment is never deleted, so the next sequence number
+ *       survives a restart even when everything has been replayed.</li>
+ * </ul>
+ */
+@Component
+public class ClickJournal {
+
+  /**
+   * Size of a single journal record in bytes.
+   */
+  public static final int RECORD_SIZE = 64;
+
+  /**
+   * Longest short code that fits into a record.
+   */
+  public static final int MAX_CODE_LENGTH = 12;
+
+  private static final Logger LOG = LoggerFactory.getLogger(ClickJournal.class);
+
+  private static final int SEQUENCE_OFFSET = 0;
+  private static final int TIMESTAMP_OFFSET = 8;
+  private static final int CODE_LENGTH_OFFSET = 16;
+  private static final int CODE_OFFSET = 17;
+  private static final int COUNTRY_OFFSET = CODE_OFFSET + MAX_CODE_LENGTH;
+  private static final int CRC_OFFSET = RECORD_SIZE - Integer.BYTES;
+
+  private static final String SEGMENT_PREFIX = "segment-";
+  private static final String SEGMENT_SUFFIX = ".log";
+  private static final String JOURNAL_ID_FILE = "journal.id";
+
+  private final boolean enabled;
+  private final Path directory;
+  private final int segmentRecords;
+  private final long fsyncIntervalMillis;
+
+  private final ReentrantLock lock = new ReentrantLock();
+  private final CRC32 crc = new CRC32();
+  private final byte[] scratch = new byte[RECORD_SIZE];
+  private final AtomicLong durableSequence = new AtomicLong();
+
+  private volatile boolean open;
+  private volatile long appendedSequence;
+  private String journalId;
+  private MappedByteBuffer activeBuffer;
+  private long activeFirstSequence;
+  private int activeCapacity;
+  private int activeIndex;
+  private long nextSequence;
+  private ScheduledExecutorService syncExecutor;
+
+  /**
+   * Creates the journal; files are opened in {@link #open()}.
+   *
+   * @param enabled whether redirects should journal clicks at all
+   * @param directory directory holding the segment files; required when enabled
+   * @param segmentRecords number of records per segment file
+   * @param fsyncIntervalMillis how often dirty segment pages are forced to disk
+   */
+  public ClickJournal(
+      @Value("${link.click-journal.enabled:false}") boolean enabled,
+      @Value("${link.click-journal.directory:}") String directory,
+      @Value("${link.click-journal.segment-records:65536}") int segmentRecords,
+      @Value("${link.click-journal.fsync-interval-ms:50}") long fsyncIntervalMillis
+  ) {
+    this.enabled = enabled;
+    this.directory = directory.isBlank() ? null : Path.of(directory);
+    this.segmentRecords = segmentRecords;
+    this.fsyncIntervalMillis = fsyncIntervalMillis;
+  }
+
+  /**
+   * Opens the newest segment, recovers the write position from its last valid
+   * record and starts the group fsync thread. If the directory cannot be used
+   * the journal stays closed and callers fall back to direct database writes.
+   *
+   * @throws IllegalStateException if the journal is enabled without a directory
+   */
+  @PostConstruct
+  public void open() {
+    if (!enabled) {
+      return;
+    }
+    if (directory == null) {
+      throw new IllegalStateException(
+          "link.click-journal.directory must be set when the click journal is enabled");
+    }
+    lock.lock();
+    try {
+      Files.createDirectories(directory);
+      journalId = loadOrCreateJournalId();
+
+      List<Path> segments = listSegments();
+      if (segments.isEmpty()) {
+        mapSegment(segmentPath(1L), 1L);
+        activeIndex = 0;
+      } else {
+        Path last = segments.get(segments.size() - 1);
+        mapSegment(last, firstSequenceOf(last));
+        activeIndex = countValidRecords();
+      }
+      nextSequence = activeFirstSequence + activeIndex;
+      appendedSequence = nextSequence - 1;
+      durableSequence.set(appendedSequence);
+      open = true;
+    } catch (IOException | UncheckedIOException e) {
+      LOG.error("Click journal in {} is unavailable, clicks go straight to the database",
+          directory, e);
+      return;
+    } finally {
+      lock.unlock();
+    }
+
+    syncExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+      Thread thread = new Thread(runnable, "click-journal-sync");
+      thread.setDaemon(true);
+      return thread;
+    });
+    syncExecutor.scheduleWithFixedDelay(
+        this::sync, fsyncIntervalMillis, fsyncIntervalMillis, TimeUnit.MILLISECONDS);
+    LOG.info("Click journal {} opened in {} at sequence {}", journalId, directory, nextSequence);
+  }
+
+  /**
+   * Stops the fsync thread and forces everything appended so far to disk.
+   */
+  @PreDestroy
+  public void close() {
+    if (!open) {
+      return;
+    }
+    if (syncExecutor != null) {
+      syncExecutor.shutdown();
+    }
+    sync();
+    open = false;
+  }
+
+  /**
+   * Tells whether clicks are currently being journaled.
+   *
+   * @return {@code true} if {@link #append(String, Instant, String)} accepts records
+   */
+  public boolean isOpen() {
+    return open;
+  }
+
+  /**
+   * Returns the identifier of this journal directory. Checkpoints in the
+   * database are kept per journal, so every node replays its own clicks.
+   *
+   * @return the journal id, or {@code null} if the journal is not open
+   */
+  public String getJournalId() {
+    return journalId;
+  }
+
+  /**
+   * Returns the highest sequence number that has been forced to disk.
+   *
+   * @return the durable sequence watermark
+   */
+  public long getDurableSequence() {
+    return durableSequence.get();
+  }
+
+  /**
+   * Appends a click to the active segment. The record becomes visible to the
+   * replayer after the next group fsync.
+   *
+   * @param code short code of the clicked link
+   * @param clickedAt moment of the click
+   * @param country two-letter country code of the client, or {@code null} if unknown
+   * @return {@code true} if the click was journaled, {@code false} if the caller
+   *     has to count it some other way
+   */
+  public boolean append(String code, Instant clickedAt, String country) {
+    if (!open) {
+      return false;
+    }
+    byte[] codeBytes = code.getBytes(StandardCharsets.US_ASCII);
+    if (codeBytes.length > MAX_CODE_LENGTH) {
+      return false;
+    }
+
+    lock.lock();
+    try {
+      if (!open) {
+        return false;
+      }
+      if (activeIndex == activeCapacity) {
+        rotate();
+      }
+      long sequence = nextSequence;
+      encode(sequence, clickedAt.toEpochMilli(), codeBytes, country);
+      activeBuffer.put(activeIndex * RECORD_SIZE, scratch);
+      activeIndex++;
+      nextSequence++;
+      appendedSequence = sequence;
+      return true;
+    } catch (IOException | UncheckedIOException e) {
+      LOG.error("Failed to append click for {} to the journal", code, e);
+      return false;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Forces the active segment to disk and advances the durable watermark.
+   * The force itself runs outside the append lock, so concurrent redirects
+   * share one fsync instead of waiting for their own.
+   */
+  public void sync() {
+    long target;
+    MappedByteBuffer buffer;
+    lock.lock();
+    try {
+      if (!open) {
+        return;
+      }
+      target = appendedSequence;
+      buffer = activeBuffer;
+    } finally {
+      lock.unlock();
+    }
+    if (target <= durableSequence.get()) {
+      return;
+    }
+    try {
+      buffer.force();
+      durableSequence.accumulateAndGet(target, Math::max);
+    } catch (UncheckedIOException e) {
+      LOG.error("Failed to fsync the click journal", e);
+    }
+  }
+
+  /**
+   * Reads durable records with a sequence greater than {@code afterSequence}.
+   * Records that fail the CRC check are skipped and logged, but still covered
+   * by {@link ClickJournalBatch#lastSequence()}.
+   *
+   * @param afterSequence last sequence that has already been applied
+   * @param maxRecords upper bound for the number of sequences to read
+   * @return the records read, never {@code null}
+   * @throws IOException if a segment file cannot be read
+   */
+  public ClickJournalBatch readAfter(long afterSequence, int maxRecords) throws IOException {
+    List<ClickRecord> records = new ArrayList<>();
+    long limit = Math.min(durableSequence.get(), afterSequence + maxRecords);
+    long lastSequence = afterSequence;
+    if (!open || afterSequence >= limit) {
+      return new ClickJournalBatch(records, lastSequence);
+    }
+
+    ByteBuffer buffer = ByteBuffer.allocate(RECORD_SIZE);
+    List<Path> segments = listSegments();
+    for (int i = 0; i < segments.size() && lastSequence < limit; i++) {
+      long first = firstSequenceOf(segments.get(i));
+      long nextFirst = i + 1 < segments.size()
+          ? firstSequenceOf(segments.get(i + 1))
+          : Long.MAX_VALUE;
+      if (nextFirst <= lastSequence + 1) {
+        continue;
+      }
+
+      try (FileChannel channel = FileChannel.open(segments.get(i), StandardOpenOption.READ)) {
+        long sequence = Math.max(first, lastSequence + 1);
+        while (sequence < nextFirst && sequence <= limit) {
+          buffer.clear();
+          long position = (sequence - first) * RECORD_SIZE;
+          int read;
+          do {
+            read = channel.read(buffer, position + buffer.position());
+          } while (read > 0 && buffer.hasRemaining());
+          if (buffer.hasRemaining()) {
+            break;
+          }
+          ClickRecord record = decode(buffer.array(), sequence);
+          if (record == null) {
+            LOG.warn("Skipping corrupted click journal record {}", sequence);
+          } else {
+            records.add(record);
+          }
+          lastSequence = sequence;
+          sequence++;
+        }
+      }
+    }
+    return new ClickJournalBatch(records, lastSequence);
+  }
+
+  /**
+   * Deletes sealed segments whose records are all covered by the checkpoint.
+   * The active segment is always kept.
+   *
+   * @param checkpoint last sequence that has been applied to the database
+   */
+  public void deleteSegmentsThrough(long checkpoint) {
+    if (!open) {
+      return;
+    }
+    try {
+      List<Path> segments = listSegments();
+      for (int i = 0; i + 1 < segments.size(); i++) {
+        long lastInSegment = firstSequenceOf(segments.get(i + 1)) - 1;
+        if (lastInSegment > checkpoint) {
+          break;
+        }
+        Files.deleteIfExists(segments.get(i));
+      }
+    } catch (IOException e) {
+      LOG.warn("Failed to delete replayed click journal segments, will retry", e);
+    }
+  }
+
+  private void rotate() throws IOException {
+    activeBuffer.force();
+    durableSequence.accumulateAndGet(appendedSequence, Math::max);
+    mapSegment(segmentPath(nextSequence), nextSequence);
+    activeIndex = 0;
+  }
+
+  private void mapSegment(Path path, long firstSequence) throws IOException {
+    long existingSize = Files.exists(path) ? Files.size(path) : 0L;
+    int capacity = existingSize >= RECORD_SIZE
+        ? (int) (existingSize / RECORD_SIZE)
+        : segmentRecords;
+    try (FileChannel channel = FileChannel.open(path,
+        StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+      activeBuffer = channel.map(FileChannel.MapMode.READ_WRITE, 0,
+          (long) capacity * RECORD_SIZE);
+    }
+    activeFirstSequence = firstSequence;
+    activeCapacity = capacity;
+  }
+
+  private int countValidRecords() {
+    byte[] record = new byte[RECORD_SIZE];
+    int index = 0;
+    while (index < activeCapacity) {
+      activeBuffer.get(index * RECORD_SIZE, record);
+      if (decode(record, activeFirstSequence + index) == null) {
+        break;
+      }
+      index++;
+    }
+    return index;
+  }
+
+  private void encode(long sequence, long epochMillis, byte[] codeBytes, String country) {
+    ByteBuffer buffer = ByteBuffer.wrap(scratch);
+    buffer.putLong(SEQUENCE_OFFSET, sequence);
+    buffer.putLong(TIMESTAMP_OFFSET, epochMillis);
+    buffer.put(CODE_LENGTH_OFFSET, (byte) codeBytes.length);
+    for (int i = CODE_OFFSET; i < CRC_OFFSET; i++) {
+      scratch[i] = 0;
+    }
+    System.arraycopy(codeBytes, 0, scratch, CODE_OFFSET, codeBytes.length);
+    if (country != null && country.length() == 2) {
+      scratch[COUNTRY_OFFSET] = (byte) country.charAt(0);
+      scratch[COUNTRY_OFFSET + 1] = (byte) country.charAt(1);
+    }
+    crc.reset();
+    crc.update(scratch, 0, CRC_OFFSET);
+    buffer.putInt(CRC_OFFSET, (int) crc.getValue());
+  }
+
+  private static ClickRecord decode(byte[] record, long expectedSequence) {
+    ByteBuffer buffer = ByteBuffer.wrap(record);
+    if (buffer.getLong(SEQUENCE_OFFSET) != expectedSequence) {
+      return null;
+    }
+    CRC32 checksum = new CRC32();
+    checksum.update(record, 0, CRC_OFFSET);
+    if (buffer.getInt(CRC_OFFSET) != (int) checksum.getValue()) {
+      return null;
+    }
+    int codeLength = record[CODE_LENGTH_OFFSET];
+    if (codeLength <= 0 || codeLength > MAX_CODE_LENGTH) {
+      return null;
+    }
+    String country = record[COUNTRY_OFFSET] == 0
+        ? null
+        : new String(record, COUNTRY_OFFSET, 2, StandardCharsets.US_ASCII);
+    return new ClickRecord(
+        expectedSequence,
+        new String(record, CODE_OFFSET, codeLength, StandardCharsets.US_ASCII),
+        Instant.ofEpochMilli(buffer.getLong(TIMESTAMP_OFFSET)),
+        country
+    );
+  }
+
+  private String loadOrCreateJournalId() throws IOException {
+    Path idFile = directory.resolve(JOURNAL_ID_FILE);
+    if (Files.exists(idFile)) {
+      return Files.readString(idFile, StandardCharsets.US_ASCII).trim();
+    }
+    String id = UUID.randomUUID().toString();
+    Files.writeString(idFile, id, StandardCharsets.US_ASCII);
+    return id;
+  }
+
+  private List<Path> listSegments() throws IOException {
+    try (Stream<Path> files = Files.list(directory)) {
+      return files
+          .filter(path -> {
+            String name = path.getFileName().toString();
+            return name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX);
+          })
+          .sorted()
+          .toList();
+    }
+  }
+
+  private Path segmentPath(long firstSequence) {
+    return directory.resolve(String.format("%s%020d%s",
+        SEGMENT_PREFIX, firstSequence, SEGMENT_SUFFIX));
+  }
+
+  private static long firstSequenceOf(Path segment) {
+    String name = segment.getFileName().toString();
+    return Long.parseLong(name.substring(
+        SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+  }
+}
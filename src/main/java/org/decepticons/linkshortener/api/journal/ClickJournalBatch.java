@@ -0,0 +1,18 @@
+package org.decepticons.linkshortener.api.journal;
+
+import java.util.List;
+
+/**
+ * A contiguous range of the {@link ClickJournal} read by the replayer.
+ * The {@link #lastSequence()} can be higher than the sequence of the last record
+ * when corrupted records were skipped, so the checkpoint always moves past them.
+ * When nothing was read it equals the sequence the read started after.
+ *
+ * @param records the valid records in the range, in sequence order
+ * @param lastSequence the highest sequence number covered by this batch
+ */
+public record ClickJournalBatch(
+    List<ClickRecord> records,
+    long lastSequence
+) {
+}
@@ -0,0 +1,19 @@
+package org.decepticons.linkshortener.api.journal;
+
+import java.time.Instant;
+
+/**
+ * A single click read back from the {@link ClickJournal}.
+ *
+ * @param sequence the journal sequence number of the click, strictly increasing per journal
+ * @param code the short code of the clicked link
+ * @param clickedAt the moment the redirect was served
+ * @param country two-letter country code of the client, or {@code null} if unknown
+ */
+public record ClickRecord(
+    long sequence,
+    String code,
+    Instant clickedAt,
+    String country
+) {
+}
@@ -0,0 +1,6 @@
+/**
+ * Contains the local append-only click journal.
+ * Redirects append clicks to memory-mapped segment files on disk, and the
+ * journal replayer ships them to the database in batches once it is reachable.
+ */
+package org.decepticons.linkshortener.api.journal;
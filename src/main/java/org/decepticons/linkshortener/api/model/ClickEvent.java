@@ -0,0 +1,53 @@
+package org.decepticons.linkshortener.api.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import java.time.Instant;
+import java.util.UUID;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * Entity representing a single counted redirect of a {@link Link}.
+ * Rows are append-only and ordered by their identity {@link #id}, which also
+ * serves as the resume position of click history exports.
+ */
+@Entity
+@Table(
+    name = "click_events",
+    indexes = @Index(name = "idx_click_events_link_id", columnList = "link_id, id")
+)
+@Getter
+@NoArgsConstructor
+public class ClickEvent {
+
+  /**
+   * The monotonically increasing identifier of the event.
+   */
+  @Id
+  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  private Long id;
+
+  /**
+   * The identifier of the clicked link.
+   */
+  @Column(name = "link_id", nullable = false)
+  private UUID linkId;
+
+  /**
+   * The date and time of the click.
+   */
+  @Column(name = "clicked_at", nullable = false)
+  private Instant clickedAt;
+
+  /**
+   * The two-letter country code of the client, if it could be resolved.
+   */
+  @Column(name = "country", length = 2)
+  private String country;
+}
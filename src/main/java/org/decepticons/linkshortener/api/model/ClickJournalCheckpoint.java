@@ -0,0 +1,62 @@
+package org.decepticons.linkshortener.api.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import java.time.Instant;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Entity recording how far a node's local click journal has been applied
+ * to the {@code links} table. It is written in the same transaction as the
+ * click counters, so a replay after a crash never counts a click twice.
+ */
+@Entity
+@Table(name = "click_journal_checkpoints")
+@Getter
+@Setter
+@NoArgsConstructor
+public class ClickJournalCheckpoint {
+
+  /**
+   * The maximum length of a journal identifier.
+   */
+  private static final int MAX_JOURNAL_ID_LENGTH = 36;
+
+  /**
+   * The identifier of the journal directory this checkpoint belongs to.
+   */
+  @Id
+  @Column(name = "journal_id", nullable = false, length = MAX_JOURNAL_ID_LENGTH)
+  private String journalId;
+
+  /**
+   * The last journal sequence whose click has been applied.
+   */
+  @Column(name = "last_sequence", nullable = false)
+  private long lastSequence;
+
+  /**
+   * The date and time of the last applied batch.
+   */
+  @Column(name = "updated_at", nullable = false)
+  private Instant updatedAt;
+
+  /**
+   * Constructs a new ClickJournalCheckpoint.
+   *
+   * @param journalIdParam the identifier of the journal
+   * @param lastSequenceParam the last applied journal sequence
+   * @param updatedAtParam the moment the checkpoint was written
+   */
+  public ClickJournalCheckpoint(final String journalIdParam,
+                                final long lastSequenceParam,
+                                final Instant updatedAtParam) {
+    this.journalId = journalIdParam;
+    this.lastSequence = lastSequenceParam;
+    this.updatedAt = updatedAtParam;
+  }
+}
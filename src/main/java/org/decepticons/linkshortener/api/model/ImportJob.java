@@ -0,0 +1,117 @@
+package org.decepticons.linkshortener.api.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import java.time.Instant;
+import java.util.UUID;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Entity describing an asynchronous CSV import of links. The row counters are
+ * advanced in the same transaction as each chunk's links, so they always match
+ * the committed chunks in {@code import_job_chunks}.
+ */
+@Entity
+@Table(name = "import_jobs")
+@Getter
+@Setter
+@NoArgsConstructor
+public class ImportJob {
+
+  /**
+   * The maximum length of a stored error message.
+   */
+  public static final int MAX_ERROR_LENGTH = 500;
+
+  /**
+   * The identifier of the job.
+   */
+  @Id
+  @Column(name = "id", nullable = false, updatable = false)
+  private UUID id;
+
+  /**
+   * The identifier of the user the imported links belong to.
+   */
+  @Column(name = "owner_id", nullable = false, updatable = false)
+  private UUID ownerId;
+
+  /**
+   * The local file holding the uploaded rows.
+   */
+  @Column(name = "file_path", nullable = false, length = 500)
+  private String filePath;
+
+  /**
+   * The state of the job.
+   */
+  @Enumerated(EnumType.STRING)
+  @Column(name = "status", nullable = false, length = 16)
+  private ImportJobStatus status;
+
+  /**
+   * The number of rows inserted per transaction.
+   */
+  @Column(name = "chunk_size", nullable = false)
+  private int chunkSize;
+
+  /**
+   * The number of data rows in the upload.
+   */
+  @Column(name = "total_rows", nullable = false)
+  private long totalRows;
+
+  /**
+   * The number of rows in committed chunks.
+   */
+  @Column(name = "processed_rows", nullable = false)
+  private long processedRows;
+
+  /**
+   * The number of links created so far.
+   */
+  @Column(name = "created_rows", nullable = false)
+  private long createdRows;
+
+  /**
+   * The number of rows rejected so far.
+   */
+  @Column(name = "failed_rows", nullable = false)
+  private long failedRows;
+
+  /**
+   * The processed rows when the current run started, used for the throughput.
+   */
+  @Column(name = "rows_at_start", nullable = false)
+  private long rowsAtStart;
+
+  /**
+   * The date and time the upload was accepted.
+   */
+  @Column(name = "created_at", nullable = false, updatable = false)
+  private Instant createdAt;
+
+  /**
+   * The date and time the current run started.
+   */
+  @Column(name = "started_at")
+  private Instant startedAt;
+
+  /**
+   * The date and time the job completed or failed.
+   */
+  @Column(name = "finished_at")
+  private Instant finishedAt;
+
+  /**
+   * The reason of a failure.
+   */
+  @Column(name = "error", length = MAX_ERROR_LENGTH)
+  private String error;
+}
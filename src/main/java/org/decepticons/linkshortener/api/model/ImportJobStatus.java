@@ -0,0 +1,16 @@
+package org.decepticons.linkshortener.api.model;
+
+/**
+ * Lifecycle states of an {@link ImportJob}.
+ *
+ * <ul>
+ *   <li>{@code QUEUED} – The upload is stored and waits for a worker.</li>
+ *   <li>{@code RUNNING} – Chunks are being inserted; a job found in this state
+ *       after a restart is resumed.</li>
+ *   <li>{@code COMPLETED} – Every chunk has been committed.</li>
+ *   <li>{@code FAILED} – A chunk could not be committed; see the job error.</li>
+ * </ul>
+ */
+public enum ImportJobStatus {
+  QUEUED, RUNNING, COMPLETED, FAILED
+}
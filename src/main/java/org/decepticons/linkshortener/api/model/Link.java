@@ -33,8 +33,11 @@ import org.hibernate.annotations.CreationTimestamp;
  * <h2>Constraints & Indexes</h2>
  * <ul>
  *   <li>{@link #code} is unique and length-limited (6–8 chars) for compact URLs.</li>
- *   <li>Indexes typically exist on: {@code code} (unique), {@code owner_id},
- *       {@code status}, {@code expires_at} to speed up lookups and cleanup jobs.</li>
+ *   <li>Indexes exist on {@code code} (unique), on {@code owner_id} followed by
+ *       {@code created_at, id} for listings and the owner foreign key, on active links
+ *       by owner, newest first, and on active links by {@code expires_at}.
+ *       On PostgreSQL the active-link indexes are partial ({@code WHERE status = 'ACTIVE'}),
+ *       which JPA cannot express, so the migrations are authoritative.</li>
  * </ul>
  *
  * <h2>Usage</h2>
@@ -52,9 +55,11 @@ import org.hibernate.annotations.CreationTimestamp;
     name = "links",
     uniqueConstraints = @UniqueConstraint(name = "uk_links_code", columnNames = "code"),
     indexes = {
-        @Index(name = "idx_links_owner_id", columnList = "owner_id"),
-        @Index(name = "idx_links_status", columnList = "status"),
-        @Index(name = "idx_links_expires_at", columnList = "expires_at")
+        @Index(name = "idx_links_active_expires", columnList = "status, expires_at"),
+        @Index(name = "idx_links_owner_url_hash", columnList = "owner_id, url_hash"),
+        @Index(name = "idx_links_owner_created", columnList = "owner_id, created_at, id"),
+        @Index(name = "idx_links_active_owner_created",
+            columnList = "owner_id, created_at desc, id desc")
     }
 )
 public class Link {
@@ -72,6 +77,14 @@ public class Link {
   @Column(name = "original_url", nullable = false, columnDefinition = "text")
   private String originalUrl;
 
+  /**
+   * 64-bit hash of the normalized original URL, used to find an owner's
+   * existing link for the same URL; {@code null} for links created before it existed.
+   */
+  @Setter
+  @Column(name = "url_hash")
+  private Long urlHash;
+
   @Setter
   @ManyToOne(optional = false, fetch = FetchType.LAZY)
   @JoinColumn(name = "owner_id", nullable = false,
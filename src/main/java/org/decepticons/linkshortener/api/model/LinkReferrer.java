@@ -0,0 +1,58 @@
+package org.decepticons.linkshortener.api.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import java.util.UUID;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * Entity counting the clicks a {@link Link} received from one referring domain.
+ * Rows are created and incremented in batches by the referrer aggregation and
+ * read back as the link's top-referrer table.
+ */
+@Entity
+@Table(
+    name = "link_referrers",
+    uniqueConstraints = @UniqueConstraint(
+        name = "uk_link_referrers_link_domain", columnNames = {"link_id", "domain"})
+)
+@Getter
+@NoArgsConstructor
+public class LinkReferrer {
+
+  /**
+   * The maximum length of a domain name.
+   */
+  private static final int MAX_DOMAIN_LENGTH = 253;
+
+  /**
+   * The unique identifier of the row.
+   */
+  @Id
+  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  private Long id;
+
+  /**
+   * The identifier of the clicked link.
+   */
+  @Column(name = "link_id", nullable = false)
+  private UUID linkId;
+
+  /**
+   * The registrable domain of the referring site, e.g. {@code ycombinator.com}.
+   */
+  @Column(name = "domain", nullable = false, length = MAX_DOMAIN_LENGTH)
+  private String domain;
+
+  /**
+   * The number of clicks referred by the domain.
+   */
+  @Column(name = "clicks", nullable = false)
+  private long clicks;
+}
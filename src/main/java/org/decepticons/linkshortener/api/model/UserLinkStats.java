@@ -0,0 +1,76 @@
+package org.decepticons.linkshortener.api.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import java.time.Instant;
+import java.util.UUID;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * Entity holding the link and click totals of one {@link User}. The counters
+ * are only changed through the increments of
+ * {@code UserLinkStatsRepository}, in the same transaction as the link
+ * changes they count, so listings can report totals without counting rows.
+ */
+@Entity
+@Table(name = "user_link_stats")
+@Getter
+@NoArgsConstructor
+public class UserLinkStats {
+
+  /**
+   * The identifier of the user the totals belong to.
+   */
+  @Id
+  @Column(name = "owner_id", nullable = false, updatable = false)
+  private UUID ownerId;
+
+  /**
+   * The number of links of the user.
+   */
+  @Column(name = "total_links", nullable = false)
+  private long totalLinks;
+
+  /**
+   * The number of links with status {@link LinkStatus#ACTIVE}.
+   */
+  @Column(name = "active_links", nullable = false)
+  private long activeLinks;
+
+  /**
+   * The number of links with status {@link LinkStatus#INACTIVE}.
+   */
+  @Column(name = "inactive_links", nullable = false)
+  private long inactiveLinks;
+
+  /**
+   * The clicks of all links of the user.
+   */
+  @Column(name = "total_clicks", nullable = false)
+  private long totalClicks;
+
+  /**
+   * The number of changes of the user's link listings.
+   */
+  @Column(name = "listing_version", nullable = false)
+  private long listingVersion;
+
+  /**
+   * The date and time of the last change.
+   */
+  @Column(name = "updated_at", nullable = false)
+  private Instant updatedAt;
+
+  /**
+   * Constructs the empty totals of a new user.
+   *
+   * @param ownerIdParam the identifier of the user
+   */
+  public UserLinkStats(final UUID ownerIdParam) {
+    this.ownerId = ownerIdParam;
+    this.updatedAt = Instant.now();
+  }
+}
@@ -0,0 +1,31 @@
+package org.decepticons.linkshortener.api.repository;
+
+import org.decepticons.linkshortener.api.model.ClickEvent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Repository for the click history of links.
+ */
+@Repository
+public interface ClickEventRepository extends JpaRepository<ClickEvent, Long> {
+
+  /**
+   * Records a click happening now for the link with the given short code.
+   *
+   * @param code the short code of the clicked link
+   * @param country the two-letter country code of the client, or {@code null}
+   * @return the number of rows inserted (1 if the link exists, 0 otherwise)
+   */
+  @Transactional
+  @Modifying
+  @Query(value = """
+      INSERT INTO click_events (link_id, clicked_at, country)
+      SELECT id, now(), :country FROM links WHERE code = :code
+      """, nativeQuery = true)
+  int insertByCodeNative(@Param("code") String code, @Param("country") String country);
+}
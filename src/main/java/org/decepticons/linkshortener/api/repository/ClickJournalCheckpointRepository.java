@@ -0,0 +1,13 @@
+package org.decepticons.linkshortener.api.repository;
+
+import org.decepticons.linkshortener.api.model.ClickJournalCheckpoint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repository for the replay checkpoints of local click journals.
+ */
+@Repository
+public interface ClickJournalCheckpointRepository extends
+    JpaRepository<ClickJournalCheckpoint, String> {
+}
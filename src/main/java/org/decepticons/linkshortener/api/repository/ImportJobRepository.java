@@ -0,0 +1,24 @@
+package org.decepticons.linkshortener.api.repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import org.decepticons.linkshortener.api.model.ImportJob;
+import org.decepticons.linkshortener.api.model.ImportJobStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repository for asynchronous link import jobs.
+ */
+@Repository
+public interface ImportJobRepository extends JpaRepository<ImportJob, UUID> {
+
+  /**
+   * Finds the jobs in any of the given states.
+   *
+   * @param statuses the states to look for
+   * @return the matching jobs
+   */
+  List<ImportJob> findByStatusIn(Collection<ImportJobStatus> statuses);
+}
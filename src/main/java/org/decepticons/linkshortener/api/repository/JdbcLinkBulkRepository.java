@@ -0,0 +1,160 @@
+package org.decepticons.linkshortener.api.repository;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import org.decepticons.linkshortener.api.dto.LinkFilterDto;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * {@link LinkBulkRepository} issuing one {@code UPDATE}/{@code DELETE} per call
+ * that also returns the codes of the rows it touched: with {@code RETURNING}
+ * on PostgreSQL, and through H2's {@code FINAL TABLE}/{@code OLD TABLE} data
+ * change delta tables otherwise. The matching rows are capped by a
+ * {@code LIMIT} subquery, and the outer statement repeats the condition that
+ * excludes rows already changed, so concurrent updates are re-checked.
+ * Deactivations and deletions adjust the owner's {@code user_link_stats} row
+ * in the same transaction.
+ */
+@Repository
+public class JdbcLinkBulkRepository implements LinkBulkRepository {
+
+  private static final String ADD_TOTALS_SQL = """
+      UPDATE user_link_stats
+      SET total_links = total_links + :total,
+          active_links = active_links + :active,
+          inactive_links = inactive_links + :inactive,
+          total_clicks = total_clicks + :clicks,
+          updated_at = now()
+      WHERE owner_id = :ownerId
+      """;
+
+  private final NamedParameterJdbcTemplate jdbcTemplate;
+  private volatile Boolean returningSupported;
+
+  /**
+   * Constructs a new JdbcLinkBulkRepository.
+   *
+   * @param jdbcTemplate template used for the set-based statements
+   */
+  public JdbcLinkBulkRepository(NamedParameterJdbcTemplate jdbcTemplate) {
+    this.jdbcTemplate = jdbcTemplate;
+  }
+
+  @Override
+  @Transactional
+  public List<String> deactivate(UUID ownerId, LinkFilterDto filter, int limit) {
+    MapSqlParameterSource params = new MapSqlParameterSource();
+    String pending = "status = 'ACTIVE'";
+    String sql = "UPDATE links SET status = 'INACTIVE' WHERE id IN ("
+        + selectIds(ownerId, filter, pending, limit, params) + ") AND " + pending;
+    List<String> codes = changedCodes(sql, params);
+    if (!codes.isEmpty()) {
+      addTotals(ownerId, 0, -codes.size(), codes.size(), 0);
+    }
+    return codes;
+  }
+
+  @Override
+  @Transactional
+  public List<String> delete(UUID ownerId, LinkFilterDto filter, int limit) {
+    MapSqlParameterSource params = new MapSqlParameterSource();
+    String change = "DELETE FROM links WHERE id IN ("
+        + selectIds(ownerId, filter, null, limit, params) + ")";
+    String sql = isReturningSupported()
+        ? change + " RETURNING code, status, clicks"
+        : "SELECT code, status, clicks FROM OLD TABLE (" + change + ")";
+
+    List<String> codes = new ArrayList<>();
+    long[] totals = new long[3];
+    jdbcTemplate.query(sql, params, rs -> {
+      codes.add(rs.getString("code"));
+      if ("ACTIVE".equals(rs.getString("status"))) {
+        totals[0]++;
+      } else if ("INACTIVE".equals(rs.getString("status"))) {
+        totals[1]++;
+      }
+      totals[2] += rs.getLong("clicks");
+    });
+    if (!codes.isEmpty()) {
+      addTotals(ownerId, -codes.size(), -totals[0], -totals[1], -totals[2]);
+    }
+    return codes;
+  }
+
+  @Override
+  @Transactional
+  public List<String> updateExpiration(UUID ownerId, LinkFilterDto filter, Instant expiresAt,
+                                       int limit) {
+    MapSqlParameterSource params = new MapSqlParameterSource()
+        .addValue("newExpiresAt", Timestamp.from(expiresAt));
+    String pending = "(expires_at IS NULL OR expires_at <> :newExpiresAt)";
+    String sql = "UPDATE links SET expires_at = :newExpiresAt WHERE id IN ("
+        + selectIds(ownerId, filter, pending, limit, params) + ") AND " + pending;
+    return changedCodes(sql, params);
+  }
+
+  private static String selectIds(UUID ownerId, LinkFilterDto filter, String pending,
+                                  int limit, MapSqlParameterSource params) {
+    StringBuilder sql = new StringBuilder("SELECT id FROM links WHERE owner_id = :ownerId");
+    params.addValue("ownerId", ownerId).addValue("limit", limit);
+    if (filter.ids() != null) {
+      sql.append(" AND id IN (:ids)");
+      params.addValue("ids", filter.ids());
+    }
+    if (filter.status() != null) {
+      sql.append(" AND status = :status");
+      params.addValue("status", filter.status().name());
+    }
+    appendRange(sql, params, "created_at", "created", filter.createdFrom(), filter.createdTo());
+    appendRange(sql, params, "expires_at", "expires", filter.expiresFrom(), filter.expiresTo());
+    if (pending != null) {
+      sql.append(" AND ").append(pending);
+    }
+    return sql.append(" LIMIT :limit").toString();
+  }
+
+  private static void appendRange(StringBuilder sql, MapSqlParameterSource params, String column,
+                                  String name, Instant from, Instant to) {
+    if (from != null) {
+      sql.append(" AND ").append(column).append(" >= :").append(name).append("From");
+      params.addValue(name + "From", Timestamp.from(from));
+    }
+    if (to != null) {
+      sql.append(" AND ").append(column).append(" < :").append(name).append("To");
+      params.addValue(name + "To", Timestamp.from(to));
+    }
+  }
+
+  private List<String> changedCodes(String change, MapSqlParameterSource params) {
+    String sql = isReturningSupported()
+        ? change + " RETURNING code"
+        : "SELECT code FROM FINAL TABLE (" + change + ")";
+    return jdbcTemplate.queryForList(sql, params, String.class);
+  }
+
+  private void addTotals(UUID ownerId, long total, long active, long inactive, long clicks) {
+    jdbcTemplate.update(ADD_TOTALS_SQL, new MapSqlParameterSource()
+        .addValue("ownerId", ownerId)
+        .addValue("total", total)
+        .addValue("active", active)
+        .addValue("inactive", inactive)
+        .addValue("clicks", clicks));
+  }
+
+  private boolean isReturningSupported() {
+    Boolean supported = returningSupported;
+    if (supported == null) {
+      supported = jdbcTemplate.getJdbcTemplate().execute((ConnectionCallback<Boolean>)
+          connection -> "PostgreSQL".equals(connection.getMetaData().getDatabaseProductName()));
+      returningSupported = supported;
+    }
+    return supported;
+  }
+}
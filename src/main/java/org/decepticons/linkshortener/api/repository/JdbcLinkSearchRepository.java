@@ -0,0 +1,117 @@
+package org.decepticons.linkshortener.api.repository;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+import org.decepticons.linkshortener.api.dto.LinkResponseDto;
+import org.decepticons.linkshortener.api.dto.LinkSearchDto;
+import org.decepticons.linkshortener.api.util.LinkCursor;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+/**
+ * {@link LinkSearchRepository} building one statement from the given
+ * criteria only, so that each shape gets a plan for its own index: the
+ * {@code (owner_id, host, created_at, id)} index for a domain, where the host
+ * is an index expression on PostgreSQL and a generated column on H2, the trigram
+ * index on {@code lower(original_url)} for a URL substring on PostgreSQL
+ * (a plain {@code LIKE} scan of the owner's links on H2), and the
+ * pattern index on {@code (owner_id, code)} for a code prefix.
+ */
+@Repository
+public class JdbcLinkSearchRepository implements LinkSearchRepository {
+
+  private static final String SELECT = """
+      SELECT id, code, original_url, created_at, expires_at, clicks, status, owner_id
+      FROM links WHERE owner_id = :ownerId""";
+
+  /**
+   * Host of the destination URL on PostgreSQL, written exactly as in the
+   * {@code idx_links_owner_host_created} index so that the planner matches it.
+   */
+  static final String PG_HOST_EXPRESSION = "lower(substring(original_url from "
+      + "'^[A-Za-z][A-Za-z0-9+.-]*://(?:[^@/?#]*@)?([^:/?#]+)'))";
+
+  private final NamedParameterJdbcTemplate jdbcTemplate;
+  private volatile String hostExpression;
+
+  /**
+   * Constructs a new JdbcLinkSearchRepository.
+   *
+   * @param jdbcTemplate template used for the search statements
+   */
+  public JdbcLinkSearchRepository(NamedParameterJdbcTemplate jdbcTemplate) {
+    this.jdbcTemplate = jdbcTemplate;
+  }
+
+  @Override
+  public List<LinkResponseDto> search(UUID ownerId, LinkSearchDto criteria, LinkCursor after,
+                                      int limit) {
+    StringBuilder sql = new StringBuilder(SELECT);
+    MapSqlParameterSource params = new MapSqlParameterSource()
+        .addValue("ownerId", ownerId)
+        .addValue("limit", limit);
+    if (hasText(criteria.domain())) {
+      sql.append(" AND ").append(hostExpression()).append(" = :host");
+      params.addValue("host", criteria.domain().trim().toLowerCase(Locale.ROOT));
+    }
+    if (hasText(criteria.urlContains())) {
+      sql.append(" AND lower(original_url) LIKE :url");
+      params.addValue("url",
+          "%" + escapeLike(criteria.urlContains().trim().toLowerCase(Locale.ROOT)) + "%");
+    }
+    if (hasText(criteria.codePrefix())) {
+      sql.append(" AND code LIKE :codePrefix");
+      params.addValue("codePrefix", escapeLike(criteria.codePrefix().trim()) + "%");
+    }
+    if (after != null) {
+      sql.append(" AND (created_at < :createdAt OR (created_at = :createdAt AND id < :id))");
+      params.addValue("createdAt", Timestamp.from(after.createdAt()))
+          .addValue("id", after.id());
+    }
+    sql.append(" ORDER BY created_at DESC, id DESC LIMIT :limit");
+    return jdbcTemplate.query(sql.toString(), params, JdbcLinkSearchRepository::toResponse);
+  }
+
+  private String hostExpression() {
+    String expression = hostExpression;
+    if (expression == null) {
+      boolean postgres = jdbcTemplate.getJdbcTemplate().execute((ConnectionCallback<Boolean>)
+          connection -> "PostgreSQL".equals(connection.getMetaData().getDatabaseProductName()));
+      expression = postgres ? PG_HOST_EXPRESSION : "host";
+      hostExpression = expression;
+    }
+    return expression;
+  }
+
+  private static LinkResponseDto toResponse(ResultSet rs, int rowNum) throws SQLException {
+    Timestamp expiresAt = rs.getTimestamp("expires_at");
+    return new LinkResponseDto(
+        rs.getObject("id", UUID.class),
+        rs.getString("code"),
+        rs.getString("original_url"),
+        rs.getTimestamp("created_at").toInstant(),
+        expiresAt == null ? null : expiresAt.toInstant(),
+        rs.getLong("clicks"),
+        rs.getString("status"),
+        rs.getObject("owner_id", UUID.class)
+    );
+  }
+
+  /**
+   * Escapes the {@code LIKE} wildcards with a backslash, the default escape
+   * character of both PostgreSQL and H2.
+   */
+  private static String escapeLike(String value) {
+    return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+  }
+
+  private static boolean hasText(String value) {
+    return value != null && !value.isBlank();
+  }
+}
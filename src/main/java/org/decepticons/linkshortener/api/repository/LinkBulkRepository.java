@@ -0,0 +1,46 @@
+package org.decepticons.linkshortener.api.repository;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import org.decepticons.linkshortener.api.dto.LinkFilterDto;
+
+/**
+ * Set-based changes to a user's links. Each call changes at most {@code limit}
+ * matching links in one statement and transaction and returns their codes, so
+ * callers repeat it until fewer than {@code limit} codes come back.
+ */
+public interface LinkBulkRepository {
+
+  /**
+   * Deactivates active links matching the filter.
+   *
+   * @param ownerId the owner of the links
+   * @param filter the links to change
+   * @param limit the largest number of links changed by this call
+   * @return the codes of the deactivated links
+   */
+  List<String> deactivate(UUID ownerId, LinkFilterDto filter, int limit);
+
+  /**
+   * Deletes links matching the filter.
+   *
+   * @param ownerId the owner of the links
+   * @param filter the links to delete
+   * @param limit the largest number of links deleted by this call
+   * @return the codes of the deleted links
+   */
+  List<String> delete(UUID ownerId, LinkFilterDto filter, int limit);
+
+  /**
+   * Sets the expiration date of links matching the filter that do not have it yet.
+   *
+   * @param ownerId the owner of the links
+   * @param filter the links to change
+   * @param expiresAt the new expiration date
+   * @param limit the largest number of links changed by this call
+   * @return the codes of the changed links
+   */
+  List<String> updateExpiration(UUID ownerId, LinkFilterDto filter, Instant expiresAt,
+                                int limit);
+}
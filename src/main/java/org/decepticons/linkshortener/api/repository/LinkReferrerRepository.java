@@ -0,0 +1,33 @@
+package org.decepticons.linkshortener.api.repository;
+
+import java.util.List;
+import java.util.UUID;
+import org.decepticons.linkshortener.api.dto.ReferrerCountDto;
+import org.decepticons.linkshortener.api.model.LinkReferrer;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repository for the per-link referrer counters.
+ */
+@Repository
+public interface LinkReferrerRepository extends JpaRepository<LinkReferrer, Long> {
+
+  /**
+   * Returns the referring domains of a link, most clicks first.
+   *
+   * @param linkId the identifier of the link
+   * @param pageable limits the number of rows returned
+   * @return the referrer counts
+   */
+  @Query("""
+      SELECT new org.decepticons.linkshortener.api.dto.ReferrerCountDto(r.domain, r.clicks)
+      FROM LinkReferrer r
+      WHERE r.linkId = :linkId
+      ORDER BY r.clicks DESC, r.domain
+      """)
+  List<ReferrerCountDto> findTopReferrers(@Param("linkId") UUID linkId, Pageable pageable);
+}
@@ -1,9 +1,14 @@
 package org.decepticons.linkshortener.api.repository;
 
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import org.decepticons.linkshortener.api.dto.LinkResponseDto;
 import org.decepticons.linkshortener.api.model.Link;
 import org.decepticons.linkshortener.api.model.LinkStatus;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -19,6 +24,20 @@ import org.springframework.stereotype.Repository;
 @Repository
 public interface LinkRepository extends JpaRepository<Link, UUID> {
 
+  /**
+   * JPQL constructor expression reading a link into a {@link LinkResponseDto}.
+   * The owner is read through its foreign key, without a join.
+   */
+  String RESPONSE = "new org.decepticons.linkshortener.api.dto.LinkResponseDto("
+      + "l.id, l.code, l.originalUrl, l.createdAt, l.expiresAt, l.clicks, l.status, l.owner.id)";
+
+  /**
+   * JPQL condition for active links. It is rendered as the literal
+   * {@code 'ACTIVE'} rather than a bind parameter, so that PostgreSQL can use
+   * the partial {@code WHERE status = 'ACTIVE'} indexes with generic plans too.
+   */
+  String IS_ACTIVE = "l.status = org.decepticons.linkshortener.api.model.LinkStatus.ACTIVE";
+
   /**
    * Finds a link by its unique short code.
    *
@@ -36,24 +55,167 @@ public interface LinkRepository extends JpaRepository<Link, UUID> {
   boolean existsByCode(String code);
 
   /**
-   * Retrieves all links belonging to a specific user with pagination support.
+   * Finds the links of a user with the given original URL hash and status.
+   * Several URLs may share a hash, so callers compare the URLs themselves.
+   *
+   * @param ownerId the UUID of the user (owner)
+   * @param urlHash the hash of the normalized original URL
+   * @param status the {@link LinkStatus} to filter links by
+   * @return the matching links
+   */
+  List<Link> findByOwnerIdAndUrlHashAndStatus(UUID ownerId, Long urlHash, LinkStatus status);
+
+  /**
+   * Finds the links of a user with any of the given original URL hashes and
+   * the given status, for deduplicating a batch of URLs in one query.
+   *
+   * @param ownerId the UUID of the user (owner)
+   * @param urlHashes the hashes of the normalized original URLs
+   * @param status the {@link LinkStatus} to filter links by
+   * @return the matching links
+   */
+  List<Link> findByOwnerIdAndUrlHashInAndStatus(UUID ownerId, Collection<Long> urlHashes,
+                                                LinkStatus status);
+
+  /**
+   * Retrieves all links belonging to a specific user with pagination support,
+   * read directly into DTOs so that no entity is loaded or tracked.
+   *
+   * @param ownerId  the UUID of the user (owner)
+   * @param pageable the {@link Pageable} object specifying page number, size, and sorting
+   * @return a {@link Page} of links belonging to the specified user
+   */
+  @Query(value = "SELECT " + RESPONSE + " FROM Link l WHERE l.owner.id = :ownerId",
+      countQuery = "SELECT count(l) FROM Link l WHERE l.owner.id = :ownerId")
+  Page<LinkResponseDto> findAllByOwnerId(@Param("ownerId") UUID ownerId, Pageable pageable);
+
+  /**
+   * Retrieves all active links belonging to a specific user with pagination
+   * support, read directly into DTOs.
    *
    * @param ownerId  the UUID of the user (owner)
    * @param pageable the {@link Pageable} object specifying page number, size, and sorting
-   * @return a {@link Page} of {@link Link} objects belonging to the specified user
+   * @return a {@link Page} of the user's active links
    */
-  Page<Link> findAllByOwnerId(UUID ownerId, Pageable pageable);
+  @Query(value = "SELECT " + RESPONSE + " FROM Link l WHERE l.owner.id = :ownerId AND "
+      + IS_ACTIVE,
+      countQuery = "SELECT count(l) FROM Link l WHERE l.owner.id = :ownerId AND " + IS_ACTIVE)
+  Page<LinkResponseDto> findAllActiveByOwnerId(@Param("ownerId") UUID ownerId,
+                                               Pageable pageable);
 
   /**
-   * Retrieves all links belonging to a specific user that have a certain status,
-   *     with pagination support.
+   * Retrieves one page of a user's links as DTOs without counting them; the
+   * total is taken from {@code user_link_stats} instead.
    *
    * @param ownerId  the UUID of the user (owner)
-   * @param status   the {@link LinkStatus} to filter links by (e.g., ACTIVE, INACTIVE)
    * @param pageable the {@link Pageable} object specifying page number, size, and sorting
-   * @return a {@link Page} of {@link Link} objects belonging to the user with the specified status
+   * @return the links of the requested page
+   */
+  @Query("SELECT " + RESPONSE + " FROM Link l WHERE l.owner.id = :ownerId")
+  List<LinkResponseDto> findPageByOwnerId(@Param("ownerId") UUID ownerId, Pageable pageable);
+
+  /**
+   * Retrieves one page of a user's active links as DTOs without counting
+   * them; the total is taken from {@code user_link_stats} instead.
+   *
+   * @param ownerId  the UUID of the user (owner)
+   * @param pageable the {@link Pageable} object specifying page number, size, and sorting
+   * @return the links of the requested page
+   */
+  @Query("SELECT " + RESPONSE + " FROM Link l WHERE l.owner.id = :ownerId AND " + IS_ACTIVE)
+  List<LinkResponseDto> findActivePageByOwnerId(@Param("ownerId") UUID ownerId,
+                                                Pageable pageable);
+
+  /**
+   * Reads a link by its short code directly into a DTO.
+   *
+   * @param code the short code
+   * @return the link, or empty if no link has the code
    */
-  Page<Link> findAllByOwnerIdAndStatus(UUID ownerId, LinkStatus status, Pageable pageable);
+  @Query("SELECT " + RESPONSE + " FROM Link l WHERE l.code = :code")
+  Optional<LinkResponseDto> findResponseByCode(@Param("code") String code);
+
+  /**
+   * Reads the links with any of the given short codes directly into DTOs in one query.
+   *
+   * @param codes the short codes to look up
+   * @return the links found, in no particular order
+   */
+  @Query("SELECT " + RESPONSE + " FROM Link l WHERE l.code IN :codes")
+  List<LinkResponseDto> findResponsesByCodeIn(@Param("codes") Collection<String> codes);
+
+  /**
+   * Retrieves the newest links of a user as DTOs, without a count query.
+   *
+   * @param ownerId the UUID of the user (owner)
+   * @param limit the largest number of links returned
+   * @return the links, newest first with ties broken by descending id
+   */
+  @Query("SELECT " + RESPONSE + " FROM Link l WHERE l.owner.id = :ownerId"
+      + " ORDER BY l.createdAt DESC, l.id DESC")
+  List<LinkResponseDto> findNewestByOwner(@Param("ownerId") UUID ownerId, Limit limit);
+
+  /**
+   * Retrieves the links of a user that come after a keyset position in
+   * newest-first order as DTOs, without a count query.
+   *
+   * @param ownerId the UUID of the user (owner)
+   * @param createdAt the creation time of the last link already returned
+   * @param id the id of the last link already returned
+   * @param limit the largest number of links returned
+   * @return the links, newest first with ties broken by descending id
+   */
+  @Query("SELECT " + RESPONSE + " FROM Link l WHERE l.owner.id = :ownerId"
+      + " AND (l.createdAt < :createdAt OR (l.createdAt = :createdAt AND l.id < :id))"
+      + " ORDER BY l.createdAt DESC, l.id DESC")
+  List<LinkResponseDto> findByOwnerAfter(@Param("ownerId") UUID ownerId,
+                                         @Param("createdAt") Instant createdAt,
+                                         @Param("id") UUID id,
+                                         Limit limit);
+
+  /**
+   * Retrieves the newest active links of a user as DTOs, without a count query.
+   *
+   * @param ownerId the UUID of the user (owner)
+   * @param limit the largest number of links returned
+   * @return the links, newest first with ties broken by descending id
+   */
+  @Query("SELECT " + RESPONSE + " FROM Link l WHERE l.owner.id = :ownerId AND " + IS_ACTIVE
+      + " ORDER BY l.createdAt DESC, l.id DESC")
+  List<LinkResponseDto> findNewestActiveByOwner(@Param("ownerId") UUID ownerId, Limit limit);
+
+  /**
+   * Retrieves the active links of a user that come after a keyset position
+   * in newest-first order as DTOs, without a count query.
+   *
+   * @param ownerId the UUID of the user (owner)
+   * @param createdAt the creation time of the last link already returned
+   * @param id the id of the last link already returned
+   * @param limit the largest number of links returned
+   * @return the links, newest first with ties broken by descending id
+   */
+  @Query("SELECT " + RESPONSE + " FROM Link l WHERE l.owner.id = :ownerId AND " + IS_ACTIVE
+      + " AND (l.createdAt < :createdAt OR (l.createdAt = :createdAt AND l.id < :id))"
+      + " ORDER BY l.createdAt DESC, l.id DESC")
+  List<LinkResponseDto> findActiveByOwnerAfter(@Param("ownerId") UUID ownerId,
+                                               @Param("createdAt") Instant createdAt,
+                                               @Param("id") UUID id,
+                                               Limit limit);
+
+  /**
+   * Deactivates an active link with a single conditional update, so that
+   * concurrent deactivations of the same link change it only once.
+   *
+   * @param code the short code of the link
+   * @return the number of rows affected (1 if the link was active, 0 otherwise)
+   */
+  @Modifying(clearAutomatically = true, flushAutomatically = true)
+  @Query(value = """
+      UPDATE links
+      SET status = 'INACTIVE'
+      WHERE code = :code AND status = 'ACTIVE'
+      """, nativeQuery = true)
+  int deactivateByCode(@Param("code") String code);
 
   /**
    * Increments the click count and updates the last accessed timestamp for a link
@@ -0,0 +1,25 @@
+package org.decepticons.linkshortener.api.repository;
+
+import java.util.List;
+import java.util.UUID;
+import org.decepticons.linkshortener.api.dto.LinkResponseDto;
+import org.decepticons.linkshortener.api.dto.LinkSearchDto;
+import org.decepticons.linkshortener.api.util.LinkCursor;
+
+/**
+ * Search in a user's links, paginated by keyset on {@code (createdAt, id)}.
+ */
+public interface LinkSearchRepository {
+
+  /**
+   * Finds the links of a user matching the search criteria, newest first.
+   *
+   * @param ownerId the owner of the links
+   * @param criteria the search criteria, at least one of them set
+   * @param after the position of the last link already returned, or {@code null}
+   * @param limit the largest number of links returned
+   * @return the matching links after the position, newest first
+   */
+  List<LinkResponseDto> search(UUID ownerId, LinkSearchDto criteria, LinkCursor after,
+                               int limit);
+}
@@ -1,8 +1,10 @@
 package org.decepticons.linkshortener.api.repository;
 
 import java.time.Instant;
+import java.util.List;
 import java.util.Optional;
 import org.decepticons.linkshortener.api.model.RevokedToken;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
@@ -30,6 +32,24 @@ public interface RevokedTokenRepository extends
    */
   boolean existsByToken(String token);
 
+  /**
+   * Finds the revoked tokens recorded after the given id, in id order.
+   *
+   * @param id The last id already read.
+   * @param limit The largest number of tokens returned.
+   * @return The next revoked tokens.
+   */
+  List<RevokedToken> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+
+  /**
+   * Finds the revoked tokens with ids in the given range, in id order.
+   *
+   * @param from The first id of the range.
+   * @param to The last id of the range.
+   * @return The revoked tokens found.
+   */
+  List<RevokedToken> findByIdBetweenOrderByIdAsc(Long from, Long to);
+
   /**
    * Deletes all revoked tokens that have expired before the given timestamp.
    *
@@ -0,0 +1,139 @@
+package org.decepticons.linkshortener.api.repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import org.decepticons.linkshortener.api.model.UserLinkStats;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Repository for the per-owner link totals. The increments join the caller's
+ * transaction, so the totals commit or roll back together with the links.
+ */
+@Repository
+public interface UserLinkStatsRepository extends JpaRepository<UserLinkStats, UUID> {
+
+  /**
+   * Adds to the totals of a user.
+   *
+   * @param ownerId the UUID of the user (owner)
+   * @param total the change of the number of links
+   * @param active the change of the number of active links
+   * @param inactive the change of the number of inactive links
+   * @param clicks the change of the number of clicks
+   * @return the number of rows affected (0 if the user has no totals yet)
+   */
+  @Transactional
+  @Modifying
+  @Query(value = """
+      UPDATE user_link_stats
+      SET total_links = total_links + :total,
+          active_links = active_links + :active,
+          inactive_links = inactive_links + :inactive,
+          total_clicks = total_clicks + :clicks,
+          updated_at = now()
+      WHERE owner_id = :ownerId
+      """, nativeQuery = true)
+  int addTotals(@Param("ownerId") UUID ownerId, @Param("total") long total,
+                @Param("active") long active, @Param("inactive") long inactive,
+                @Param("clicks") long clicks);
+
+  /**
+   * Adds clicks to the total of the user owning a link.
+   *
+   * @param code the short code of the clicked link
+   * @param clicks the number of clicks
+   * @return the number of rows affected
+   */
+  @Transactional
+  @Modifying
+  @Query(value = """
+      UPDATE user_link_stats
+      SET total_clicks = total_clicks + :clicks
+      WHERE owner_id = (SELECT owner_id FROM links WHERE code = :code)
+      """, nativeQuery = true)
+  int addClicksByCode(@Param("code") String code, @Param("clicks") long clicks);
+
+  /**
+   * Increments the listing versions of users, marking their listings as changed.
+   *
+   * @param ownerIds the UUIDs of the users (owners)
+   * @return the number of rows affected
+   */
+  @Transactional
+  @Modifying
+  @Query(value = """
+      UPDATE user_link_stats
+      SET listing_version = listing_version + 1
+      WHERE owner_id IN (:ownerIds)
+      """, nativeQuery = true)
+  int incrementListingVersions(@Param("ownerIds") Collection<UUID> ownerIds);
+
+  /**
+   * Creates empty totals for users that have none.
+   *
+   * @return the number of rows created
+   */
+  @Transactional
+  @Modifying
+  @Query(value = """
+      INSERT INTO user_link_stats (owner_id, total_links, active_links, inactive_links,
+                                   total_clicks, updated_at)
+      SELECT u.id, 0, 0, 0, 0, now() FROM users u
+      WHERE NOT EXISTS (SELECT 1 FROM user_link_stats s WHERE s.owner_id = u.id)
+      """, nativeQuery = true)
+  int insertMissing();
+
+  /**
+   * Finds the owners with totals after the given one, in id order, to split
+   * the reconciliation into ranges.
+   *
+   * @param after the last owner of the previous range
+   * @param limit the largest number of owners returned
+   * @return the next owners
+   */
+  @Query("SELECT s.ownerId FROM UserLinkStats s WHERE s.ownerId > :after ORDER BY s.ownerId")
+  List<UUID> findOwnerIdsAfter(@Param("after") UUID after, Limit limit);
+
+  /**
+   * Recomputes the totals in a range of owners that differ from the
+   * {@code links} table.
+   *
+   * @param from the owner the range starts after
+   * @param to the last owner of the range
+   * @return the number of rows repaired
+   */
+  @Transactional
+  @Modifying
+  @Query(value = """
+      UPDATE user_link_stats
+      SET total_links = (SELECT count(*) FROM links l
+                         WHERE l.owner_id = user_link_stats.owner_id),
+          active_links = (SELECT count(*) FROM links l
+                          WHERE l.owner_id = user_link_stats.owner_id AND l.status = 'ACTIVE'),
+          inactive_links = (SELECT count(*) FROM links l
+                            WHERE l.owner_id = user_link_stats.owner_id
+                              AND l.status = 'INACTIVE'),
+          total_clicks = (SELECT coalesce(sum(l.clicks), 0) FROM links l
+                          WHERE l.owner_id = user_link_stats.owner_id),
+          updated_at = now()
+      WHERE owner_id > :from AND owner_id <= :to
+        AND (total_links <> (SELECT count(*) FROM links l
+                             WHERE l.owner_id = user_link_stats.owner_id)
+          OR active_links <> (SELECT count(*) FROM links l
+                              WHERE l.owner_id = user_link_stats.owner_id
+                                AND l.status = 'ACTIVE')
+          OR inactive_links <> (SELECT count(*) FROM links l
+                                WHERE l.owner_id = user_link_stats.owner_id
+                                  AND l.status = 'INACTIVE')
+          OR total_clicks <> (SELECT coalesce(sum(l.clicks), 0) FROM links l
+                              WHERE l.owner_id = user_link_stats.owner_id))
+      """, nativeQuery = true)
+  int recount(@Param("from") UUID from, @Param("to") UUID to);
+}
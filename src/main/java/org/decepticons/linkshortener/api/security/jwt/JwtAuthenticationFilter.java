@@ -5,7 +5,6 @@ import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import java.io.IOException;
-import org.decepticons.linkshortener.api.repository.RevokedTokenRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
@@ -50,25 +49,25 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
   private final UserDetailsService userDetailsService;
 
   /**
-   * Repository to check for revoked tokens.
+   * In-memory set of revoked tokens.
    */
-  private final RevokedTokenRepository revokedTokenRepository;
+  private final RevokedTokenRegistry revokedTokenRegistry;
 
   /**
    * Constructs a new JwtAuthenticationFilter.
    *
    * @param jwtTokenUtilParam The JWT utility.
    * @param userDetailsServiceParam The user details service.
-   * @param revokedTokenRepositoryParam The revoked token repository.
+   * @param revokedTokenRegistryParam The registry of revoked tokens.
    */
   public JwtAuthenticationFilter(
       final JwtTokenUtil jwtTokenUtilParam,
       final UserDetailsService userDetailsServiceParam,
-      final RevokedTokenRepository revokedTokenRepositoryParam
+      final RevokedTokenRegistry revokedTokenRegistryParam
   ) {
     this.jwtTokenUtil = jwtTokenUtilParam;
     this.userDetailsService = userDetailsServiceParam;
-    this.revokedTokenRepository = revokedTokenRepositoryParam;
+    this.revokedTokenRegistry = revokedTokenRegistryParam;
   }
 
   /**
@@ -97,7 +96,7 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     String jwtToken = authorizationHeader.substring(BEARER_PREFIX.length());
 
     // Check if the token is revoked
-    if (revokedTokenRepository.existsByToken(jwtToken)) {
+    if (revokedTokenRegistry.isRevoked(jwtToken)) {
       LOG.warn("Revoked token used: {}", jwtToken);
       SecurityContextHolder.clearContext();
       response.sendError(
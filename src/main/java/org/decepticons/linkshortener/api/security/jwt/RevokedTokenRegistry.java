@@ -0,0 +1,214 @@
+package org.decepticons.linkshortener.api.security.jwt;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.decepticons.linkshortener.api.model.RevokedToken;
+import org.decepticons.linkshortener.api.repository.RevokedTokenRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * In-memory copy of the {@code revoked_tokens} table, so that checking a
+ * token on an authenticated request needs no query.
+ *
+ * <p>Tokens are held as 128-bit SHA-256 fingerprints with their expiry and
+ * drop out once they expire. The copy is loaded by the first refresh and then
+ * follows the table by polling the rows after the highest id read, so
+ * revocations made on other nodes are seen within one poll interval.
+ * Ids skipped by the poll may belong to transactions that commit later; each
+ * skipped range, however wide, is read again on every poll until its ids
+ * appear or the gap timeout passes. Until the first refresh succeeds, checks
+ * fall back to the database.
+ */
+@Component
+public class RevokedTokenRegistry {
+
+  /**
+   * Logger for the RevokedTokenRegistry class.
+   */
+  private static final Logger LOG = LoggerFactory.getLogger(RevokedTokenRegistry.class);
+
+  /**
+   * Repository holding the revoked tokens.
+   */
+  private final RevokedTokenRepository revokedTokenRepository;
+
+  /**
+   * Number of rows read per poll query.
+   */
+  private final int batchSize;
+
+  /**
+   * How long a skipped id is looked up again.
+   */
+  private final Duration gapTimeout;
+
+  /**
+   * Expiry of each revoked token, by fingerprint.
+   */
+  private final Map<Fingerprint, Instant> revoked = new ConcurrentHashMap<>();
+
+  /**
+   * Id ranges skipped by the poll and not read since, oldest first.
+   */
+  private final List<Gap> gaps = new ArrayList<>();
+
+  /**
+   * Highest id read from the table.
+   */
+  private long lastId;
+
+  /**
+   * Whether the table has been read once.
+   */
+  private volatile boolean loaded;
+
+  /**
+   * Constructs a new RevokedTokenRegistry.
+   *
+   * @param revokedTokenRepositoryParam The revoked token repository.
+   * @param batchSizeParam The number of rows read per poll query.
+   * @param gapTimeoutMsParam How long skipped ids are looked up again.
+   */
+  public RevokedTokenRegistry(
+      final RevokedTokenRepository revokedTokenRepositoryParam,
+      @Value("${jwt.revocation.batch-size:1000}") final int batchSizeParam,
+      @Value("${jwt.revocation.gap-timeout-ms:60000}") final long gapTimeoutMsParam
+  ) {
+    this.revokedTokenRepository = revokedTokenRepositoryParam;
+    this.batchSize = batchSizeParam;
+    this.gapTimeout = Duration.ofMillis(gapTimeoutMsParam);
+  }
+
+  /**
+   * Checks whether a token has been revoked.
+   *
+   * @param token The JWT token string.
+   * @return true if the token is revoked, false otherwise.
+   */
+  public boolean isRevoked(final String token) {
+    if (!loaded) {
+      return revokedTokenRepository.existsByToken(token);
+    }
+    return revoked.containsKey(Fingerprint.of(token));
+  }
+
+  /**
+   * Records a token revoked on this node, ahead of the next poll.
+   *
+   * @param token The JWT token string.
+   * @param expiresAt The expiry of the token.
+   */
+  public void revoke(final String token, final Instant expiresAt) {
+    revoked.put(Fingerprint.of(token), expiresAt);
+  }
+
+  /**
+   * Reads the tokens revoked since the last poll and drops expired ones.
+   * Runs every second by default; a failing database only postpones the
+   * refresh.
+   */
+  @Scheduled(fixedDelayString = "${jwt.revocation.poll-interval-ms:1000}")
+  public synchronized void refresh() {
+    Instant now = Instant.now();
+    try {
+      if (!gaps.isEmpty()) {
+        List<Gap> open = new ArrayList<>();
+        for (Gap gap : gaps) {
+          if (!gap.missedAt().plus(gapTimeout).isBefore(now)) {
+            open.addAll(fill(gap));
+          }
+        }
+        gaps.clear();
+        gaps.addAll(open);
+      }
+
+      List<RevokedToken> batch;
+      do {
+        batch = revokedTokenRepository.findByIdGreaterThanOrderByIdAsc(lastId,
+            Limit.of(batchSize));
+        for (RevokedToken token : batch) {
+          if (loaded && token.getId() > lastId + 1) {
+            gaps.add(new Gap(lastId + 1, token.getId() - 1, now));
+          }
+          add(token);
+          lastId = token.getId();
+        }
+      } while (batch.size() == batchSize);
+
+      loaded = true;
+    } catch (DataAccessException e) {
+      LOG.warn("Revoked token refresh postponed: {}", e.getMessage());
+    }
+    revoked.values().removeIf(expiresAt -> expiresAt.isBefore(now));
+  }
+
+  /**
+   * Reads the tokens committed inside a gap since it was skipped.
+   *
+   * @param gap The skipped range.
+   * @return The parts of the range still not read.
+   */
+  private List<Gap> fill(final Gap gap) {
+    List<Gap> open = new ArrayList<>();
+    long from = gap.from();
+    for (RevokedToken token : revokedTokenRepository.findByIdBetweenOrderByIdAsc(gap.from(),
+        gap.to())) {
+      add(token);
+      if (token.getId() > from) {
+        open.add(new Gap(from, token.getId() - 1, gap.missedAt()));
+      }
+      from = token.getId() + 1;
+    }
+    if (from <= gap.to()) {
+      open.add(new Gap(from, gap.to(), gap.missedAt()));
+    }
+    return open;
+  }
+
+  private void add(final RevokedToken token) {
+    revoked.put(Fingerprint.of(token.getToken()), token.getExpiresAt());
+  }
+
+  /**
+   * Range of ids skipped by a poll.
+   *
+   * @param from The first skipped id.
+   * @param to The last skipped id.
+   * @param missedAt When the range was first skipped.
+   */
+  private record Gap(long from, long to, Instant missedAt) {
+  }
+
+  /**
+   * First 128 bits of the SHA-256 hash of a token.
+   *
+   * @param high The first 64 bits.
+   * @param low The next 64 bits.
+   */
+  private record Fingerprint(long high, long low) {
+
+    static Fingerprint of(final String token) {
+      try {
+        ByteBuffer hash = ByteBuffer.wrap(MessageDigest.getInstance("SHA-256")
+            .digest(token.getBytes(StandardCharsets.UTF_8)));
+        return new Fingerprint(hash.getLong(), hash.getLong());
+      } catch (NoSuchAlgorithmException e) {
+        throw new IllegalStateException("SHA-256 is not available", e);
+      }
+    }
+  }
+}
@@ -11,11 +11,14 @@ import org.decepticons.linkshortener.api.exception.UserAlreadyExistsException;
 import org.decepticons.linkshortener.api.model.RevokedToken;
 import org.decepticons.linkshortener.api.model.Role;
 import org.decepticons.linkshortener.api.model.User;
+import org.decepticons.linkshortener.api.model.UserLinkStats;
 import org.decepticons.linkshortener.api.model.UserStatus;
 import org.decepticons.linkshortener.api.repository.RevokedTokenRepository;
 import org.decepticons.linkshortener.api.repository.RoleRepository;
+import org.decepticons.linkshortener.api.repository.UserLinkStatsRepository;
 import org.decepticons.linkshortener.api.repository.UserRepository;
 import org.decepticons.linkshortener.api.security.jwt.JwtTokenUtil;
+import org.decepticons.linkshortener.api.security.jwt.RevokedTokenRegistry;
 import org.decepticons.linkshortener.api.security.service.AuthService;
 import org.decepticons.linkshortener.api.service.UserService;
 import org.decepticons.linkshortener.api.util.PasswordValidator;
@@ -63,6 +66,11 @@ public class AuthServiceImpl implements AuthService {
    */
   private final RevokedTokenRepository revokedTokenRepository;
 
+  /**
+   * In-memory set of revoked tokens.
+   */
+  private final RevokedTokenRegistry revokedTokenRegistry;
+
   /**
    * Encodes and verifies user passwords.
    */
@@ -73,6 +81,11 @@ public class AuthServiceImpl implements AuthService {
    */
   private final RoleRepository roleRepository;
 
+  /**
+   * Repository holding the per-user link totals.
+   */
+  private final UserLinkStatsRepository userLinkStatsRepository;
+
   /**
    * Authenticates a user with the provided username and password.
    *
@@ -107,7 +120,7 @@ public class AuthServiceImpl implements AuthService {
     }
     String jwtToken = authorizationHeader.substring(BEARER_PREFIX.length());
 
-    if (revokedTokenRepository.existsByToken(jwtToken)) {
+    if (revokedTokenRegistry.isRevoked(jwtToken)) {
       throw new InvalidTokenException("Token has been revoked");
     }
 
@@ -120,7 +133,7 @@ public class AuthServiceImpl implements AuthService {
   }
 
   /**
-   * Registers a new user with a default 'ROLE_USER' role.
+   * Registers a new user with a default 'ROLE_USER' role and empty link totals.
    *
    * @param user The user entity to register.
    * @return The newly registered user.
@@ -149,7 +162,9 @@ public class AuthServiceImpl implements AuthService {
     user.setPasswordHash(passwordEncoder.encode(user.getPasswordHash()));
     user.setStatus(UserStatus.ACTIVE);
     user.setRoles(Collections.singleton(userRole.get()));
-    return userRepository.save(user);
+    User saved = userRepository.save(user);
+    userLinkStatsRepository.save(new UserLinkStats(saved.getId()));
+    return saved;
   }
 
   /**
@@ -171,5 +186,6 @@ public class AuthServiceImpl implements AuthService {
     Instant accessExpiresAt = jwtUtil.extractExpiration(accessToken)
         .toInstant();
     revokedTokenRepository.save(new RevokedToken(accessToken, accessExpiresAt));
+    revokedTokenRegistry.revoke(accessToken, accessExpiresAt);
   }
 }
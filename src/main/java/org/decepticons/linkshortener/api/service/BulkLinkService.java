@@ -0,0 +1,26 @@
+package org.decepticons.linkshortener.api.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import org.decepticons.linkshortener.api.model.User;
+
+/**
+ * Service interface for creating many links in one request.
+ */
+public interface BulkLinkService {
+
+  /**
+   * Reads link requests shaped like {@code UrlRequestDto}, either as a JSON
+   * array or as NDJSON, creates them in batches and writes one NDJSON result
+   * line per item as each batch commits. Items that fail are reported and do
+   * not stop the others. With URL deduplication enabled, items reusing a live
+   * link are reported as {@code existing}.
+   *
+   * @param owner the owner of the new links
+   * @param in the request body
+   * @param out the target of the result lines; it is closed when the request finishes
+   * @throws IOException if reading the request or writing the results fails
+   */
+  void createLinks(User owner, InputStream in, OutputStream out) throws IOException;
+}
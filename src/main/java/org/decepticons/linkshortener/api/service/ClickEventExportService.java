@@ -0,0 +1,29 @@
+package org.decepticons.linkshortener.api.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.UUID;
+import org.decepticons.linkshortener.api.dto.ExportFormat;
+
+/**
+ * Service interface for exporting the click history of a user's links.
+ */
+public interface ClickEventExportService {
+
+  /**
+   * Streams click events of the owner's links to the given stream: link by
+   * link, oldest link first, and each link's events by event id.
+   *
+   * @param ownerId the owner whose links are exported
+   * @param code optional short code to restrict the export to one link, may be {@code null}
+   * @param afterCode code of the last event already received, to resume an interrupted
+   *     export of all links; may be {@code null}
+   * @param afterId only events of that link, or of the single exported link, with a greater
+   *     id are exported
+   * @param format the output format
+   * @param out the target stream; it is closed when the export finishes
+   * @throws IOException if writing to the stream fails
+   */
+  void exportClickEvents(UUID ownerId, String code, String afterCode, long afterId,
+                         ExportFormat format, OutputStream out) throws IOException;
+}
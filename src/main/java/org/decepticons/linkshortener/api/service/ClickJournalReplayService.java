@@ -0,0 +1,13 @@
+package org.decepticons.linkshortener.api.service;
+
+/**
+ * Service interface for shipping journaled clicks to the database.
+ */
+public interface ClickJournalReplayService {
+
+  /**
+   * Applies all durable journal records past the stored checkpoint to the
+   * link click counters, batch by batch, and removes replayed segments.
+   */
+  void replayPendingClicks();
+}
@@ -0,0 +1,22 @@
+package org.decepticons.linkshortener.api.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.UUID;
+import org.decepticons.linkshortener.api.dto.ExportFormat;
+
+/**
+ * Service interface for exporting all links of a user.
+ */
+public interface LinkExportService {
+
+  /**
+   * Streams the owner's links, oldest first, to the given stream.
+   *
+   * @param ownerId the owner whose links are exported
+   * @param format the output format
+   * @param out the target stream; it is closed when the export finishes
+   * @throws IOException if writing to the stream fails
+   */
+  void exportLinks(UUID ownerId, ExportFormat format, OutputStream out) throws IOException;
+}
@@ -0,0 +1,39 @@
+package org.decepticons.linkshortener.api.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.UUID;
+import org.decepticons.linkshortener.api.dto.ImportJobDto;
+import org.decepticons.linkshortener.api.model.User;
+
+/**
+ * Service interface for asynchronous CSV imports of links.
+ */
+public interface LinkImportService {
+
+  /**
+   * Stores an uploaded CSV with one URL per line, optionally preceded by a
+   * {@code url} header, and queues it for import.
+   *
+   * @param owner the owner of the new links
+   * @param in the CSV body
+   * @return the queued job
+   * @throws IOException if the upload cannot be read or stored
+   */
+  ImportJobDto submit(User owner, InputStream in) throws IOException;
+
+  /**
+   * Reports the progress of one of the owner's jobs.
+   *
+   * @param owner the user asking
+   * @param jobId the job identifier
+   * @return the job progress
+   */
+  ImportJobDto getJob(User owner, UUID jobId);
+
+  /**
+   * Picks up queued and interrupted jobs whose upload is stored on this node;
+   * they continue after their last committed chunk.
+   */
+  void resumeJobs();
+}
@@ -1,8 +1,16 @@
 package org.decepticons.linkshortener.api.service;
 
 import java.time.Instant;
+import java.util.List;
 import java.util.UUID;
+import org.decepticons.linkshortener.api.click.ClickContext;
+import org.decepticons.linkshortener.api.dto.AliasAvailabilityDto;
+import org.decepticons.linkshortener.api.dto.BulkOperationResultDto;
+import org.decepticons.linkshortener.api.dto.LinkFilterDto;
 import org.decepticons.linkshortener.api.dto.LinkResponseDto;
+import org.decepticons.linkshortener.api.dto.LinkSearchDto;
+import org.decepticons.linkshortener.api.dto.LinkSliceDto;
+import org.decepticons.linkshortener.api.dto.ResolvedLinkDto;
 import org.decepticons.linkshortener.api.dto.UrlRequestDto;
 import org.springframework.data.domain.Page;
 
@@ -21,6 +29,15 @@ public interface LinkService {
    */
   LinkResponseDto createLink(UrlRequestDto originalUrl);
 
+  /**
+   * Checks whether a custom alias can be used for a new link, suggesting free
+   * variants when it cannot.
+   *
+   * @param alias the wanted alias
+   * @return the availability of the alias
+   */
+  AliasAvailabilityDto checkAlias(String alias);
+
   /**
    * Increments the click count for the specified link.
    *
@@ -29,6 +46,16 @@ public interface LinkService {
    */
   LinkResponseDto incrementClicks(LinkResponseDto link);
 
+  /**
+   * Increments the click count for the specified link and records the click
+   * together with the request-derived details.
+   *
+   * @param link the LinkResponseDto representing the link to update
+   * @param context details of the request that produced the click
+   * @return the updated LinkResponseDto with incremented click count
+   */
+  LinkResponseDto incrementClicks(LinkResponseDto link, ClickContext context);
+
   /**
    * Retrieves a link by its unique short code.
    *
@@ -71,6 +98,37 @@ public interface LinkService {
    */
   Page<LinkResponseDto> getAllMyActiveLinks(int page, int size);
 
+  /**
+   * Retrieves a page of the current user's links, newest first, continuing
+   * after a cursor instead of an offset and without counting all links.
+   *
+   * @param cursor the continuation token of the previous page, or {@code null} for the first
+   * @param size the number of links per page
+   * @return the links and the token of the next page
+   */
+  LinkSliceDto getMyLinksAfter(String cursor, int size);
+
+  /**
+   * Searches the current user's links by destination domain, URL substring
+   * and code prefix, newest first, continuing after a cursor.
+   *
+   * @param criteria the search criteria, at least one of them set
+   * @param cursor the continuation token of the previous page, or {@code null} for the first
+   * @param size the number of links per page
+   * @return the matching links and the token of the next page
+   */
+  LinkSliceDto searchMyLinks(LinkSearchDto criteria, String cursor, int size);
+
+  /**
+   * Retrieves a page of the current user's active links, newest first,
+   * continuing after a cursor instead of an offset and without counting all links.
+   *
+   * @param cursor the continuation token of the previous page, or {@code null} for the first
+   * @param size the number of links per page
+   * @return the links and the token of the next page
+   */
+  LinkSliceDto getMyActiveLinksAfter(String cursor, int size);
+
   /**
    * Deletes a link by its unique identifier.
    *
@@ -87,4 +145,38 @@ public interface LinkService {
    * @return the updated LinkResponseDto with the new expiration date
    */
   LinkResponseDto updateLinkExpiration(String code, Instant newExpirationDate);
+
+  /**
+   * Deactivates the current user's active links matching the filter.
+   *
+   * @param filter the links to deactivate
+   * @return the number of deactivated links
+   */
+  BulkOperationResultDto deactivateLinks(LinkFilterDto filter);
+
+  /**
+   * Deletes the current user's links matching the filter.
+   *
+   * @param filter the links to delete
+   * @return the number of deleted links
+   */
+  BulkOperationResultDto deleteLinks(LinkFilterDto filter);
+
+  /**
+   * Sets a new expiration date on the current user's links matching the filter.
+   *
+   * @param filter the links to update
+   * @param newExpirationDate the new expiration date
+   * @return the number of updated links
+   */
+  BulkOperationResultDto updateLinksExpiration(LinkFilterDto filter, Instant newExpirationDate);
+
+  /**
+   * Resolves many short codes at once without counting clicks. Codes held in
+   * the link cache are answered from it; the others are loaded in one query.
+   *
+   * @param codes the short codes, duplicates are resolved once
+   * @return one entry per distinct code, in request order
+   */
+  List<ResolvedLinkDto> resolveLinks(List<String> codes);
 }
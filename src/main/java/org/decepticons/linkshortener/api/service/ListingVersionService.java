@@ -0,0 +1,53 @@
+package org.decepticons.linkshortener.api.service;
+
+import java.util.Collection;
+import java.util.UUID;
+
+/**
+ * Service interface for the per-owner version of the link listings, used to
+ * answer conditional listing requests without querying the links.
+ */
+public interface ListingVersionService {
+
+  /**
+   * Builds the entity tag of a listing of the current user.
+   *
+   * @param listing name of the listing endpoint
+   * @param params page parameters the listing depends on
+   * @return the entity tag, or {@code null} if the user is not known without a query
+   */
+  String currentTag(String listing, Object... params);
+
+  /**
+   * Marks the listings of an owner as changed once the current transaction
+   * commits, or right away outside a transaction. The shared version is
+   * saved lazily by {@link #refresh()}.
+   *
+   * @param ownerId the UUID of the owner
+   */
+  void ownerChanged(UUID ownerId);
+
+  /**
+   * Marks the listings of several owners as changed.
+   *
+   * @param ownerIds the UUIDs of the owners
+   */
+  void ownersChanged(Collection<UUID> ownerIds);
+
+  /**
+   * Notes a click on a link of an owner once the current transaction
+   * commits. Clicks are folded into the next {@link #refresh()}, so the
+   * listings change at most once per refresh however often they are clicked.
+   *
+   * @param ownerId the UUID of the owner
+   */
+  void linksClicked(UUID ownerId);
+
+  /**
+   * Saves the changes made through this node and picks up the changes made
+   * through other nodes since the last refresh.
+   *
+   * @return the number of owners whose listings changed
+   */
+  int refresh();
+}
@@ -0,0 +1,33 @@
+package org.decepticons.linkshortener.api.service;
+
+import java.util.List;
+import org.decepticons.linkshortener.api.dto.ReferrerCountDto;
+
+/**
+ * Service interface for the per-link referrer breakdown of clicks.
+ */
+public interface ReferrerStatsService {
+
+  /**
+   * Counts one click of a link referred by the given domain.
+   * The count is aggregated in memory until the next flush.
+   *
+   * @param code the short code of the clicked link
+   * @param domain the registrable domain of the referring site
+   */
+  void recordReferral(String code, String domain);
+
+  /**
+   * Adds the aggregated referral counts to the top-referrer tables.
+   */
+  void flushReferrals();
+
+  /**
+   * Returns the top referring domains of one of the current user's links.
+   *
+   * @param code the short code of the link
+   * @param limit the maximum number of domains returned
+   * @return the referrer counts, most clicks first
+   */
+  List<ReferrerCountDto> getTopReferrers(String code, int limit);
+}
@@ -0,0 +1,15 @@
+package org.decepticons.linkshortener.api.service;
+
+/**
+ * Service interface for keeping the per-owner link totals in line with the
+ * {@code links} table.
+ */
+public interface UserLinkStatsService {
+
+  /**
+   * Creates missing totals and recomputes those that drifted.
+   *
+   * @return the number of rows created or repaired
+   */
+  int reconcile();
+}
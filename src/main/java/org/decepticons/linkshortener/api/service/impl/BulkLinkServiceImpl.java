@@ -0,0 +1,332 @@
+package org.decepticons.linkshortener.api.service.impl;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.decepticons.linkshortener.api.code.CodeAvailabilityIndex;
+import org.decepticons.linkshortener.api.code.CodeGenerator;
+import org.decepticons.linkshortener.api.code.KeyspaceMonitor;
+import org.decepticons.linkshortener.api.dto.ExportFormat;
+import org.decepticons.linkshortener.api.dto.UrlRequestDto;
+import org.decepticons.linkshortener.api.model.Link;
+import org.decepticons.linkshortener.api.model.LinkStatus;
+import org.decepticons.linkshortener.api.model.User;
+import org.decepticons.linkshortener.api.repository.LinkRepository;
+import org.decepticons.linkshortener.api.repository.UserLinkStatsRepository;
+import org.decepticons.linkshortener.api.service.BulkLinkService;
+import org.decepticons.linkshortener.api.service.ListingVersionService;
+import org.decepticons.linkshortener.api.util.ExportWriter;
+import org.decepticons.linkshortener.api.util.UrlNormalizer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Service implementation that creates links from a streamed request body.
+ * Items are parsed one at a time and collected into batches of
+ * {@code link.bulk.batch-size}; each batch is inserted in one transaction,
+ * which Hibernate sends as JDBC batches, and its results are written and
+ * flushed right after the commit. Only one batch is held in memory, and a
+ * request is cut off after {@code link.bulk.max-items} items. When a batch
+ * fails, for instance on a duplicate alias, its items are retried one by one
+ * so that only the offending items are reported as failed. With
+ * {@code link.url-dedup.enabled}, an item without alias whose normalized URL
+ * matches a live link of the owner, or an earlier item of the same batch, is
+ * reported as {@code existing} with that link's code instead of being inserted;
+ * the live links of a batch are looked up in one query.
+ */
+@Service
+public class BulkLinkServiceImpl implements BulkLinkService {
+
+  private static final List<String> COLUMNS = List.of("index", "status", "code", "error");
+
+  private static final int MAX_URL_LENGTH = 8192;
+
+  private static final String CREATED = "created";
+
+  private static final String EXISTING = "existing";
+
+  private static final String FAILED = "failed";
+
+  private final LinkRepository linkRepository;
+  private final CodeGenerator codeGenerator;
+  private final KeyspaceMonitor keyspaceMonitor;
+  private final CodeAvailabilityIndex codeAvailabilityIndex;
+  private final UserLinkStatsRepository userLinkStatsRepository;
+  private final ListingVersionService listingVersionService;
+  private final ObjectMapper objectMapper;
+  private final TransactionTemplate transactionTemplate;
+  private final int batchSize;
+  private final int maxItems;
+  private final long linkExpirationDays;
+  private final boolean urlDedupEnabled;
+
+  /**
+   * Constructs a new BulkLinkServiceImpl.
+   *
+   * @param linkRepository repository used to persist the links
+   * @param codeGenerator source of unique short codes for new links
+   * @param keyspaceMonitor per-length count of issued codes
+   * @param codeAvailabilityIndex in-memory index of the codes in use
+   * @param userLinkStatsRepository per-owner link totals, updated with each batch
+   * @param listingVersionService versions behind the listing entity tags
+   * @param objectMapper mapper reading the request items
+   * @param transactionManager transaction manager shared with JPA
+   * @param batchSize number of links inserted per transaction
+   * @param maxItems largest number of items accepted per request
+   * @param linkExpirationDays lifetime of new links
+   * @param urlDedupEnabled whether items for a URL with a live link reuse that link
+   */
+  public BulkLinkServiceImpl(
+      LinkRepository linkRepository,
+      CodeGenerator codeGenerator,
+      KeyspaceMonitor keyspaceMonitor,
+      CodeAvailabilityIndex codeAvailabilityIndex,
+      UserLinkStatsRepository userLinkStatsRepository,
+      ListingVersionService listingVersionService,
+      ObjectMapper objectMapper,
+      PlatformTransactionManager transactionManager,
+      @Value("${link.bulk.batch-size:500}") int batchSize,
+      @Value("${link.bulk.max-items:100000}") int maxItems,
+      @Value("${link.expiration-days}") long linkExpirationDays,
+      @Value("${link.url-dedup.enabled:false}") boolean urlDedupEnabled
+  ) {
+    this.linkRepository = linkRepository;
+    this.codeGenerator = codeGenerator;
+    this.keyspaceMonitor = keyspaceMonitor;
+    this.codeAvailabilityIndex = codeAvailabilityIndex;
+    this.userLinkStatsRepository = userLinkStatsRepository;
+    this.listingVersionService = listingVersionService;
+    this.objectMapper = objectMapper;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    this.batchSize = batchSize;
+    this.maxItems = maxItems;
+    this.linkExpirationDays = linkExpirationDays;
+    this.urlDedupEnabled = urlDedupEnabled;
+  }
+
+  @Override
+  public void createLinks(User owner, InputStream in, OutputStream out) throws IOException {
+    try (JsonParser parser = objectMapper.getFactory().createParser(in);
+         ExportWriter writer = ExportWriter.open(ExportFormat.NDJSON, out, COLUMNS)) {
+      JsonToken token = parser.nextToken();
+      boolean array = token == JsonToken.START_ARRAY;
+      if (array) {
+        token = parser.nextToken();
+      }
+
+      List<Item> batch = new ArrayList<>(batchSize);
+      int index = 0;
+      while (token != null && !(array && token == JsonToken.END_ARRAY)) {
+        if (index == maxItems) {
+          writeBatch(owner, batch, writer);
+          writer.writeRow(index, FAILED, null,
+              "Request exceeds " + maxItems + " links; the remaining items were not read");
+          return;
+        }
+        UrlRequestDto request;
+        try {
+          request = objectMapper.readValue(parser, UrlRequestDto.class);
+        } catch (JsonProcessingException e) {
+          writeBatch(owner, batch, writer);
+          writer.writeRow(index, FAILED, null,
+              "Malformed item; the remaining items were not read: " + e.getOriginalMessage());
+          return;
+        }
+        batch.add(new Item(index++, request, validate(request)));
+        if (batch.size() == batchSize) {
+          writeBatch(owner, batch, writer);
+        }
+        token = parser.nextToken();
+      }
+      writeBatch(owner, batch, writer);
+    }
+  }
+
+  private void writeBatch(User owner, List<Item> batch, ExportWriter writer) throws IOException {
+    if (batch.isEmpty()) {
+      return;
+    }
+    Instant expiresAt = Instant.now().plus(linkExpirationDays, ChronoUnit.DAYS);
+    if (urlDedupEnabled) {
+      reuseLiveLinks(owner, batch);
+    }
+    List<Item> pending = new ArrayList<>(batch.size());
+    for (Item item : batch) {
+      if (item.error == null && !item.existing && item.duplicateOf == null) {
+        assignCode(item);
+        if (item.error == null) {
+          pending.add(item);
+        }
+      }
+    }
+
+    try {
+      List<Link> links = new ArrayList<>(pending.size());
+      for (Item item : pending) {
+        links.add(toLink(owner, item, expiresAt));
+      }
+      transactionTemplate.executeWithoutResult(status -> {
+        linkRepository.saveAllAndFlush(links);
+        userLinkStatsRepository.addTotals(owner.getId(), links.size(), links.size(), 0, 0);
+      });
+    } catch (DataAccessException batchFailure) {
+      for (Item item : pending) {
+        try {
+          Link link = toLink(owner, item, expiresAt);
+          transactionTemplate.executeWithoutResult(status -> {
+            linkRepository.saveAndFlush(link);
+            userLinkStatsRepository.addTotals(owner.getId(), 1, 1, 0, 0);
+          });
+        } catch (DataAccessException e) {
+          item.error = item.request.getAlias() == null
+              ? "Link could not be saved" : "Alias '" + item.code + "' is already taken";
+        }
+      }
+    }
+    if (pending.stream().anyMatch(item -> item.error == null)) {
+      listingVersionService.ownerChanged(owner.getId());
+    }
+
+    for (Item item : batch) {
+      if (item.duplicateOf != null) {
+        item.code = item.duplicateOf.code;
+        item.error = item.duplicateOf.error;
+        item.existing = true;
+      }
+      if (item.error != null) {
+        writer.writeRow(item.index, FAILED, item.code, item.error);
+      } else if (item.existing) {
+        writer.writeRow(item.index, EXISTING, item.code, null);
+      } else {
+        keyspaceMonitor.linkCreated(item.code);
+        codeAvailabilityIndex.codeTaken(item.code);
+        writer.writeRow(item.index, CREATED, item.code, null);
+      }
+    }
+    writer.flush();
+    batch.clear();
+  }
+
+  /**
+   * Points the valid items without alias at the owner's live link for the
+   * same normalized URL, or else at the first item of the batch with that URL,
+   * matching {@code LinkService.createLink} with URL deduplication enabled.
+   */
+  private void reuseLiveLinks(User owner, List<Item> batch) {
+    Set<Long> urlHashes = new HashSet<>();
+    for (Item item : batch) {
+      if (item.error == null && item.request.getAlias() == null) {
+        item.normalizedUrl = UrlNormalizer.normalize(item.request.getUrl());
+        urlHashes.add(UrlNormalizer.hash(item.normalizedUrl));
+      }
+    }
+    if (urlHashes.isEmpty()) {
+      return;
+    }
+
+    Instant now = Instant.now();
+    Map<String, String> liveCodes = new HashMap<>();
+    for (Link link : linkRepository.findByOwnerIdAndUrlHashInAndStatus(
+        owner.getId(), urlHashes, LinkStatus.ACTIVE)) {
+      if (link.getExpiresAt() == null || link.getExpiresAt().isAfter(now)) {
+        liveCodes.putIfAbsent(UrlNormalizer.normalize(link.getOriginalUrl()), link.getCode());
+      }
+    }
+    Map<String, Item> firstItems = new HashMap<>();
+    for (Item item : batch) {
+      if (item.normalizedUrl == null) {
+        continue;
+      }
+      String code = liveCodes.get(item.normalizedUrl);
+      if (code != null) {
+        item.code = code;
+        item.existing = true;
+      } else {
+        item.duplicateOf = firstItems.putIfAbsent(item.normalizedUrl, item);
+      }
+    }
+  }
+
+  private void assignCode(Item item) {
+    String alias = item.request.getAlias();
+    if (alias != null) {
+      item.code = alias;
+      if (codeAvailabilityIndex.isTaken(alias)) {
+        item.error = "Alias '" + alias + "' is already taken";
+      }
+      return;
+    }
+    try {
+      String code = codeGenerator.nextCode();
+      while (codeAvailabilityIndex.isTaken(code)) {
+        code = codeGenerator.nextCode();
+      }
+      item.code = code;
+    } catch (IllegalStateException e) {
+      item.error = e.getMessage();
+    }
+  }
+
+  private static Link toLink(User owner, Item item, Instant expiresAt) {
+    Link link = new Link();
+    link.setCode(item.code);
+    link.setOriginalUrl(item.request.getUrl());
+    link.setUrlHash(UrlNormalizer.hash(UrlNormalizer.normalize(item.request.getUrl())));
+    link.setOwner(owner);
+    link.setExpiresAt(expiresAt);
+    link.setStatus(LinkStatus.ACTIVE);
+    return link;
+  }
+
+  private static String validate(UrlRequestDto request) {
+    if (request == null) {
+      return "Item must be a JSON object";
+    }
+    String url = request.getUrl();
+    if (url == null || url.isBlank() || !url.matches(UrlRequestDto.URL_PATTERN)) {
+      return "URL must start with http:// or https://";
+    }
+    if (url.length() > MAX_URL_LENGTH) {
+      return "URL is longer than " + MAX_URL_LENGTH + " characters";
+    }
+    String alias = request.getAlias();
+    if (alias != null && !alias.matches(UrlRequestDto.ALIAS_PATTERN)) {
+      return "Alias must be 3-12 letters, digits, '-' or '_', starting with a letter or digit";
+    }
+    return null;
+  }
+
+  /**
+   * One request item and its outcome.
+   */
+  private static final class Item {
+    private final int index;
+    private final UrlRequestDto request;
+    private String code;
+    private String error;
+    private String normalizedUrl;
+    private boolean existing;
+    private Item duplicateOf;
+
+    private Item(int index, UrlRequestDto request, String error) {
+      this.index = index;
+      this.request = request;
+      this.error = error;
+    }
+  }
+}
@@ -0,0 +1,122 @@
+package org.decepticons.linkshortener.api.service.impl;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.UUID;
+import javax.sql.DataSource;
+import org.decepticons.linkshortener.api.dto.ExportFormat;
+import org.decepticons.linkshortener.api.exception.NoSuchShortLinkFoundInTheSystemException;
+import org.decepticons.linkshortener.api.service.ClickEventExportService;
+import org.decepticons.linkshortener.api.util.ExportWriter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+
+/**
+ * Service implementation that streams click events straight from a forward-only
+ * JDBC cursor into an {@link ExportWriter}. The owner's clicked links are read
+ * in pages along {@code idx_links_owner_created}, and the events of each link
+ * along {@code idx_click_events_link_id}, so no statement sorts or joins the
+ * whole click history. The queries share an {@link ExportCursor}, so the
+ * events of a link are streamed rather than materialized.
+ */
+@Service
+public class ClickEventExportServiceImpl implements ClickEventExportService {
+
+  private static final List<String> COLUMNS = List.of("id", "code", "clickedAt", "country");
+
+  private static final String LINK_SQL = """
+      SELECT id, code, created_at FROM links WHERE owner_id = ? AND code = ?
+      """;
+
+  private static final String LINKS_SQL = """
+      SELECT id, code, created_at FROM links
+      WHERE owner_id = ? AND clicks > 0
+      """;
+
+  private static final String LINKS_AFTER =
+      " AND (created_at > ? OR (created_at = ? AND id > ?))";
+
+  private static final String LINKS_ORDER_BY = " ORDER BY created_at, id LIMIT ?";
+
+  private static final String EVENTS_SQL = """
+      SELECT id, clicked_at, country FROM click_events
+      WHERE link_id = ? AND id > ?
+      ORDER BY id
+      """;
+
+  private static final RowMapper<LinkRow> LINK_ROW = (rs, rowNum) ->
+      new LinkRow(rs.getObject(1, UUID.class), rs.getString(2), rs.getTimestamp(3));
+
+  private final ExportCursor cursor;
+
+  /**
+   * Constructs a new ClickEventExportServiceImpl.
+   *
+   * @param dataSource the application data source
+   * @param transactionManager transaction manager shared with JPA
+   * @param fetchSize number of rows fetched from the cursor per round trip, and
+   *     number of links read per page
+   */
+  public ClickEventExportServiceImpl(
+      DataSource dataSource,
+      PlatformTransactionManager transactionManager,
+      @Value("${link.export.fetch-size:1000}") int fetchSize
+  ) {
+    this.cursor = new ExportCursor(dataSource, transactionManager, fetchSize);
+  }
+
+  @Override
+  public void exportClickEvents(UUID ownerId, String code, String afterCode, long afterId,
+                                ExportFormat format, OutputStream out) throws IOException {
+    cursor.export(format, out, COLUMNS, writer -> {
+      if (code != null) {
+        findLink(ownerId, code).forEach(link -> writeEvents(writer, link, afterId));
+        return;
+      }
+
+      LinkRow last = null;
+      if (afterCode != null) {
+        last = findLink(ownerId, afterCode).stream().findFirst()
+            .orElseThrow(() -> new NoSuchShortLinkFoundInTheSystemException(
+                "Link to resume the export after was not found", afterCode));
+        writeEvents(writer, last, afterId);
+      }
+      int pageSize = cursor.fetchSize();
+      List<LinkRow> page;
+      do {
+        page = last == null
+            ? cursor.query(LINKS_SQL + LINKS_ORDER_BY, LINK_ROW, ownerId, pageSize)
+            : cursor.query(LINKS_SQL + LINKS_AFTER + LINKS_ORDER_BY, LINK_ROW,
+                ownerId, last.createdAt(), last.createdAt(), last.id(), pageSize);
+        for (LinkRow link : page) {
+          writeEvents(writer, link, 0);
+          last = link;
+        }
+      } while (page.size() == pageSize);
+    });
+  }
+
+  private List<LinkRow> findLink(UUID ownerId, String code) {
+    return cursor.query(LINK_SQL, LINK_ROW, ownerId, code);
+  }
+
+  private void writeEvents(ExportWriter writer, LinkRow link, long afterId) {
+    cursor.stream(EVENTS_SQL, writer, (rs, rowWriter) ->
+        rowWriter.writeRow(rs.getLong(1), link.code(), rs.getTimestamp(2).toInstant(),
+            rs.getString(3)), link.id(), afterId);
+  }
+
+  /**
+   * Position of one link in the owner's links.
+   *
+   * @param id the link id
+   * @param code the short code
+   * @param createdAt the creation time
+   */
+  private record LinkRow(UUID id, String code, Timestamp createdAt) {
+  }
+}
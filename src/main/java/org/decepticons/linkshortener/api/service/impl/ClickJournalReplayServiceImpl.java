@@ -0,0 +1,191 @@
+package org.decepticons.linkshortener.api.service.impl;
+
+import java.io.IOException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import org.decepticons.linkshortener.api.journal.ClickJournal;
+import org.decepticons.linkshortener.api.journal.ClickJournalBatch;
+import org.decepticons.linkshortener.api.journal.ClickRecord;
+import org.decepticons.linkshortener.api.model.ClickJournalCheckpoint;
+import org.decepticons.linkshortener.api.repository.ClickJournalCheckpointRepository;
+import org.decepticons.linkshortener.api.service.ClickJournalReplayService;
+import org.decepticons.linkshortener.api.service.ListingVersionService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Service implementation that replays the local {@link ClickJournal} into the
+ * {@code links}, {@code user_link_stats} and {@code click_events} tables. Each
+ * batch updates the click counters, appends the click history and moves the
+ * journal checkpoint in one transaction, and the owners of the clicked links get
+ * their listing versions bumped once it commits; while the database is unreachable the
+ * batch simply stays in the journal until the next run.
+ */
+@Service
+public class ClickJournalReplayServiceImpl implements ClickJournalReplayService {
+
+  private static final Logger LOG = LoggerFactory.getLogger(ClickJournalReplayServiceImpl.class);
+
+  private static final String ADD_CLICKS_SQL = """
+      UPDATE links
+      SET clicks = clicks + ?,
+          last_accessed_at = CASE
+              WHEN last_accessed_at IS NULL OR last_accessed_at < ? THEN ?
+              ELSE last_accessed_at
+          END
+      WHERE code = ?
+      """;
+
+  private static final String ADD_OWNER_CLICKS_SQL = """
+      UPDATE user_link_stats
+      SET total_clicks = total_clicks + ?
+      WHERE owner_id = (SELECT owner_id FROM links WHERE code = ?)
+      """;
+
+  private static final String INSERT_EVENT_SQL = """
+      INSERT INTO click_events (link_id, clicked_at, country)
+      SELECT id, ?, ? FROM links WHERE code = ?
+      """;
+
+  private static final String OWNERS_SQL = """
+      SELECT DISTINCT owner_id FROM links WHERE code IN (:codes)
+      """;
+
+  /**
+   * Largest number of codes bound to one owner lookup.
+   */
+  private static final int OWNER_LOOKUP_CHUNK = 1000;
+
+  private final ClickJournal clickJournal;
+  private final ClickJournalCheckpointRepository checkpointRepository;
+  private final JdbcTemplate jdbcTemplate;
+  private final NamedParameterJdbcTemplate namedJdbcTemplate;
+  private final ListingVersionService listingVersionService;
+  private final TransactionTemplate transactionTemplate;
+  private final int batchSize;
+
+  /**
+   * Constructs a new ClickJournalReplayServiceImpl.
+   *
+   * @param clickJournal the local journal to replay
+   * @param checkpointRepository repository holding the replay checkpoints
+   * @param jdbcTemplate template used for the batched counter updates
+   * @param listingVersionService versions behind the listing entity tags
+   * @param transactionManager transaction manager shared with JPA
+   * @param batchSize maximum number of journal records applied per transaction
+   */
+  public ClickJournalReplayServiceImpl(
+      ClickJournal clickJournal,
+      ClickJournalCheckpointRepository checkpointRepository,
+      JdbcTemplate jdbcTemplate,
+      ListingVersionService listingVersionService,
+      PlatformTransactionManager transactionManager,
+      @Value("${link.click-journal.replay-batch-size:5000}") int batchSize
+  ) {
+    this.clickJournal = clickJournal;
+    this.checkpointRepository = checkpointRepository;
+    this.jdbcTemplate = jdbcTemplate;
+    this.namedJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+    this.listingVersionService = listingVersionService;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    this.batchSize = batchSize;
+  }
+
+  /**
+   * Replays pending clicks. Runs every second by default; a failing database
+   * only postpones the replay, the journal keeps the clicks meanwhile.
+   */
+  @Override
+  @Scheduled(fixedDelayString = "${link.click-journal.replay-interval-ms:1000}")
+  public void replayPendingClicks() {
+    if (!clickJournal.isOpen()) {
+      return;
+    }
+    String journalId = clickJournal.getJournalId();
+
+    try {
+      long checkpoint = checkpointRepository.findById(journalId)
+          .map(ClickJournalCheckpoint::getLastSequence)
+          .orElse(0L);
+
+      ClickJournalBatch batch = clickJournal.readAfter(checkpoint, batchSize);
+      while (batch.lastSequence() > checkpoint) {
+        ClickJournalBatch toApply = batch;
+        transactionTemplate.executeWithoutResult(status -> applyBatch(journalId, toApply));
+        checkpoint = batch.lastSequence();
+        batch = clickJournal.readAfter(checkpoint, batchSize);
+      }
+
+      clickJournal.deleteSegmentsThrough(checkpoint);
+    } catch (IOException | DataAccessException | TransactionException e) {
+      LOG.warn("Click journal replay postponed: {}", e.getMessage());
+    }
+  }
+
+  private void applyBatch(String journalId, ClickJournalBatch batch) {
+    Map<String, ClickTotals> totalsByCode = new LinkedHashMap<>();
+    List<Object[]> events = new ArrayList<>(batch.records().size());
+    for (ClickRecord record : batch.records()) {
+      totalsByCode.computeIfAbsent(record.code(), code -> new ClickTotals())
+          .add(record.clickedAt());
+      events.add(new Object[] {
+          Timestamp.from(record.clickedAt()), record.country(), record.code()
+      });
+    }
+
+    List<Object[]> updates = new ArrayList<>(totalsByCode.size());
+    List<Object[]> ownerUpdates = new ArrayList<>(totalsByCode.size());
+    totalsByCode.forEach((code, totals) -> {
+      Timestamp lastClick = Timestamp.from(totals.lastClickedAt);
+      updates.add(new Object[] {totals.count, lastClick, lastClick, code});
+      ownerUpdates.add(new Object[] {totals.count, code});
+    });
+    if (!updates.isEmpty()) {
+      jdbcTemplate.batchUpdate(ADD_CLICKS_SQL, updates);
+      jdbcTemplate.batchUpdate(ADD_OWNER_CLICKS_SQL, ownerUpdates);
+      jdbcTemplate.batchUpdate(INSERT_EVENT_SQL, events);
+      markOwnersChanged(new ArrayList<>(totalsByCode.keySet()));
+    }
+
+    checkpointRepository.save(
+        new ClickJournalCheckpoint(journalId, batch.lastSequence(), Instant.now()));
+  }
+
+  private void markOwnersChanged(List<String> codes) {
+    for (int from = 0; from < codes.size(); from += OWNER_LOOKUP_CHUNK) {
+      List<String> chunk = codes.subList(from, Math.min(codes.size(), from + OWNER_LOOKUP_CHUNK));
+      listingVersionService.ownersChanged(namedJdbcTemplate.queryForList(OWNERS_SQL,
+          new MapSqlParameterSource("codes", chunk), UUID.class));
+    }
+  }
+
+  /**
+   * Click count and latest click time of one code within a batch.
+   */
+  private static final class ClickTotals {
+    private long count;
+    private Instant lastClickedAt = Instant.EPOCH;
+
+    private void add(Instant clickedAt) {
+      count++;
+      if (clickedAt.isAfter(lastClickedAt)) {
+        lastClickedAt = clickedAt;
+      }
+    }
+  }
+}
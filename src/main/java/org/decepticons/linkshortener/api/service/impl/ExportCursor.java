@@ -0,0 +1,137 @@
+package org.decepticons.linkshortener.api.service.impl;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+import javax.sql.DataSource;
+import org.decepticons.linkshortener.api.dto.ExportFormat;
+import org.decepticons.linkshortener.api.util.ExportWriter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Forward-only JDBC cursor shared by the streaming exports. An export runs in
+ * one read-only transaction with a bounded fetch size, which makes PostgreSQL
+ * use a server-side cursor instead of materializing the result, and rows are
+ * handed to an {@link ExportWriter} as they arrive.
+ */
+final class ExportCursor {
+
+  private final JdbcTemplate jdbcTemplate;
+  private final TransactionTemplate readOnlyTransaction;
+  private final int fetchSize;
+
+  /**
+   * Constructs a new ExportCursor.
+   *
+   * @param dataSource the application data source
+   * @param transactionManager transaction manager shared with JPA
+   * @param fetchSize number of rows fetched from the cursor per round trip
+   */
+  ExportCursor(DataSource dataSource, PlatformTransactionManager transactionManager,
+               int fetchSize) {
+    this.jdbcTemplate = new JdbcTemplate(dataSource);
+    this.jdbcTemplate.setFetchSize(fetchSize);
+    this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+    this.readOnlyTransaction.setReadOnly(true);
+    this.fetchSize = fetchSize;
+  }
+
+  /**
+   * Returns the number of rows fetched per round trip.
+   *
+   * @return the fetch size
+   */
+  int fetchSize() {
+    return fetchSize;
+  }
+
+  /**
+   * Opens a writer on the target stream and runs the export in a read-only
+   * transaction. A failure of the target stream inside a row callback is
+   * rethrown as the original {@link IOException}.
+   *
+   * @param format the output format
+   * @param out the target stream; it is closed when the export finishes
+   * @param columns the column names
+   * @param export the queries writing the rows
+   * @throws IOException if the target stream fails
+   */
+  void export(ExportFormat format, OutputStream out, List<String> columns, Export export)
+      throws IOException {
+    try (ExportWriter writer = ExportWriter.open(format, out, columns)) {
+      readOnlyTransaction.executeWithoutResult(status -> export.run(writer));
+    } catch (UncheckedIOException e) {
+      throw e.getCause();
+    }
+  }
+
+  /**
+   * Reads a small result, such as a page of keys, into a list.
+   *
+   * @param sql the query
+   * @param rowMapper the mapper of each row
+   * @param args the query arguments
+   * @param <T> the row type
+   * @return the mapped rows
+   */
+  <T> List<T> query(String sql, RowMapper<T> rowMapper, Object... args) {
+    return jdbcTemplate.query(sql, rowMapper, args);
+  }
+
+  /**
+   * Streams the rows of a query into the writer, one row at a time.
+   *
+   * @param sql the query
+   * @param writer the export writer
+   * @param rowWriter writes the current row of the result set
+   * @param args the query arguments
+   */
+  void stream(String sql, ExportWriter writer, RowWriter rowWriter, Object... args) {
+    RowCallbackHandler writeRow = rs -> {
+      try {
+        rowWriter.write(rs, writer);
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+    };
+    jdbcTemplate.query(sql, writeRow, args);
+  }
+
+  /**
+   * Queries of one export, run inside its transaction.
+   */
+  @FunctionalInterface
+  interface Export {
+
+    /**
+     * Runs the queries.
+     *
+     * @param writer the writer of the export
+     */
+    void run(ExportWriter writer);
+  }
+
+  /**
+   * Writes the current row of a result set.
+   */
+  @FunctionalInterface
+  interface RowWriter {
+
+    /**
+     * Writes the current row.
+     *
+     * @param rs the result set, positioned on the row
+     * @param writer the writer of the export
+     * @throws SQLException if a column cannot be read
+     * @throws IOException if the target stream fails
+     */
+    void write(ResultSet rs, ExportWriter writer) throws SQLException, IOException;
+  }
+}
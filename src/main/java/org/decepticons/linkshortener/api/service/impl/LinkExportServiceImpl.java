@@ -0,0 +1,64 @@
+package org.decepticons.linkshortener.api.service.impl;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.UUID;
+import javax.sql.DataSource;
+import org.decepticons.linkshortener.api.dto.ExportFormat;
+import org.decepticons.linkshortener.api.service.LinkExportService;
+import org.decepticons.linkshortener.api.util.ExportWriter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+
+/**
+ * Service implementation that streams a user's links from a forward-only JDBC
+ * cursor into an {@link ExportWriter}. Rows are read as plain columns rather
+ * than entities, so nothing accumulates in a persistence context, and the
+ * order follows {@code idx_links_owner_created}, so neither a sort nor a
+ * count runs before the first row is sent.
+ */
+@Service
+public class LinkExportServiceImpl implements LinkExportService {
+
+  private static final List<String> COLUMNS = List.of(
+      "id", "code", "originalUrl", "createdAt", "expiresAt", "clicks", "status");
+
+  private static final String EXPORT_SQL = """
+      SELECT id, code, original_url, created_at, expires_at, clicks, status
+      FROM links
+      WHERE owner_id = ?
+      ORDER BY created_at, id
+      """;
+
+  private final ExportCursor cursor;
+
+  /**
+   * Constructs a new LinkExportServiceImpl.
+   *
+   * @param dataSource the application data source
+   * @param transactionManager transaction manager shared with JPA
+   * @param fetchSize number of rows fetched from the cursor per round trip
+   */
+  public LinkExportServiceImpl(
+      DataSource dataSource,
+      PlatformTransactionManager transactionManager,
+      @Value("${link.export.fetch-size:1000}") int fetchSize
+  ) {
+    this.cursor = new ExportCursor(dataSource, transactionManager, fetchSize);
+  }
+
+  @Override
+  public void exportLinks(UUID ownerId, ExportFormat format, OutputStream out)
+      throws IOException {
+    cursor.export(format, out, COLUMNS, writer ->
+        cursor.stream(EXPORT_SQL, writer, (rs, rowWriter) -> {
+          Timestamp expiresAt = rs.getTimestamp(5);
+          rowWriter.writeRow(rs.getObject(1), rs.getString(2), rs.getString(3),
+              rs.getTimestamp(4).toInstant(), expiresAt == null ? null : expiresAt.toInstant(),
+              rs.getLong(6), rs.getString(7));
+        }, ownerId));
+  }
+}
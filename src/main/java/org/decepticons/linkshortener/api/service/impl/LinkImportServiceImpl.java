@@ -0,0 +1,530 @@
+package org.decepticons.linkshortener.api.service.impl;
+
+import jakarta.annotation.PreDestroy;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import org.decepticons.linkshortener.api.code.CodeAvailabilityIndex;
+import org.decepticons.linkshortener.api.code.CodeGenerator;
+import org.decepticons.linkshortener.api.code.KeyspaceMonitor;
+import org.decepticons.linkshortener.api.dto.ImportJobDto;
+import org.decepticons.linkshortener.api.dto.UrlRequestDto;
+import org.decepticons.linkshortener.api.exception.ImportJobNotFoundException;
+import org.decepticons.linkshortener.api.model.ImportJob;
+import org.decepticons.linkshortener.api.model.ImportJobStatus;
+import org.decepticons.linkshortener.api.model.User;
+import org.decepticons.linkshortener.api.repository.ImportJobRepository;
+import org.decepticons.linkshortener.api.service.LinkImportService;
+import org.decepticons.linkshortener.api.service.ListingVersionService;
+import org.decepticons.linkshortener.api.util.UrlNormalizer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.dao.RecoverableDataAccessException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Service implementation running CSV link imports in the background.
+ * An upload is first copied to {@code link.import.directory}, so the request
+ * returns as soon as the body is stored. A single runner thread then streams
+ * the file, cuts it into chunks of {@code link.import.chunk-size} rows and
+ * hands them to a fixed pool of {@code link.import.workers} threads; at most
+ * twice as many chunks as workers are held in memory.
+ *
+ * <p>Each chunk is inserted with JDBC batches in one transaction that also
+ * records the chunk in {@code import_job_chunks} and advances the job
+ * counters. Chunk numbers follow from the row position, so a job interrupted
+ * by a restart or a database outage is picked up again by
+ * {@link #resumeJobs()} and skips exactly the chunks already committed.
+ * Only transient failures, such as a lost connection or a lock timeout,
+ * pause a job, and at most {@code link.import.max-resumes} times in a row;
+ * any other failure, for instance a row the database rejects, fails the job
+ * with the error, since retrying the chunk would hit it again.
+ */
+@Service
+public class LinkImportServiceImpl implements LinkImportService {
+
+  private static final Logger LOG = LoggerFactory.getLogger(LinkImportServiceImpl.class);
+
+  private static final int MAX_URL_LENGTH = 8192;
+
+  private static final String HEADER = "url";
+
+  /**
+   * Attempts at a chunk whose generated codes collide with links created elsewhere.
+   */
+  private static final int CODE_ATTEMPTS = 3;
+
+  private static final String CLAIM_CHUNK_SQL = """
+      INSERT INTO import_job_chunks (job_id, chunk_no, committed_at)
+      SELECT ?, ?, ?
+      WHERE NOT EXISTS (
+          SELECT 1 FROM import_job_chunks WHERE job_id = ? AND chunk_no = ?
+      )
+      """;
+
+  private static final String INSERT_LINK_SQL = """
+      INSERT INTO links (id, code, original_url, url_hash, owner_id, created_at, expires_at,
+                         clicks, status)
+      VALUES (?, ?, ?, ?, ?, ?, ?, 0, 'ACTIVE')
+      """;
+
+  private static final String ADD_ROWS_SQL = """
+      UPDATE import_jobs
+      SET processed_rows = processed_rows + ?,
+          created_rows = created_rows + ?,
+          failed_rows = failed_rows + ?
+      WHERE id = ?
+      """;
+
+  private static final String ADD_OWNER_LINKS_SQL = """
+      UPDATE user_link_stats
+      SET total_links = total_links + ?,
+          active_links = active_links + ?,
+          updated_at = ?
+      WHERE owner_id = ?
+      """;
+
+  private static final String START_SQL = """
+      UPDATE import_jobs
+      SET status = 'RUNNING', started_at = ?, rows_at_start = processed_rows
+      WHERE id = ?
+      """;
+
+  private static final String FINISH_SQL = """
+      UPDATE import_jobs SET status = ?, finished_at = ?, error = ? WHERE id = ?
+      """;
+
+  private static final String COMMITTED_CHUNKS_SQL = """
+      SELECT chunk_no FROM import_job_chunks WHERE job_id = ?
+      """;
+
+  private final ImportJobRepository importJobRepository;
+  private final JdbcTemplate jdbcTemplate;
+  private final TransactionTemplate transactionTemplate;
+  private final CodeGenerator codeGenerator;
+  private final KeyspaceMonitor keyspaceMonitor;
+  private final CodeAvailabilityIndex codeAvailabilityIndex;
+  private final ListingVersionService listingVersionService;
+  private final Path directory;
+  private final int chunkSize;
+  private final int maxChunksInFlight;
+  private final long linkExpirationDays;
+  private final int maxResumes;
+  private final Map<UUID, Integer> pauses = new ConcurrentHashMap<>();
+  private final ExecutorService runner;
+  private final ExecutorService workers;
+  private final Set<UUID> activeJobs = ConcurrentHashMap.newKeySet();
+
+  /**
+   * Constructs a new LinkImportServiceImpl.
+   *
+   * @param importJobRepository repository of the import jobs
+   * @param jdbcTemplate template used for the batched inserts
+   * @param transactionManager transaction manager shared with JPA
+   * @param codeGenerator source of unique short codes for new links
+   * @param keyspaceMonitor per-length count of issued codes
+   * @param codeAvailabilityIndex in-memory index of the codes in use
+   * @param listingVersionService versions behind the listing entity tags
+   * @param directory local directory holding the uploads of running jobs
+   * @param chunkSize number of rows inserted per transaction
+   * @param workerCount number of chunks inserted in parallel
+   * @param linkExpirationDays lifetime of new links
+   * @param maxResumes number of times in a row a paused job is resumed before it fails
+   */
+  public LinkImportServiceImpl(
+      ImportJobRepository importJobRepository,
+      JdbcTemplate jdbcTemplate,
+      PlatformTransactionManager transactionManager,
+      CodeGenerator codeGenerator,
+      KeyspaceMonitor keyspaceMonitor,
+      CodeAvailabilityIndex codeAvailabilityIndex,
+      ListingVersionService listingVersionService,
+      @Value("${link.import.directory:data/imports}") String directory,
+      @Value("${link.import.chunk-size:5000}") int chunkSize,
+      @Value("${link.import.workers:4}") int workerCount,
+      @Value("${link.expiration-days}") long linkExpirationDays,
+      @Value("${link.import.max-resumes:30}") int maxResumes
+  ) {
+    this.importJobRepository = importJobRepository;
+    this.jdbcTemplate = jdbcTemplate;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    this.codeGenerator = codeGenerator;
+    this.keyspaceMonitor = keyspaceMonitor;
+    this.codeAvailabilityIndex = codeAvailabilityIndex;
+    this.listingVersionService = listingVersionService;
+    this.directory = Path.of(directory);
+    this.chunkSize = chunkSize;
+    this.maxChunksInFlight = workerCount * 2;
+    this.linkExpirationDays = linkExpirationDays;
+    this.maxResumes = maxResumes;
+    this.runner = Executors.newSingleThreadExecutor(runnable -> {
+      Thread thread = new Thread(runnable, "link-import-runner");
+      thread.setDaemon(true);
+      return thread;
+    });
+    AtomicInteger workerNumber = new AtomicInteger();
+    this.workers = Executors.newFixedThreadPool(workerCount, runnable -> {
+      Thread thread = new Thread(runnable, "link-import-" + workerNumber.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    });
+  }
+
+  /**
+   * Stops the import threads. Running jobs keep their committed chunks and
+   * are resumed by the next start.
+   */
+  @PreDestroy
+  public void stop() {
+    runner.shutdownNow();
+    workers.shutdownNow();
+  }
+
+  @Override
+  public ImportJobDto submit(User owner, InputStream in) throws IOException {
+    UUID jobId = UUID.randomUUID();
+    Files.createDirectories(directory);
+    Path file = directory.resolve(jobId + ".csv");
+
+    long rows = 0;
+    try (BufferedReader reader =
+             new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+         BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+      String line;
+      while ((line = reader.readLine()) != null) {
+        String url = firstField(line);
+        if (url.isEmpty() || (rows == 0 && url.equalsIgnoreCase(HEADER))) {
+          continue;
+        }
+        writer.write(url);
+        writer.newLine();
+        rows++;
+      }
+    } catch (IOException e) {
+      Files.deleteIfExists(file);
+      throw e;
+    }
+
+    ImportJob job = new ImportJob();
+    job.setId(jobId);
+    job.setOwnerId(owner.getId());
+    job.setFilePath(file.toString());
+    job.setStatus(ImportJobStatus.QUEUED);
+    job.setChunkSize(chunkSize);
+    job.setTotalRows(rows);
+    job.setCreatedAt(Instant.now());
+    try {
+      importJobRepository.save(job);
+    } catch (DataAccessException e) {
+      Files.deleteIfExists(file);
+      throw e;
+    }
+
+    dispatch(jobId);
+    return ImportJobDto.of(job, job.getCreatedAt());
+  }
+
+  @Override
+  public ImportJobDto getJob(User owner, UUID jobId) {
+    ImportJob job = importJobRepository.findById(jobId)
+        .filter(found -> found.getOwnerId().equals(owner.getId()))
+        .orElseThrow(() -> new ImportJobNotFoundException(jobId));
+    return ImportJobDto.of(job, Instant.now());
+  }
+
+  /**
+   * Looks for jobs to resume every ten seconds by default; while the database
+   * is unreachable the jobs simply wait for the next poll.
+   */
+  @Override
+  @Scheduled(fixedDelayString = "${link.import.poll-interval-ms:10000}")
+  public void resumeJobs() {
+    try {
+      List<ImportJob> jobs = importJobRepository.findByStatusIn(
+          List.of(ImportJobStatus.QUEUED, ImportJobStatus.RUNNING));
+      for (ImportJob job : jobs) {
+        if (Files.exists(Path.of(job.getFilePath()))) {
+          dispatch(job.getId());
+        }
+      }
+    } catch (DataAccessException e) {
+      LOG.warn("Link import resume postponed: {}", e.getMessage());
+    }
+  }
+
+  private void dispatch(UUID jobId) {
+    if (!activeJobs.add(jobId)) {
+      return;
+    }
+    runner.execute(() -> {
+      try {
+        runJob(jobId);
+      } finally {
+        activeJobs.remove(jobId);
+      }
+    });
+  }
+
+  private void runJob(UUID jobId) {
+    try {
+      ImportJob job = importJobRepository.findById(jobId).orElse(null);
+      if (job == null || job.getStatus() == ImportJobStatus.COMPLETED
+          || job.getStatus() == ImportJobStatus.FAILED) {
+        return;
+      }
+      Path file = Path.of(job.getFilePath());
+      Set<Integer> committed = new HashSet<>(
+          jdbcTemplate.queryForList(COMMITTED_CHUNKS_SQL, Integer.class, jobId));
+      jdbcTemplate.update(START_SQL, Timestamp.from(Instant.now()), jobId);
+
+      RuntimeException failure = importChunks(job, file, committed);
+      if (failure != null) {
+        chunkFailed(jobId, failure);
+        return;
+      }
+      finish(jobId, ImportJobStatus.COMPLETED, null);
+      pauses.remove(jobId);
+      Files.deleteIfExists(file);
+    } catch (IOException e) {
+      LOG.warn("Link import {} failed: {}", jobId, e.getMessage());
+      finishQuietly(jobId, "Upload could not be read: " + e.getMessage());
+    } catch (RuntimeException e) {
+      chunkFailed(jobId, e);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  /**
+   * Pauses the job on a transient failure, unless it was paused too often in
+   * a row already, and fails it on any other.
+   */
+  private void chunkFailed(UUID jobId, RuntimeException failure) {
+    if (!isTransient(failure)) {
+      LOG.warn("Link import {} failed: {}", jobId, failure.getMessage());
+      finishQuietly(jobId, String.valueOf(failure.getMessage()));
+      return;
+    }
+    int paused = pauses.merge(jobId, 1, Integer::sum);
+    if (paused > maxResumes) {
+      LOG.warn("Link import {} failed after {} pauses: {}", jobId, maxResumes,
+          failure.getMessage());
+      finishQuietly(jobId, "Paused too often, last error: " + failure.getMessage());
+      return;
+    }
+    LOG.warn("Link import {} paused, resuming later: {}", jobId, failure.getMessage());
+  }
+
+  /**
+   * Tells whether a failure may go away on its own, so that the same chunk
+   * can succeed when the job is resumed.
+   */
+  private static boolean isTransient(RuntimeException failure) {
+    return failure instanceof TransientDataAccessException
+        || failure instanceof RecoverableDataAccessException
+        || failure instanceof DataAccessResourceFailureException
+        || failure instanceof TransactionException;
+  }
+
+  private RuntimeException importChunks(ImportJob job, Path file, Set<Integer> committed)
+      throws IOException, InterruptedException {
+    Semaphore inFlight = new Semaphore(maxChunksInFlight);
+    AtomicReference<RuntimeException> failure = new AtomicReference<>();
+    boolean interrupted = false;
+    try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+      int chunkNo = 0;
+      List<String> rows = new ArrayList<>(job.getChunkSize());
+      String line = reader.readLine();
+      while (line != null && failure.get() == null) {
+        rows.add(line);
+        line = reader.readLine();
+        if (rows.size() == job.getChunkSize() || line == null) {
+          if (!committed.contains(chunkNo)) {
+            inFlight.acquire();
+            submitChunk(job, chunkNo, rows, inFlight, failure);
+          }
+          chunkNo++;
+          rows = new ArrayList<>(job.getChunkSize());
+        }
+      }
+    } catch (InterruptedException e) {
+      interrupted = true;
+      throw e;
+    } finally {
+      if (!interrupted) {
+        inFlight.acquireUninterruptibly(maxChunksInFlight);
+      }
+    }
+    return failure.get();
+  }
+
+  private void submitChunk(ImportJob job, int chunkNo, List<String> rows, Semaphore inFlight,
+                           AtomicReference<RuntimeException> failure) {
+    workers.execute(() -> {
+      try {
+        if (failure.get() == null) {
+          importChunk(job, chunkNo, rows);
+        }
+      } catch (RuntimeException e) {
+        failure.compareAndSet(null, e);
+      } finally {
+        inFlight.release();
+      }
+    });
+  }
+
+  /**
+   * Imports one chunk. A generated code can still be taken by an alias created
+   * on another node since the last index rebuild; the chunk is then rolled
+   * back and retried with fresh codes, and fails the job if that keeps
+   * happening, so no rows are dropped silently.
+   *
+   * @throws IllegalStateException if every attempt hit a taken code
+   */
+  private void importChunk(ImportJob job, int chunkNo, List<String> rows) {
+    for (int attempt = 1; ; attempt++) {
+      try {
+        importChunkOnce(job, chunkNo, rows);
+        return;
+      } catch (DuplicateKeyException e) {
+        if (attempt == CODE_ATTEMPTS) {
+          throw new IllegalStateException("Chunk " + chunkNo + " hit taken codes in "
+              + CODE_ATTEMPTS + " attempts", e);
+        }
+        LOG.info("Link import {} chunk {} hit a taken code, retrying with new codes",
+            job.getId(), chunkNo);
+      }
+    }
+  }
+
+  private void importChunkOnce(ImportJob job, int chunkNo, List<String> rows) {
+    Timestamp now = Timestamp.from(Instant.now());
+    Timestamp expiresAt =
+        Timestamp.from(now.toInstant().plus(linkExpirationDays, ChronoUnit.DAYS));
+    List<Object[]> links = new ArrayList<>(rows.size());
+    List<String> codes = new ArrayList<>(rows.size());
+    for (String url : rows) {
+      String code = isValid(url) ? nextFreeCode() : null;
+      if (code != null) {
+        codes.add(code);
+        links.add(new Object[] {
+            UUID.randomUUID(), code, url, UrlNormalizer.hash(UrlNormalizer.normalize(url)),
+            job.getOwnerId(), now, expiresAt
+        });
+      }
+    }
+
+    Boolean imported = transactionTemplate.execute(status -> {
+      if (!claimChunk(job.getId(), chunkNo, now)) {
+        // The chunk was committed by an earlier run that overlapped this one
+        status.setRollbackOnly();
+        return false;
+      }
+      if (!links.isEmpty()) {
+        jdbcTemplate.batchUpdate(INSERT_LINK_SQL, links);
+        jdbcTemplate.update(ADD_OWNER_LINKS_SQL, links.size(), links.size(), now,
+            job.getOwnerId());
+      }
+      jdbcTemplate.update(ADD_ROWS_SQL, rows.size(), links.size(),
+          rows.size() - links.size(), job.getId());
+      return true;
+    });
+    if (!Boolean.TRUE.equals(imported)) {
+      return;
+    }
+
+    pauses.remove(job.getId());
+    for (String code : codes) {
+      keyspaceMonitor.linkCreated(code);
+      codeAvailabilityIndex.codeTaken(code);
+    }
+    if (!codes.isEmpty()) {
+      listingVersionService.ownerChanged(job.getOwnerId());
+    }
+  }
+
+  /**
+   * Records the chunk as committed, unless another run already did.
+   */
+  private boolean claimChunk(UUID jobId, int chunkNo, Timestamp now) {
+    try {
+      return jdbcTemplate.update(CLAIM_CHUNK_SQL, jobId, chunkNo, now, jobId, chunkNo) == 1;
+    } catch (DuplicateKeyException e) {
+      return false;
+    }
+  }
+
+  private String nextFreeCode() {
+    try {
+      String code = codeGenerator.nextCode();
+      while (codeAvailabilityIndex.isTaken(code)) {
+        code = codeGenerator.nextCode();
+      }
+      return code;
+    } catch (IllegalStateException e) {
+      return null;
+    }
+  }
+
+  private void finish(UUID jobId, ImportJobStatus status, String error) {
+    jdbcTemplate.update(FINISH_SQL, status.name(), Timestamp.from(Instant.now()), error, jobId);
+  }
+
+  private void finishQuietly(UUID jobId, String error) {
+    pauses.remove(jobId);
+    try {
+      finish(jobId, ImportJobStatus.FAILED,
+          error.substring(0, Math.min(error.length(), ImportJob.MAX_ERROR_LENGTH)));
+    } catch (DataAccessException e) {
+      LOG.warn("Link import {} not marked as failed: {}", jobId, e.getMessage());
+    }
+  }
+
+  private static boolean isValid(String url) {
+    return url.length() <= MAX_URL_LENGTH && url.matches(UrlRequestDto.URL_PATTERN);
+  }
+
+  private static String firstField(String line) {
+    String field = line;
+    if (field.startsWith("\"")) {
+      int end = field.indexOf('"', 1);
+      field = end > 0 ? field.substring(1, end) : field.substring(1);
+    } else {
+      int comma = field.indexOf(',');
+      if (comma >= 0) {
+        field = field.substring(0, comma);
+      }
+    }
+    return field.trim();
+  }
+}
@@ -2,27 +2,66 @@ package org.decepticons.linkshortener.api.service.impl;
 
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
-import java.util.Random;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.IntFunction;
+import org.decepticons.linkshortener.api.click.ClickBroadcaster;
+import org.decepticons.linkshortener.api.click.ClickContext;
+import org.decepticons.linkshortener.api.code.CodeAvailabilityIndex;
+import org.decepticons.linkshortener.api.code.CodeGenerator;
+import org.decepticons.linkshortener.api.code.KeyspaceMonitor;
+import org.decepticons.linkshortener.api.dto.AliasAvailabilityDto;
+import org.decepticons.linkshortener.api.dto.BulkOperationResultDto;
+import org.decepticons.linkshortener.api.dto.LinkFilterDto;
+import org.decepticons.linkshortener.api.dto.LiveClickDto;
 import org.decepticons.linkshortener.api.dto.LinkResponseDto;
+import org.decepticons.linkshortener.api.dto.LinkSearchDto;
+import org.decepticons.linkshortener.api.dto.LinkSliceDto;
+import org.decepticons.linkshortener.api.dto.ResolvedLinkDto;
 import org.decepticons.linkshortener.api.dto.UrlRequestDto;
+import org.decepticons.linkshortener.api.exception.AliasAlreadyTakenException;
 import org.decepticons.linkshortener.api.exception.InvalidExpirationDateException;
+import org.decepticons.linkshortener.api.exception.InvalidLinkFilterException;
 import org.decepticons.linkshortener.api.exception.NoSuchShortLinkFoundInTheSystemException;
+import org.decepticons.linkshortener.api.exception.TooManyCodesException;
+import org.decepticons.linkshortener.api.journal.ClickJournal;
 import org.decepticons.linkshortener.api.model.Link;
 import org.decepticons.linkshortener.api.model.LinkStatus;
+import org.decepticons.linkshortener.api.model.User;
+import org.decepticons.linkshortener.api.model.UserLinkStats;
+import org.decepticons.linkshortener.api.repository.ClickEventRepository;
+import org.decepticons.linkshortener.api.repository.LinkBulkRepository;
 import org.decepticons.linkshortener.api.repository.LinkRepository;
+import org.decepticons.linkshortener.api.repository.LinkSearchRepository;
+import org.decepticons.linkshortener.api.repository.UserLinkStatsRepository;
 import org.decepticons.linkshortener.api.service.LinkService;
+import org.decepticons.linkshortener.api.service.ListingVersionService;
+import org.decepticons.linkshortener.api.service.ReferrerStatsService;
+import org.decepticons.linkshortener.api.util.LinkCursor;
+import org.decepticons.linkshortener.api.util.UrlNormalizer;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.CachePut;
 import org.springframework.cache.annotation.Cacheable;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 /**
  * Application service responsible for creating and maintaining {@link Link} entities.
@@ -34,74 +73,289 @@ import org.springframework.transaction.annotation.Transactional;
 @Service
 public class LinkServiceImpl implements LinkService {
 
+  /**
+   * Number of free variants suggested for a taken alias.
+   */
+  private static final int ALIAS_SUGGESTIONS = 5;
+
+  /**
+   * Longest code the {@code links.code} column holds.
+   */
+  private static final int MAX_CODE_LENGTH = 12;
+
+  /**
+   * Name of the cache holding links by code.
+   */
+  private static final String LINK_CACHE = "shortLinksCache";
+
+  /**
+   * Largest number of identifiers accepted in a bulk operation filter.
+   */
+  private static final int MAX_FILTER_IDS = 10000;
+
+  /**
+   * Largest page size of the cursor-paginated listings.
+   */
+  private static final int MAX_SLICE_SIZE = 100;
+
   @Value("${link.expiration-days}")
   private long linkExpirationDays;
 
+  @Value("${link.url-dedup.enabled:false}")
+  private boolean urlDedupEnabled;
+
+  @Value("${link.bulk.operation-chunk-size:1000}")
+  private int bulkOperationChunkSize;
+
+  @Value("${link.resolve.max-codes:1000}")
+  private int maxResolveCodes;
+
   private final LinkRepository linkRepository;
   private final UserServiceImpl userServiceImpl;
-  private final Random random = new Random();
+  private final ClickJournal clickJournal;
+  private final ClickEventRepository clickEventRepository;
+  private final ReferrerStatsService referrerStatsService;
+  private final ClickBroadcaster clickBroadcaster;
+  private final CodeGenerator codeGenerator;
+  private final KeyspaceMonitor keyspaceMonitor;
+  private final CodeAvailabilityIndex codeAvailabilityIndex;
+  private final LinkBulkRepository linkBulkRepository;
+  private final LinkSearchRepository linkSearchRepository;
+  private final CacheManager cacheManager;
+  private final UserLinkStatsRepository userLinkStatsRepository;
+  private final ListingVersionService listingVersionService;
+  private final TransactionTemplate transactionTemplate;
 
   /**
    * Creates a new {@code LinkService}.
    *
    * @param linkRepository repository used to persist and load {@link Link} entities
+   * @param clickJournal local journal that buffers clicks on the redirect path
+   * @param clickEventRepository repository recording the click history
+   * @param referrerStatsService service aggregating clicks by referring domain
+   * @param clickBroadcaster fan-out of counted clicks to live dashboards
+   * @param codeGenerator source of unique short codes for new links
+   * @param keyspaceMonitor per-length count of issued codes
+   * @param codeAvailabilityIndex in-memory index of the codes in use
+   * @param linkBulkRepository set-based changes to a user's links
+   * @param linkSearchRepository search in a user's links
+   * @param cacheManager cache manager holding the links by code
+   * @param userLinkStatsRepository per-owner link and click totals
+   * @param listingVersionService versions behind the listing entity tags
+   * @param transactionManager transaction manager of the direct click writes
    */
 
   public LinkServiceImpl(LinkRepository linkRepository,
-                         UserServiceImpl userServiceImpl) {
+                         UserServiceImpl userServiceImpl,
+                         ClickJournal clickJournal,
+                         ClickEventRepository clickEventRepository,
+                         ReferrerStatsService referrerStatsService,
+                         ClickBroadcaster clickBroadcaster,
+                         CodeGenerator codeGenerator,
+                         KeyspaceMonitor keyspaceMonitor,
+                         CodeAvailabilityIndex codeAvailabilityIndex,
+                         LinkBulkRepository linkBulkRepository,
+                         LinkSearchRepository linkSearchRepository,
+                         CacheManager cacheManager,
+                         UserLinkStatsRepository userLinkStatsRepository,
+                         ListingVersionService listingVersionService,
+                         PlatformTransactionManager transactionManager) {
     this.linkRepository = linkRepository;
     this.userServiceImpl = userServiceImpl;
+    this.clickJournal = clickJournal;
+    this.clickEventRepository = clickEventRepository;
+    this.referrerStatsService = referrerStatsService;
+    this.clickBroadcaster = clickBroadcaster;
+    this.codeGenerator = codeGenerator;
+    this.keyspaceMonitor = keyspaceMonitor;
+    this.codeAvailabilityIndex = codeAvailabilityIndex;
+    this.linkBulkRepository = linkBulkRepository;
+    this.linkSearchRepository = linkSearchRepository;
+    this.cacheManager = cacheManager;
+    this.userLinkStatsRepository = userLinkStatsRepository;
+    this.listingVersionService = listingVersionService;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
   }
 
   /**
-   * Creates and persists a new {@link Link}.
+   * Creates and persists a new {@link Link}, under the requested alias if one
+   * is given and otherwise under a generated code. Generated codes that clash
+   * with an existing alias are skipped. With {@code link.url-dedup.enabled},
+   * a request without alias returns the owner's live link for the same
+   * normalized URL instead of creating another one.
    *
    * @param originalUrl the original long URL to be shortened
    * @return a {@link LinkResponseDto} representing the newly created link
+   * @throws AliasAlreadyTakenException if the requested alias is in use
    */
   @Override
   @Transactional
   public LinkResponseDto createLink(UrlRequestDto originalUrl) {
+    User owner = userServiceImpl.getCurrentUser();
+    String normalizedUrl = UrlNormalizer.normalize(originalUrl.getUrl());
+    long urlHash = UrlNormalizer.hash(normalizedUrl);
+    if (urlDedupEnabled && originalUrl.getAlias() == null) {
+      Link existing = findLiveLink(owner, normalizedUrl, urlHash);
+      if (existing != null) {
+        return mapToResponse(existing);
+      }
+    }
+
     Link link = new Link();
     link.setOriginalUrl(originalUrl.getUrl());
-    link.setOwner(userServiceImpl.getCurrentUser());
+    link.setUrlHash(urlHash);
+    link.setOwner(owner);
 
-    link.setCode(generateRandomCode());
     link.setExpiresAt(Instant.now().plus(linkExpirationDays, ChronoUnit.DAYS));
     link.setStatus(LinkStatus.ACTIVE);
 
-    Link saved = linkRepository.save(link);
+    String alias = originalUrl.getAlias();
+    Link saved;
+    if (alias == null) {
+      // Aliases are kept out of the generated keyspace, so the index check only
+      // skips codes taken by aliases created before that rule
+      String code = codeGenerator.nextCode();
+      while (codeAvailabilityIndex.isTaken(code)) {
+        code = codeGenerator.nextCode();
+      }
+      link.setCode(code);
+      saved = linkRepository.save(link);
+    } else {
+      if (codeAvailabilityIndex.isTaken(alias)) {
+        throw aliasTaken(alias);
+      }
+      link.setCode(alias);
+      try {
+        saved = linkRepository.saveAndFlush(link);
+      } catch (DataIntegrityViolationException e) {
+        codeAvailabilityIndex.codeTaken(alias);
+        throw aliasTaken(alias);
+      }
+    }
+    userLinkStatsRepository.addTotals(owner.getId(), 1, 1, 0, 0);
+    listingVersionService.ownerChanged(owner.getId());
+    keyspaceMonitor.linkCreated(link.getCode());
+    codeAvailabilityIndex.codeTaken(link.getCode());
 
     return mapToResponse(saved);
   }
 
+  /**
+   * Checks a custom alias against the in-memory code index.
+   *
+   * @param alias the wanted alias
+   * @return whether the alias is valid and free, with free variants if it is taken
+   */
+  @Override
+  public AliasAvailabilityDto checkAlias(String alias) {
+    if (!alias.matches(UrlRequestDto.ALIAS_PATTERN)) {
+      return new AliasAvailabilityDto(alias, false, List.of());
+    }
+    if (codeAvailabilityIndex.isTaken(alias)) {
+      return new AliasAvailabilityDto(alias, false, suggestAliases(alias));
+    }
+    return new AliasAvailabilityDto(alias, true, List.of());
+  }
+
+  private Link findLiveLink(User owner, String normalizedUrl, long urlHash) {
+    Instant now = Instant.now();
+    for (Link candidate : linkRepository.findByOwnerIdAndUrlHashAndStatus(
+        owner.getId(), urlHash, LinkStatus.ACTIVE)) {
+      if ((candidate.getExpiresAt() == null || candidate.getExpiresAt().isAfter(now))
+          && UrlNormalizer.normalize(candidate.getOriginalUrl()).equals(normalizedUrl)) {
+        return candidate;
+      }
+    }
+    return null;
+  }
+
+  private AliasAlreadyTakenException aliasTaken(String alias) {
+    return new AliasAlreadyTakenException(alias, suggestAliases(alias));
+  }
+
+  /**
+   * Suggests free variants of an alias that are valid aliases themselves.
+   * Twice as many candidates are asked for, as the variants without a dash
+   * may fall into the keyspace reserved for generated codes.
+   */
+  private List<String> suggestAliases(String alias) {
+    return codeAvailabilityIndex.suggest(alias, ALIAS_SUGGESTIONS * 2, MAX_CODE_LENGTH)
+        .stream()
+        .filter(candidate -> candidate.matches(UrlRequestDto.ALIAS_PATTERN))
+        .limit(ALIAS_SUGGESTIONS)
+        .toList();
+  }
+
   /**
    * Increments the click counter of the given link and persists the change.
    * This should be invoked whenever the shortened URL is accessed.
-   * Internally, the entity updates its {@code lastAccessedAt} timestamp.
+   * When the {@link ClickJournal} is open the click is only appended to it and
+   * reaches the database later through the journal replayer; otherwise the
+   * counter and {@code lastAccessedAt} are updated and a click event is recorded directly.
    * </p>
    *
    * @param link the link whose click counter should be incremented
    */
   @Override
-  @Transactional
   public LinkResponseDto incrementClicks(LinkResponseDto link) {
+    return incrementClicks(link, ClickContext.UNKNOWN);
+  }
 
-    int affectedRows = linkRepository.incrementClicksByCodeNative(link.code());
+  /**
+   * Increments the click counter of the given link and records the click
+   * with its country, either through the {@link ClickJournal} or directly.
+   * The direct writes to the counter, the click history and the owner totals
+   * commit together in one transaction.
+   * A known referrer is counted towards the link's top-referrer table, and the
+   * click is published to live subscribers of the link.
+   *
+   * @param link the link whose click counter should be incremented
+   * @param context details of the request that produced the click
+   */
+  @Override
+  public LinkResponseDto incrementClicks(LinkResponseDto link, ClickContext context) {
 
-    if (affectedRows == 0) {
-      throw new NoSuchShortLinkFoundInTheSystemException(
-          "No such short link found in the system: " + link.code(),
-          link.code()
+    Instant clickedAt = Instant.now();
+    if (context.referrer() != null) {
+      referrerStatsService.recordReferral(link.code(), context.referrer());
+    }
+    clickBroadcaster.publish(link.code(),
+        new LiveClickDto(clickedAt, context.country(), context.referrer()));
+
+    if (clickJournal.append(link.code(), clickedAt, context.country())) {
+      return new LinkResponseDto(
+          link.id(),
+          link.code(),
+          link.originalUrl(),
+          link.createdAt(),
+          link.expiresAt(),
+          link.clicks() + 1,
+          link.status(),
+          link.ownerId()
       );
     }
-    Link updatedLink = linkRepository.findByCode(link.code())
-        .orElseThrow(() -> new NoSuchShortLinkFoundInTheSystemException(
+
+    return transactionTemplate.execute(status -> {
+      int affectedRows = linkRepository.incrementClicksByCodeNative(link.code());
+
+      if (affectedRows == 0) {
+        throw new NoSuchShortLinkFoundInTheSystemException(
             "No such short link found in the system: " + link.code(),
             link.code()
-        ));
-
-    return mapToResponse(updatedLink);
+        );
+      }
+      clickEventRepository.insertByCodeNative(link.code(), context.country());
+      userLinkStatsRepository.addClicksByCode(link.code(), 1);
+      listingVersionService.linksClicked(link.ownerId());
+
+      Link updatedLink = linkRepository.findByCode(link.code())
+          .orElseThrow(() -> new NoSuchShortLinkFoundInTheSystemException(
+              "No such short link found in the system: " + link.code(),
+              link.code()
+          ));
+
+      return mapToResponse(updatedLink);
+    });
   }
 
   /**
@@ -125,56 +379,48 @@ public class LinkServiceImpl implements LinkService {
   }
 
   /**
-   * Generates a pseudo-random short code of fixed length .
-   *
-   * @return a new short code (e.g., {@code "aZ3fQ1"})
-   */
-  private String generateRandomCode() {
-    String chars = "abcdefghijklmnopqrstuvwxyzABCDEFGHIJKLMNOPQRSTUVWXYZ0123456789";
-    StringBuilder sb = new StringBuilder();
-    for (int i = 0; i < 6; i++) {
-      sb.append(chars.charAt(random.nextInt(chars.length())));
-    }
-    return sb.toString();
-  }
-
-  /**
-   * Retrieves a {@link Link} entity by its short code.
+   * Retrieves a link by its short code, read directly into the DTO in a
+   * read-only transaction.
    *
    * @param code short link code.
-   * @return Optional<Link>
+   * @return the link
    */
   @Override
+  @Transactional(readOnly = true)
   @Cacheable(value = "shortLinksCache", key = "#code")
   public LinkResponseDto getLinkByCode(String code) {
-    Link link = linkRepository.findByCode(code)
+    return linkRepository.findResponseByCode(code)
         .orElseThrow(() -> new NoSuchShortLinkFoundInTheSystemException(
             "No such short link found in the system: " + code,
             code
         ));
-
-    return mapToResponse(link);
-
   }
 
   /**
-   * Deactivates a link by setting its status to INACTIVE.
+   * Deactivates a link by setting its status to INACTIVE. This is also how an
+   * expired link leaves the active totals of its owner. The status changes
+   * through a conditional update, and only the request that changed it moves
+   * the link between the owner's totals, however many requests race.
    *
    * @param link the link to deactivate
    * @return the updated {@link LinkResponseDto} with status set to INACTIVE
    */
 
   @Override
+  @Transactional
   @CacheEvict(value = "shortLinksCache", key = "#result.code")
   public LinkResponseDto deactivateLink(LinkResponseDto link) {
-    Link linkByCode = linkRepository.findByCode(link.code())
+    int updated = linkRepository.deactivateByCode(link.code());
+    LinkResponseDto deactivated = linkRepository.findResponseByCode(link.code())
         .orElseThrow(() -> new NoSuchShortLinkFoundInTheSystemException(
             "No such short link found in the system: " + link.code(),
             link.code()
         ));
-    linkByCode.setStatus(LinkStatus.INACTIVE);
-    Link saved = linkRepository.save(linkByCode);
-    return mapToResponse(saved);
+    if (updated == 1) {
+      userLinkStatsRepository.addTotals(deactivated.ownerId(), 0, -1, 1, 0);
+      listingVersionService.ownerChanged(deactivated.ownerId());
+    }
+    return deactivated;
   }
 
   /**
@@ -191,32 +437,141 @@ public class LinkServiceImpl implements LinkService {
 
   /**
    * Retrieves all links of the currently authenticated user with pagination.
+   * The total comes from the user's {@link UserLinkStats} row; only users
+   * without one fall back to a count query. Links are read directly into DTOs
+   * in a read-only transaction, so no entity is loaded or dirty-checked.
    *
    * @param page the page number to retrieve (0-based)
    * @param size the number of records per page
    * @return a {@link Page} of {@link LinkResponseDto} objects representing all user's links
    */
   @Override
+  @Transactional(readOnly = true)
   public Page<LinkResponseDto> getAllMyLinks(int page, int size) {
     UUID userId = userServiceImpl.getCurrentUserId();
     Pageable pageable = PageRequest.of(page, size, Sort.by("createdAt").descending());
-    return linkRepository.findAllByOwnerId(userId, pageable)
-        .map(this::mapToResponse);
+    return userLinkStatsRepository.findById(userId)
+        .<Page<LinkResponseDto>>map(stats -> new PageImpl<>(
+            linkRepository.findPageByOwnerId(userId, pageable), pageable,
+            stats.getTotalLinks()))
+        .orElseGet(() -> linkRepository.findAllByOwnerId(userId, pageable));
   }
 
   /**
    * Retrieves all active links of the currently authenticated user with pagination.
+   * The total comes from the user's {@link UserLinkStats} row; only users
+   * without one fall back to a count query. Links are read directly into DTOs
+   * in a read-only transaction.
    *
    * @param page the page number to retrieve (0-based)
    * @param size the number of records per page
    * @return a {@link Page} of {@link LinkResponseDto} objects representing active user's links
    */
   @Override
+  @Transactional(readOnly = true)
   public Page<LinkResponseDto> getAllMyActiveLinks(int page, int size) {
     UUID userId = userServiceImpl.getCurrentUserId();
     Pageable pageable = PageRequest.of(page, size, Sort.by("createdAt").descending());
-    return linkRepository.findAllByOwnerIdAndStatus(userId, LinkStatus.ACTIVE, pageable)
-        .map(this::mapToResponse);
+    return userLinkStatsRepository.findById(userId)
+        .<Page<LinkResponseDto>>map(stats -> new PageImpl<>(
+            linkRepository.findActivePageByOwnerId(userId, pageable),
+            pageable, stats.getActiveLinks()))
+        .orElseGet(() -> linkRepository.findAllActiveByOwnerId(userId, pageable));
+  }
+
+  /**
+   * Retrieves a page of the current user's links after a keyset cursor on
+   * {@code (createdAt, id)}. One extra link is read to tell whether another
+   * page follows, so no count query runs; the total comes from the user's
+   * {@link UserLinkStats} row. Links are read directly into DTOs in a
+   * read-only transaction.
+   *
+   * @param cursor the continuation token of the previous page, or {@code null} for the first
+   * @param size the number of links per page, capped at 100
+   * @return the links and the token of the next page
+   */
+  @Override
+  @Transactional(readOnly = true)
+  public LinkSliceDto getMyLinksAfter(String cursor, int size) {
+    UUID userId = userServiceImpl.getCurrentUserId();
+    int pageSize = Math.min(Math.max(size, 1), MAX_SLICE_SIZE);
+    Limit limit = Limit.of(pageSize + 1);
+    List<LinkResponseDto> links;
+    if (cursor == null || cursor.isEmpty()) {
+      links = linkRepository.findNewestByOwner(userId, limit);
+    } else {
+      LinkCursor after = LinkCursor.decode(cursor);
+      links = linkRepository.findByOwnerAfter(userId, after.createdAt(), after.id(), limit);
+    }
+    Long total = userLinkStatsRepository.findById(userId)
+        .map(UserLinkStats::getTotalLinks)
+        .orElse(null);
+    return toSlice(links, pageSize, total);
+  }
+
+  /**
+   * Retrieves a page of the current user's active links after a keyset
+   * cursor on {@code (createdAt, id)}, without a count query. Links are read
+   * directly into DTOs in a read-only transaction.
+   *
+   * @param cursor the continuation token of the previous page, or {@code null} for the first
+   * @param size the number of links per page, capped at 100
+   * @return the links and the token of the next page
+   */
+  @Override
+  @Transactional(readOnly = true)
+  public LinkSliceDto getMyActiveLinksAfter(String cursor, int size) {
+    UUID userId = userServiceImpl.getCurrentUserId();
+    int pageSize = Math.min(Math.max(size, 1), MAX_SLICE_SIZE);
+    Limit limit = Limit.of(pageSize + 1);
+    List<LinkResponseDto> links;
+    if (cursor == null || cursor.isEmpty()) {
+      links = linkRepository.findNewestActiveByOwner(userId, limit);
+    } else {
+      LinkCursor after = LinkCursor.decode(cursor);
+      links = linkRepository.findActiveByOwnerAfter(userId, after.createdAt(), after.id(),
+          limit);
+    }
+    Long total = userLinkStatsRepository.findById(userId)
+        .map(UserLinkStats::getActiveLinks)
+        .orElse(null);
+    return toSlice(links, pageSize, total);
+  }
+
+  /**
+   * Searches the current user's links, newest first, with keyset pagination
+   * on {@code (createdAt, id)}. Only the given criteria become part of the
+   * statement, so each combination is served by its own index.
+   *
+   * @param criteria the search criteria, at least one of them set
+   * @param cursor the continuation token of the previous page, or {@code null} for the first
+   * @param size the number of links per page, capped at 100
+   * @return the matching links and the token of the next page
+   * @throws InvalidLinkFilterException if no criterion is set
+   */
+  @Override
+  public LinkSliceDto searchMyLinks(LinkSearchDto criteria, String cursor, int size) {
+    if (criteria == null || criteria.isEmpty()) {
+      throw new InvalidLinkFilterException(
+          "At least one of domain, urlContains or codePrefix is required");
+    }
+    UUID userId = userServiceImpl.getCurrentUserId();
+    int pageSize = Math.min(Math.max(size, 1), MAX_SLICE_SIZE);
+    LinkCursor after = cursor == null || cursor.isEmpty() ? null : LinkCursor.decode(cursor);
+    List<LinkResponseDto> links =
+        linkSearchRepository.search(userId, criteria, after, pageSize + 1);
+    return toSlice(links, pageSize, null);
+  }
+
+  private static LinkSliceDto toSlice(List<LinkResponseDto> links, int pageSize, Long total) {
+    boolean hasNext = links.size() > pageSize;
+    List<LinkResponseDto> page = hasNext ? links.subList(0, pageSize) : links;
+    String nextCursor = null;
+    if (hasNext) {
+      LinkResponseDto last = page.get(page.size() - 1);
+      nextCursor = new LinkCursor(last.createdAt(), last.id()).encode();
+    }
+    return new LinkSliceDto(List.copyOf(page), nextCursor, total);
   }
 
   /**
@@ -240,6 +595,13 @@ public class LinkServiceImpl implements LinkService {
     }
 
     linkRepository.delete(link);
+    userLinkStatsRepository.addTotals(currentUserId, -1,
+        link.getStatus() == LinkStatus.ACTIVE ? -1 : 0,
+        link.getStatus() == LinkStatus.INACTIVE ? -1 : 0,
+        -link.getClicks());
+    listingVersionService.ownerChanged(currentUserId);
+    keyspaceMonitor.linkDeleted(link.getCode());
+    codeAvailabilityIndex.codeFreed(link.getCode());
 
     return link.getCode();
   }
@@ -272,8 +634,168 @@ public class LinkServiceImpl implements LinkService {
 
     link.setExpiresAt(newExpirationDate);
     Link saved = linkRepository.save(link);
+    listingVersionService.ownerChanged(link.getOwner().getId());
 
     return mapToResponse(saved);
   }
 
+  /**
+   * Deactivates the current user's active links matching the filter, in
+   * set-based chunks of {@code link.bulk.operation-chunk-size} links.
+   *
+   * @param filter the links to deactivate
+   * @return the number of deactivated links
+   * @throws InvalidLinkFilterException if the filter is empty or lists too many ids
+   */
+  @Override
+  public BulkOperationResultDto deactivateLinks(LinkFilterDto filter) {
+    UUID ownerId = userServiceImpl.getCurrentUserId();
+    return runInChunks(ownerId, filter,
+        limit -> linkBulkRepository.deactivate(ownerId, filter, limit), false);
+  }
+
+  /**
+   * Deletes the current user's links matching the filter, in set-based chunks
+   * of {@code link.bulk.operation-chunk-size} links.
+   *
+   * @param filter the links to delete
+   * @return the number of deleted links
+   * @throws InvalidLinkFilterException if the filter is empty or lists too many ids
+   */
+  @Override
+  public BulkOperationResultDto deleteLinks(LinkFilterDto filter) {
+    UUID ownerId = userServiceImpl.getCurrentUserId();
+    return runInChunks(ownerId, filter,
+        limit -> linkBulkRepository.delete(ownerId, filter, limit), true);
+  }
+
+  /**
+   * Sets a new expiration date on the current user's links matching the
+   * filter, in set-based chunks of {@code link.bulk.operation-chunk-size} links.
+   *
+   * @param filter the links to update
+   * @param newExpirationDate the new expiration date
+   * @return the number of updated links
+   * @throws InvalidExpirationDateException if the date is not in the future
+   * @throws InvalidLinkFilterException if the filter is empty or lists too many ids
+   */
+  @Override
+  public BulkOperationResultDto updateLinksExpiration(LinkFilterDto filter,
+                                                      Instant newExpirationDate) {
+    if (newExpirationDate == null || newExpirationDate.isBefore(Instant.now())) {
+      throw new InvalidExpirationDateException(
+          "Expiration date must be in the future",
+          newExpirationDate
+      );
+    }
+    UUID ownerId = userServiceImpl.getCurrentUserId();
+    return runInChunks(ownerId, filter, limit ->
+        linkBulkRepository.updateExpiration(ownerId, filter, newExpirationDate, limit), false);
+  }
+
+  /**
+   * Repeats a chunked bulk change until a chunk comes back short, then evicts
+   * every changed code from the link cache in one pass. Chunks commit on
+   * their own, so the eviction also runs when a later chunk fails.
+   */
+  private BulkOperationResultDto runInChunks(UUID ownerId,
+                                             LinkFilterDto filter,
+                                             IntFunction<List<String>> chunk,
+                                             boolean deleted) {
+    if (filter == null || filter.isEmpty()) {
+      throw new InvalidLinkFilterException("At least one filter criterion is required");
+    }
+    if (filter.ids() != null && filter.ids().size() > MAX_FILTER_IDS) {
+      throw new InvalidLinkFilterException(
+          "At most " + MAX_FILTER_IDS + " link ids are accepted per request");
+    }
+    if (filter.ids() != null && filter.ids().isEmpty()) {
+      return new BulkOperationResultDto(0);
+    }
+
+    int chunkSize = Math.max(1, bulkOperationChunkSize);
+    List<String> codes = new ArrayList<>();
+    try {
+      List<String> changed;
+      do {
+        changed = chunk.apply(chunkSize);
+        codes.addAll(changed);
+      } while (changed.size() >= chunkSize);
+    } finally {
+      evictAll(codes);
+      if (!codes.isEmpty()) {
+        listingVersionService.ownerChanged(ownerId);
+      }
+      if (deleted) {
+        for (String code : codes) {
+          keyspaceMonitor.linkDeleted(code);
+          codeAvailabilityIndex.codeFreed(code);
+        }
+      }
+    }
+    return new BulkOperationResultDto(codes.size());
+  }
+
+  private void evictAll(List<String> codes) {
+    Cache cache = cacheManager.getCache(LINK_CACHE);
+    if (cache != null) {
+      codes.forEach(cache::evict);
+    }
+  }
+
+  /**
+   * Resolves many short codes at once without counting clicks. Codes held in
+   * {@code shortLinksCache} are answered from it; the misses are read into
+   * DTOs with a single {@code IN} query in a read-only transaction and put
+   * into the cache for later lookups.
+   *
+   * @param codes the short codes, duplicates are resolved once
+   * @return one entry per distinct code, in request order
+   * @throws TooManyCodesException if more than {@code link.resolve.max-codes} codes are given
+   */
+  @Override
+  @Transactional(readOnly = true)
+  public List<ResolvedLinkDto> resolveLinks(List<String> codes) {
+    Set<String> distinct = new LinkedHashSet<>(codes);
+    distinct.remove(null);
+    if (distinct.size() > maxResolveCodes) {
+      throw new TooManyCodesException(maxResolveCodes);
+    }
+
+    Cache cache = cacheManager.getCache(LINK_CACHE);
+    Map<String, LinkResponseDto> found = new HashMap<>();
+    List<String> misses = new ArrayList<>();
+    for (String code : distinct) {
+      LinkResponseDto cached = cache == null ? null : cache.get(code, LinkResponseDto.class);
+      if (cached != null) {
+        found.put(code, cached);
+      } else {
+        misses.add(code);
+      }
+    }
+    if (!misses.isEmpty()) {
+      for (LinkResponseDto loaded : linkRepository.findResponsesByCodeIn(misses)) {
+        found.put(loaded.code(), loaded);
+        if (cache != null) {
+          cache.put(loaded.code(), loaded);
+        }
+      }
+    }
+
+    Instant now = Instant.now();
+    List<ResolvedLinkDto> resolved = new ArrayList<>(distinct.size());
+    for (String code : distinct) {
+      LinkResponseDto link = found.get(code);
+      if (link == null) {
+        resolved.add(new ResolvedLinkDto(code, ResolvedLinkDto.NOT_FOUND, null, null));
+      } else {
+        boolean expired = link.expiresAt() != null && !link.expiresAt().isAfter(now);
+        String status = expired && LinkStatus.ACTIVE.name().equals(link.status())
+            ? ResolvedLinkDto.EXPIRED : link.status();
+        resolved.add(new ResolvedLinkDto(code, status, link.expiresAt(), link.originalUrl()));
+      }
+    }
+    return resolved;
+  }
+
 }
@@ -0,0 +1,261 @@
+package org.decepticons.linkshortener.api.service.impl;
+
+import jakarta.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+import org.decepticons.linkshortener.api.model.UserLinkStats;
+import org.decepticons.linkshortener.api.repository.UserLinkStatsRepository;
+import org.decepticons.linkshortener.api.security.model.CustomUserDetails;
+import org.decepticons.linkshortener.api.service.ListingVersionService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Service implementation keeping a stamp per owner in memory. A change draws
+ * a new stamp for the owner once its transaction commits and marks the owner
+ * as unsaved; the poller, every second by default, then increments
+ * {@code user_link_stats.listing_version} of all unsaved owners in a few
+ * batched statements, which is what other nodes see. Clicks only mark the
+ * owner, so a popular link costs one update per poll rather than one per
+ * click, and its tags follow the clicks within a poll interval. The versions
+ * of the owners tagged recently are polled as well, and a changed version
+ * draws a new stamp, so a tag of this node goes stale within one or two poll
+ * intervals of a change anywhere; the node's own increments come back as one
+ * extra stamp. Stamps come from one node-wide counter and tags carry the
+ * startup time, so an owner dropped after idling and loaded again, or a
+ * restart, never makes an old tag match again.
+ */
+@Service
+public class ListingVersionServiceImpl implements ListingVersionService {
+
+  private static final Logger LOG = LoggerFactory.getLogger(ListingVersionServiceImpl.class);
+
+  private static final Pattern SAFE_PART = Pattern.compile("[A-Za-z0-9_-]{0,64}");
+
+  /**
+   * Largest number of owners bound to one statement.
+   */
+  private static final int OWNER_CHUNK = 1000;
+
+  private final UserLinkStatsRepository userLinkStatsRepository;
+  private final long idleTimeoutMs;
+  private final Map<UUID, Version> versions = new ConcurrentHashMap<>();
+  private final Set<UUID> unsaved = ConcurrentHashMap.newKeySet();
+  private final AtomicLong stamps = new AtomicLong();
+  private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+
+  /**
+   * Constructs a new ListingVersionServiceImpl.
+   *
+   * @param userLinkStatsRepository repository holding the shared versions
+   * @param idleTimeoutMs how long an owner without tagged listings stays polled
+   */
+  public ListingVersionServiceImpl(
+      UserLinkStatsRepository userLinkStatsRepository,
+      @Value("${link.listing-version.idle-timeout-ms:600000}") long idleTimeoutMs
+  ) {
+    this.userLinkStatsRepository = userLinkStatsRepository;
+    this.idleTimeoutMs = idleTimeoutMs;
+  }
+
+  /**
+   * Builds the entity tag of a listing of the current user. The owner is read
+   * from the authenticated principal, so only the first tag of an owner
+   * queries the database.
+   *
+   * @param listing name of the listing endpoint
+   * @param params page parameters the listing depends on
+   * @return the entity tag, or {@code null} if the principal carries no user
+   */
+  @Override
+  public String currentTag(String listing, Object... params) {
+    Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+    if (authentication == null
+        || !(authentication.getPrincipal() instanceof CustomUserDetails details)
+        || details.getUser().getId() == null) {
+      return null;
+    }
+
+    Version version = version(details.getUser().getId());
+    version.lastUsed = System.currentTimeMillis();
+    StringBuilder tag = new StringBuilder(epoch)
+        .append('.').append(version.stamp)
+        .append('.').append(listing);
+    for (Object param : params) {
+      tag.append('.').append(tagPart(param));
+    }
+    return tag.toString();
+  }
+
+  /**
+   * Keeps a page parameter as is if it is a safe token, such as a number or a
+   * Base64url cursor, and replaces anything else by a hash. Such values are
+   * rejected by the listings anyway, so they never share a tag with a page.
+   */
+  private static String tagPart(Object param) {
+    if (param == null) {
+      return "-";
+    }
+    String value = param.toString();
+    return SAFE_PART.matcher(value).matches()
+        ? value : "~" + Integer.toHexString(value.hashCode());
+  }
+
+  @Override
+  public void ownerChanged(UUID ownerId) {
+    if (ownerId != null) {
+      ownersChanged(List.of(ownerId));
+    }
+  }
+
+  /**
+   * Draws new stamps for the owners once the current transaction commits,
+   * and leaves their shared versions to the next refresh.
+   *
+   * @param ownerIds the UUIDs of the owners
+   */
+  @Override
+  public void ownersChanged(Collection<UUID> ownerIds) {
+    List<UUID> owners = List.copyOf(ownerIds);
+    afterCommit(() -> owners.forEach(owner -> {
+      restamp(owner);
+      unsaved.add(owner);
+    }));
+  }
+
+  @Override
+  public void linksClicked(UUID ownerId) {
+    if (ownerId != null) {
+      afterCommit(() -> unsaved.add(ownerId));
+    }
+  }
+
+  private static void afterCommit(Runnable action) {
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+        @Override
+        public void afterCommit() {
+          action.run();
+        }
+      });
+    } else {
+      action.run();
+    }
+  }
+
+  /**
+   * Increments the shared versions of the unsaved owners, drops the owners
+   * whose listings were not tagged within the idle timeout and reads the
+   * shared versions of the others, drawing a new stamp for each owner
+   * changed since the last read. Runs every second by default; a failing
+   * database only postpones the refresh, and the unsaved owners stay unsaved.
+   *
+   * @return the number of owners with a new stamp
+   */
+  @Override
+  @Scheduled(fixedDelayString = "${link.listing-version.poll-interval-ms:1000}")
+  public synchronized int refresh() {
+    long idleSince = System.currentTimeMillis() - idleTimeoutMs;
+    versions.values().removeIf(version -> version.lastUsed < idleSince);
+
+    int changed = 0;
+    try {
+      saveVersions();
+      List<UUID> owners = new ArrayList<>(versions.keySet());
+      for (int from = 0; from < owners.size(); from += OWNER_CHUNK) {
+        for (UserLinkStats stats : userLinkStatsRepository.findAllById(
+            owners.subList(from, Math.min(owners.size(), from + OWNER_CHUNK)))) {
+          Version version = versions.get(stats.getOwnerId());
+          if (version != null && version.seen != stats.getListingVersion()) {
+            version.seen = stats.getListingVersion();
+            version.stamp = stamps.incrementAndGet();
+            changed++;
+          }
+        }
+      }
+    } catch (DataAccessException e) {
+      LOG.warn("Listing version refresh postponed: {}", e.getMessage());
+    }
+    return changed;
+  }
+
+  /**
+   * Saves the versions still unsaved at shutdown, so that other nodes see
+   * the last changes of this one.
+   */
+  @PreDestroy
+  public synchronized void saveOnShutdown() {
+    try {
+      saveVersions();
+    } catch (DataAccessException e) {
+      LOG.warn("Listing versions of {} owners not saved: {}", unsaved.size(), e.getMessage());
+    }
+  }
+
+  /**
+   * Increments the shared version of every unsaved owner once, however many
+   * changes it had. An owner is taken out of the set before its statement,
+   * so a change made meanwhile is saved by the next call.
+   */
+  private void saveVersions() {
+    List<UUID> owners = new ArrayList<>(unsaved);
+    for (int from = 0; from < owners.size(); from += OWNER_CHUNK) {
+      List<UUID> chunk = owners.subList(from, Math.min(owners.size(), from + OWNER_CHUNK));
+      chunk.forEach(unsaved::remove);
+      try {
+        userLinkStatsRepository.incrementListingVersions(chunk);
+      } catch (DataAccessException e) {
+        unsaved.addAll(owners.subList(from, owners.size()));
+        throw e;
+      }
+    }
+  }
+
+  private void restamp(UUID ownerId) {
+    Version version = versions.get(ownerId);
+    if (version != null) {
+      version.stamp = stamps.incrementAndGet();
+    }
+  }
+
+  private Version version(UUID ownerId) {
+    Version version = versions.get(ownerId);
+    if (version != null) {
+      return version;
+    }
+    long stored = userLinkStatsRepository.findById(ownerId)
+        .map(UserLinkStats::getListingVersion)
+        .orElse(0L);
+    return versions.computeIfAbsent(ownerId,
+        id -> new Version(stamps.incrementAndGet(), stored));
+  }
+
+  /**
+   * Stamp of one owner, with the shared version it was last checked against.
+   */
+  private static final class Version {
+    private volatile long stamp;
+    private volatile long seen;
+    private volatile long lastUsed = System.currentTimeMillis();
+
+    private Version(long stamp, long seen) {
+      this.stamp = stamp;
+      this.seen = seen;
+    }
+  }
+}
@@ -0,0 +1,157 @@
+package org.decepticons.linkshortener.api.service.impl;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.decepticons.linkshortener.api.dto.ReferrerCountDto;
+import org.decepticons.linkshortener.api.exception.NoSuchShortLinkFoundInTheSystemException;
+import org.decepticons.linkshortener.api.model.Link;
+import org.decepticons.linkshortener.api.repository.LinkReferrerRepository;
+import org.decepticons.linkshortener.api.repository.LinkRepository;
+import org.decepticons.linkshortener.api.service.ReferrerStatsService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Service implementation aggregating referrals in memory and adding them to the
+ * {@code link_referrers} table in periodic batches, so a redirect only touches
+ * a concurrent map. Counts that fail to reach the database are merged back and
+ * retried with the next flush.
+ */
+@Service
+public class ReferrerStatsServiceImpl implements ReferrerStatsService {
+
+  private static final Logger LOG = LoggerFactory.getLogger(ReferrerStatsServiceImpl.class);
+
+  private static final String ADD_REFERRALS_SQL = """
+      UPDATE link_referrers
+      SET clicks = clicks + ?
+      WHERE domain = ? AND link_id = (SELECT id FROM links WHERE code = ?)
+      """;
+
+  private static final String INSERT_REFERRER_SQL = """
+      INSERT INTO link_referrers (link_id, domain, clicks)
+      SELECT id, ?, ? FROM links WHERE code = ?
+      """;
+
+  private final LinkReferrerRepository linkReferrerRepository;
+  private final LinkRepository linkRepository;
+  private final UserServiceImpl userServiceImpl;
+  private final JdbcTemplate jdbcTemplate;
+  private final TransactionTemplate transactionTemplate;
+  private final int maxPending;
+  private final Map<Referral, Long> pending = new ConcurrentHashMap<>();
+
+  /**
+   * Constructs a new ReferrerStatsServiceImpl.
+   *
+   * @param linkReferrerRepository repository reading the top-referrer tables
+   * @param linkRepository repository resolving links by code
+   * @param userServiceImpl service resolving the current user
+   * @param jdbcTemplate template used for the batched counter updates
+   * @param transactionManager transaction manager shared with JPA
+   * @param maxPending maximum number of distinct link/domain pairs held between flushes
+   */
+  public ReferrerStatsServiceImpl(
+      LinkReferrerRepository linkReferrerRepository,
+      LinkRepository linkRepository,
+      UserServiceImpl userServiceImpl,
+      JdbcTemplate jdbcTemplate,
+      PlatformTransactionManager transactionManager,
+      @Value("${link.referrer.max-pending:100000}") int maxPending
+  ) {
+    this.linkReferrerRepository = linkReferrerRepository;
+    this.linkRepository = linkRepository;
+    this.userServiceImpl = userServiceImpl;
+    this.jdbcTemplate = jdbcTemplate;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    this.maxPending = maxPending;
+  }
+
+  @Override
+  public void recordReferral(String code, String domain) {
+    Referral referral = new Referral(code, domain);
+    if (pending.size() >= maxPending && !pending.containsKey(referral)) {
+      return;
+    }
+    pending.merge(referral, 1L, Long::sum);
+  }
+
+  /**
+   * Flushes the aggregated referrals, every ten seconds by default.
+   */
+  @Override
+  @Scheduled(fixedDelayString = "${link.referrer.flush-interval-ms:10000}")
+  public void flushReferrals() {
+    if (pending.isEmpty()) {
+      return;
+    }
+    Map<Referral, Long> batch = new HashMap<>();
+    for (Referral referral : pending.keySet()) {
+      Long count = pending.remove(referral);
+      if (count != null) {
+        batch.put(referral, count);
+      }
+    }
+
+    try {
+      transactionTemplate.executeWithoutResult(status -> applyBatch(batch));
+    } catch (DataAccessException | TransactionException e) {
+      batch.forEach((referral, count) -> pending.merge(referral, count, Long::sum));
+      LOG.warn("Referrer counts flush postponed: {}", e.getMessage());
+    }
+  }
+
+  private void applyBatch(Map<Referral, Long> batch) {
+    List<Referral> referrals = new ArrayList<>(batch.keySet());
+    List<Object[]> updates = new ArrayList<>(referrals.size());
+    for (Referral referral : referrals) {
+      updates.add(new Object[] {batch.get(referral), referral.domain(), referral.code()});
+    }
+    int[] updated = jdbcTemplate.batchUpdate(ADD_REFERRALS_SQL, updates);
+
+    List<Object[]> inserts = new ArrayList<>();
+    for (int i = 0; i < updated.length; i++) {
+      if (updated[i] == 0) {
+        Referral referral = referrals.get(i);
+        inserts.add(new Object[] {referral.domain(), batch.get(referral), referral.code()});
+      }
+    }
+    if (!inserts.isEmpty()) {
+      jdbcTemplate.batchUpdate(INSERT_REFERRER_SQL, inserts);
+    }
+  }
+
+  @Override
+  public List<ReferrerCountDto> getTopReferrers(String code, int limit) {
+    Link link = linkRepository.findByCode(code)
+        .orElseThrow(() -> new NoSuchShortLinkFoundInTheSystemException(
+            "No such short link found in the system: " + code,
+            code
+        ));
+
+    if (!link.getOwner().getId().equals(userServiceImpl.getCurrentUserId())) {
+      throw new AccessDeniedException("You are not allowed to view this link");
+    }
+
+    return linkReferrerRepository.findTopReferrers(link.getId(), PageRequest.of(0, limit));
+  }
+
+  /**
+   * A link and one of its referring domains.
+   */
+  private record Referral(String code, String domain) {
+  }
+}
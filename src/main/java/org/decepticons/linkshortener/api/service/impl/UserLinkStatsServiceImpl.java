@@ -0,0 +1,82 @@
+package org.decepticons.linkshortener.api.service.impl;
+
+import java.util.List;
+import java.util.UUID;
+import org.decepticons.linkshortener.api.repository.UserLinkStatsRepository;
+import org.decepticons.linkshortener.api.service.UserLinkStatsService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+/**
+ * Service implementation that repairs drift of the {@code user_link_stats}
+ * totals, which are otherwise only changed by increments. Drift comes from
+ * changes made outside the application, such as manual SQL, and rows for
+ * users registered before the totals existed. Totals are recomputed in
+ * ranges of owners, each in its own short transaction, so the repair never
+ * locks all rows of the table at once.
+ */
+@Service
+public class UserLinkStatsServiceImpl implements UserLinkStatsService {
+
+  private static final Logger LOG = LoggerFactory.getLogger(UserLinkStatsServiceImpl.class);
+
+  /**
+   * Lower bound of the first range; no owner has the nil UUID.
+   */
+  private static final UUID FIRST_OWNER = new UUID(0L, 0L);
+
+  private final UserLinkStatsRepository userLinkStatsRepository;
+  private final int batchSize;
+
+  /**
+   * Constructs a new UserLinkStatsServiceImpl.
+   *
+   * @param userLinkStatsRepository repository holding the per-owner totals
+   * @param batchSize number of owners recomputed per transaction
+   */
+  public UserLinkStatsServiceImpl(
+      UserLinkStatsRepository userLinkStatsRepository,
+      @Value("${link.stats.reconcile-batch-size:1000}") int batchSize
+  ) {
+    this.userLinkStatsRepository = userLinkStatsRepository;
+    this.batchSize = batchSize;
+  }
+
+  /**
+   * Creates missing totals and recomputes those that drifted. Runs every
+   * hour by default; a failing database only postpones the repair.
+   *
+   * @return the number of rows created or repaired
+   */
+  @Override
+  @Scheduled(fixedDelayString = "${link.stats.reconcile-interval-ms:3600000}",
+      initialDelayString = "${link.stats.reconcile-interval-ms:3600000}")
+  public int reconcile() {
+    try {
+      int created = userLinkStatsRepository.insertMissing();
+      int repaired = 0;
+      UUID from = FIRST_OWNER;
+      List<UUID> owners;
+      do {
+        owners = userLinkStatsRepository.findOwnerIdsAfter(from, Limit.of(batchSize));
+        if (!owners.isEmpty()) {
+          UUID to = owners.get(owners.size() - 1);
+          repaired += userLinkStatsRepository.recount(from, to);
+          from = to;
+        }
+      } while (owners.size() == batchSize);
+      if (created > 0 || repaired > 0) {
+        LOG.info("Link totals reconciled: {} created, {} repaired", created, repaired);
+      }
+      return created + repaired;
+    } catch (DataAccessException e) {
+      LOG.warn("Link totals reconciliation postponed: {}", e.getMessage());
+      return 0;
+    }
+  }
+}
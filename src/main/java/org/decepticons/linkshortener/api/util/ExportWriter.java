@@ -0,0 +1,188 @@
+package org.decepticons.linkshortener.api.util;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Locale;
+import org.decepticons.linkshortener.api.dto.ExportFormat;
+
+/**
+ * Row-by-row writer for streaming exports in one of the {@link ExportFormat}s.
+ * Nothing is buffered beyond a small character buffer, so exports of any size
+ * run in constant memory. Closing the writer closes the target stream.
+ */
+public final class ExportWriter implements Closeable {
+
+  /**
+   * Shared factory for NDJSON generators; it is thread-safe and costly to create.
+   */
+  private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+  /**
+   * Size of the character buffer in front of the target stream.
+   */
+  private static final int BUFFER_SIZE = 16 * 1024;
+
+  private final ExportFormat format;
+  private final List<String> columns;
+  private final Writer writer;
+  private final JsonGenerator json;
+
+  private ExportWriter(ExportFormat format, List<String> columns, Writer writer)
+      throws IOException {
+    this.format = format;
+    this.columns = columns;
+    this.writer = writer;
+    if (format == ExportFormat.NDJSON) {
+      this.json = JSON_FACTORY.createGenerator(writer);
+      this.json.setRootValueSeparator(null);
+    } else {
+      this.json = null;
+    }
+  }
+
+  /**
+   * Opens a writer and, for CSV, writes the header line.
+   *
+   * @param format the output format
+   * @param out the target stream
+   * @param columns the column names, in the order values are passed to {@link #writeRow}
+   * @return a new writer
+   * @throws IOException if the header cannot be written
+   */
+  public static ExportWriter open(ExportFormat format, OutputStream out, List<String> columns)
+      throws IOException {
+    Writer writer = new BufferedWriter(
+        new OutputStreamWriter(out, StandardCharsets.UTF_8), BUFFER_SIZE);
+    ExportWriter exportWriter = new ExportWriter(format, columns, writer);
+    if (format == ExportFormat.CSV) {
+      exportWriter.writeCsvLine(columns.toArray());
+    }
+    return exportWriter;
+  }
+
+  /**
+   * Tells whether a client accepts gzip-encoded responses. Codings are
+   * weighed by their {@code q} parameter, so {@code gzip;q=0} refuses gzip,
+   * and a wildcard only counts when gzip is not listed by name.
+   *
+   * @param acceptEncoding the value of the {@code Accept-Encoding} header, may be {@code null}
+   * @return {@code true} if gzip is listed, or covered by {@code *}, with a non-zero weight
+   */
+  public static boolean acceptsGzip(String acceptEncoding) {
+    if (acceptEncoding == null) {
+      return false;
+    }
+    double gzip = -1;
+    double wildcard = -1;
+    for (String entry : acceptEncoding.split(",")) {
+      String[] params = entry.split(";");
+      String coding = params[0].trim().toLowerCase(Locale.ROOT);
+      double quality = 1;
+      for (int i = 1; i < params.length; i++) {
+        String param = params[i].trim();
+        if (param.regionMatches(true, 0, "q=", 0, 2)) {
+          quality = parseQuality(param.substring(2).trim());
+        }
+      }
+      if (coding.equals("gzip") || coding.equals("x-gzip")) {
+        gzip = Math.max(gzip, quality);
+      } else if (coding.equals("*")) {
+        wildcard = quality;
+      }
+    }
+    return gzip >= 0 ? gzip > 0 : wildcard > 0;
+  }
+
+  /**
+   * Reads a weight of the form {@code 0}, {@code 1} or {@code 0.xyz}; any
+   * other value counts as zero.
+   */
+  private static double parseQuality(String value) {
+    return value.matches("0(\\.\\d{0,3})?|1(\\.0{0,3})?") ? Double.parseDouble(value) : 0;
+  }
+
+  /**
+   * Writes one row. Values are matched to the columns by position; numbers are
+   * written as JSON numbers, everything else through {@link String#valueOf}.
+   *
+   * @param values the row values, {@code null} allowed
+   * @throws IOException if the target stream fails
+   */
+  public void writeRow(Object... values) throws IOException {
+    if (format == ExportFormat.CSV) {
+      writeCsvLine(values);
+      return;
+    }
+    json.writeStartObject();
+    for (int i = 0; i < columns.size(); i++) {
+      Object value = values[i];
+      json.writeFieldName(columns.get(i));
+      if (value == null) {
+        json.writeNull();
+      } else if (value instanceof Long || value instanceof Integer || value instanceof Short) {
+        json.writeNumber(((Number) value).longValue());
+      } else {
+        json.writeString(String.valueOf(value));
+      }
+    }
+    json.writeEndObject();
+    json.writeRaw('\n');
+  }
+
+  /**
+   * Flushes buffered rows to the target stream.
+   *
+   * @throws IOException if the target stream fails
+   */
+  public void flush() throws IOException {
+    if (json != null) {
+      json.flush();
+    } else {
+      writer.flush();
+    }
+  }
+
+  @Override
+  public void close() throws IOException {
+    if (json != null) {
+      json.close();
+    } else {
+      writer.close();
+    }
+  }
+
+  private void writeCsvLine(Object[] values) throws IOException {
+    for (int i = 0; i < values.length; i++) {
+      if (i > 0) {
+        writer.write(',');
+      }
+      if (values[i] != null) {
+        writeCsvValue(String.valueOf(values[i]));
+      }
+    }
+    writer.write('\n');
+  }
+
+  private void writeCsvValue(String value) throws IOException {
+    boolean needsQuotes = false;
+    for (int i = 0; i < value.length() && !needsQuotes; i++) {
+      char c = value.charAt(i);
+      needsQuotes = c == ',' || c == '"' || c == '\n' || c == '\r';
+    }
+    if (!needsQuotes) {
+      writer.write(value);
+      return;
+    }
+    writer.write('"');
+    writer.write(value.replace("\"", "\"\""));
+    writer.write('"');
+  }
+}
@@ -0,0 +1,60 @@
+package org.decepticons.linkshortener.api.util;
+
+import java.nio.ByteBuffer;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.UUID;
+import org.decepticons.linkshortener.api.exception.InvalidCursorException;
+
+/**
+ * Position in a newest-first listing of links: the creation time and id of
+ * the last link returned. It travels to clients as an opaque URL-safe token.
+ *
+ * @param createdAt the creation time of the last link returned
+ * @param id the id of the last link returned
+ */
+public record LinkCursor(Instant createdAt, UUID id) {
+
+  private static final int TOKEN_BYTES = Long.BYTES + Integer.BYTES + 2 * Long.BYTES;
+
+  /**
+   * Encodes the cursor as a continuation token.
+   *
+   * @return the token
+   */
+  public String encode() {
+    ByteBuffer buffer = ByteBuffer.allocate(TOKEN_BYTES)
+        .putLong(createdAt.getEpochSecond())
+        .putInt(createdAt.getNano())
+        .putLong(id.getMostSignificantBits())
+        .putLong(id.getLeastSignificantBits());
+    return Base64.getUrlEncoder().withoutPadding().encodeToString(buffer.array());
+  }
+
+  /**
+   * Decodes a continuation token.
+   *
+   * @param token a token returned by {@link #encode()}
+   * @return the cursor
+   * @throws InvalidCursorException if the token was not produced by {@link #encode()}
+   */
+  public static LinkCursor decode(String token) {
+    byte[] bytes;
+    try {
+      bytes = Base64.getUrlDecoder().decode(token);
+    } catch (IllegalArgumentException e) {
+      throw new InvalidCursorException(token);
+    }
+    if (bytes.length != TOKEN_BYTES) {
+      throw new InvalidCursorException(token);
+    }
+    ByteBuffer buffer = ByteBuffer.wrap(bytes);
+    long seconds = buffer.getLong();
+    int nanos = buffer.getInt();
+    if (nanos < 0 || nanos > 999_999_999) {
+      throw new InvalidCursorException(token);
+    }
+    return new LinkCursor(Instant.ofEpochSecond(seconds, nanos),
+        new UUID(buffer.getLong(), buffer.getLong()));
+  }
+}
@@ -0,0 +1,99 @@
+package org.decepticons.linkshortener.api.util;
+
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Locale;
+
+/**
+ * Utility class reducing URLs to a canonical form, so that spellings of the
+ * same address compare equal, and hashing the result for indexed lookups.
+ * This class cannot be instantiated.
+ */
+public final class UrlNormalizer {
+
+  /**
+   * Private constructor to prevent instantiation of this utility class.
+   */
+  private UrlNormalizer() {
+    // no-op
+  }
+
+  /**
+   * Normalizes a URL: scheme and host are lower-cased, the default port of
+   * the scheme is dropped, an empty path becomes {@code /} and a trailing
+   * slash of any other path is removed. Query and fragment are kept as they
+   * are. Text that is not an absolute URI is only trimmed.
+   *
+   * @param url the URL to normalize
+   * @return the normalized URL
+   */
+  public static String normalize(final String url) {
+    String trimmed = url.trim();
+    URI uri;
+    try {
+      uri = new URI(trimmed);
+    } catch (URISyntaxException e) {
+      return trimmed;
+    }
+    if (uri.getScheme() == null || uri.getRawAuthority() == null) {
+      return trimmed;
+    }
+
+    String scheme = uri.getScheme().toLowerCase(Locale.ROOT);
+    StringBuilder normalized = new StringBuilder(trimmed.length()).append(scheme).append("://");
+    if (uri.getHost() == null) {
+      normalized.append(uri.getRawAuthority().toLowerCase(Locale.ROOT));
+    } else {
+      if (uri.getRawUserInfo() != null) {
+        normalized.append(uri.getRawUserInfo()).append('@');
+      }
+      normalized.append(uri.getHost().toLowerCase(Locale.ROOT));
+      if (uri.getPort() >= 0 && uri.getPort() != defaultPort(scheme)) {
+        normalized.append(':').append(uri.getPort());
+      }
+    }
+
+    String path = uri.getRawPath();
+    if (path == null || path.isEmpty()) {
+      path = "/";
+    } else if (path.length() > 1 && path.endsWith("/")) {
+      path = path.substring(0, path.length() - 1);
+    }
+    normalized.append(path);
+    if (uri.getRawQuery() != null) {
+      normalized.append('?').append(uri.getRawQuery());
+    }
+    if (uri.getRawFragment() != null) {
+      normalized.append('#').append(uri.getRawFragment());
+    }
+    return normalized.toString();
+  }
+
+  /**
+   * Hashes a normalized URL to 64 bits, taken from its SHA-256 digest.
+   *
+   * @param normalizedUrl a URL returned by {@link #normalize}
+   * @return the hash
+   */
+  public static long hash(final String normalizedUrl) {
+    try {
+      byte[] digest = MessageDigest.getInstance("SHA-256")
+          .digest(normalizedUrl.getBytes(StandardCharsets.UTF_8));
+      return ByteBuffer.wrap(digest).getLong();
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException("SHA-256 is not available", e);
+    }
+  }
+
+  private static int defaultPort(final String scheme) {
+    return switch (scheme) {
+      case "http" -> 80;
+      case "https" -> 443;
+      default -> -1;
+    };
+  }
+}
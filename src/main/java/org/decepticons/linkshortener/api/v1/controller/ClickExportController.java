@@ -0,0 +1,70 @@
+package org.decepticons.linkshortener.api.v1.controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import java.util.UUID;
+import org.decepticons.linkshortener.api.dto.ExportFormat;
+import org.decepticons.linkshortener.api.service.ClickEventExportService;
+import org.decepticons.linkshortener.api.service.impl.UserServiceImpl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+/**
+ * REST controller for exporting the click history of the current user's links.
+ * The response is written on an async worker thread, so the request thread is
+ * released as soon as the export starts.
+ */
+@Tag(name = "Click Export", description = "Streaming export of click history")
+@RestController
+@RequestMapping("/api/v1/links/clicks")
+public class ClickExportController {
+
+  private final ClickEventExportService clickEventExportService;
+  private final UserServiceImpl userServiceImpl;
+
+  /**
+   * Constructs a new {@link ClickExportController} with the given dependencies.
+   *
+   * @param clickEventExportService the service streaming click events
+   * @param userServiceImpl the service resolving the current user
+   */
+  public ClickExportController(ClickEventExportService clickEventExportService,
+                               UserServiceImpl userServiceImpl) {
+    this.clickEventExportService = clickEventExportService;
+    this.userServiceImpl = userServiceImpl;
+  }
+
+  /**
+   * Streams all click events of the current user's links as NDJSON or CSV.
+   * An interrupted export can be resumed by passing the code and id of the
+   * last received event.
+   *
+   * @param code optional short code to export a single link
+   * @param afterCode code of the last event already received
+   * @param afterId id of the last event already received (default 0)
+   * @param format output format (default NDJSON)
+   * @param acceptEncoding the Accept-Encoding header; gzip is used when listed
+   * @return the streaming response
+   */
+  @GetMapping("/export")
+  @Operation(summary = "Stream the click history of the current user's links")
+  public ResponseEntity<StreamingResponseBody> exportClicks(
+      @RequestParam(required = false) String code,
+      @RequestParam(required = false) String afterCode,
+      @RequestParam(defaultValue = "0") long afterId,
+      @RequestParam(defaultValue = "NDJSON") ExportFormat format,
+      @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false)
+      String acceptEncoding
+  ) {
+    UUID ownerId = userServiceImpl.getCurrentUserId();
+    return ExportResponses.stream(format, "clicks", acceptEncoding,
+        out -> clickEventExportService.exportClickEvents(ownerId, code, afterCode, afterId,
+            format, out));
+  }
+}
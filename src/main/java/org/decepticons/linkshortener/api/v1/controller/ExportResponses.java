@@ -0,0 +1,68 @@
+package org.decepticons.linkshortener.api.v1.controller;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.zip.GZIPOutputStream;
+import org.decepticons.linkshortener.api.dto.ExportFormat;
+import org.decepticons.linkshortener.api.util.ExportWriter;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+/**
+ * Builds the streaming responses of the export endpoints: content type and
+ * file name of the format, and gzip when the client accepts it.
+ * This class cannot be instantiated.
+ */
+final class ExportResponses {
+
+  /**
+   * Private constructor to prevent instantiation of this utility class.
+   */
+  private ExportResponses() {
+    // no-op
+  }
+
+  /**
+   * Wraps an export into a streaming response. The export closes the stream
+   * it is given, which also finishes the gzip trailer.
+   *
+   * @param format the output format
+   * @param fileName the download file name, without extension
+   * @param acceptEncoding the Accept-Encoding header, may be {@code null}
+   * @param export writes the export to the response stream
+   * @return the streaming response
+   */
+  static ResponseEntity<StreamingResponseBody> stream(ExportFormat format, String fileName,
+                                                      String acceptEncoding, Export export) {
+    boolean gzip = ExportWriter.acceptsGzip(acceptEncoding);
+    StreamingResponseBody body = out ->
+        export.writeTo(gzip ? new GZIPOutputStream(out) : out);
+
+    ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+        .contentType(MediaType.parseMediaType(format.getMediaType()))
+        .header(HttpHeaders.CONTENT_DISPOSITION,
+            "attachment; filename=\"" + fileName + "." + format.getFileExtension() + "\"")
+        .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+    if (gzip) {
+      response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+    }
+    return response.body(body);
+  }
+
+  /**
+   * Writes an export to the response stream.
+   */
+  @FunctionalInterface
+  interface Export {
+
+    /**
+     * Writes the export and closes the stream.
+     *
+     * @param out the response stream, gzip-encoded if negotiated
+     * @throws IOException if the stream fails
+     */
+    void writeTo(OutputStream out) throws IOException;
+  }
+}
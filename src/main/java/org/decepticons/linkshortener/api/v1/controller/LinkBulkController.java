@@ -0,0 +1,62 @@
+package org.decepticons.linkshortener.api.v1.controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import org.decepticons.linkshortener.api.dto.ExportFormat;
+import org.decepticons.linkshortener.api.model.User;
+import org.decepticons.linkshortener.api.service.BulkLinkService;
+import org.decepticons.linkshortener.api.service.impl.UserServiceImpl;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+/**
+ * REST controller for creating many short links in one request.
+ * The request body is read and the results are written on an async worker
+ * thread, so neither side is buffered as a whole.
+ */
+@Tag(name = "Link Management", description = "Operations for managing short links")
+@RestController
+@RequestMapping("/api/v1/links")
+public class LinkBulkController {
+
+  private final BulkLinkService bulkLinkService;
+  private final UserServiceImpl userServiceImpl;
+
+  /**
+   * Constructs a new {@link LinkBulkController} with the given dependencies.
+   *
+   * @param bulkLinkService the service creating the links
+   * @param userServiceImpl the service resolving the current user
+   */
+  public LinkBulkController(BulkLinkService bulkLinkService, UserServiceImpl userServiceImpl) {
+    this.bulkLinkService = bulkLinkService;
+    this.userServiceImpl = userServiceImpl;
+  }
+
+  /**
+   * Creates short links for the current user from a JSON array or NDJSON
+   * stream of {@code {"url": ..., "alias": ...}} items. The response is an
+   * NDJSON stream with one {@code index}/{@code status}/{@code code}/{@code error}
+   * line per item, written as the items are committed.
+   *
+   * @param request the request whose body holds the items
+   * @return the streaming per-item results
+   */
+  @PostMapping(value = "/bulk",
+      consumes = {MediaType.APPLICATION_JSON_VALUE, "application/x-ndjson"},
+      produces = "application/x-ndjson")
+  @Operation(summary = "Create many short URLs for the current user")
+  public ResponseEntity<StreamingResponseBody> createLinks(HttpServletRequest request) {
+    User owner = userServiceImpl.getCurrentUser();
+    StreamingResponseBody body =
+        out -> bulkLinkService.createLinks(owner, request.getInputStream(), out);
+    return ResponseEntity.ok()
+        .contentType(MediaType.parseMediaType(ExportFormat.NDJSON.getMediaType()))
+        .body(body);
+  }
+}
@@ -3,12 +3,25 @@ package org.decepticons.linkshortener.api.v1.controller;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import java.util.List;
 import java.util.UUID;
+import java.util.function.Supplier;
+import org.decepticons.linkshortener.api.dto.AliasAvailabilityDto;
+import org.decepticons.linkshortener.api.dto.BulkExpirationRequestDto;
+import org.decepticons.linkshortener.api.dto.BulkOperationResultDto;
+import org.decepticons.linkshortener.api.dto.LinkFilterDto;
 import org.decepticons.linkshortener.api.dto.LinkResponseDto;
+import org.decepticons.linkshortener.api.dto.LinkSearchDto;
+import org.decepticons.linkshortener.api.dto.LinkSliceDto;
+import org.decepticons.linkshortener.api.dto.ResolveLinksRequestDto;
+import org.decepticons.linkshortener.api.dto.ResolvedLinkDto;
 import org.decepticons.linkshortener.api.dto.UpdateLinkExpirationRequestDto;
 import org.decepticons.linkshortener.api.dto.UrlRequestDto;
 import org.decepticons.linkshortener.api.service.LinkService;
+import org.decepticons.linkshortener.api.service.ListingVersionService;
 import org.springframework.data.domain.Page;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -19,6 +32,7 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 /**
  * REST controller for managing short links.
@@ -31,14 +45,18 @@ import org.springframework.web.bind.annotation.RestController;
 public class LinkCrudController {
 
   private final LinkService linkService;
+  private final ListingVersionService listingVersionService;
 
   /**
    * Constructs a new {@link LinkCrudController} with the given dependencies.
    *
    * @param linkService the service responsible for link business logic
+   * @param listingVersionService versions behind the listing entity tags
    */
-  public LinkCrudController(LinkService linkService) {
+  public LinkCrudController(LinkService linkService,
+                            ListingVersionService listingVersionService) {
     this.linkService = linkService;
+    this.listingVersionService = listingVersionService;
   }
 
   /**
@@ -54,20 +72,50 @@ public class LinkCrudController {
     return ResponseEntity.status(201).body(link);
   }
 
+  /**
+   * Checks whether a custom alias is free, as the client types it.
+   *
+   * @param alias the wanted alias
+   * @return the availability of the alias and, if taken, free variants of it
+   */
+  @GetMapping("/alias-availability")
+  @Operation(summary = "Check whether a custom alias is available")
+  public ResponseEntity<AliasAvailabilityDto> checkAlias(@RequestParam String alias) {
+    return ResponseEntity.ok(linkService.checkAlias(alias));
+  }
+
+  /**
+   * Resolves many short codes in one call, for previews and moderation.
+   * Unlike the redirect endpoint this does not count clicks.
+   *
+   * @param request the codes to resolve
+   * @return the status, expiry and destination of each distinct code
+   */
+  @PostMapping("/resolve")
+  @Operation(summary = "Resolve many short codes without counting clicks")
+  public ResponseEntity<List<ResolvedLinkDto>> resolveLinks(
+      @RequestBody ResolveLinksRequestDto request) {
+    List<String> codes = request.codes() == null ? List.of() : request.codes();
+    return ResponseEntity.ok(linkService.resolveLinks(codes));
+  }
+
   /**
    * Retrieves all links of the current user (active and inactive) with pagination.
    *
    * @param page page number (default 0)
    * @param size number of records per page (default 10)
-   * @return page of LinkResponseDto
+   * @param request the request, for its {@code If-None-Match} header
+   * @return page of LinkResponseDto, or 304 if the tag still matches
    */
   @GetMapping("/my_all_links")
   @Operation(summary = "Get all links (active and inactive) for the current user")
   public ResponseEntity<Page<LinkResponseDto>> getAllMyLinks(
       @RequestParam(defaultValue = "0") int page,
-      @RequestParam(defaultValue = "10") int size
+      @RequestParam(defaultValue = "10") int size,
+      WebRequest request
   ) {
-    return ResponseEntity.ok(linkService.getAllMyLinks(page, size));
+    return conditional(request, listingVersionService.currentTag("all", page, size),
+        () -> linkService.getAllMyLinks(page, size));
   }
 
   /**
@@ -75,15 +123,101 @@ public class LinkCrudController {
    *
    * @param page page number (default 0)
    * @param size number of records per page (default 10)
-   * @return page of LinkResponseDto
+   * @param request the request, for its {@code If-None-Match} header
+   * @return page of LinkResponseDto, or 304 if the tag still matches
    */
   @GetMapping("/my_all_active_links")
   @Operation(summary = "Get all active links for the current user")
   public ResponseEntity<Page<LinkResponseDto>> getAllMyActiveLinks(
       @RequestParam(defaultValue = "0") int page,
+      @RequestParam(defaultValue = "10") int size,
+      WebRequest request
+  ) {
+    return conditional(request, listingVersionService.currentTag("active", page, size),
+        () -> linkService.getAllMyActiveLinks(page, size));
+  }
+
+  /**
+   * Retrieves the current user's links (active and inactive), newest first,
+   * page by page with a continuation token. Unlike {@code /my_all_links} deep
+   * pages cost the same as the first one.
+   *
+   * @param cursor the {@code nextCursor} of the previous page; omitted for the first page
+   * @param size number of records per page (default 10, at most 100)
+   * @param request the request, for its {@code If-None-Match} header
+   * @return the links and the token of the next page, or 304 if the tag still matches
+   */
+  @GetMapping("/my_links")
+  @Operation(summary = "Get all links for the current user with cursor pagination")
+  public ResponseEntity<LinkSliceDto> getMyLinks(
+      @RequestParam(required = false) String cursor,
+      @RequestParam(defaultValue = "10") int size,
+      WebRequest request
+  ) {
+    return conditional(request, listingVersionService.currentTag("slice", cursor, size),
+        () -> linkService.getMyLinksAfter(cursor, size));
+  }
+
+  /**
+   * Retrieves the current user's active links, newest first, page by page
+   * with a continuation token.
+   *
+   * @param cursor the {@code nextCursor} of the previous page; omitted for the first page
+   * @param size number of records per page (default 10, at most 100)
+   * @param request the request, for its {@code If-None-Match} header
+   * @return the links and the token of the next page, or 304 if the tag still matches
+   */
+  @GetMapping("/my_active_links")
+  @Operation(summary = "Get active links for the current user with cursor pagination")
+  public ResponseEntity<LinkSliceDto> getMyActiveLinks(
+      @RequestParam(required = false) String cursor,
+      @RequestParam(defaultValue = "10") int size,
+      WebRequest request
+  ) {
+    return conditional(request, listingVersionService.currentTag("active-slice", cursor, size),
+        () -> linkService.getMyActiveLinksAfter(cursor, size));
+  }
+
+  /**
+   * Searches the current user's links, newest first, page by page with a
+   * continuation token. All given criteria must match.
+   *
+   * @param domain host of the destination URL, e.g. {@code example.com}
+   * @param urlContains text the destination URL contains, case-insensitively
+   * @param codePrefix beginning of the short code
+   * @param cursor the {@code nextCursor} of the previous page; omitted for the first page
+   * @param size number of records per page (default 10, at most 100)
+   * @return the matching links and the token of the next page
+   */
+  @GetMapping("/search")
+  @Operation(summary = "Search the current user's links by domain, URL text or code prefix")
+  public ResponseEntity<LinkSliceDto> searchMyLinks(
+      @RequestParam(required = false) String domain,
+      @RequestParam(required = false) String urlContains,
+      @RequestParam(required = false) String codePrefix,
+      @RequestParam(required = false) String cursor,
       @RequestParam(defaultValue = "10") int size
   ) {
-    return ResponseEntity.ok(linkService.getAllMyActiveLinks(page, size));
+    return ResponseEntity.ok(linkService.searchMyLinks(
+        new LinkSearchDto(domain, urlContains, codePrefix), cursor, size));
+  }
+
+  /**
+   * Answers a listing request conditionally. The entity tag is derived from
+   * the owner's listing version and the page parameters, so a client that
+   * still holds the page gets a 304 without the listing being queried.
+   */
+  private <T> ResponseEntity<T> conditional(WebRequest request, String etag,
+                                            Supplier<T> listing) {
+    if (etag == null) {
+      return ResponseEntity.ok(listing.get());
+    }
+    CacheControl cacheControl = CacheControl.noCache().cachePrivate();
+    if (request.checkNotModified(etag)) {
+      return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+          .cacheControl(cacheControl).eTag(etag).build();
+    }
+    return ResponseEntity.ok().cacheControl(cacheControl).eTag(etag).body(listing.get());
   }
 
   /**
@@ -116,4 +250,42 @@ public class LinkCrudController {
         .ok(linkService.updateLinkExpiration(code, newExpirationDate.getNewExpirationDate()));
   }
 
+  /**
+   * Deactivates all active links of the current user matching the filter.
+   *
+   * @param filter the links to deactivate
+   * @return the number of deactivated links
+   */
+  @PostMapping("/bulk/deactivate")
+  @Operation(summary = "Deactivate the current user's links matching a filter")
+  public ResponseEntity<BulkOperationResultDto> deactivateLinks(
+      @RequestBody LinkFilterDto filter) {
+    return ResponseEntity.ok(linkService.deactivateLinks(filter));
+  }
+
+  /**
+   * Deletes all links of the current user matching the filter.
+   *
+   * @param filter the links to delete
+   * @return the number of deleted links
+   */
+  @PostMapping("/bulk/delete")
+  @Operation(summary = "Delete the current user's links matching a filter")
+  public ResponseEntity<BulkOperationResultDto> deleteLinks(@RequestBody LinkFilterDto filter) {
+    return ResponseEntity.ok(linkService.deleteLinks(filter));
+  }
+
+  /**
+   * Sets a new expiration date on all links of the current user matching the filter.
+   *
+   * @param request the filter and the new expiration date
+   * @return the number of updated links
+   */
+  @PostMapping("/bulk/expiration")
+  @Operation(summary = "Set the expiration date of the current user's links matching a filter")
+  public ResponseEntity<BulkOperationResultDto> updateLinksExpiration(
+      @RequestBody BulkExpirationRequestDto request) {
+    return ResponseEntity.ok(
+        linkService.updateLinksExpiration(request.filter(), request.newExpirationDate()));
+  }
 }
@@ -0,0 +1,60 @@
+package org.decepticons.linkshortener.api.v1.controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import java.util.UUID;
+import org.decepticons.linkshortener.api.dto.ExportFormat;
+import org.decepticons.linkshortener.api.service.LinkExportService;
+import org.decepticons.linkshortener.api.service.impl.UserServiceImpl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+/**
+ * REST controller for exporting the current user's links in one response,
+ * instead of walking the paginated listings.
+ */
+@Tag(name = "Link Export", description = "Streaming export of the current user's links")
+@RestController
+@RequestMapping("/api/v1/links")
+public class LinkExportController {
+
+  private final LinkExportService linkExportService;
+  private final UserServiceImpl userServiceImpl;
+
+  /**
+   * Constructs a new {@link LinkExportController} with the given dependencies.
+   *
+   * @param linkExportService the service streaming the links
+   * @param userServiceImpl the service resolving the current user
+   */
+  public LinkExportController(LinkExportService linkExportService,
+                              UserServiceImpl userServiceImpl) {
+    this.linkExportService = linkExportService;
+    this.userServiceImpl = userServiceImpl;
+  }
+
+  /**
+   * Streams all links of the current user, oldest first, as NDJSON or CSV.
+   *
+   * @param format output format (default NDJSON)
+   * @param acceptEncoding the Accept-Encoding header; gzip is used when listed
+   * @return the streaming response
+   */
+  @GetMapping("/export")
+  @Operation(summary = "Stream all links of the current user")
+  public ResponseEntity<StreamingResponseBody> exportLinks(
+      @RequestParam(defaultValue = "NDJSON") ExportFormat format,
+      @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false)
+      String acceptEncoding
+  ) {
+    UUID ownerId = userServiceImpl.getCurrentUserId();
+    return ExportResponses.stream(format, "links", acceptEncoding,
+        out -> linkExportService.exportLinks(ownerId, format, out));
+  }
+}
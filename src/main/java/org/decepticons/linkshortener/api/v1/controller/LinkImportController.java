@@ -0,0 +1,70 @@
+package org.decepticons.linkshortener.api.v1.controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import java.io.IOException;
+import java.util.UUID;
+import org.decepticons.linkshortener.api.dto.ImportJobDto;
+import org.decepticons.linkshortener.api.service.LinkImportService;
+import org.decepticons.linkshortener.api.service.impl.UserServiceImpl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * REST controller for asynchronous CSV imports of short links.
+ * An upload is stored and answered right away with a job whose progress,
+ * throughput and estimated time left can then be polled.
+ */
+@Tag(name = "Link Management", description = "Operations for managing short links")
+@RestController
+@RequestMapping("/api/v1/links/imports")
+public class LinkImportController {
+
+  private final LinkImportService linkImportService;
+  private final UserServiceImpl userServiceImpl;
+
+  /**
+   * Constructs a new {@link LinkImportController} with the given dependencies.
+   *
+   * @param linkImportService the service running the imports
+   * @param userServiceImpl the service resolving the current user
+   */
+  public LinkImportController(LinkImportService linkImportService,
+                              UserServiceImpl userServiceImpl) {
+    this.linkImportService = linkImportService;
+    this.userServiceImpl = userServiceImpl;
+  }
+
+  /**
+   * Queues an import of the CSV request body, one URL per line with an
+   * optional {@code url} header line.
+   *
+   * @param request the request whose body holds the CSV
+   * @return the queued job
+   * @throws IOException if the upload cannot be stored
+   */
+  @PostMapping(consumes = "text/csv")
+  @Operation(summary = "Import short URLs for the current user from a CSV file")
+  public ResponseEntity<ImportJobDto> submit(HttpServletRequest request) throws IOException {
+    ImportJobDto job = linkImportService.submit(
+        userServiceImpl.getCurrentUser(), request.getInputStream());
+    return ResponseEntity.accepted().body(job);
+  }
+
+  /**
+   * Returns the progress of one of the current user's import jobs.
+   *
+   * @param id the job identifier
+   * @return the job progress
+   */
+  @GetMapping("/{id}")
+  @Operation(summary = "Get the progress of a link import")
+  public ResponseEntity<ImportJobDto> getJob(@PathVariable UUID id) {
+    return ResponseEntity.ok(linkImportService.getJob(userServiceImpl.getCurrentUser(), id));
+  }
+}
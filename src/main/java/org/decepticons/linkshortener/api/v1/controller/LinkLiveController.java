@@ -0,0 +1,60 @@
+package org.decepticons.linkshortener.api.v1.controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.decepticons.linkshortener.api.click.ClickBroadcaster;
+import org.decepticons.linkshortener.api.dto.LinkResponseDto;
+import org.decepticons.linkshortener.api.service.LinkService;
+import org.decepticons.linkshortener.api.service.impl.UserServiceImpl;
+import org.springframework.http.MediaType;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * REST controller streaming the clicks of a link live over Server-Sent Events.
+ */
+@Tag(name = "Link Statistics", description = "Click breakdowns of the current user's links")
+@RestController
+@RequestMapping("/api/v1/links")
+public class LinkLiveController {
+
+  private final LinkService linkService;
+  private final UserServiceImpl userServiceImpl;
+  private final ClickBroadcaster clickBroadcaster;
+
+  /**
+   * Constructs a new {@link LinkLiveController} with the given dependencies.
+   *
+   * @param linkService the service resolving links by code
+   * @param userServiceImpl the service resolving the current user
+   * @param clickBroadcaster the fan-out of redirect clicks to live subscribers
+   */
+  public LinkLiveController(LinkService linkService, UserServiceImpl userServiceImpl,
+                            ClickBroadcaster clickBroadcaster) {
+    this.linkService = linkService;
+    this.userServiceImpl = userServiceImpl;
+    this.clickBroadcaster = clickBroadcaster;
+  }
+
+  /**
+   * Streams the clicks of a link of the current user as {@code clicks} events.
+   * Clicks are coalesced into a few messages per second; each message lists the
+   * new clicks and how many were dropped because the client fell behind.
+   *
+   * @param code the short URL code
+   * @return the event stream
+   */
+  @GetMapping(value = "/{code}/live", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+  @Operation(summary = "Stream the clicks of a link of the current user live (SSE)")
+  public SseEmitter streamClicks(@PathVariable String code) {
+    LinkResponseDto link = linkService.getLinkByCode(code);
+    if (!link.ownerId().equals(userServiceImpl.getCurrentUserId())) {
+      throw new AccessDeniedException("You are not allowed to view this link");
+    }
+    return clickBroadcaster.subscribe(code);
+  }
+}
@@ -0,0 +1,55 @@
+package org.decepticons.linkshortener.api.v1.controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import java.util.List;
+import org.decepticons.linkshortener.api.dto.ReferrerCountDto;
+import org.decepticons.linkshortener.api.service.ReferrerStatsService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * REST controller for the referrer breakdown of a link's clicks.
+ */
+@Tag(name = "Link Statistics", description = "Click breakdowns of the current user's links")
+@RestController
+@RequestMapping("/api/v1/links")
+public class LinkReferrerController {
+
+  /**
+   * The largest top-referrer table returned at once.
+   */
+  private static final int MAX_LIMIT = 100;
+
+  private final ReferrerStatsService referrerStatsService;
+
+  /**
+   * Constructs a new {@link LinkReferrerController} with the given dependencies.
+   *
+   * @param referrerStatsService the service holding the referrer counts
+   */
+  public LinkReferrerController(ReferrerStatsService referrerStatsService) {
+    this.referrerStatsService = referrerStatsService;
+  }
+
+  /**
+   * Retrieves the top referring domains of a link of the current user.
+   *
+   * @param code the short URL code
+   * @param limit maximum number of domains (default 10, at most 100)
+   * @return the referring domains with their click counts, most clicks first
+   */
+  @GetMapping("/{code}/referrers")
+  @Operation(summary = "Get the top referring sites of a link of the current user")
+  public ResponseEntity<List<ReferrerCountDto>> getTopReferrers(
+      @PathVariable String code,
+      @RequestParam(defaultValue = "10") int limit
+  ) {
+    int boundedLimit = Math.max(1, Math.min(limit, MAX_LIMIT));
+    return ResponseEntity.ok(referrerStatsService.getTopReferrers(code, boundedLimit));
+  }
+}
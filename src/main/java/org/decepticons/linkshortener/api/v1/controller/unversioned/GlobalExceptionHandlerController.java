@@ -2,12 +2,17 @@ package org.decepticons.linkshortener.api.v1.controller.unversioned;
 
 import java.time.Instant;
 import java.util.Map;
+import org.decepticons.linkshortener.api.exception.AliasAlreadyTakenException;
 import org.decepticons.linkshortener.api.exception.ExpiredTokenException;
+import org.decepticons.linkshortener.api.exception.ImportJobNotFoundException;
+import org.decepticons.linkshortener.api.exception.InvalidCursorException;
+import org.decepticons.linkshortener.api.exception.InvalidLinkFilterException;
 import org.decepticons.linkshortener.api.exception.InvalidPasswordException;
 import org.decepticons.linkshortener.api.exception.InvalidTokenException;
 import org.decepticons.linkshortener.api.exception.NoSuchShortLinkFoundInTheSystemException;
 import org.decepticons.linkshortener.api.exception.NoSuchUserFoundInTheSystemException;
 import org.decepticons.linkshortener.api.exception.ShortLinkIsOutOfDateException;
+import org.decepticons.linkshortener.api.exception.TooManyCodesException;
 import org.decepticons.linkshortener.api.exception.UserAlreadyExistsException;
 import org.decepticons.linkshortener.api.exception.UserNotFoundException;
 import org.springframework.http.HttpStatus;
@@ -218,6 +223,108 @@ public class GlobalExceptionHandlerController {
     );
   }
 
+  /**
+   * Handles exceptions when a custom alias is already in use.
+   *
+   * @param ex Exception instance
+   *
+   * @return Response entity with the alias and free variants of it
+   */
+
+  @ExceptionHandler(AliasAlreadyTakenException.class)
+  public ResponseEntity<Map<String, Object>> handleAliasTaken(
+      final AliasAlreadyTakenException ex) {
+    return buildErrorResponse(
+        HttpStatus.CONFLICT,
+        "Alias Already Taken",
+        ex.getMessage(),
+        Map.of(
+            "alias", ex.getAlias(),
+            "suggestions", ex.getSuggestions()
+        )
+    );
+  }
+
+  /**
+   * Handles exceptions when an import job is not found.
+   *
+   * @param ex Exception instance
+   *
+   * @return Response entity with the job identifier
+   */
+
+  @ExceptionHandler(ImportJobNotFoundException.class)
+  public ResponseEntity<Map<String, Object>> handleImportJobNotFound(
+      final ImportJobNotFoundException ex) {
+    return buildErrorResponse(
+        HttpStatus.NOT_FOUND,
+        "Import Job Not Found",
+        ex.getMessage(),
+        Map.of(
+            "jobId", ex.getJobId()
+        )
+    );
+  }
+
+  /**
+   * Handles exceptions when a bulk operation filter is rejected.
+   *
+   * @param ex Exception instance
+   *
+   * @return Response entity with a BAD_REQUEST status
+   */
+
+  @ExceptionHandler(InvalidLinkFilterException.class)
+  public ResponseEntity<Map<String, Object>> handleInvalidLinkFilter(
+      final InvalidLinkFilterException ex) {
+    return buildErrorResponseSecurity(
+        HttpStatus.BAD_REQUEST,
+        "Invalid Link Filter",
+        ex.getMessage());
+  }
+
+  /**
+   * Handles exceptions when a batch request names too many codes.
+   *
+   * @param ex Exception instance
+   *
+   * @return Response entity with the accepted maximum
+   */
+
+  @ExceptionHandler(TooManyCodesException.class)
+  public ResponseEntity<Map<String, Object>> handleTooManyCodes(
+      final TooManyCodesException ex) {
+    return buildErrorResponse(
+        HttpStatus.BAD_REQUEST,
+        "Too Many Codes",
+        ex.getMessage(),
+        Map.of(
+            "maxCodes", ex.getMaxCodes()
+        )
+    );
+  }
+
+  /**
+   * Handles exceptions when a pagination cursor cannot be decoded.
+   *
+   * @param ex Exception instance
+   *
+   * @return Response entity with the rejected cursor
+   */
+
+  @ExceptionHandler(InvalidCursorException.class)
+  public ResponseEntity<Map<String, Object>> handleInvalidCursor(
+      final InvalidCursorException ex) {
+    return buildErrorResponse(
+        HttpStatus.BAD_REQUEST,
+        "Invalid Cursor",
+        ex.getMessage(),
+        Map.of(
+            "cursor", ex.getCursor()
+        )
+    );
+  }
+
   /**
    * Handles exceptions for bad login credentials.
    *
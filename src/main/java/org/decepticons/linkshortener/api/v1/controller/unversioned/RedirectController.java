@@ -1,11 +1,19 @@
 package org.decepticons.linkshortener.api.v1.controller.unversioned;
 
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import java.io.IOException;
+import org.decepticons.linkshortener.api.click.BotClassifier;
+import org.decepticons.linkshortener.api.click.ClickContext;
+import org.decepticons.linkshortener.api.click.ClickDeduplicator;
+import org.decepticons.linkshortener.api.click.CountryResolver;
+import org.decepticons.linkshortener.api.click.ReferrerParser;
 import org.decepticons.linkshortener.api.dto.LinkResponseDto;
 import org.decepticons.linkshortener.api.exception.ShortLinkIsOutOfDateException;
 import org.decepticons.linkshortener.api.model.LinkStatus;
 import org.decepticons.linkshortener.api.service.impl.LinkServiceImpl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
@@ -20,28 +28,50 @@ import org.springframework.web.bind.annotation.RestController;
 public class RedirectController {
 
   private final LinkServiceImpl linkServiceImpl;
+  private final BotClassifier botClassifier;
+  private final CountryResolver countryResolver;
+  private final ReferrerParser referrerParser;
+  private final ClickDeduplicator clickDeduplicator;
 
   /**
    * Constructs a new {@link RedirectController} with the given dependencies.
    *
    * @param linkServiceImpl the service responsible for link business logic
+   * @param botClassifier the classifier excluding crawlers and link previews from click counts
+   * @param countryResolver the GeoIP lookup enriching counted clicks with a country
+   * @param referrerParser the parser attributing counted clicks to a referring domain
+   * @param clickDeduplicator the window suppressing repeated clicks of the same visitor
    */
-  public RedirectController(LinkServiceImpl linkServiceImpl) {
+  public RedirectController(LinkServiceImpl linkServiceImpl, BotClassifier botClassifier,
+                            CountryResolver countryResolver, ReferrerParser referrerParser,
+                            ClickDeduplicator clickDeduplicator) {
     this.linkServiceImpl = linkServiceImpl;
+    this.botClassifier = botClassifier;
+    this.countryResolver = countryResolver;
+    this.referrerParser = referrerParser;
+    this.clickDeduplicator = clickDeduplicator;
   }
 
   /**
    * Redirects to the original URL by the given short code.
+   * HEAD requests, requests from bots and repeated clicks of the same visitor
+   * within the dedup window are redirected as well, but not counted as clicks.
    *
    * @param code the short URL code
    */
   @GetMapping("/{code}")
-  public void redirect(@PathVariable String code, HttpServletResponse response) throws IOException {
+  public void redirect(@PathVariable String code, HttpServletRequest request,
+                       HttpServletResponse response) throws IOException {
 
     LinkResponseDto linkByCode = linkServiceImpl.getLinkByCode(code);
 
     if (linkServiceImpl.validateLink(linkByCode)) {
-      linkByCode = linkServiceImpl.incrementClicks(linkByCode);
+      if (isCountable(code, request)) {
+        ClickContext context = new ClickContext(
+            countryResolver.countryOf(request.getRemoteAddr()),
+            referrerParser.referringDomain(request.getHeader(HttpHeaders.REFERER)));
+        linkByCode = linkServiceImpl.incrementClicks(linkByCode, context);
+      }
     } else {
       if (linkByCode.status().equalsIgnoreCase(LinkStatus.ACTIVE.name())) {
         linkServiceImpl.deactivateLink(linkByCode);
@@ -55,4 +85,11 @@ public class RedirectController {
 
     response.sendRedirect(linkByCode.originalUrl());
   }
+
+  private boolean isCountable(String code, HttpServletRequest request) {
+    String userAgent = request.getHeader(HttpHeaders.USER_AGENT);
+    return !HttpMethod.HEAD.matches(request.getMethod())
+        && !botClassifier.isBot(userAgent)
+        && clickDeduplicator.isFirstClick(code, request.getRemoteAddr(), userAgent);
+  }
 }
@@ -0,0 +1,5 @@
+-- Indexes for keyset pagination of an owner's links, newest first (H2).
+-- Both end in id, the tie-breaker of equal creation times, so a page is one index range scan
+create index if not exists idx_links_owner_created on links(owner_id, created_at, id);
+
+create index if not exists idx_links_owner_status_created on links(owner_id, status, created_at, id);
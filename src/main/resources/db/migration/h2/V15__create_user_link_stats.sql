@@ -0,0 +1,24 @@
+-- Per-owner link and click totals, maintained with each change to an owner's links (H2).
+-- A reconciliation job recomputes rows that drift from the links table
+create table if not exists user_link_stats (
+    owner_id uuid primary key,
+    total_links bigint not null default 0,
+    active_links bigint not null default 0,
+    inactive_links bigint not null default 0,
+    total_clicks bigint not null default 0,
+    updated_at timestamp not null default now(),
+    constraint fk_user_link_stats_owner
+    foreign key (owner_id) references users(id)
+    on delete cascade
+);
+
+insert into user_link_stats (owner_id, total_links, active_links, inactive_links, total_clicks)
+select u.id,
+       count(l.id),
+       count(case when l.status = 'ACTIVE' then 1 end),
+       count(case when l.status = 'INACTIVE' then 1 end),
+       coalesce(sum(l.clicks), 0)
+from users u
+left join links l on l.owner_id = u.id
+where not exists (select 1 from user_link_stats s where s.owner_id = u.id)
+group by u.id;
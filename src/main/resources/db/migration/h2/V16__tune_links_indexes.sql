@@ -0,0 +1,7 @@
+-- Indexes shaped like the link queries (H2).
+-- H2 has no partial indexes: active links by expiry date use (status, expires_at), and active
+-- listings keep idx_links_owner_status_created; idx_links_owner_id stays as the index of fk_links_owner
+create index if not exists idx_links_active_expires on links(status, expires_at);
+
+drop index if exists idx_links_expires_at;
+drop index if exists idx_links_status;
@@ -0,0 +1,7 @@
+-- Host of the destination URL, for search by domain (H2).
+-- H2 cannot index expressions, so the host is a generated column here; PostgreSQL indexes
+-- the same expression over original_url instead (see the PostgreSQL V18)
+alter table links add column if not exists host varchar generated always as (
+    lower(regexp_substr(original_url, '^[A-Za-z][A-Za-z0-9+.-]*://(?:[^@/?#]*@)?([^:/?#]+)',
+                        1, 1, '', 1))
+);
@@ -0,0 +1,5 @@
+-- Indexes for searching an owner's links (H2).
+-- H2 has no trigram indexes: URL substring search scans the owner's links with LIKE
+create index if not exists idx_links_owner_host_created on links(owner_id, host, created_at, id);
+
+create index if not exists idx_links_owner_code on links(owner_id, code);
@@ -0,0 +1,6 @@
+-- Click journal replay checkpoints (H2)
+create table if not exists click_journal_checkpoints (
+    journal_id varchar(36) primary key,
+    last_sequence bigint not null,
+    updated_at timestamp not null
+);
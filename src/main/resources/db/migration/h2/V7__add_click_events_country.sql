@@ -0,0 +1,2 @@
+-- Country of the client for geo breakdowns (H2)
+alter table click_events add column if not exists country varchar(2) null;
@@ -0,0 +1,7 @@
+-- Short codes reserved by node-local code pools (PostgreSQL)
+create table if not exists code_reservations (
+    code varchar(12) primary key,
+    reserved_at timestamptz not null
+);
+
+create index if not exists idx_code_reservations_reserved_at on code_reservations(reserved_at);
@@ -0,0 +1,9 @@
+-- Leasable node ids of the time-ordered code generator (PostgreSQL).
+-- lease_expires_at is epoch milliseconds; codes of a node never carry a later timestamp
+create table if not exists code_nodes (
+    node_id integer primary key,
+    owner varchar(100),
+    lease_expires_at bigint not null default 0
+);
+
+insert into code_nodes (node_id) select generate_series(0, 255);
@@ -0,0 +1,5 @@
+-- Hash of the normalized original URL, for per-owner deduplication (PostgreSQL).
+-- Links created before this column are never matched
+alter table links add column if not exists url_hash bigint null;
+
+create index if not exists idx_links_owner_url_hash on links(owner_id, url_hash);
@@ -0,0 +1,35 @@
+-- CSV link import jobs and their committed chunks (PostgreSQL).
+-- A chunk row is written in the same transaction as the chunk's links, so a
+-- resumed job skips exactly the chunks that were committed. The uploaded rows
+-- themselves stay in a local file (file_path) until the job finishes
+create table if not exists import_jobs (
+    id uuid primary key,
+    owner_id uuid not null,
+    file_path varchar(500) not null,
+    status varchar(16) not null,
+    chunk_size integer not null,
+    total_rows bigint not null,
+    processed_rows bigint not null default 0,
+    created_rows bigint not null default 0,
+    failed_rows bigint not null default 0,
+    rows_at_start bigint not null default 0,
+    created_at timestamptz not null,
+    started_at timestamptz null,
+    finished_at timestamptz null,
+    error varchar(500) null,
+    constraint fk_import_jobs_owner
+    foreign key (owner_id) references users(id)
+    on delete cascade
+);
+
+create index if not exists idx_import_jobs_status on import_jobs(status);
+
+create table if not exists import_job_chunks (
+    job_id uuid not null,
+    chunk_no integer not null,
+    committed_at timestamptz not null,
+    primary key (job_id, chunk_no),
+    constraint fk_import_job_chunks_job
+    foreign key (job_id) references import_jobs(id)
+    on delete cascade
+);
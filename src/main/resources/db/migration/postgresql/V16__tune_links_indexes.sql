@@ -0,0 +1,17 @@
+-- Indexes shaped like the link queries (PostgreSQL).
+-- Built and dropped CONCURRENTLY so writes to links are not blocked; this script
+-- therefore runs outside a transaction (see the .conf file next to it)
+
+-- Active listings of an owner, newest first; replaces idx_links_owner_status_created
+create index concurrently if not exists idx_links_active_owner_created
+    on links(owner_id, created_at desc, id desc) where status = 'ACTIVE';
+
+-- Active links by expiry date; replaces idx_links_expires_at
+create index concurrently if not exists idx_links_active_expires
+    on links(expires_at) where status = 'ACTIVE';
+
+-- owner_id is the leading column of idx_links_owner_created, and status alone is not selective
+drop index concurrently if exists idx_links_owner_status_created;
+drop index concurrently if exists idx_links_expires_at;
+drop index concurrently if exists idx_links_owner_id;
+drop index concurrently if exists idx_links_status;
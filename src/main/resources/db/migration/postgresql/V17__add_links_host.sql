@@ -0,0 +1,6 @@
+-- Search support for links (PostgreSQL).
+-- The host of the destination URL is not stored: V18 indexes it as an expression over
+-- original_url, which adds no column and so does not rewrite the links table.
+-- pg_trgm and btree_gin back the URL substring index of V18; both are trusted extensions
+create extension if not exists pg_trgm;
+create extension if not exists btree_gin;
@@ -0,0 +1,17 @@
+-- Indexes for searching an owner's links (PostgreSQL).
+-- Built CONCURRENTLY, so this script runs outside a transaction (see the .conf file next to it)
+
+-- Domain equals, newest first. The host expression must stay identical to
+-- JdbcLinkSearchRepository.PG_HOST_EXPRESSION for the planner to match it
+create index concurrently if not exists idx_links_owner_host_created
+    on links(owner_id,
+             (lower(substring(original_url from '^[A-Za-z][A-Za-z0-9+.-]*://(?:[^@/?#]*@)?([^:/?#]+)'))),
+             created_at desc, id desc);
+
+-- URL contains: trigrams of the lower-cased URL, combined with the owner through btree_gin
+create index concurrently if not exists idx_links_owner_url_trgm
+    on links using gin (owner_id, lower(original_url) gin_trgm_ops);
+
+-- Code prefix: varchar_pattern_ops lets LIKE 'abc%' use the index under any collation
+create index concurrently if not exists idx_links_owner_code_pattern
+    on links(owner_id, code varchar_pattern_ops);
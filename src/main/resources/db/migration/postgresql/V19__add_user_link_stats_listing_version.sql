@@ -0,0 +1,3 @@
+-- Version of an owner's link listings, behind their ETags (PostgreSQL).
+-- Incremented by every change of the listings, so that all nodes see it
+alter table user_link_stats add column if not exists listing_version bigint not null default 0;
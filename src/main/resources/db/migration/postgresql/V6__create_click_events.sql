@@ -0,0 +1,11 @@
+-- Click events table (PostgreSQL)
+create table if not exists click_events (
+    id bigserial primary key,
+    link_id uuid not null,
+    clicked_at timestamptz not null,
+    constraint fk_click_events_link
+    foreign key (link_id) references links(id)
+    on delete cascade
+);
+
+create index if not exists idx_click_events_link_id on click_events(link_id, id);
@@ -0,0 +1,11 @@
+-- Per-link click counts by referring domain (PostgreSQL)
+create table if not exists link_referrers (
+    id bigserial primary key,
+    link_id uuid not null,
+    domain varchar(253) not null,
+    clicks bigint not null default 0,
+    constraint uk_link_referrers_link_domain unique (link_id, domain),
+    constraint fk_link_referrers_link
+    foreign key (link_id) references links(id)
+    on delete cascade
+);
@@ -0,0 +1,7 @@
+-- Hi/lo counters for leasing blocks of short code sequence values (PostgreSQL)
+create table if not exists code_blocks (
+    name varchar(32) primary key,
+    next_block bigint not null
+);
+
+insert into code_blocks (name, next_block) values ('links', 0);
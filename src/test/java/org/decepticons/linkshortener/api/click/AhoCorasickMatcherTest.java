@@ -0,0 +1,45 @@
+package org.decepticons.linkshortener.api.click;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class AhoCorasickMatcherTest {
+
+  @Test
+  @DisplayName("Matching - finds any pattern regardless of case")
+  void matchesPatternsCaseInsensitively() {
+    AhoCorasickMatcher matcher = AhoCorasickMatcher.compile(
+        List.of("he", "she", "his", "hers", "Twitterbot"));
+
+    assertTrue(matcher.matches("USHERS"));
+    assertTrue(matcher.matches("xxhisxx"));
+    assertTrue(matcher.matches("Mozilla/5.0 (compatible; twitterBOT/1.0)"));
+    assertFalse(matcher.matches("hxsx"));
+    assertFalse(matcher.matches(""));
+  }
+
+  @Test
+  @DisplayName("Failure links - overlapping prefixes are not missed")
+  void followsFailureLinks() {
+    AhoCorasickMatcher matcher = AhoCorasickMatcher.compile(List.of("abcd", "bce"));
+
+    assertTrue(matcher.matches("abce"));
+    assertFalse(matcher.matches("abcx"));
+  }
+
+  @Test
+  @DisplayName("Compilation - blank and non-ASCII patterns are ignored")
+  void ignoresUnsupportedPatterns() {
+    AhoCorasickMatcher matcher = AhoCorasickMatcher.compile(List.of("", "  ", "ботик"));
+
+    assertEquals(1, matcher.stateCount());
+    assertFalse(matcher.matches("anything at all"));
+    assertFalse(matcher.matches("ботик"));
+  }
+
+}
@@ -0,0 +1,67 @@
+package org.decepticons.linkshortener.api.click;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class BotClassifierTest {
+
+  private static final String BROWSER = "Mozilla/5.0 (Windows NT 10.0; Win64; x64) "
+      + "AppleWebKit/537.36 (KHTML, like Gecko) Chrome/126.0 Safari/537.36";
+
+  @TempDir
+  Path directory;
+
+  @Test
+  @DisplayName("Built-in signatures - previews and crawlers are bots, browsers are not")
+  void classifiesWellKnownUserAgents() {
+    BotClassifier classifier = new BotClassifier("");
+
+    assertTrue(classifier.isBot("facebookexternalhit/1.1 (+http://www.facebook.com/externalhit)"));
+    assertTrue(classifier.isBot("Slackbot-LinkExpanding 1.0 (+https://api.slack.com/robots)"));
+    assertTrue(classifier.isBot(null));
+    assertFalse(classifier.isBot(BROWSER));
+    // second lookup is served from the verdict cache
+    assertFalse(classifier.isBot(BROWSER));
+  }
+
+  @Test
+  @DisplayName("Built-in signatures - in-app browsers count, their crawlers do not")
+  void countsInAppBrowsers() {
+    BotClassifier classifier = new BotClassifier("");
+
+    assertFalse(classifier.isBot("Mozilla/5.0 (Linux; Android 14; Pixel 8) AppleWebKit/537.36 "
+        + "(KHTML, like Gecko) Chrome/126.0 Mobile Safari/537.36 [Pinterest/Android]"));
+    assertFalse(classifier.isBot("Mozilla/5.0 (iPhone; CPU iPhone OS 17_5 like Mac OS X) "
+        + "AppleWebKit/605.1.15 (KHTML, like Gecko) Mobile/15E148 Tumblr/iOS/34.2"));
+    assertTrue(classifier.isBot("Pinterest/0.2 (+https://www.pinterest.com/bot.html)"));
+    assertTrue(classifier.isBot("Mozilla/5.0 (compatible; Pinterestbot/1.0; "
+        + "+http://www.pinterest.com/bot.html)"));
+  }
+
+  @Test
+  @DisplayName("Hot reload - a changed signature file replaces the list")
+  void reloadsChangedSignatureFile() throws IOException {
+    Path file = directory.resolve("signatures.txt");
+    Files.write(file, List.of("# custom list", "curl"));
+    BotClassifier classifier = new BotClassifier(file.toString());
+
+    assertTrue(classifier.isBot("curl/8.5.0"));
+    assertFalse(classifier.isBot("Twitterbot/1.0"));
+
+    Files.write(file, List.of("twitterbot"));
+    Files.setLastModifiedTime(file, FileTime.fromMillis(System.currentTimeMillis() + 10_000));
+    classifier.reloadIfChanged();
+
+    assertFalse(classifier.isBot("curl/8.5.0"));
+    assertTrue(classifier.isBot("Twitterbot/1.0"));
+  }
+}
@@ -0,0 +1,51 @@
+package org.decepticons.linkshortener.api.click;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class ClickDeduplicatorTest {
+
+  private static final long START = 1_700_000_000_000L;
+
+  @Test
+  @DisplayName("Dedup window - repeats count once until the window has passed")
+  void suppressesRepeatsWithinTheWindow() {
+    ClickDeduplicator deduplicator = new ClickDeduplicator(30, 1 << 16);
+    long visitor = ClickDeduplicator.fingerprint("abc123", "203.0.113.7", "Mozilla/5.0");
+
+    assertTrue(deduplicator.isFirstClick(visitor, START));
+    assertFalse(deduplicator.isFirstClick(visitor, START + 1_000));
+    assertFalse(deduplicator.isFirstClick(visitor, START + 29_000));
+    assertTrue(deduplicator.isFirstClick(visitor, START + 41_000));
+    assertFalse(deduplicator.isFirstClick(visitor, START + 42_000));
+  }
+
+  @Test
+  @DisplayName("Dedup window - visitors and links are told apart")
+  void distinguishesVisitorsAndLinks() {
+    ClickDeduplicator deduplicator = new ClickDeduplicator(30, 1 << 16);
+    long first = ClickDeduplicator.fingerprint("abc123", "203.0.113.7", "Mozilla/5.0");
+    long otherLink = ClickDeduplicator.fingerprint("abc124", "203.0.113.7", "Mozilla/5.0");
+    long otherAgent = ClickDeduplicator.fingerprint("abc123", "203.0.113.7", "curl/8.0");
+
+    assertNotEquals(first, otherLink);
+    assertTrue(deduplicator.isFirstClick(first, START));
+    assertTrue(deduplicator.isFirstClick(otherLink, START));
+    assertTrue(deduplicator.isFirstClick(otherAgent, START));
+    assertNotEquals(ClickDeduplicator.fingerprint("ab", "c", null),
+        ClickDeduplicator.fingerprint("a", "bc", null));
+  }
+
+  @Test
+  @DisplayName("Dedup window - disabled window counts every click")
+  void countsEveryClickWhenDisabled() {
+    ClickDeduplicator deduplicator = new ClickDeduplicator(0, 1 << 16);
+
+    assertTrue(deduplicator.isFirstClick("abc123", "203.0.113.7", "Mozilla/5.0"));
+    assertTrue(deduplicator.isFirstClick("abc123", "203.0.113.7", "Mozilla/5.0"));
+  }
+}
@@ -0,0 +1,43 @@
+package org.decepticons.linkshortener.api.click;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class FingerprintSetTest {
+
+  @Test
+  @DisplayName("Add and Contains - duplicates and the zero fingerprint")
+  void addsEachFingerprintOnce() {
+    FingerprintSet set = new FingerprintSet(8);
+
+    assertTrue(set.add(42L));
+    assertFalse(set.add(42L));
+    assertTrue(set.add(0L));
+    assertTrue(set.contains(0L));
+    assertTrue(set.add(-1L));
+    assertFalse(set.contains(7L));
+    assertEquals(3, set.size());
+  }
+
+  @Test
+  @DisplayName("Capacity - full set rejects new fingerprints until cleared")
+  void rejectsFingerprintsBeyondTheCap() {
+    FingerprintSet set = new FingerprintSet(100);
+    for (long i = 1; i <= 100; i++) {
+      assertTrue(set.add(i * 0x10000L));
+    }
+
+    assertTrue(set.isFull());
+    assertFalse(set.add(12345L));
+    assertTrue(set.contains(100 * 0x10000L));
+
+    set.clear();
+    assertEquals(0, set.size());
+    assertFalse(set.contains(0x10000L));
+    assertTrue(set.add(12345L));
+  }
+}
@@ -0,0 +1,63 @@
+package org.decepticons.linkshortener.api.click;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class GeoIpTableTest {
+
+  private static GeoIpTable parse(String csv) throws IOException {
+    return GeoIpTable.parse(new BufferedReader(new StringReader(csv)));
+  }
+
+  @Test
+  @DisplayName("Lookup - dotted ranges, boundaries and gaps")
+  void looksUpDottedRanges() throws IOException {
+    GeoIpTable table = parse("""
+        ip_start,ip_end,country
+        "1.0.0.0","1.0.0.255","AU"
+        "2.16.0.0","2.16.255.255","DE"
+        "5.0.0.0","5.0.0.9","-"
+        "8.8.8.0","8.8.8.255","us"
+        """);
+
+    assertEquals(3, table.size());
+    assertEquals("AU", GeoIpTable.countryCode(table.lookup("1.0.0.0")));
+    assertEquals("AU", GeoIpTable.countryCode(table.lookup("1.0.0.255")));
+    assertEquals("DE", GeoIpTable.countryCode(table.lookup("2.16.100.1")));
+    assertEquals("US", GeoIpTable.countryCode(table.lookup("::ffff:8.8.8.8")));
+    assertNull(GeoIpTable.countryCode(table.lookup("1.0.1.0")));
+    assertNull(GeoIpTable.countryCode(table.lookup("0.255.255.255")));
+    assertNull(GeoIpTable.countryCode(table.lookup("5.0.0.1")));
+  }
+
+  @Test
+  @DisplayName("Parsing - integer addresses in any order")
+  void parsesUnsortedIntegerRanges() throws IOException {
+    GeoIpTable table = parse("""
+        # integer form
+        134744064,134744319,US
+        16777216,16777471,AU
+        """);
+
+    assertEquals("AU", GeoIpTable.countryCode(table.lookup(16777300L)));
+    assertEquals("US", GeoIpTable.countryCode(table.lookup("8.8.8.8")));
+  }
+
+  @Test
+  @DisplayName("Address parsing - invalid input is rejected")
+  void rejectsInvalidAddresses() {
+    assertEquals(0x7F000001L, GeoIpTable.parseIpv4("127.0.0.1"));
+    assertEquals(-1, GeoIpTable.parseIpv4("256.0.0.1"));
+    assertEquals(-1, GeoIpTable.parseIpv4("1.2.3"));
+    assertEquals(-1, GeoIpTable.parseIpv4("1..2.3"));
+    assertEquals(-1, GeoIpTable.parseIpv4("2001:db8::1"));
+    assertEquals(-1, GeoIpTable.parseIpv4(null));
+    assertEquals(GeoIpTable.UNKNOWN, GeoIpTable.empty().lookup("1.2.3.4"));
+  }
+}
@@ -0,0 +1,51 @@
+package org.decepticons.linkshortener.api.click;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.Instant;
+import org.decepticons.linkshortener.api.dto.LiveClickDto;
+import org.decepticons.linkshortener.api.dto.LiveClicksDto;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class LiveClickBufferTest {
+
+  private static LiveClickDto click(long millis) {
+    return new LiveClickDto(Instant.ofEpochMilli(millis), "US", null);
+  }
+
+  @Test
+  @DisplayName("Read - clicks between two positions")
+  void readsClicksBetweenPositions() {
+    LiveClickBuffer buffer = new LiveClickBuffer(4);
+    buffer.append(click(1));
+    buffer.append(click(2));
+    buffer.append(click(3));
+
+    LiveClicksDto message = buffer.read(1, buffer.position());
+
+    assertEquals(3, buffer.position());
+    assertEquals(2, message.clicks().size());
+    assertEquals(click(2), message.clicks().get(0));
+    assertEquals(0, message.dropped());
+    assertEquals(0, buffer.read(3, 3).clicks().size());
+  }
+
+  @Test
+  @DisplayName("Read - slow reader loses the oldest clicks")
+  void dropsOldestClicksForSlowReaders() {
+    LiveClickBuffer buffer = new LiveClickBuffer(4);
+    for (long i = 0; i < 10; i++) {
+      buffer.append(click(i));
+    }
+
+    LiveClicksDto message = buffer.read(0, 10);
+    assertEquals(6, message.dropped());
+    assertEquals(4, message.clicks().size());
+    assertEquals(click(6), message.clicks().get(0));
+
+    LiveClicksDto stale = buffer.read(2, 5);
+    assertEquals(3, stale.dropped());
+    assertEquals(0, stale.clicks().size());
+  }
+}
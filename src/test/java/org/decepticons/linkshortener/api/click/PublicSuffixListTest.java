@@ -0,0 +1,57 @@
+package org.decepticons.linkshortener.api.click;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class PublicSuffixListTest {
+
+  private PublicSuffixList list;
+
+  @BeforeEach
+  void setUp() throws IOException {
+    list = PublicSuffixList.parse(new BufferedReader(new StringReader("""
+        // comment
+        com
+        uk
+        co.uk
+        github.io
+        *.ck
+        !www.ck
+        """)));
+  }
+
+  @Test
+  @DisplayName("Registrable domain - plain and multi-level suffixes")
+  void resolvesRegistrableDomains() {
+    assertEquals(6, list.size());
+    assertEquals("ycombinator.com", list.registrableDomain("news.ycombinator.com"));
+    assertEquals("ycombinator.com", list.registrableDomain("ycombinator.com"));
+    assertEquals("bbc.co.uk", list.registrableDomain("www.bbc.co.uk"));
+    assertEquals("user.github.io", list.registrableDomain("docs.user.github.io"));
+    assertEquals("example.test", list.registrableDomain("a.b.example.test"));
+  }
+
+  @Test
+  @DisplayName("Registrable domain - wildcard and exception rules")
+  void appliesWildcardAndExceptionRules() {
+    assertEquals("shop.foo.ck", list.registrableDomain("shop.foo.ck"));
+    assertNull(list.registrableDomain("foo.ck"));
+    assertEquals("www.ck", list.registrableDomain("www.ck"));
+    assertEquals("www.ck", list.registrableDomain("a.www.ck"));
+  }
+
+  @Test
+  @DisplayName("Registrable domain - public suffixes themselves have none")
+  void returnsNullForPublicSuffixes() {
+    assertNull(list.registrableDomain("co.uk"));
+    assertNull(list.registrableDomain("com"));
+    assertNull(list.registrableDomain("localhost"));
+  }
+}
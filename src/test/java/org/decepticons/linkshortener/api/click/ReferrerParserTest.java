@@ -0,0 +1,43 @@
+package org.decepticons.linkshortener.api.click;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class ReferrerParserTest {
+
+  private final ReferrerParser parser = new ReferrerParser("", 2);
+
+  @Test
+  @DisplayName("Referring domain - built-in suffix list")
+  void reducesReferrersToRegistrableDomains() {
+    assertEquals("ycombinator.com",
+        parser.referringDomain("https://news.ycombinator.com/item?id=1"));
+    assertEquals("bbc.co.uk", parser.referringDomain("http://www.BBC.co.uk./news"));
+    assertEquals("google.com", parser.referringDomain("https://user@www.google.com:443#top"));
+    assertEquals("someone.github.io", parser.referringDomain("https://someone.github.io/"));
+    assertEquals("10.0.0.1", parser.referringDomain("http://10.0.0.1:8080/"));
+  }
+
+  @Test
+  @DisplayName("Referring domain - direct traffic and malformed referrers")
+  void ignoresMissingAndMalformedReferrers() {
+    assertNull(parser.referringDomain(null));
+    assertNull(parser.referringDomain(""));
+    assertNull(parser.referringDomain("android-app://com.slack"));
+    assertNull(parser.referringDomain("not a url"));
+    assertNull(parser.referringDomain("https:///path"));
+  }
+
+  @Test
+  @DisplayName("Referring domain - cached results survive eviction")
+  void resolvesAgainAfterEviction() {
+    for (int i = 0; i < 3; i++) {
+      assertEquals("a.com", parser.referringDomain("https://x.a.com/"));
+      assertEquals("b.org", parser.referringDomain("https://b.org/"));
+      assertEquals("c.net", parser.referringDomain("https://www.c.net/"));
+    }
+  }
+}
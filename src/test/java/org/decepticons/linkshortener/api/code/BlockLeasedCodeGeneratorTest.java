@@ -0,0 +1,76 @@
+package org.decepticons.linkshortener.api.code;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class BlockLeasedCodeGeneratorTest {
+
+  @Test
+  @DisplayName("Next Code - one lease per block, consecutive codes without scrambling")
+  void leasesBlocksLazily() {
+    AtomicLong blocks = new AtomicLong();
+    LongSupplier leaser = blocks::getAndIncrement;
+    BlockLeasedCodeGenerator generator = new BlockLeasedCodeGenerator(leaser, 3, 7, null);
+
+    assertEquals("aaaaaaa", generator.nextCode());
+    assertEquals("aaaaaab", generator.nextCode());
+    assertEquals("aaaaaac", generator.nextCode());
+    assertEquals(1, blocks.get());
+    assertEquals("aaaaaad", generator.nextCode());
+    assertEquals(2, blocks.get());
+  }
+
+  @Test
+  @DisplayName("Next Code - codes move to the next length when a keyspace is full")
+  void growsCodeLengthAfterKeyspace() {
+    long blockSize = Base62.keyspace(2);
+    BlockLeasedCodeGenerator generator = new BlockLeasedCodeGenerator(() -> 1, blockSize, 2,
+        new CodeScrambler("secret"));
+
+    String code = generator.nextCode();
+
+    assertEquals(3, code.length());
+  }
+
+  @Test
+  @DisplayName("Next Code - unique across concurrent callers and nodes")
+  void issuesUniqueCodesConcurrently() throws Exception {
+    AtomicLong sharedCounter = new AtomicLong();
+    CodeScrambler scrambler = new CodeScrambler("secret");
+    BlockLeasedCodeGenerator nodeA =
+        new BlockLeasedCodeGenerator(sharedCounter::getAndIncrement, 50, 7, scrambler);
+    BlockLeasedCodeGenerator nodeB =
+        new BlockLeasedCodeGenerator(sharedCounter::getAndIncrement, 50, 7, scrambler);
+    Set<String> codes = ConcurrentHashMap.newKeySet();
+
+    ExecutorService executor = Executors.newFixedThreadPool(8);
+    try {
+      Future<?>[] futures = new Future<?>[8];
+      for (int t = 0; t < futures.length; t++) {
+        BlockLeasedCodeGenerator generator = t % 2 == 0 ? nodeA : nodeB;
+        futures[t] = executor.submit(() -> {
+          for (int i = 0; i < 5_000; i++) {
+            assertTrue(codes.add(generator.nextCode()));
+          }
+        });
+      }
+      for (Future<?> future : futures) {
+        future.get();
+      }
+    } finally {
+      executor.shutdown();
+    }
+
+    assertEquals(40_000, codes.size());
+  }
+}
@@ -0,0 +1,87 @@
+package org.decepticons.linkshortener.api.code;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class CodeAvailabilityIndexTest {
+
+  @Test
+  @DisplayName("Is Taken - reflects the loaded codes and local creates and deletes")
+  void tracksLoadedAndLocalCodes() {
+    List<String> database = new ArrayList<>(List.of("abc123", "promo", "sale"));
+    CodeAvailabilityIndex index = new CodeAvailabilityIndex(
+        sink -> database.stream().sorted().forEach(sink), Long.MAX_VALUE, 1000);
+
+    assertTrue(index.isTaken("promo"));
+    assertFalse(index.isTaken("promo2"));
+
+    index.codeTaken("promo2");
+    index.codeFreed("sale");
+
+    assertTrue(index.isTaken("promo2"));
+    assertFalse(index.isTaken("sale"));
+
+    database.remove("sale");
+    database.add("promo2");
+    index.rebuild();
+
+    assertTrue(index.isTaken("promo2"));
+    assertFalse(index.isTaken("sale"));
+    index.codeTaken("sale");
+    assertTrue(index.isTaken("sale"));
+  }
+
+  @Test
+  @DisplayName("Suggest - offers free numbered variants within the length limit")
+  void suggestsFreeVariants() {
+    CodeAvailabilityIndex index = new CodeAvailabilityIndex(
+        sink -> List.of("promo", "promo-2", "promo1", "springsale12").forEach(sink),
+        Long.MAX_VALUE, 1000);
+
+    assertEquals(List.of("promo-1", "promo2", "promo3", "promo-3", "promo4"),
+        index.suggest("promo", 5, 12));
+    assertEquals(List.of("springsale11", "springsale-1"), index.suggest("springsale12", 2, 12));
+  }
+
+  @Test
+  @DisplayName("Rebuild If Due - reloads only once the overlays are full")
+  void rebuildsOnOverlaySize() {
+    AtomicInteger loads = new AtomicInteger();
+    CodeAvailabilityIndex index = new CodeAvailabilityIndex(sink -> {
+      loads.incrementAndGet();
+      sink.accept("promo");
+    }, Long.MAX_VALUE, 2);
+
+    index.warmUp();
+    index.codeTaken("sale");
+    index.rebuildIfDue();
+    assertEquals(1, loads.get());
+
+    index.codeFreed("promo");
+    index.rebuildIfDue();
+    assertEquals(2, loads.get());
+    assertTrue(index.isTaken("sale"));
+  }
+
+  @Test
+  @DisplayName("Rebuild - codes out of order keep the previous snapshot")
+  void keepsSnapshotOnUnsortedCodes() {
+    List<String> database = new ArrayList<>(List.of("abc", "promo"));
+    CodeAvailabilityIndex index = new CodeAvailabilityIndex(
+        sink -> database.forEach(sink), Long.MAX_VALUE, 1000);
+    assertTrue(index.isTaken("promo"));
+
+    database.add("aaa");
+    index.rebuild();
+
+    assertTrue(index.isTaken("promo"));
+    assertFalse(index.isTaken("aaa"));
+  }
+}
@@ -0,0 +1,87 @@
+package org.decepticons.linkshortener.api.code;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class CodePoolGeneratorTest {
+
+  /**
+   * Reserver remembering every code it handed out and refusing the first code of each
+   * batch of more than one, as if it had been taken already.
+   */
+  private static final class FakeReserver implements CodeReserver {
+    private final Set<String> reserved = new HashSet<>();
+    private int batches;
+
+    @Override
+    public List<String> reserve(List<String> candidates) {
+      batches++;
+      int from = candidates.size() > 1 ? 1 : 0;
+      List<String> granted = new ArrayList<>(candidates.subList(from, candidates.size()));
+      granted.removeIf(code -> !reserved.add(code));
+      return granted;
+    }
+  }
+
+  private static KeyspaceMonitor emptyKeyspace() {
+    return new KeyspaceMonitor(() -> new long[0], new SimpleMeterRegistry(), 7, 0.001);
+  }
+
+  @Test
+  @DisplayName("Refill - tops the pool up in reservation batches and publishes its depth")
+  void refillsPoolInBatches() {
+    FakeReserver reserver = new FakeReserver();
+    SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    CodePoolGenerator generator = new CodePoolGenerator(
+        reserver, registry, emptyKeyspace(), 100, 40, 200, Duration.ofHours(1));
+
+    generator.refill();
+
+    assertEquals(100, generator.depth());
+    assertEquals(4, reserver.batches);
+    assertEquals(100.0, registry.get("link.code.pool.depth").gauge().value());
+    assertEquals(4, registry.get("link.code.pool.refill").timer().count());
+  }
+
+  @Test
+  @DisplayName("Next Code - serves distinct reserved codes and refills an empty pool")
+  void servesReservedCodes() {
+    FakeReserver reserver = new FakeReserver();
+    CodePoolGenerator generator = new CodePoolGenerator(
+        reserver, new SimpleMeterRegistry(), emptyKeyspace(), 10, 10, 200, Duration.ofHours(1));
+    Set<String> codes = new HashSet<>();
+
+    for (int i = 0; i < 25; i++) {
+      String code = generator.nextCode();
+      assertEquals(7, code.length());
+      assertTrue(reserver.reserved.contains(code));
+      assertTrue(codes.add(code));
+    }
+    assertFalse(generator.depth() > 10);
+  }
+
+  @Test
+  @DisplayName("Next Code - codes pooled longer than the reservation TTL are discarded")
+  void discardsExpiredCodes() throws InterruptedException {
+    FakeReserver reserver = new FakeReserver();
+    CodePoolGenerator generator = new CodePoolGenerator(
+        reserver, new SimpleMeterRegistry(), emptyKeyspace(), 5, 5, 200, Duration.ofMillis(50));
+
+    generator.refill();
+    int batchesBefore = reserver.batches;
+    Thread.sleep(100);
+    generator.nextCode();
+
+    assertTrue(reserver.batches > batchesBefore);
+  }
+}
@@ -0,0 +1,49 @@
+package org.decepticons.linkshortener.api.code;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.BitSet;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class CodeScramblerTest {
+
+  @Test
+  @DisplayName("Permutation - bijective on a keyspace")
+  void permutesEveryValueToADistinctValue() {
+    CodeScrambler scrambler = new CodeScrambler("secret");
+    long n = Base62.keyspace(3);
+    BitSet seen = new BitSet((int) n);
+
+    for (long value = 0; value < n; value++) {
+      long permuted = scrambler.permute(value, n);
+      assertTrue(permuted >= 0 && permuted < n);
+      assertTrue(!seen.get((int) permuted), "duplicate output " + permuted);
+      seen.set((int) permuted);
+    }
+    assertEquals(n, seen.cardinality());
+  }
+
+  @Test
+  @DisplayName("Permutation - depends on the secret and hides neighbours")
+  void scattersConsecutiveValues() {
+    long n = Base62.keyspace(7);
+    CodeScrambler scrambler = new CodeScrambler("secret");
+
+    assertEquals(scrambler.permute(1, n), new CodeScrambler("secret").permute(1, n));
+    assertNotEquals(scrambler.permute(1, n), new CodeScrambler("other").permute(1, n));
+    assertTrue(Math.abs(scrambler.permute(2, n) - scrambler.permute(1, n)) > 1_000);
+  }
+
+  @Test
+  @DisplayName("Base62 - fixed-width round trip")
+  void encodesAndDecodesBase62() {
+    assertEquals("aaaaaaa", Base62.encode(0, 7));
+    assertEquals("aaaaaab", Base62.encode(1, 7));
+    assertEquals("9999999", Base62.encode(Base62.keyspace(7) - 1, 7));
+    assertEquals(123_456_789L, Base62.decode(Base62.encode(123_456_789L, 7)));
+    assertEquals(-1, Base62.decode("ab-c"));
+  }
+}
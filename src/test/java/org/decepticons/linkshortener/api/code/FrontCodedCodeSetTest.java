@@ -0,0 +1,78 @@
+package org.decepticons.linkshortener.api.code;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class FrontCodedCodeSetTest {
+
+  @Test
+  @DisplayName("Contains - finds every stored code and nothing else")
+  void containsExactlyTheStoredCodes() {
+    SplittableRandom random = new SplittableRandom(7);
+    Set<String> stored = new HashSet<>();
+    while (stored.size() < 5000) {
+      stored.add(Base62.encode(random.nextLong(Base62.keyspace(7)), 7));
+    }
+    stored.add("promo");
+    stored.add("promo-1");
+    String[] codes = stored.toArray(new String[0]);
+
+    FrontCodedCodeSet set = FrontCodedCodeSet.of(codes, codes.length);
+
+    assertEquals(stored.size(), set.size());
+    for (String code : stored) {
+      assertTrue(set.contains(code), code);
+    }
+    for (int i = 0; i < 5000; i++) {
+      String probe = Base62.encode(random.nextLong(Base62.keyspace(7)), 7);
+      assertEquals(stored.contains(probe), set.contains(probe), probe);
+    }
+    assertFalse(set.contains("prom"));
+    assertFalse(set.contains("promo-"));
+    assertFalse(set.contains(""));
+    assertTrue(set.encodedBytes() < stored.size() * 8);
+  }
+
+  @Test
+  @DisplayName("Of - drops duplicates and codes that cannot be stored")
+  void dropsDuplicates() {
+    String[] codes = {"b", "a", "b", "été"};
+
+    FrontCodedCodeSet set = FrontCodedCodeSet.of(codes, codes.length);
+
+    assertEquals(2, set.size());
+    assertTrue(set.contains("a"));
+    assertTrue(set.contains("b"));
+    assertFalse(FrontCodedCodeSet.empty().contains("a"));
+  }
+
+  @Test
+  @DisplayName("Builder - takes sorted codes one by one and replays them in order")
+  void buildsFromSortedCodes() {
+    FrontCodedCodeSet.Builder builder = new FrontCodedCodeSet.Builder();
+    List<String> sorted = new ArrayList<>();
+    for (int i = 0; i < 100; i++) {
+      sorted.add(String.format("ab%03d", i));
+    }
+    sorted.forEach(builder::add);
+    builder.add("ab099");
+
+    FrontCodedCodeSet set = builder.build();
+    List<String> replayed = new ArrayList<>();
+    set.forEach(code -> replayed.add(code.toString()));
+
+    assertEquals(sorted, replayed);
+    assertTrue(set.contains("ab042"));
+    assertThrows(IllegalArgumentException.class, () -> builder.add("ab000"));
+  }
+}
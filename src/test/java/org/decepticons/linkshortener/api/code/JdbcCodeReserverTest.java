@@ -0,0 +1,103 @@
+package org.decepticons.linkshortener.api.code;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.List;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+class JdbcCodeReserverTest {
+
+  /**
+   * Template whose first lookups miss the reservations, as if another node
+   * reserved the same codes between the lookup and the insert.
+   */
+  private static final class RacingJdbcTemplate extends JdbcTemplate {
+    private int racingLookups;
+
+    private RacingJdbcTemplate(DataSource dataSource, int racingLookups) {
+      super(dataSource);
+      this.racingLookups = racingLookups;
+    }
+
+    @Override
+    public <T> List<T> queryForList(String sql, Class<T> elementType, Object... args) {
+      if (racingLookups > 0) {
+        racingLookups--;
+        return List.of();
+      }
+      return super.queryForList(sql, elementType, args);
+    }
+  }
+
+  private DriverManagerDataSource dataSource;
+
+  private JdbcTemplate jdbcTemplate;
+
+  @BeforeEach
+  void setUp() {
+    dataSource = new DriverManagerDataSource(
+        "jdbc:h2:mem:code-reservations;MODE=PostgreSQL;DB_CLOSE_DELAY=-1", "sa", "");
+    jdbcTemplate = new JdbcTemplate(dataSource);
+    jdbcTemplate.execute("create table links (code varchar(12) primary key)");
+    jdbcTemplate.execute("""
+        create table code_reservations (
+          code varchar(12) primary key, reserved_at timestamp not null)
+        """);
+    jdbcTemplate.update("insert into links (code) values ('linked1')");
+    jdbcTemplate.update("insert into code_reservations (code, reserved_at) values (?, ?)",
+        "taken01", Timestamp.from(Instant.now()));
+  }
+
+  @AfterEach
+  void tearDown() {
+    jdbcTemplate.execute("drop table code_reservations");
+    jdbcTemplate.execute("drop table links");
+  }
+
+  private JdbcCodeReserver reserver(int racingLookups) {
+    return new JdbcCodeReserver(new RacingJdbcTemplate(dataSource, racingLookups),
+        new DataSourceTransactionManager(dataSource));
+  }
+
+  @Test
+  @DisplayName("Reserve - codes used by links or reserved already are skipped")
+  void reservesFreeCodes() {
+    List<String> reserved = reserver(0).reserve(List.of("linked1", "taken01", "free001"));
+
+    assertEquals(List.of("free001"), reserved);
+    assertEquals(2, jdbcTemplate.queryForObject(
+        "select count(*) from code_reservations", Integer.class));
+  }
+
+  @Test
+  @DisplayName("Reserve - a batch racing another node is retried without the taken codes")
+  void retriesDuplicateReservation() {
+    List<String> reserved = reserver(1).reserve(List.of("taken01", "free001", "free002"));
+
+    assertEquals(List.of("free001", "free002"), reserved);
+    assertEquals(3, jdbcTemplate.queryForObject(
+        "select count(*) from code_reservations", Integer.class));
+  }
+
+  @Test
+  @DisplayName("Reserve - a batch that keeps racing gives up after a few attempts")
+  void givesUpOnRepeatedDuplicates() {
+    JdbcCodeReserver reserver = reserver(JdbcCodeReserver.MAX_ATTEMPTS);
+
+    assertThrows(DuplicateKeyException.class,
+        () -> reserver.reserve(List.of("taken01", "free001")));
+    assertEquals(1, jdbcTemplate.queryForObject(
+        "select count(*) from code_reservations", Integer.class));
+  }
+}
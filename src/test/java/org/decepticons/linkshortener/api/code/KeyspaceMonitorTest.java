@@ -0,0 +1,120 @@
+package org.decepticons.linkshortener.api.code;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+class KeyspaceMonitorTest {
+
+  @Test
+  @DisplayName("Current Length - starts at the minimum length on an empty table")
+  void startsAtMinimumLength() {
+    KeyspaceMonitor monitor =
+        new KeyspaceMonitor(() -> new long[0], new SimpleMeterRegistry(), 7, 0.001);
+
+    assertEquals(7, monitor.currentLength());
+    assertEquals(0.0, monitor.occupancy(7));
+  }
+
+  @Test
+  @DisplayName("Current Length - moves to longer codes once a length crosses the threshold")
+  void growsPastSaturatedLengths() {
+    long[] counts = new long[Base62.MAX_LENGTH + 1];
+    counts[7] = Base62.keyspace(7) / 1000 + 1;
+    counts[8] = Base62.keyspace(8) / 1000 - 1;
+    SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    KeyspaceMonitor monitor = new KeyspaceMonitor(() -> counts, registry, 7, 0.001);
+
+    assertEquals(8, monitor.currentLength());
+
+    monitor.linkCreated("abcdefgh");
+    monitor.linkCreated("abcdefgh");
+
+    assertEquals(9, monitor.currentLength());
+    assertEquals(9.0, registry.get("link.code.length").gauge().value());
+
+    monitor.linkDeleted("abcdefgh");
+    monitor.linkDeleted("abcdefgh");
+
+    assertEquals(8, monitor.currentLength());
+  }
+
+  @Test
+  @DisplayName("Resync - loads the counts once and replaces them on each resync")
+  void loadsCountsLazily() {
+    AtomicInteger loads = new AtomicInteger();
+    long[] counts = new long[Base62.MAX_LENGTH + 1];
+    KeyspaceMonitor monitor = new KeyspaceMonitor(() -> {
+      loads.incrementAndGet();
+      return counts.clone();
+    }, new SimpleMeterRegistry(), 7, 0.001);
+
+    monitor.linkCreated("abcdefg");
+    monitor.currentLength();
+    monitor.currentLength();
+
+    assertEquals(1, loads.get());
+    assertEquals(0.0, monitor.occupancy(7));
+
+    counts[7] = Base62.keyspace(7);
+    monitor.resync();
+
+    assertEquals(2, loads.get());
+    assertEquals(1.0, monitor.occupancy(7));
+    assertEquals(8, monitor.currentLength());
+  }
+
+  @Test
+  @DisplayName("Resync - a failed first load is retried on the next lookup")
+  void retriesFailedFirstLoad() {
+    AtomicInteger loads = new AtomicInteger();
+    long[] counts = new long[Base62.MAX_LENGTH + 1];
+    counts[7] = Base62.keyspace(7);
+    KeyspaceMonitor monitor = new KeyspaceMonitor(() -> {
+      if (loads.incrementAndGet() == 1) {
+        throw new DataAccessResourceFailureException("down");
+      }
+      return counts;
+    }, new SimpleMeterRegistry(), 7, 0.001);
+
+    assertEquals(7, monitor.currentLength());
+    assertEquals(8, monitor.currentLength());
+    assertEquals(2, loads.get());
+  }
+
+  @Test
+  @DisplayName("Link Created - counted only once the transaction commits")
+  void countsCommittedCreatesOnly() {
+    KeyspaceMonitor monitor =
+        new KeyspaceMonitor(() -> new long[0], new SimpleMeterRegistry(), 7, 0.001);
+    monitor.currentLength();
+
+    TransactionSynchronizationManager.initSynchronization();
+    try {
+      monitor.linkCreated("abcdefg");
+      assertEquals(0.0, monitor.occupancy(7));
+      TransactionSynchronizationUtils.invokeAfterCompletion(
+          TransactionSynchronizationManager.getSynchronizations(),
+          TransactionSynchronization.STATUS_ROLLED_BACK);
+    } finally {
+      TransactionSynchronizationManager.clearSynchronization();
+    }
+    assertEquals(0.0, monitor.occupancy(7));
+
+    TransactionSynchronizationManager.initSynchronization();
+    try {
+      monitor.linkCreated("abcdefg");
+      TransactionSynchronizationUtils.triggerAfterCommit();
+    } finally {
+      TransactionSynchronizationManager.clearSynchronization();
+    }
+    assertEquals(1.0 / Base62.keyspace(7), monitor.occupancy(7));
+  }
+}
@@ -0,0 +1,117 @@
+package org.decepticons.linkshortener.api.code;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class SnowflakeCodeGeneratorTest {
+
+  private static final long START = SnowflakeCodeGenerator.EPOCH + 1_000_000;
+
+  /**
+   * Leaser handing out one node id whose previous lease ended at a given time.
+   */
+  private static final class FakeLeaser implements NodeLeaser {
+    private final int nodeId;
+    private final long previousExpiry;
+    private int acquisitions;
+    private boolean renewable = true;
+
+    private FakeLeaser(int nodeId, long previousExpiry) {
+      this.nodeId = nodeId;
+      this.previousExpiry = previousExpiry;
+    }
+
+    @Override
+    public Lease acquire(String owner, long now, long expiresAt) {
+      acquisitions++;
+      return new Lease(nodeId, previousExpiry);
+    }
+
+    @Override
+    public boolean renew(int nodeId, String owner, long expiresAt) {
+      return renewable;
+    }
+
+    @Override
+    public void release(int nodeId, String owner, long expiresAt) {
+    }
+  }
+
+  @Test
+  @DisplayName("Next Code - codes are unique and increasing across sequence overflows")
+  void codesIncreaseMonotonically() {
+    AtomicLong time = new AtomicLong(START);
+    AtomicLong reads = new AtomicLong();
+    FakeLeaser leaser = new FakeLeaser(3, 0);
+    SnowflakeCodeGenerator generator = new SnowflakeCodeGenerator(leaser,
+        () -> reads.incrementAndGet() % 5000 == 0 ? time.incrementAndGet() : time.get(),
+        30_000, 500);
+    Set<String> codes = new HashSet<>();
+    long previous = -1;
+
+    for (int i = 0; i < 10_000; i++) {
+      String code = generator.nextCode();
+      long value = Base62.decode(code);
+      assertEquals(Base62.MAX_LENGTH, code.length());
+      assertTrue(value > previous);
+      assertEquals(3, (value >>> SnowflakeCodeGenerator.SEQUENCE_BITS)
+          & SnowflakeCodeGenerator.MAX_NODE_ID);
+      assertTrue(codes.add(code));
+      previous = value;
+    }
+    assertEquals(1, leaser.acquisitions);
+  }
+
+  @Test
+  @DisplayName("Next Code - timestamps never precede the end of the node id's previous lease")
+  void waitsOutPreviousLease() {
+    AtomicLong time = new AtomicLong(START);
+    FakeLeaser leaser = new FakeLeaser(0, START + 100);
+    SnowflakeCodeGenerator generator =
+        new SnowflakeCodeGenerator(leaser, time::incrementAndGet, 30_000, 500);
+
+    long value = Base62.decode(generator.nextCode());
+
+    long timestamp = (value >>> (SnowflakeCodeGenerator.NODE_BITS
+        + SnowflakeCodeGenerator.SEQUENCE_BITS)) + SnowflakeCodeGenerator.EPOCH;
+    assertTrue(timestamp >= START + 100);
+  }
+
+  @Test
+  @DisplayName("Next Code - a large backward clock step is refused")
+  void refusesClockSteppingBack() {
+    AtomicLong time = new AtomicLong(START);
+    SnowflakeCodeGenerator generator =
+        new SnowflakeCodeGenerator(new FakeLeaser(1, 0), time::get, 30_000, 500);
+    generator.nextCode();
+
+    time.addAndGet(-1000);
+
+    assertThrows(IllegalStateException.class, generator::nextCode);
+    time.addAndGet(1001);
+    generator.nextCode();
+  }
+
+  @Test
+  @DisplayName("Next Code - an expired lease taken over by another node is replaced")
+  void reacquiresLostLease() {
+    AtomicLong time = new AtomicLong(START);
+    FakeLeaser leaser = new FakeLeaser(2, 0);
+    SnowflakeCodeGenerator generator =
+        new SnowflakeCodeGenerator(leaser, time::get, 1000, 500);
+    generator.nextCode();
+
+    time.addAndGet(2000);
+    leaser.renewable = false;
+    generator.nextCode();
+
+    assertEquals(2, leaser.acquisitions);
+  }
+}
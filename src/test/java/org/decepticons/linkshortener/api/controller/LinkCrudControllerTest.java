@@ -4,6 +4,7 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -18,6 +19,7 @@ import org.decepticons.linkshortener.api.dto.UrlRequestDto;
 import org.decepticons.linkshortener.api.exception.NoSuchUserFoundInTheSystemException;
 import org.decepticons.linkshortener.api.model.User;
 import org.decepticons.linkshortener.api.service.LinkService;
+import org.decepticons.linkshortener.api.service.ListingVersionService;
 import org.decepticons.linkshortener.api.service.impl.UserServiceImpl;
 import org.decepticons.linkshortener.api.v1.controller.LinkCrudController;
 import org.junit.jupiter.api.BeforeEach;
@@ -30,10 +32,14 @@ import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.context.request.ServletWebRequest;
 
 @ExtendWith(MockitoExtension.class)
 @DisplayName("Short Link Creation Tests")
@@ -45,6 +51,9 @@ class LinkCrudControllerTest {
   @Mock
   UserServiceImpl userServiceImpl;
 
+  @Mock
+  private ListingVersionService listingVersionService;
+
   @InjectMocks
   private LinkCrudController linkController;
 
@@ -132,7 +141,8 @@ class LinkCrudControllerTest {
 
     when(linkService.getAllMyLinks(page, size)).thenReturn(mockPage);
 
-    ResponseEntity<Page<LinkResponseDto>> response = linkController.getAllMyLinks(page, size);
+    ResponseEntity<Page<LinkResponseDto>> response = linkController.getAllMyLinks(page, size,
+        webRequest());
 
     assertNotNull(response.getBody());
     assertEquals(2, response.getBody().getContent().size());
@@ -170,7 +180,8 @@ class LinkCrudControllerTest {
 
     Page<LinkResponseDto> mockPage = new PageImpl<>(List.of(link1, link2));
     when(linkService.getAllMyActiveLinks(page, size)).thenReturn(mockPage);
-    ResponseEntity<Page<LinkResponseDto>> response = linkController.getAllMyActiveLinks(page, size);
+    ResponseEntity<Page<LinkResponseDto>> response = linkController.getAllMyActiveLinks(page, size,
+        webRequest());
     assertNotNull(response.getBody());
     assertEquals(2, response.getBody().getContent().size());
     assertEquals("code1", response.getBody().getContent().get(0).code());
@@ -178,6 +189,37 @@ class LinkCrudControllerTest {
     verify(linkService, times(1)).getAllMyActiveLinks(page, size);
   }
 
+  @Test
+  @DisplayName("Get All My Links - Not Modified")
+  void getAllMyLinksNotModified() {
+    when(listingVersionService.currentTag("all", 0, 10)).thenReturn("v1");
+    MockHttpServletRequest request = new MockHttpServletRequest();
+    request.addHeader(HttpHeaders.IF_NONE_MATCH, "\"v1\"");
+
+    ResponseEntity<Page<LinkResponseDto>> response = linkController.getAllMyLinks(0, 10,
+        new ServletWebRequest(request, new MockHttpServletResponse()));
+
+    assertEquals(HttpStatus.NOT_MODIFIED, response.getStatusCode());
+    assertEquals("\"v1\"", response.getHeaders().getETag());
+    assertNull(response.getBody());
+    verify(linkService, never()).getAllMyLinks(0, 10);
+  }
+
+  @Test
+  @DisplayName("Get All My Links - Tagged When Changed")
+  void getAllMyLinksTagged() {
+    when(listingVersionService.currentTag("all", 0, 10)).thenReturn("v2");
+    when(linkService.getAllMyLinks(0, 10)).thenReturn(new PageImpl<>(List.of()));
+    MockHttpServletRequest request = new MockHttpServletRequest();
+    request.addHeader(HttpHeaders.IF_NONE_MATCH, "\"v1\"");
+
+    ResponseEntity<Page<LinkResponseDto>> response = linkController.getAllMyLinks(0, 10,
+        new ServletWebRequest(request, new MockHttpServletResponse()));
+
+    assertEquals(HttpStatus.OK, response.getStatusCode());
+    assertEquals("\"v2\"", response.getHeaders().getETag());
+  }
+
   @Test
   @DisplayName("Delete Link - Success")
   void testDeleteLinkSuccess() {
@@ -217,4 +259,8 @@ class LinkCrudControllerTest {
     verify(linkService, times(1))
         .updateLinkExpiration(code, requestDto.getNewExpirationDate());
   }
+
+  private static ServletWebRequest webRequest() {
+    return new ServletWebRequest(new MockHttpServletRequest(), new MockHttpServletResponse());
+  }
 }
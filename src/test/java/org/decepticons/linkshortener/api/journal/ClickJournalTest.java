@@ -0,0 +1,157 @@
+package org.decepticons.linkshortener.api.journal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class ClickJournalTest {
+
+  @TempDir
+  Path directory;
+
+  private ClickJournal openJournal(int segmentRecords) {
+    ClickJournal journal = new ClickJournal(true, directory.toString(), segmentRecords, 60_000);
+    journal.open();
+    return journal;
+  }
+
+  @Test
+  @DisplayName("Append and Read - only synced records are visible")
+  void appendedRecordsBecomeReadableAfterSync() throws IOException {
+    ClickJournal journal = openJournal(16);
+    Instant now = Instant.ofEpochMilli(1_700_000_000_000L);
+
+    assertTrue(journal.append("abc123", now, "UA"));
+    assertTrue(journal.append("xyz789", now.plusMillis(5), null));
+    assertEquals(0, journal.readAfter(0, 100).records().size());
+
+    journal.sync();
+    ClickJournalBatch batch = journal.readAfter(0, 100);
+
+    assertEquals(2, batch.records().size());
+    assertEquals(2, batch.lastSequence());
+    assertEquals(new ClickRecord(1, "abc123", now, "UA"), batch.records().get(0));
+    assertEquals(null, batch.records().get(1).country());
+    assertEquals("xyz789", batch.records().get(1).code());
+    journal.close();
+  }
+
+  @Test
+  @DisplayName("Rotation - records spanning segments are read in order")
+  void readsAcrossRotatedSegments() throws IOException {
+    ClickJournal journal = openJournal(4);
+    for (int i = 0; i < 10; i++) {
+      journal.append("code" + i, Instant.now(), null);
+    }
+    journal.sync();
+
+    assertEquals(3, countSegments());
+    ClickJournalBatch first = journal.readAfter(0, 6);
+    assertEquals(6, first.lastSequence());
+    ClickJournalBatch rest = journal.readAfter(first.lastSequence(), 100);
+    assertEquals(4, rest.records().size());
+    assertEquals("code9", rest.records().get(3).code());
+    journal.close();
+  }
+
+  @Test
+  @DisplayName("Recovery - sequence continues after reopen")
+  void recoversWritePositionAfterRestart() throws IOException {
+    ClickJournal journal = openJournal(8);
+    journal.append("abc123", Instant.now(), null);
+    journal.append("abc123", Instant.now(), null);
+    journal.close();
+    String journalId = journal.getJournalId();
+
+    ClickJournal reopened = openJournal(8);
+    reopened.append("def456", Instant.now(), null);
+    reopened.sync();
+
+    assertEquals(journalId, reopened.getJournalId());
+    ClickJournalBatch batch = reopened.readAfter(2, 100);
+    assertEquals(1, batch.records().size());
+    assertEquals(3, batch.records().get(0).sequence());
+    reopened.close();
+  }
+
+  @Test
+  @DisplayName("Recovery - a torn record ends the journal")
+  void stopsAtCorruptedTailRecord() throws IOException {
+    ClickJournal journal = openJournal(8);
+    journal.append("abc123", Instant.now(), null);
+    journal.append("abc123", Instant.now(), null);
+    journal.close();
+
+    Path segment;
+    try (Stream<Path> files = Files.list(directory)) {
+      segment = files.filter(p -> p.getFileName().toString().startsWith("segment-"))
+          .findFirst().orElseThrow();
+    }
+    try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.WRITE)) {
+      channel.write(ByteBuffer.wrap(new byte[] {42}), ClickJournal.RECORD_SIZE + 20);
+    }
+
+    ClickJournal reopened = openJournal(8);
+    reopened.append("def456", Instant.now(), null);
+    reopened.sync();
+
+    ClickJournalBatch batch = reopened.readAfter(0, 100);
+    assertEquals(2, batch.records().size());
+    assertEquals("def456", batch.records().get(1).code());
+    reopened.close();
+  }
+
+  @Test
+  @DisplayName("Cleanup - replayed sealed segments are deleted, the active one is kept")
+  void deletesReplayedSegments() throws IOException {
+    ClickJournal journal = openJournal(4);
+    for (int i = 0; i < 9; i++) {
+      journal.append("abc123", Instant.now(), null);
+    }
+    journal.sync();
+
+    journal.deleteSegmentsThrough(5);
+    assertEquals(2, countSegments());
+    journal.deleteSegmentsThrough(9);
+    assertEquals(1, countSegments());
+    journal.close();
+  }
+
+  @Test
+  @DisplayName("Disabled - appends are rejected")
+  void disabledJournalRejectsAppends() {
+    ClickJournal journal = new ClickJournal(false, directory.toString(), 4, 50);
+    journal.open();
+
+    assertFalse(journal.isOpen());
+    assertFalse(journal.append("abc123", Instant.now(), null));
+  }
+
+  @Test
+  @DisplayName("Enabled - a directory must be configured")
+  void enabledJournalRequiresDirectory() {
+    ClickJournal journal = new ClickJournal(true, "", 4, 50);
+
+    assertThrows(IllegalStateException.class, journal::open);
+    assertFalse(journal.isOpen());
+  }
+
+  private long countSegments() throws IOException {
+    try (Stream<Path> files = Files.list(directory)) {
+      return files.filter(p -> p.getFileName().toString().startsWith("segment-")).count();
+    }
+  }
+}
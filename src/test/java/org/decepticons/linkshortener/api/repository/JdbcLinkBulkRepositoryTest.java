@@ -0,0 +1,138 @@
+package org.decepticons.linkshortener.api.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+import org.decepticons.linkshortener.api.dto.LinkFilterDto;
+import org.decepticons.linkshortener.api.model.LinkStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.jdbc.JdbcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+@JdbcTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:bulk-repository;MODE=PostgreSQL;DB_CLOSE_DELAY=-1",
+    "spring.flyway.enabled=true",
+    "spring.flyway.locations=classpath:db/migration/h2"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(JdbcLinkBulkRepository.class)
+class JdbcLinkBulkRepositoryTest {
+
+  private static final Instant CREATED = Instant.parse("2025-01-01T10:00:00Z");
+
+  private static final LinkFilterDto ALL = new LinkFilterDto(null, null, null, null, null, null);
+
+  @Autowired
+  private JdbcLinkBulkRepository repository;
+
+  @Autowired
+  private JdbcTemplate jdbcTemplate;
+
+  private UUID ownerId;
+
+  @BeforeEach
+  void setUp() {
+    ownerId = UUID.randomUUID();
+    jdbcTemplate.update("insert into users (id, username, password_hash) values (?, ?, 'hash')",
+        ownerId, "bulk-" + ownerId);
+    insertLink("act1", LinkStatus.ACTIVE, 10);
+    insertLink("act2", LinkStatus.ACTIVE, 20);
+    insertLink("act3", LinkStatus.ACTIVE, 30);
+    insertLink("ina1", LinkStatus.INACTIVE, 1);
+    insertLink("ina2", LinkStatus.INACTIVE, 2);
+    jdbcTemplate.update("""
+        insert into user_link_stats (owner_id, total_links, active_links, inactive_links,
+                                     total_clicks)
+        values (?, 5, 3, 2, 63)
+        """, ownerId);
+  }
+
+  @Test
+  @DisplayName("Deactivate - active links in several chunks, with the totals moved")
+  void deactivatesInChunks() {
+    List<List<String>> chunks = runInChunks(2,
+        limit -> repository.deactivate(ownerId, ALL, limit));
+
+    assertEquals(List.of(2, 1, 0), chunks.stream().map(List::size).toList());
+    assertEquals(List.of("act1", "act2", "act3"), sorted(chunks));
+    assertEquals(5, count("status = 'INACTIVE'"));
+    assertEquals(Map.of("total", 5L, "active", 0L, "inactive", 5L, "clicks", 63L), stats());
+  }
+
+  @Test
+  @DisplayName("Delete - matching links in several chunks, with the totals reduced")
+  void deletesInChunks() {
+    LinkFilterDto inactive = new LinkFilterDto(null, LinkStatus.INACTIVE, null, null, null, null);
+    List<List<String>> chunks = runInChunks(1,
+        limit -> repository.delete(ownerId, inactive, limit));
+
+    assertEquals(List.of(1, 1, 0), chunks.stream().map(List::size).toList());
+    assertEquals(List.of("ina1", "ina2"), sorted(chunks));
+    assertEquals(3, count("status = 'ACTIVE'"));
+    assertEquals(3, count("1 = 1"));
+    assertEquals(Map.of("total", 3L, "active", 3L, "inactive", 0L, "clicks", 60L), stats());
+  }
+
+  @Test
+  @DisplayName("Expiration - all links in several chunks, each updated once")
+  void updatesExpirationInChunks() {
+    Instant expiresAt = Instant.parse("2030-01-01T00:00:00Z");
+    List<List<String>> chunks = runInChunks(2,
+        limit -> repository.updateExpiration(ownerId, ALL, expiresAt, limit));
+
+    assertEquals(List.of(2, 2, 1, 0), chunks.stream().map(List::size).toList());
+    assertEquals(List.of("act1", "act2", "act3", "ina1", "ina2"), sorted(chunks));
+    assertEquals(5, jdbcTemplate.queryForObject(
+        "select count(*) from links where owner_id = ? and expires_at = ?", Integer.class,
+        ownerId, Timestamp.from(expiresAt)));
+    assertEquals(Map.of("total", 5L, "active", 3L, "inactive", 2L, "clicks", 63L), stats());
+  }
+
+  private static List<List<String>> runInChunks(int limit,
+                                                Function<Integer, List<String>> chunk) {
+    List<List<String>> chunks = new ArrayList<>();
+    List<String> codes;
+    do {
+      codes = chunk.apply(limit);
+      chunks.add(codes);
+    } while (!codes.isEmpty());
+    return chunks;
+  }
+
+  private static List<String> sorted(List<List<String>> chunks) {
+    return chunks.stream().flatMap(List::stream).sorted().toList();
+  }
+
+  private int count(String condition) {
+    return jdbcTemplate.queryForObject(
+        "select count(*) from links where owner_id = ? and " + condition, Integer.class,
+        ownerId);
+  }
+
+  private Map<String, Long> stats() {
+    return jdbcTemplate.queryForObject("""
+        select total_links, active_links, inactive_links, total_clicks
+        from user_link_stats where owner_id = ?
+        """, (rs, rowNum) -> Map.of("total", rs.getLong(1), "active", rs.getLong(2),
+        "inactive", rs.getLong(3), "clicks", rs.getLong(4)), ownerId);
+  }
+
+  private void insertLink(String code, LinkStatus status, long clicks) {
+    jdbcTemplate.update("""
+        insert into links (id, code, original_url, owner_id, created_at, clicks, status)
+        values (?, ?, ?, ?, ?, ?, ?)
+        """, UUID.randomUUID(), code, "https://example.com/" + code, ownerId,
+        Timestamp.from(CREATED), clicks, status.name());
+  }
+}
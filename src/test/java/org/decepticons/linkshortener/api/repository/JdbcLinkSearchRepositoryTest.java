@@ -0,0 +1,112 @@
+package org.decepticons.linkshortener.api.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import org.decepticons.linkshortener.api.dto.LinkResponseDto;
+import org.decepticons.linkshortener.api.dto.LinkSearchDto;
+import org.decepticons.linkshortener.api.util.LinkCursor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.jdbc.JdbcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+@JdbcTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:search-repository;MODE=PostgreSQL;DB_CLOSE_DELAY=-1",
+    "spring.flyway.enabled=true",
+    "spring.flyway.locations=classpath:db/migration/h2"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(JdbcLinkSearchRepository.class)
+class JdbcLinkSearchRepositoryTest {
+
+  private static final Instant CREATED = Instant.parse("2025-01-01T10:00:00Z");
+
+  @Autowired
+  private JdbcLinkSearchRepository repository;
+
+  @Autowired
+  private JdbcTemplate jdbcTemplate;
+
+  private UUID ownerId;
+
+  @BeforeEach
+  void setUp() {
+    ownerId = insertUser();
+    insertLink(ownerId, "abc1", "https://Shop.Example.com/a", 0);
+    insertLink(ownerId, "abc2", "https://user@shop.example.com:8080/b?q=1", 60);
+    insertLink(ownerId, "abd1", "https://other.org/sale/50%off", 120);
+    insertLink(ownerId, "abd2", "https://other.org/sale/50xoff", 180);
+    insertLink(ownerId, "x_y1", "https://other.org/x", 240);
+    insertLink(insertUser(), "abc3", "https://shop.example.com/c", 300);
+  }
+
+  @Test
+  @DisplayName("Search - by domain, case-insensitively and past user info and port")
+  void searchesByDomain() {
+    assertEquals(List.of("abc2", "abc1"), searchAllPages(new LinkSearchDto(
+        " SHOP.example.com ", null, null)));
+  }
+
+  @Test
+  @DisplayName("Search - by URL text, with a literal percent sign")
+  void searchesByUrlTextWithLiteralWildcard() {
+    assertEquals(List.of("abd1"), searchAllPages(new LinkSearchDto(null, "50%OFF", null)));
+    assertEquals(List.of("abd2", "abd1"), searchAllPages(new LinkSearchDto(null, "/sale/", null)));
+  }
+
+  @Test
+  @DisplayName("Search - by code prefix, with a literal underscore")
+  void searchesByCodePrefix() {
+    assertEquals(List.of("abd2", "abd1"), searchAllPages(new LinkSearchDto(null, null, "abd")));
+    assertEquals(List.of("x_y1"), searchAllPages(new LinkSearchDto(null, null, "x_")));
+    assertEquals(List.of(), searchAllPages(new LinkSearchDto(null, null, "a_c")));
+  }
+
+  @Test
+  @DisplayName("Search - criteria combined")
+  void combinesCriteria() {
+    assertEquals(List.of("abc1"), searchAllPages(new LinkSearchDto(
+        "shop.example.com", "/a", "abc")));
+  }
+
+  /**
+   * Reads one link per page, following the keyset cursor of the last link.
+   */
+  private List<String> searchAllPages(LinkSearchDto criteria) {
+    List<String> codes = new ArrayList<>();
+    LinkCursor after = null;
+    List<LinkResponseDto> page;
+    do {
+      page = repository.search(ownerId, criteria, after, 1);
+      for (LinkResponseDto link : page) {
+        codes.add(link.code());
+        after = new LinkCursor(link.createdAt(), link.id());
+      }
+    } while (!page.isEmpty());
+    return codes;
+  }
+
+  private UUID insertUser() {
+    UUID id = UUID.randomUUID();
+    jdbcTemplate.update("insert into users (id, username, password_hash) values (?, ?, 'hash')",
+        id, "search-" + id);
+    return id;
+  }
+
+  private void insertLink(UUID owner, String code, String url, long createdAfterSeconds) {
+    jdbcTemplate.update("""
+        insert into links (id, code, original_url, owner_id, created_at)
+        values (?, ?, ?, ?, ?)
+        """, UUID.randomUUID(), code, url, owner,
+        Timestamp.from(CREATED.plusSeconds(createdAfterSeconds)));
+  }
+}
@@ -0,0 +1,204 @@
+package org.decepticons.linkshortener.api.repository;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.HashSet;
+import java.util.Set;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+/**
+ * Checks the PostgreSQL plans of the link queries against a seeded dataset
+ * of {@code benchmark.rows} links (10M by default), including the searches. Statements are prepared
+ * and explained with {@code plan_cache_mode = force_generic_plan}, the plan
+ * the JDBC driver ends up with after a few executions. Needs Docker; run with
+ * {@code ./gradlew indexBenchmark}.
+ */
+@Tag("benchmark")
+class LinkIndexPlanBenchmarkTest {
+
+  private static final Logger LOG = LoggerFactory.getLogger(LinkIndexPlanBenchmarkTest.class);
+
+  private static final int USERS = 1000;
+
+  private static final ObjectMapper MAPPER = new ObjectMapper();
+
+  private static PostgreSQLContainer<?> postgres;
+
+  private static Connection connection;
+
+  private static String ownerId;
+
+  @BeforeAll
+  static void seed() throws SQLException {
+    postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+    postgres.start();
+    Flyway.configure()
+        .dataSource(postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword())
+        .locations("classpath:db/migration/postgresql")
+        .load()
+        .migrate();
+
+    long rows = Long.getLong("benchmark.rows", 10_000_000L);
+    connection = DriverManager.getConnection(postgres.getJdbcUrl(), postgres.getUsername(),
+        postgres.getPassword());
+    try (Statement statement = connection.createStatement()) {
+      statement.execute("""
+          INSERT INTO users (id, username, password_hash)
+          SELECT gen_random_uuid(), 'user' || g, 'hash' FROM generate_series(1, %d) g
+          """.formatted(USERS));
+      long started = System.nanoTime();
+      statement.execute("""
+          INSERT INTO links (id, code, original_url, owner_id, created_at, expires_at, status)
+          SELECT gen_random_uuid(), 'b' || to_hex(g), 'https://example.com/' || g,
+                 owners.ids[1 + g %% %d],
+                 now() - g * interval '1 second',
+                 now() + (g %% 90 - 30) * interval '1 day',
+                 CASE WHEN g %% 5 = 0 THEN 'INACTIVE' ELSE 'ACTIVE' END
+          FROM generate_series(1, %d) g,
+               (SELECT array_agg(id ORDER BY id) AS ids FROM users) owners
+          """.formatted(USERS, rows));
+      statement.execute("ANALYZE links");
+      LOG.info("Seeded {} links in {} s", rows, (System.nanoTime() - started) / 1_000_000_000L);
+      statement.execute("SET plan_cache_mode = force_generic_plan");
+      try (ResultSet rs = statement.executeQuery("SELECT id FROM users ORDER BY id LIMIT 1")) {
+        rs.next();
+        ownerId = rs.getString(1);
+      }
+    }
+  }
+
+  @AfterAll
+  static void stop() throws SQLException {
+    if (connection != null) {
+      connection.close();
+    }
+    if (postgres != null) {
+      postgres.stop();
+    }
+  }
+
+  @Test
+  @DisplayName("First page of active links reads the partial owner index in order")
+  void activeListingUsesPartialIndex() throws Exception {
+    JsonNode plan = explain("active_first", "(uuid)", """
+        SELECT id, code, original_url, created_at, expires_at, clicks, status, owner_id
+        FROM links WHERE owner_id = $1 AND status = 'ACTIVE'
+        ORDER BY created_at DESC, id DESC LIMIT 21
+        """, "'" + ownerId + "'");
+
+    assertUsesIndex(plan, "idx_links_active_owner_created");
+  }
+
+  @Test
+  @DisplayName("Keyset page of active links continues on the partial owner index")
+  void activeKeysetUsesPartialIndex() throws Exception {
+    JsonNode plan = explain("active_after", "(uuid, timestamptz, uuid)", """
+        SELECT id, code, original_url, created_at, expires_at, clicks, status, owner_id
+        FROM links WHERE owner_id = $1 AND status = 'ACTIVE'
+          AND (created_at < $2 OR (created_at = $2 AND id < $3))
+        ORDER BY created_at DESC, id DESC LIMIT 21
+        """, "'" + ownerId + "', now() - interval '30 days', '" + ownerId + "'");
+
+    assertUsesIndex(plan, "idx_links_active_owner_created");
+  }
+
+  @Test
+  @DisplayName("Listing of all links reads the owner index in order")
+  void listingUsesOwnerIndex() throws Exception {
+    JsonNode plan = explain("all_first", "(uuid)", """
+        SELECT id, code, original_url, created_at, expires_at, clicks, status, owner_id
+        FROM links WHERE owner_id = $1
+        ORDER BY created_at DESC, id DESC LIMIT 21
+        """, "'" + ownerId + "'");
+
+    assertUsesIndex(plan, "idx_links_owner_created");
+  }
+
+  @Test
+  @DisplayName("Active links due to expire are found through the partial expiry index")
+  void expiringLinksUsePartialIndex() throws Exception {
+    JsonNode plan = explain("expiring", "(timestamptz)", """
+        SELECT id, code FROM links WHERE status = 'ACTIVE' AND expires_at < $1
+        ORDER BY expires_at LIMIT 1000
+        """, "now()");
+
+    assertUsesIndex(plan, "idx_links_active_expires");
+  }
+
+  @Test
+  @DisplayName("Search by domain reads the owner/host index in order")
+  void domainSearchUsesHostIndex() throws Exception {
+    JsonNode plan = explain("by_domain", "(uuid, text)", """
+        SELECT id, code, original_url, created_at, expires_at, clicks, status, owner_id
+        FROM links WHERE owner_id = $1 AND %s = $2
+        ORDER BY created_at DESC, id DESC LIMIT 21
+        """.formatted(JdbcLinkSearchRepository.PG_HOST_EXPRESSION),
+        "'" + ownerId + "', 'example.com'");
+
+    assertUsesIndex(plan, "idx_links_owner_host_created");
+  }
+
+  @Test
+  @DisplayName("Search by URL text uses the owner/trigram index")
+  void urlSearchUsesTrigramIndex() throws Exception {
+    JsonNode plan = explain("by_url", "(uuid, text)", """
+        SELECT id, code, original_url, created_at, expires_at, clicks, status, owner_id
+        FROM links WHERE owner_id = $1 AND lower(original_url) LIKE $2
+        ORDER BY created_at DESC, id DESC LIMIT 21
+        """, "'" + ownerId + "', '%12345%'");
+
+    Set<String> indexes = new HashSet<>();
+    collect(plan, indexes, new HashSet<>());
+    assertTrue(indexes.contains("idx_links_owner_url_trgm"),
+        () -> "Expected idx_links_owner_url_trgm in " + plan);
+  }
+
+  private static JsonNode explain(String name, String types, String sql, String arguments)
+      throws Exception {
+    try (Statement statement = connection.createStatement()) {
+      statement.execute("PREPARE " + name + types + " AS " + sql);
+      try (ResultSet rs = statement.executeQuery(
+          "EXPLAIN (ANALYZE, BUFFERS, FORMAT JSON) EXECUTE " + name + "(" + arguments + ")")) {
+        rs.next();
+        JsonNode result = MAPPER.readTree(rs.getString(1)).get(0);
+        LOG.info("{}: {} ms", name, result.get("Execution Time").asDouble());
+        return result.get("Plan");
+      }
+    }
+  }
+
+  private static void assertUsesIndex(JsonNode plan, String index) {
+    Set<String> indexes = new HashSet<>();
+    Set<String> nodeTypes = new HashSet<>();
+    collect(plan, indexes, nodeTypes);
+    assertTrue(indexes.contains(index), () -> "Expected " + index + " in " + plan);
+    assertFalse(nodeTypes.contains("Seq Scan"), () -> "Sequential scan in " + plan);
+    assertFalse(nodeTypes.contains("Sort"), () -> "Sort in " + plan);
+  }
+
+  private static void collect(JsonNode node, Set<String> indexes, Set<String> nodeTypes) {
+    if (node.has("Index Name")) {
+      indexes.add(node.get("Index Name").asText());
+    }
+    nodeTypes.add(node.path("Node Type").asText());
+    for (JsonNode child : node.path("Plans")) {
+      collect(child, indexes, nodeTypes);
+    }
+  }
+}
@@ -0,0 +1,129 @@
+package org.decepticons.linkshortener.api.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import jakarta.persistence.EntityManagerFactory;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import org.decepticons.linkshortener.api.dto.LinkResponseDto;
+import org.decepticons.linkshortener.api.model.Link;
+import org.decepticons.linkshortener.api.model.LinkStatus;
+import org.decepticons.linkshortener.api.model.User;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+@DataJpaTest(properties = {
+    "spring.jpa.hibernate.ddl-auto=create-drop",
+    "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+class LinkRepositoryProjectionTest {
+
+  @Autowired
+  private LinkRepository linkRepository;
+
+  @Autowired
+  private TestEntityManager entityManager;
+
+  @Autowired
+  private EntityManagerFactory entityManagerFactory;
+
+  private Statistics statistics;
+
+  private User owner;
+
+  @BeforeEach
+  void setUp() {
+    owner = new User();
+    owner.setUsername("projection");
+    owner.setPasswordHash("hash");
+    entityManager.persist(owner);
+    for (int i = 0; i < 3; i++) {
+      Link link = new Link();
+      link.setCode("proj" + i);
+      link.setOriginalUrl("https://example.com/" + i);
+      link.setOwner(owner);
+      link.setStatus(i == 0 ? LinkStatus.INACTIVE : LinkStatus.ACTIVE);
+      link.setExpiresAt(Instant.now().plusSeconds(3600));
+      entityManager.persist(link);
+    }
+    entityManager.flush();
+    entityManager.clear();
+
+    statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    statistics.clear();
+  }
+
+  @Test
+  @DisplayName("Listings are read into DTOs without loading entities")
+  void listingsLoadNoEntities() {
+    PageRequest pageable = PageRequest.of(0, 2, Sort.by("createdAt").descending());
+
+    Page<LinkResponseDto> all = linkRepository.findAllByOwnerId(owner.getId(), pageable);
+    Page<LinkResponseDto> active = linkRepository.findAllActiveByOwnerId(owner.getId(),
+        pageable);
+    List<LinkResponseDto> page = linkRepository.findPageByOwnerId(owner.getId(), pageable);
+
+    assertEquals(3, all.getTotalElements());
+    assertEquals(2, active.getTotalElements());
+    assertEquals(2, page.size());
+    assertEquals(owner.getId(), page.get(0).ownerId());
+    assertEquals(0, statistics.getEntityLoadCount());
+    assertEquals(0, statistics.getEntityFetchCount());
+  }
+
+  @Test
+  @DisplayName("Keyset pages are read into DTOs without loading entities")
+  void keysetPagesLoadNoEntities() {
+    List<LinkResponseDto> first = linkRepository.findNewestByOwner(owner.getId(), Limit.of(2));
+    LinkResponseDto last = first.get(1);
+    List<LinkResponseDto> next = linkRepository.findByOwnerAfter(owner.getId(),
+        last.createdAt(), last.id(), Limit.of(2));
+    List<LinkResponseDto> active = linkRepository.findNewestActiveByOwner(owner.getId(),
+        Limit.of(1));
+    List<LinkResponseDto> nextActive = linkRepository.findActiveByOwnerAfter(owner.getId(),
+        active.get(0).createdAt(), active.get(0).id(), Limit.of(2));
+
+    assertEquals(2, first.size());
+    assertEquals(1, next.size());
+    assertEquals(1, nextActive.size());
+    assertEquals(LinkStatus.ACTIVE.name(), nextActive.get(0).status());
+    assertEquals(owner.getId(), next.get(0).ownerId());
+    assertEquals(0, statistics.getEntityLoadCount());
+    assertEquals(0, statistics.getEntityFetchCount());
+  }
+
+  @Test
+  @DisplayName("Lookup by code is read into a DTO without loading entities")
+  void lookupByCodeLoadsNoEntities() {
+    Optional<LinkResponseDto> link = linkRepository.findResponseByCode("proj1");
+
+    assertTrue(link.isPresent());
+    assertEquals(LinkStatus.ACTIVE.name(), link.get().status());
+    assertEquals(0, statistics.getEntityLoadCount());
+    assertEquals(0, statistics.getEntityFetchCount());
+  }
+
+  @Test
+  @DisplayName("Batch lookup by codes is read into DTOs without loading entities")
+  void lookupByCodesLoadsNoEntities() {
+    List<LinkResponseDto> links = linkRepository.findResponsesByCodeIn(
+        List.of("proj0", "proj2", "missing"));
+
+    assertEquals(2, links.size());
+    assertEquals(owner.getId(), links.get(0).ownerId());
+    assertEquals(0, statistics.getEntityLoadCount());
+    assertEquals(0, statistics.getEntityFetchCount());
+  }
+}
@@ -14,6 +14,7 @@ import org.decepticons.linkshortener.api.model.User;
 import org.decepticons.linkshortener.api.repository.RevokedTokenRepository;
 import org.decepticons.linkshortener.api.repository.UserRepository;
 import org.decepticons.linkshortener.api.security.jwt.JwtTokenUtil;
+import org.decepticons.linkshortener.api.security.jwt.RevokedTokenRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -49,6 +50,8 @@ class AuthControllerTest {
   private UserRepository userRepository;
   @Autowired
   private RevokedTokenRepository revokedTokenRepository;
+  @Autowired
+  private RevokedTokenRegistry revokedTokenRegistry;
 
   @Autowired
   private JwtTokenUtil jwtUtil;
@@ -277,6 +280,8 @@ class AuthControllerTest {
         refreshToken,
         jwtUtil.extractExpiration(refreshToken).toInstant()
     ));
+    // Picked up by the next poll, as on every node
+    revokedTokenRegistry.refresh();
 
     // 4. Attempt to refresh with the revoked refresh token
     mockMvc.perform(post("/api/v1/auth/refresh")
@@ -14,7 +14,6 @@ import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import java.io.IOException;
 import java.util.ArrayList;
-import org.decepticons.linkshortener.api.repository.RevokedTokenRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -38,7 +37,7 @@ class JwtAuthenticationFilterTest {
   private UserDetailsService userDetailsService;
 
   @Mock
-  private RevokedTokenRepository revokedTokenRepository;
+  private RevokedTokenRegistry revokedTokenRegistry;
 
   @Mock
   private HttpServletRequest request;
@@ -68,7 +67,7 @@ class JwtAuthenticationFilterTest {
       throws ServletException, IOException {
     when(request.getHeader("Authorization")).thenReturn(authHeader);
     when(jwtTokenUtil.extractUsername(anyString())).thenReturn("testuser");
-    when(revokedTokenRepository.existsByToken(anyString())).thenReturn(false);
+    when(revokedTokenRegistry.isRevoked(anyString())).thenReturn(false);
     when(userDetailsService.loadUserByUsername("testuser")).thenReturn(userDetails);
     when(jwtTokenUtil.validateToken(anyString(), any(UserDetails.class))).thenReturn(true);
 
@@ -83,7 +82,7 @@ class JwtAuthenticationFilterTest {
   void givenRevokedToken_whenFiltering_thenSkipsAuthentication()
       throws ServletException, IOException {
     when(request.getHeader("Authorization")).thenReturn(authHeader);
-    when(revokedTokenRepository.existsByToken(anyString())).thenReturn(true);
+    when(revokedTokenRegistry.isRevoked(anyString())).thenReturn(true);
 
     jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
 
@@ -124,7 +123,7 @@ class JwtAuthenticationFilterTest {
   void givenInvalidToken_whenFiltering_thenSkipsAuthentication()
       throws ServletException, IOException {
     when(request.getHeader("Authorization")).thenReturn(authHeader);
-    when(revokedTokenRepository.existsByToken(anyString())).thenReturn(false);
+    when(revokedTokenRegistry.isRevoked(anyString())).thenReturn(false);
     when(jwtTokenUtil.extractUsername(anyString())).thenReturn("testuser");
     when(userDetailsService.loadUserByUsername("testuser")).thenReturn(userDetails);
     when(jwtTokenUtil.validateToken(anyString(), any(UserDetails.class))).thenReturn(false);
@@ -140,7 +139,7 @@ class JwtAuthenticationFilterTest {
   void givenTokenForNonexistentUser_whenFiltering_thenSkipsAuthentication()
       throws ServletException, IOException {
     when(request.getHeader("Authorization")).thenReturn(authHeader);
-    when(revokedTokenRepository.existsByToken(anyString())).thenReturn(false);
+    when(revokedTokenRegistry.isRevoked(anyString())).thenReturn(false);
     when(jwtTokenUtil.extractUsername(anyString())).thenReturn("nonexistentuser");
     when(userDetailsService.loadUserByUsername("nonexistentuser")).thenReturn(null);
 
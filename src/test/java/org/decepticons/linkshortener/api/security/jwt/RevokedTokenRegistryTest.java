@@ -0,0 +1,125 @@
+package org.decepticons.linkshortener.api.security.jwt;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Instant;
+import java.util.List;
+import org.decepticons.linkshortener.api.model.RevokedToken;
+import org.decepticons.linkshortener.api.repository.RevokedTokenRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.data.domain.Limit;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Revoked Token Registry Unit Tests")
+class RevokedTokenRegistryTest {
+
+  @Mock
+  private RevokedTokenRepository revokedTokenRepository;
+
+  private RevokedTokenRegistry registry;
+
+  @BeforeEach
+  void setUp() {
+    registry = new RevokedTokenRegistry(revokedTokenRepository, 10, 60000);
+  }
+
+  @Test
+  @DisplayName("given a loaded registry, when checking tokens, then no query is made")
+  void givenLoadedRegistry_whenChecking_thenAnswersFromMemory() {
+    when(revokedTokenRepository.findByIdGreaterThanOrderByIdAsc(eq(0L), any(Limit.class)))
+        .thenReturn(List.of(token(1, "revoked.token", 3600)));
+
+    registry.refresh();
+
+    assertTrue(registry.isRevoked("revoked.token"));
+    assertFalse(registry.isRevoked("other.token"));
+    verify(revokedTokenRepository, never()).existsByToken(anyString());
+  }
+
+  @Test
+  @DisplayName("given a failing first refresh, when checking tokens, then the database is asked")
+  void givenFailedLoad_whenChecking_thenFallsBackToDatabase() {
+    when(revokedTokenRepository.findByIdGreaterThanOrderByIdAsc(anyLong(), any(Limit.class)))
+        .thenThrow(new DataAccessResourceFailureException("down"));
+    when(revokedTokenRepository.existsByToken("revoked.token")).thenReturn(true);
+
+    registry.refresh();
+
+    assertTrue(registry.isRevoked("revoked.token"));
+  }
+
+  @Test
+  @DisplayName("given an id committed late, when polling, then the skipped id is read again")
+  void givenSkippedId_whenPolling_thenReadsItLater() {
+    when(revokedTokenRepository.findByIdGreaterThanOrderByIdAsc(eq(0L), any(Limit.class)))
+        .thenReturn(List.of(token(1, "first.token", 3600)));
+    when(revokedTokenRepository.findByIdGreaterThanOrderByIdAsc(eq(1L), any(Limit.class)))
+        .thenReturn(List.of(token(3, "third.token", 3600)));
+    when(revokedTokenRepository.findByIdGreaterThanOrderByIdAsc(eq(3L), any(Limit.class)))
+        .thenReturn(List.of());
+    when(revokedTokenRepository.findByIdBetweenOrderByIdAsc(2L, 2L))
+        .thenReturn(List.of(token(2, "second.token", 3600)));
+
+    registry.refresh();
+    registry.refresh();
+    assertFalse(registry.isRevoked("second.token"));
+    registry.refresh();
+
+    assertTrue(registry.isRevoked("second.token"));
+    assertTrue(registry.isRevoked("third.token"));
+  }
+
+  @Test
+  @DisplayName("given a wide id gap, when polling, then late ids inside it are still read")
+  void givenWideGap_whenPolling_thenReadsLateIds() {
+    when(revokedTokenRepository.findByIdGreaterThanOrderByIdAsc(eq(0L), any(Limit.class)))
+        .thenReturn(List.of(token(1, "first.token", 3600)));
+    when(revokedTokenRepository.findByIdGreaterThanOrderByIdAsc(eq(1L), any(Limit.class)))
+        .thenReturn(List.of(token(500, "last.token", 3600)));
+    when(revokedTokenRepository.findByIdBetweenOrderByIdAsc(2L, 499L))
+        .thenReturn(List.of(token(250, "late.token", 3600)));
+
+    registry.refresh();
+    registry.refresh();
+    registry.refresh();
+    registry.refresh();
+
+    assertTrue(registry.isRevoked("late.token"));
+    verify(revokedTokenRepository).findByIdBetweenOrderByIdAsc(2L, 249L);
+    verify(revokedTokenRepository).findByIdBetweenOrderByIdAsc(251L, 499L);
+  }
+
+  @Test
+  @DisplayName("given an expired token, when refreshing, then it is dropped")
+  void givenExpiredToken_whenRefreshing_thenDropsIt() {
+    when(revokedTokenRepository.findByIdGreaterThanOrderByIdAsc(eq(0L), any(Limit.class)))
+        .thenReturn(List.of());
+    registry.revoke("expired.token", Instant.now().minusSeconds(1));
+    registry.revoke("live.token", Instant.now().plusSeconds(3600));
+
+    registry.refresh();
+
+    assertFalse(registry.isRevoked("expired.token"));
+    assertTrue(registry.isRevoked("live.token"));
+  }
+
+  private static RevokedToken token(long id, String value, long expiresInSeconds) {
+    RevokedToken token = new RevokedToken(value, Instant.now().plusSeconds(expiresInSeconds));
+    token.setId(id);
+    return token;
+  }
+}
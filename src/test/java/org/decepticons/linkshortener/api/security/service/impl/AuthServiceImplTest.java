@@ -21,11 +21,14 @@ import org.decepticons.linkshortener.api.exception.UserAlreadyExistsException;
 import org.decepticons.linkshortener.api.model.RevokedToken;
 import org.decepticons.linkshortener.api.model.Role;
 import org.decepticons.linkshortener.api.model.User;
+import org.decepticons.linkshortener.api.model.UserLinkStats;
 import org.decepticons.linkshortener.api.model.UserStatus;
 import org.decepticons.linkshortener.api.repository.RevokedTokenRepository;
 import org.decepticons.linkshortener.api.repository.RoleRepository;
+import org.decepticons.linkshortener.api.repository.UserLinkStatsRepository;
 import org.decepticons.linkshortener.api.repository.UserRepository;
 import org.decepticons.linkshortener.api.security.jwt.JwtTokenUtil;
+import org.decepticons.linkshortener.api.security.jwt.RevokedTokenRegistry;
 import org.decepticons.linkshortener.api.service.UserService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -67,6 +70,12 @@ class AuthServiceImplTest {
   @Mock
   private RevokedTokenRepository revokedTokenRepository;
 
+  @Mock
+  private RevokedTokenRegistry revokedTokenRegistry;
+
+  @Mock
+  private UserLinkStatsRepository userLinkStatsRepository;
+
   @Mock
   private UserService userService;
 
@@ -193,6 +202,7 @@ class AuthServiceImplTest {
     assertEquals(UserStatus.ACTIVE, registeredUser.getStatus());
     assertFalse(registeredUser.getRoles().isEmpty());
     verify(userRepository).save(any(User.class));
+    verify(userLinkStatsRepository).save(any(UserLinkStats.class));
   }
 
   @Test
@@ -212,6 +222,7 @@ class AuthServiceImplTest {
 
     // Then
     verify(revokedTokenRepository).save(any(RevokedToken.class));
+    verify(revokedTokenRegistry).revoke(jwtToken, expirationInstant);
   }
 
   @Test
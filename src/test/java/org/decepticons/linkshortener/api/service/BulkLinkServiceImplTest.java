@@ -0,0 +1,161 @@
+package org.decepticons.linkshortener.api.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import org.decepticons.linkshortener.api.code.CodeAvailabilityIndex;
+import org.decepticons.linkshortener.api.code.CodeGenerator;
+import org.decepticons.linkshortener.api.code.KeyspaceMonitor;
+import org.decepticons.linkshortener.api.model.Link;
+import org.decepticons.linkshortener.api.model.LinkStatus;
+import org.decepticons.linkshortener.api.model.User;
+import org.decepticons.linkshortener.api.repository.LinkRepository;
+import org.decepticons.linkshortener.api.repository.UserLinkStatsRepository;
+import org.decepticons.linkshortener.api.service.impl.BulkLinkServiceImpl;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+@ExtendWith(MockitoExtension.class)
+class BulkLinkServiceImplTest {
+
+  @Mock
+  private LinkRepository linkRepository;
+
+  @Mock
+  private CodeGenerator codeGenerator;
+
+  @Mock
+  private KeyspaceMonitor keyspaceMonitor;
+
+  @Mock
+  private CodeAvailabilityIndex codeAvailabilityIndex;
+
+  @Mock
+  private UserLinkStatsRepository userLinkStatsRepository;
+
+  @Mock
+  private ListingVersionService listingVersionService;
+
+  @Mock
+  private PlatformTransactionManager transactionManager;
+
+  private String createLinks(String body, int batchSize, int maxItems) throws IOException {
+    return createLinks(body, batchSize, maxItems, false);
+  }
+
+  private String createLinks(String body, int batchSize, int maxItems, boolean urlDedupEnabled)
+      throws IOException {
+    BulkLinkServiceImpl service = new BulkLinkServiceImpl(linkRepository, codeGenerator,
+        keyspaceMonitor, codeAvailabilityIndex, userLinkStatsRepository, listingVersionService,
+        new ObjectMapper(), transactionManager, batchSize, maxItems, 7, urlDedupEnabled);
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    service.createLinks(new User(),
+        new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)), out);
+    return out.toString(StandardCharsets.UTF_8);
+  }
+
+  @Test
+  @DisplayName("Bulk Create - JSON array is inserted in batches with per-item results")
+  void createsJsonArrayInBatches() throws IOException {
+    when(codeGenerator.nextCode()).thenReturn("aaaaaaa", "bbbbbbb");
+
+    String result = createLinks("""
+        [{"url": "https://example.com/1"},
+         {"url": "ftp://example.com"},
+         {"url": "https://example.com/2", "alias": "promo"},
+         {"url": "https://example.com/3"}]
+        """, 2, 100);
+
+    assertEquals("""
+        {"index":0,"status":"created","code":"aaaaaaa","error":null}
+        {"index":1,"status":"failed","code":null,"error":"URL must start with http:// or https://"}
+        {"index":2,"status":"created","code":"promo","error":null}
+        {"index":3,"status":"created","code":"bbbbbbb","error":null}
+        """, result);
+    verify(linkRepository, times(2)).saveAllAndFlush(anyList());
+    verify(codeAvailabilityIndex).codeTaken("promo");
+  }
+
+  @Test
+  @DisplayName("Bulk Create - a failed NDJSON batch is retried item by item")
+  void isolatesFailedItems() throws IOException {
+    when(codeGenerator.nextCode()).thenReturn("aaaaaaa");
+    when(linkRepository.saveAllAndFlush(anyList()))
+        .thenThrow(new DataIntegrityViolationException("uk_links_code"));
+    when(linkRepository.saveAndFlush(any(Link.class)))
+        .thenAnswer(i -> i.getArgument(0))
+        .thenThrow(new DataIntegrityViolationException("uk_links_code"));
+
+    String result = createLinks("""
+        {"url": "https://example.com/1"}
+        {"url": "https://example.com/2", "alias": "promo"}
+        """, 10, 100);
+
+    assertEquals("""
+        {"index":0,"status":"created","code":"aaaaaaa","error":null}
+        {"index":1,"status":"failed","code":"promo","error":"Alias 'promo' is already taken"}
+        """, result);
+  }
+
+  @Test
+  @DisplayName("Bulk Create - with URL dedup, live links and repeated URLs are reused")
+  void reusesLiveLinksWithUrlDedup() throws IOException {
+    Link live = new Link();
+    live.setCode("livecode");
+    live.setOriginalUrl("https://Example.com/1");
+    when(linkRepository.findByOwnerIdAndUrlHashInAndStatus(any(), anyCollection(),
+        eq(LinkStatus.ACTIVE))).thenReturn(List.of(live));
+    when(codeGenerator.nextCode()).thenReturn("aaaaaaa");
+
+    String result = createLinks("""
+        [{"url": "https://example.com/1/"},
+         {"url": "https://example.com/2"},
+         {"url": "https://EXAMPLE.com/2"},
+         {"url": "https://example.com/2", "alias": "promo"}]
+        """, 10, 100, true);
+
+    assertEquals("""
+        {"index":0,"status":"existing","code":"livecode","error":null}
+        {"index":1,"status":"created","code":"aaaaaaa","error":null}
+        {"index":2,"status":"existing","code":"aaaaaaa","error":null}
+        {"index":3,"status":"created","code":"promo","error":null}
+        """, result);
+    verify(userLinkStatsRepository).addTotals(any(), eq(2L), eq(2L), eq(0L), eq(0L));
+    verify(keyspaceMonitor, never()).linkCreated("livecode");
+  }
+
+  @Test
+  @DisplayName("Bulk Create - items beyond the per-request limit are not read")
+  void stopsAtItemLimit() throws IOException {
+    when(codeGenerator.nextCode()).thenReturn("aaaaaaa");
+
+    String result = createLinks("""
+        {"url": "https://example.com/1"}
+        {"url": "https://example.com/2"}
+        """, 10, 1);
+
+    assertEquals("""
+        {"index":0,"status":"created","code":"aaaaaaa","error":null}
+        {"index":1,"status":"failed","code":null,\
+        "error":"Request exceeds 1 links; the remaining items were not read"}
+        """, result);
+  }
+}
@@ -0,0 +1,120 @@
+package org.decepticons.linkshortener.api.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.UUID;
+import org.decepticons.linkshortener.api.dto.ExportFormat;
+import org.decepticons.linkshortener.api.service.impl.ClickEventExportServiceImpl;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+class ClickEventExportServiceImplTest {
+
+  private static final Instant CREATED = Instant.parse("2025-01-01T10:00:00Z");
+
+  private JdbcTemplate jdbcTemplate;
+
+  private ClickEventExportServiceImpl service;
+
+  private UUID ownerId;
+
+  @BeforeEach
+  void setUp() {
+    DriverManagerDataSource dataSource = new DriverManagerDataSource(
+        "jdbc:h2:mem:click-export;MODE=PostgreSQL;DB_CLOSE_DELAY=-1", "sa", "");
+    jdbcTemplate = new JdbcTemplate(dataSource);
+    jdbcTemplate.execute("""
+        create table links (
+          id uuid primary key, code varchar(12), created_at timestamp, clicks bigint,
+          owner_id uuid)
+        """);
+    jdbcTemplate.execute("""
+        create table click_events (
+          id bigint primary key, link_id uuid, clicked_at timestamp, country varchar(2))
+        """);
+    service = new ClickEventExportServiceImpl(dataSource,
+        new DataSourceTransactionManager(dataSource), 1);
+
+    ownerId = UUID.randomUUID();
+    UUID first = insertLink(ownerId, "aaa", 0, 2);
+    UUID second = insertLink(ownerId, "bbb", 60, 2);
+    insertLink(ownerId, "ccc", 120, 0);
+    UUID foreign = insertLink(UUID.randomUUID(), "ddd", 30, 1);
+    insertEvent(1, second, "DE");
+    insertEvent(2, first, "US");
+    insertEvent(3, foreign, "FR");
+    insertEvent(4, second, null);
+    insertEvent(5, first, "PL");
+  }
+
+  @AfterEach
+  void tearDown() {
+    jdbcTemplate.execute("drop table click_events");
+    jdbcTemplate.execute("drop table links");
+  }
+
+  @Test
+  @DisplayName("Export - events link by link, oldest link first, across link pages")
+  void exportsEventsLinkByLink() throws IOException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    service.exportClickEvents(ownerId, null, null, 0, ExportFormat.CSV, out);
+
+    assertEquals("""
+        id,code,clickedAt,country
+        2,aaa,2025-01-01T10:00:02Z,US
+        5,aaa,2025-01-01T10:00:05Z,PL
+        1,bbb,2025-01-01T10:00:01Z,DE
+        4,bbb,2025-01-01T10:00:04Z,
+        """, out.toString(StandardCharsets.UTF_8));
+  }
+
+  @Test
+  @DisplayName("Export - resumes after the code and id of the last received event")
+  void resumesAfterLastEvent() throws IOException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    service.exportClickEvents(ownerId, null, "aaa", 2, ExportFormat.CSV, out);
+
+    assertEquals("""
+        id,code,clickedAt,country
+        5,aaa,2025-01-01T10:00:05Z,PL
+        1,bbb,2025-01-01T10:00:01Z,DE
+        4,bbb,2025-01-01T10:00:04Z,
+        """, out.toString(StandardCharsets.UTF_8));
+  }
+
+  @Test
+  @DisplayName("Export - a single link of the owner")
+  void exportsSingleLink() throws IOException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    service.exportClickEvents(ownerId, "bbb", null, 1, ExportFormat.CSV, out);
+
+    assertEquals("""
+        id,code,clickedAt,country
+        4,bbb,2025-01-01T10:00:04Z,
+        """, out.toString(StandardCharsets.UTF_8));
+  }
+
+  private UUID insertLink(UUID owner, String code, long createdAfterSeconds, long clicks) {
+    UUID id = UUID.randomUUID();
+    jdbcTemplate.update("""
+        insert into links (id, code, created_at, clicks, owner_id) values (?, ?, ?, ?, ?)
+        """, id, code, Timestamp.from(CREATED.plusSeconds(createdAfterSeconds)), clicks, owner);
+    return id;
+  }
+
+  private void insertEvent(long id, UUID linkId, String country) {
+    jdbcTemplate.update("""
+        insert into click_events (id, link_id, clicked_at, country) values (?, ?, ?, ?)
+        """, id, linkId, Timestamp.from(CREATED.plusSeconds(id)), country);
+  }
+}
@@ -0,0 +1,80 @@
+package org.decepticons.linkshortener.api.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.UUID;
+import org.decepticons.linkshortener.api.dto.ExportFormat;
+import org.decepticons.linkshortener.api.service.impl.LinkExportServiceImpl;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+class LinkExportServiceImplTest {
+
+  private static final Instant CREATED = Instant.parse("2025-01-01T10:00:00Z");
+
+  private JdbcTemplate jdbcTemplate;
+
+  private LinkExportServiceImpl service;
+
+  @BeforeEach
+  void setUp() {
+    DriverManagerDataSource dataSource = new DriverManagerDataSource(
+        "jdbc:h2:mem:link-export;MODE=PostgreSQL;DB_CLOSE_DELAY=-1", "sa", "");
+    jdbcTemplate = new JdbcTemplate(dataSource);
+    jdbcTemplate.execute("""
+        create table links (
+          id uuid primary key, code varchar(12), original_url varchar(2048),
+          created_at timestamp, expires_at timestamp, clicks bigint, status varchar(20),
+          owner_id uuid)
+        """);
+    service = new LinkExportServiceImpl(dataSource,
+        new DataSourceTransactionManager(dataSource), 2);
+  }
+
+  @AfterEach
+  void tearDown() {
+    jdbcTemplate.execute("drop table links");
+  }
+
+  @Test
+  @DisplayName("Export - all links of the owner, oldest first, across fetch batches")
+  void exportsOwnersLinksOldestFirst() throws IOException {
+    UUID ownerId = UUID.randomUUID();
+    UUID first = insert(ownerId, "aaa", "https://example.com/a,b", 0, "ACTIVE");
+    UUID second = insert(ownerId, "bbb", "https://example.com/b", 60, "INACTIVE");
+    UUID third = insert(ownerId, "ccc", "https://example.com/c", 120, "ACTIVE");
+    insert(UUID.randomUUID(), "ddd", "https://example.com/d", 30, "ACTIVE");
+
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    service.exportLinks(ownerId, ExportFormat.CSV, out);
+
+    assertEquals("""
+        id,code,originalUrl,createdAt,expiresAt,clicks,status
+        %s,aaa,"https://example.com/a,b",2025-01-01T10:00:00Z,,5,ACTIVE
+        %s,bbb,https://example.com/b,2025-01-01T10:01:00Z,,5,INACTIVE
+        %s,ccc,https://example.com/c,2025-01-01T10:02:00Z,,5,ACTIVE
+        """.formatted(first, second, third), out.toString(StandardCharsets.UTF_8));
+  }
+
+  private UUID insert(UUID ownerId, String code, String url, long createdAfterSeconds,
+                      String status) {
+    UUID id = UUID.randomUUID();
+    jdbcTemplate.update("""
+        insert into links (id, code, original_url, created_at, expires_at, clicks, status,
+                           owner_id)
+        values (?, ?, ?, ?, null, 5, ?, ?)
+        """, id, code, url, Timestamp.from(CREATED.plusSeconds(createdAfterSeconds)), status,
+        ownerId);
+    return id;
+  }
+}
@@ -0,0 +1,244 @@
+package org.decepticons.linkshortener.api.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicReference;
+import org.decepticons.linkshortener.api.code.CodeAvailabilityIndex;
+import org.decepticons.linkshortener.api.code.CodeGenerator;
+import org.decepticons.linkshortener.api.code.KeyspaceMonitor;
+import org.decepticons.linkshortener.api.dto.ImportJobDto;
+import org.decepticons.linkshortener.api.exception.ImportJobNotFoundException;
+import org.decepticons.linkshortener.api.model.ImportJob;
+import org.decepticons.linkshortener.api.model.ImportJobStatus;
+import org.decepticons.linkshortener.api.model.User;
+import org.decepticons.linkshortener.api.repository.ImportJobRepository;
+import org.decepticons.linkshortener.api.service.impl.LinkImportServiceImpl;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+@ExtendWith(MockitoExtension.class)
+class LinkImportServiceImplTest {
+
+  @Mock
+  private ImportJobRepository importJobRepository;
+
+  @Mock
+  private JdbcTemplate jdbcTemplate;
+
+  @Mock
+  private PlatformTransactionManager transactionManager;
+
+  @Mock
+  private CodeGenerator codeGenerator;
+
+  @Mock
+  private KeyspaceMonitor keyspaceMonitor;
+
+  @Mock
+  private CodeAvailabilityIndex codeAvailabilityIndex;
+
+  @Mock
+  private ListingVersionService listingVersionService;
+
+  @TempDir
+  private Path directory;
+
+  private LinkImportServiceImpl service;
+
+  private User owner;
+
+  @BeforeEach
+  void setUp() {
+    service = newService(2);
+    owner = new User();
+    ReflectionTestUtils.setField(owner, "id", UUID.randomUUID());
+  }
+
+  @AfterEach
+  void tearDown() {
+    service.stop();
+  }
+
+  private LinkImportServiceImpl newService(int maxResumes) {
+    return new LinkImportServiceImpl(importJobRepository, jdbcTemplate, transactionManager,
+        codeGenerator, keyspaceMonitor, codeAvailabilityIndex, listingVersionService,
+        directory.toString(), 2, 1, 7, maxResumes);
+  }
+
+  private ImportJobDto submitWithFirstChunkCommitted() throws IOException {
+    AtomicReference<ImportJob> saved = new AtomicReference<>();
+    when(importJobRepository.save(any(ImportJob.class))).thenAnswer(i -> {
+      saved.set(i.getArgument(0));
+      return i.getArgument(0);
+    });
+    when(importJobRepository.findById(any(UUID.class)))
+        .thenAnswer(i -> Optional.ofNullable(saved.get()));
+    when(jdbcTemplate.queryForList(anyString(), eq(Integer.class), any()))
+        .thenReturn(List.of(0));
+    lenient().when(jdbcTemplate.update(contains("INSERT INTO import_job_chunks"),
+        any(), any(), any(), any(), any())).thenReturn(1);
+
+    return service.submit(owner, new ByteArrayInputStream("""
+        url
+        https://example.com/1
+
+        https://example.com/2
+        https://example.com/3,ignored
+        not-a-url
+        """.getBytes(StandardCharsets.UTF_8)));
+  }
+
+  @Test
+  @DisplayName("Import - upload is queued and resumed after the committed chunks")
+  @SuppressWarnings("unchecked")
+  void importsChunksAfterLastCommitted() throws IOException {
+    when(codeGenerator.nextCode()).thenReturn("ccccccc");
+
+    ImportJobDto job = submitWithFirstChunkCommitted();
+
+    assertEquals(ImportJobStatus.QUEUED, job.status());
+    assertEquals(4, job.totalRows());
+    verify(jdbcTemplate, timeout(5000)).update(contains("finished_at"),
+        eq("COMPLETED"), any(), isNull(), eq(job.id()));
+
+    ArgumentCaptor<List<Object[]>> links = ArgumentCaptor.forClass(List.class);
+    verify(jdbcTemplate).batchUpdate(contains("INSERT INTO links"), links.capture());
+    assertEquals(1, links.getValue().size());
+    assertEquals("ccccccc", links.getValue().get(0)[1]);
+    assertEquals("https://example.com/3", links.getValue().get(0)[2]);
+    verify(jdbcTemplate).update(contains("INSERT INTO import_job_chunks"),
+        eq(job.id()), eq(1), any(), eq(job.id()), eq(1));
+    verify(jdbcTemplate).update(contains("processed_rows + ?"), eq(2), eq(1), eq(1),
+        eq(job.id()));
+    verify(codeAvailabilityIndex).codeTaken("ccccccc");
+    verify(listingVersionService).ownerChanged(owner.getId());
+  }
+
+  @Test
+  @DisplayName("Import - a chunk whose code was taken elsewhere is retried with new codes")
+  @SuppressWarnings("unchecked")
+  void retriesChunkAfterCodeCollision() throws IOException {
+    when(codeGenerator.nextCode()).thenReturn("ccccccc", "ddddddd");
+    when(jdbcTemplate.batchUpdate(contains("INSERT INTO links"), anyList()))
+        .thenThrow(new DuplicateKeyException("links_code_key"))
+        .thenReturn(new int[] {1});
+
+    ImportJobDto job = submitWithFirstChunkCommitted();
+
+    verify(jdbcTemplate, timeout(5000)).update(contains("finished_at"),
+        eq("COMPLETED"), any(), isNull(), eq(job.id()));
+    ArgumentCaptor<List<Object[]>> links = ArgumentCaptor.forClass(List.class);
+    verify(jdbcTemplate, times(2)).batchUpdate(contains("INSERT INTO links"), links.capture());
+    assertEquals("ddddddd", links.getValue().get(0)[1]);
+    verify(jdbcTemplate).update(contains("processed_rows + ?"), eq(2), eq(1), eq(1),
+        eq(job.id()));
+    verify(codeAvailabilityIndex).codeTaken("ddddddd");
+    verify(codeAvailabilityIndex, never()).codeTaken("ccccccc");
+  }
+
+  @Test
+  @DisplayName("Import - a chunk that keeps hitting taken codes fails the job")
+  void failsJobWhenCodesKeepColliding() throws IOException {
+    when(codeGenerator.nextCode()).thenReturn("ccccccc");
+    when(jdbcTemplate.batchUpdate(contains("INSERT INTO links"), anyList()))
+        .thenThrow(new DuplicateKeyException("links_code_key"));
+
+    ImportJobDto job = submitWithFirstChunkCommitted();
+
+    verify(jdbcTemplate, timeout(5000)).update(contains("finished_at"),
+        eq("FAILED"), any(), contains("hit taken codes in 3 attempts"), eq(job.id()));
+    verify(jdbcTemplate, times(3)).batchUpdate(contains("INSERT INTO links"), anyList());
+    verify(codeAvailabilityIndex, never()).codeTaken(anyString());
+  }
+
+  @Test
+  @DisplayName("Import - a row the database rejects fails the job instead of pausing it")
+  void failsJobOnDataError() throws IOException {
+    when(codeGenerator.nextCode()).thenReturn("ccccccc");
+    when(jdbcTemplate.batchUpdate(contains("INSERT INTO links"), anyList()))
+        .thenThrow(new DataIntegrityViolationException("value too long"));
+
+    ImportJobDto job = submitWithFirstChunkCommitted();
+
+    verify(jdbcTemplate, timeout(5000)).update(contains("finished_at"),
+        eq("FAILED"), any(), eq("value too long"), eq(job.id()));
+    verify(jdbcTemplate).batchUpdate(contains("INSERT INTO links"), anyList());
+  }
+
+  @Test
+  @DisplayName("Import - a job paused more often than allowed fails")
+  void failsJobPausedTooOften() throws IOException {
+    service.stop();
+    service = newService(0);
+    when(codeGenerator.nextCode()).thenReturn("ccccccc");
+    when(jdbcTemplate.batchUpdate(contains("INSERT INTO links"), anyList()))
+        .thenThrow(new QueryTimeoutException("lock timeout"));
+
+    ImportJobDto job = submitWithFirstChunkCommitted();
+
+    verify(jdbcTemplate, timeout(5000)).update(contains("finished_at"),
+        eq("FAILED"), any(), eq("Paused too often, last error: lock timeout"), eq(job.id()));
+  }
+
+  @Test
+  @DisplayName("Import - jobs of other users are not found")
+  void hidesOtherUsersJobs() {
+    ImportJob job = new ImportJob();
+    job.setId(UUID.randomUUID());
+    job.setOwnerId(UUID.randomUUID());
+    when(importJobRepository.findById(job.getId())).thenReturn(Optional.of(job));
+
+    assertThrows(ImportJobNotFoundException.class, () -> service.getJob(owner, job.getId()));
+  }
+
+  @Test
+  @DisplayName("Import - status reports throughput of the current run and ETA")
+  void reportsThroughputAndEta() {
+    Instant now = Instant.parse("2025-06-01T12:00:10Z");
+    ImportJob job = new ImportJob();
+    job.setStatus(ImportJobStatus.RUNNING);
+    job.setTotalRows(5000);
+    job.setRowsAtStart(1000);
+    job.setProcessedRows(2000);
+    job.setStartedAt(now.minusSeconds(10));
+
+    ImportJobDto dto = ImportJobDto.of(job, now);
+
+    assertEquals(100.0, dto.rowsPerSecond());
+    assertEquals(30L, dto.etaSeconds());
+  }
+}
@@ -2,22 +2,45 @@ package org.decepticons.linkshortener.api.service;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.Mockito.any;
+import static org.mockito.Mockito.anyInt;
 import static org.mockito.Mockito.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.time.Instant;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import org.decepticons.linkshortener.api.click.ClickBroadcaster;
+import org.decepticons.linkshortener.api.code.CodeAvailabilityIndex;
+import org.decepticons.linkshortener.api.code.CodeGenerator;
+import org.decepticons.linkshortener.api.code.KeyspaceMonitor;
+import org.decepticons.linkshortener.api.dto.BulkOperationResultDto;
+import org.decepticons.linkshortener.api.dto.LinkFilterDto;
 import org.decepticons.linkshortener.api.dto.LinkResponseDto;
+import org.decepticons.linkshortener.api.dto.LinkSearchDto;
+import org.decepticons.linkshortener.api.dto.LinkSliceDto;
+import org.decepticons.linkshortener.api.dto.ResolvedLinkDto;
+import org.decepticons.linkshortener.api.exception.InvalidLinkFilterException;
+import org.decepticons.linkshortener.api.journal.ClickJournal;
 import org.decepticons.linkshortener.api.model.Link;
 import org.decepticons.linkshortener.api.model.LinkStatus;
 import org.decepticons.linkshortener.api.model.User;
+import org.decepticons.linkshortener.api.model.UserLinkStats;
+import org.decepticons.linkshortener.api.repository.ClickEventRepository;
+import org.decepticons.linkshortener.api.repository.LinkBulkRepository;
 import org.decepticons.linkshortener.api.repository.LinkRepository;
+import org.decepticons.linkshortener.api.repository.LinkSearchRepository;
+import org.decepticons.linkshortener.api.repository.UserLinkStatsRepository;
 import org.decepticons.linkshortener.api.service.impl.LinkServiceImpl;
 import org.decepticons.linkshortener.api.service.impl.UserServiceImpl;
+import org.decepticons.linkshortener.api.util.LinkCursor;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -26,12 +49,16 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
 
 /** * Unit tests for the LinkServiceImpl class.
  * These tests focus on the link management logic using mocks for dependencies.
@@ -44,6 +71,45 @@ public class LinkServiceImplMethodsTest {
   @Mock
   private UserServiceImpl userServiceImpl;
 
+  @Mock
+  private ClickJournal clickJournal;
+
+  @Mock
+  private ClickEventRepository clickEventRepository;
+
+  @Mock
+  private ReferrerStatsService referrerStatsService;
+
+  @Mock
+  private ClickBroadcaster clickBroadcaster;
+
+  @Mock
+  private CodeGenerator codeGenerator;
+
+  @Mock
+  private KeyspaceMonitor keyspaceMonitor;
+
+  @Mock
+  private CodeAvailabilityIndex codeAvailabilityIndex;
+
+  @Mock
+  private LinkBulkRepository linkBulkRepository;
+
+  @Mock
+  private LinkSearchRepository linkSearchRepository;
+
+  @Mock
+  private CacheManager cacheManager;
+
+  @Mock
+  private UserLinkStatsRepository userLinkStatsRepository;
+
+  @Mock
+  private ListingVersionService listingVersionService;
+
+  @Mock
+  private PlatformTransactionManager transactionManager;
+
   @InjectMocks
   private LinkServiceImpl linkService;
   private final UUID testUserId = UUID.randomUUID();
@@ -68,28 +134,24 @@ public class LinkServiceImplMethodsTest {
   @Test
   @DisplayName("Get All My Links - Success")
   void getAllMyLinksSuccess() {
-    Link link1 = new Link();
-    link1.setOwner(new User());
-    Page<Link> mockPage = new PageImpl<>(List.of(link1));
+    LinkResponseDto link1 = response(UUID.randomUUID(), LinkStatus.ACTIVE);
+    Page<LinkResponseDto> mockPage = new PageImpl<>(List.of(link1));
     when(userServiceImpl.getCurrentUserId()).thenReturn(testUserId);
     when(linkRepository.findAllByOwnerId(eq(testUserId), any(Pageable.class)))
         .thenReturn(mockPage);
     Page<LinkResponseDto> result = linkService.getAllMyLinks(0, 10);
     assertNotNull(result);
     assertEquals(1, result.getContent().size());
-    assertEquals(link1.getId(), result.getContent().get(0).id());
+    assertEquals(link1.id(), result.getContent().get(0).id());
   }
 
   @Test
   @DisplayName("Get All My Active Links - Success")
   void getAllMyActiveLinksSuccess() {
-    Link link1 = new Link();
-    link1.setStatus(LinkStatus.ACTIVE);
-    link1.setOwner(new User());
-    Page<Link> mockPage = new PageImpl<>(List.of(link1));
+    LinkResponseDto link1 = response(UUID.randomUUID(), LinkStatus.ACTIVE);
+    Page<LinkResponseDto> mockPage = new PageImpl<>(List.of(link1));
     when(userServiceImpl.getCurrentUserId()).thenReturn(testUserId);
-    when(linkRepository.findAllByOwnerIdAndStatus(eq(testUserId),
-        eq(LinkStatus.ACTIVE), any(Pageable.class)))
+    when(linkRepository.findAllActiveByOwnerId(eq(testUserId), any(Pageable.class)))
         .thenReturn(mockPage);
     Page<LinkResponseDto> result = linkService.getAllMyActiveLinks(0, 10);
     assertNotNull(result);
@@ -97,6 +159,24 @@ public class LinkServiceImplMethodsTest {
     assertEquals(LinkStatus.ACTIVE.toString(), result.getContent().get(0).status());
   }
 
+  @Test
+  @DisplayName("Get All My Links - total taken from the owner's stats")
+  void getAllMyLinksUsesStatsTotal() {
+    LinkResponseDto link1 = response(UUID.randomUUID(), LinkStatus.ACTIVE);
+    UserLinkStats stats = new UserLinkStats(testUserId);
+    ReflectionTestUtils.setField(stats, "totalLinks", 42L);
+    when(userServiceImpl.getCurrentUserId()).thenReturn(testUserId);
+    when(userLinkStatsRepository.findById(testUserId)).thenReturn(Optional.of(stats));
+    when(linkRepository.findPageByOwnerId(eq(testUserId), any(Pageable.class)))
+        .thenReturn(List.of(link1));
+
+    Page<LinkResponseDto> result = linkService.getAllMyLinks(0, 10);
+
+    assertEquals(42, result.getTotalElements());
+    assertEquals(1, result.getContent().size());
+    verify(linkRepository, never()).findAllByOwnerId(any(), any());
+  }
+
   @Test
   @DisplayName("Delete Link - Success")
   void deleteLinkSuccess() {
@@ -111,6 +191,107 @@ public class LinkServiceImplMethodsTest {
     when(linkRepository.findById(linkId)).thenReturn(Optional.of(link));
     linkService.deleteLink(linkId);
     verify(linkRepository, times(1)).delete(link);
+    verify(listingVersionService).ownerChanged(testUserId);
+  }
+
+  @Test
+  @DisplayName("Delete Links - chunks until a short chunk and evicts all codes once")
+  void deleteLinksInChunks() {
+    ReflectionTestUtils.setField(linkService, "bulkOperationChunkSize", 2);
+    LinkFilterDto filter = new LinkFilterDto(null, LinkStatus.INACTIVE, null, null, null, null);
+    Cache cache = mock(Cache.class);
+    when(userServiceImpl.getCurrentUserId()).thenReturn(testUserId);
+    when(linkBulkRepository.delete(testUserId, filter, 2))
+        .thenReturn(List.of("aaa", "bbb"), List.of("ccc"));
+    when(cacheManager.getCache("shortLinksCache")).thenReturn(cache);
+
+    BulkOperationResultDto result = linkService.deleteLinks(filter);
+
+    assertEquals(3, result.affected());
+    verify(linkBulkRepository, times(2)).delete(testUserId, filter, 2);
+    verify(cacheManager, times(1)).getCache("shortLinksCache");
+    verify(cache).evict("aaa");
+    verify(cache).evict("ccc");
+    verify(codeAvailabilityIndex).codeFreed("bbb");
+    verify(listingVersionService).ownerChanged(testUserId);
   }
 
+  @Test
+  @DisplayName("Deactivate Links - an empty filter is rejected")
+  void deactivateLinksRejectsEmptyFilter() {
+    LinkFilterDto filter = new LinkFilterDto(null, null, null, null, null, null);
+
+    assertThrows(InvalidLinkFilterException.class, () -> linkService.deactivateLinks(filter));
+    verify(linkBulkRepository, never()).deactivate(any(), any(), anyInt());
+  }
+
+  @Test
+  @DisplayName("Resolve Links - cache hits are reused and misses loaded in one query")
+  void resolveLinksUsesCacheThenOneQuery() {
+    ReflectionTestUtils.setField(linkService, "maxResolveCodes", 10);
+    Cache cache = mock(Cache.class);
+    LinkResponseDto cached = new LinkResponseDto(UUID.randomUUID(), "aaa",
+        "https://example.com/a", Instant.now(), Instant.now().minusSeconds(60), 5,
+        LinkStatus.ACTIVE.name(), testUserId);
+    LinkResponseDto stored = new LinkResponseDto(UUID.randomUUID(), "bbb",
+        "https://example.com/b", Instant.now(), null, 0, LinkStatus.INACTIVE.name(), testUserId);
+    when(cacheManager.getCache("shortLinksCache")).thenReturn(cache);
+    when(cache.get("aaa", LinkResponseDto.class)).thenReturn(cached);
+    when(linkRepository.findResponsesByCodeIn(List.of("bbb", "ccc")))
+        .thenReturn(List.of(stored));
+
+    List<ResolvedLinkDto> result = linkService.resolveLinks(List.of("aaa", "bbb", "ccc", "aaa"));
+
+    assertEquals(List.of("EXPIRED", "INACTIVE", "NOT_FOUND"),
+        result.stream().map(ResolvedLinkDto::status).toList());
+    assertEquals("https://example.com/b", result.get(1).originalUrl());
+    verify(cache).put(eq("bbb"), any(LinkResponseDto.class));
+    verify(linkRepository, never()).incrementClicksByCodeNative(any());
+  }
+
+  @Test
+  @DisplayName("Get My Links After - reads one extra link and continues from the last one")
+  void getMyLinksAfterReturnsCursor() {
+    Instant createdAt = Instant.parse("2025-05-01T10:00:00Z");
+    List<LinkResponseDto> links = new ArrayList<>();
+    for (int i = 0; i < 3; i++) {
+      links.add(new LinkResponseDto(UUID.randomUUID(), "abc12" + i, "https://example.com",
+          createdAt.minusSeconds(i), null, 0, LinkStatus.ACTIVE, testUserId));
+    }
+    LinkCursor after = new LinkCursor(createdAt.plusSeconds(5), UUID.randomUUID());
+    when(userServiceImpl.getCurrentUserId()).thenReturn(testUserId);
+    when(linkRepository.findByOwnerAfter(testUserId, after.createdAt(), after.id(),
+        Limit.of(3))).thenReturn(links);
+
+    LinkSliceDto slice = linkService.getMyLinksAfter(after.encode(), 2);
+
+    assertEquals(2, slice.items().size());
+    assertEquals(new LinkCursor(links.get(1).createdAt(), links.get(1).id()),
+        LinkCursor.decode(slice.nextCursor()));
+  }
+
+  @Test
+  @DisplayName("Search My Links - criteria are required and pages continue after the last link")
+  void searchMyLinksReturnsCursor() {
+    assertThrows(InvalidLinkFilterException.class,
+        () -> linkService.searchMyLinks(new LinkSearchDto(" ", null, ""), null, 10));
+
+    LinkSearchDto criteria = new LinkSearchDto("example.com", null, null);
+    List<LinkResponseDto> links = List.of(response(UUID.randomUUID(), LinkStatus.ACTIVE),
+        response(UUID.randomUUID(), LinkStatus.ACTIVE),
+        response(UUID.randomUUID(), LinkStatus.INACTIVE));
+    when(userServiceImpl.getCurrentUserId()).thenReturn(testUserId);
+    when(linkSearchRepository.search(testUserId, criteria, null, 3)).thenReturn(links);
+
+    LinkSliceDto slice = linkService.searchMyLinks(criteria, null, 2);
+
+    assertEquals(2, slice.items().size());
+    assertEquals(new LinkCursor(links.get(1).createdAt(), links.get(1).id()),
+        LinkCursor.decode(slice.nextCursor()));
+  }
+
+  private LinkResponseDto response(UUID id, LinkStatus status) {
+    return new LinkResponseDto(id, "abc123", "https://example.com", Instant.now(), null, 0,
+        status, testUserId);
+  }
 }
@@ -1,37 +1,58 @@
 package org.decepticons.linkshortener.api.service;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import org.decepticons.linkshortener.api.click.ClickBroadcaster;
+import org.decepticons.linkshortener.api.click.ClickContext;
+import org.decepticons.linkshortener.api.code.CodeAvailabilityIndex;
+import org.decepticons.linkshortener.api.code.CodeGenerator;
+import org.decepticons.linkshortener.api.code.KeyspaceMonitor;
+import org.decepticons.linkshortener.api.dto.AliasAvailabilityDto;
 import org.decepticons.linkshortener.api.dto.LinkResponseDto;
 import org.decepticons.linkshortener.api.dto.UrlRequestDto;
+import org.decepticons.linkshortener.api.exception.AliasAlreadyTakenException;
+import org.decepticons.linkshortener.api.exception.NoSuchShortLinkFoundInTheSystemException;
+import org.decepticons.linkshortener.api.journal.ClickJournal;
 import org.decepticons.linkshortener.api.model.Link;
 import org.decepticons.linkshortener.api.model.LinkStatus;
 import org.decepticons.linkshortener.api.model.User;
+import org.decepticons.linkshortener.api.repository.ClickEventRepository;
+import org.decepticons.linkshortener.api.repository.LinkBulkRepository;
 import org.decepticons.linkshortener.api.repository.LinkRepository;
+import org.decepticons.linkshortener.api.repository.LinkSearchRepository;
+import org.decepticons.linkshortener.api.repository.UserLinkStatsRepository;
 import org.decepticons.linkshortener.api.service.impl.LinkServiceImpl;
 import org.decepticons.linkshortener.api.service.impl.UserServiceImpl;
+import org.decepticons.linkshortener.api.util.UrlNormalizer;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.springframework.cache.CacheManager;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
 
 @ExtendWith(org.mockito.junit.jupiter.MockitoExtension.class)
 class LinkServiceImplTest {
@@ -42,6 +63,45 @@ class LinkServiceImplTest {
   @Mock
   private UserServiceImpl userServiceImpl;
 
+  @Mock
+  private ClickJournal clickJournal;
+
+  @Mock
+  private ClickEventRepository clickEventRepository;
+
+  @Mock
+  private ReferrerStatsService referrerStatsService;
+
+  @Mock
+  private ClickBroadcaster clickBroadcaster;
+
+  @Mock
+  private CodeGenerator codeGenerator;
+
+  @Mock
+  private KeyspaceMonitor keyspaceMonitor;
+
+  @Mock
+  private CodeAvailabilityIndex codeAvailabilityIndex;
+
+  @Mock
+  private LinkBulkRepository linkBulkRepository;
+
+  @Mock
+  private LinkSearchRepository linkSearchRepository;
+
+  @Mock
+  private CacheManager cacheManager;
+
+  @Mock
+  private UserLinkStatsRepository userLinkStatsRepository;
+
+  @Mock
+  private ListingVersionService listingVersionService;
+
+  @Mock
+  private PlatformTransactionManager transactionManager;
+
   @InjectMocks
   private LinkServiceImpl linkServiceImpl;
 
@@ -53,14 +113,109 @@ class LinkServiceImplTest {
 
     urlRequestDto.setUrl("https://www.example.com");
     when(userServiceImpl.getCurrentUser()).thenReturn(user);
+    when(codeGenerator.nextCode()).thenReturn("kX9bQ2r");
     when(linkRepository.save(any(Link.class))).thenAnswer(i -> i.getArguments()[0]);
     LinkResponseDto result = linkServiceImpl.createLink(urlRequestDto);
     assertEquals(urlRequestDto.getUrl(), result.originalUrl());
     assertEquals(user.getId(), result.ownerId());
-    assertNotNull(result.code());
+    assertEquals("kX9bQ2r", result.code());
     assertEquals("ACTIVE", result.status());
   }
 
+  @Test
+  @DisplayName("Link Creation - generated codes already used as aliases are skipped")
+  void linkCreationSkipsTakenGeneratedCode() {
+    UrlRequestDto urlRequestDto = new UrlRequestDto();
+    urlRequestDto.setUrl("https://www.example.com");
+    when(userServiceImpl.getCurrentUser()).thenReturn(new User());
+    when(codeGenerator.nextCode()).thenReturn("promo12", "kX9bQ2r");
+    when(codeAvailabilityIndex.isTaken("promo12")).thenReturn(true);
+    when(linkRepository.save(any(Link.class))).thenAnswer(i -> i.getArguments()[0]);
+
+    LinkResponseDto result = linkServiceImpl.createLink(urlRequestDto);
+
+    assertEquals("kX9bQ2r", result.code());
+    verify(codeAvailabilityIndex).codeTaken("kX9bQ2r");
+  }
+
+  @Test
+  @DisplayName("Link Creation - with URL dedup, the owner's live link for the URL is returned")
+  void linkCreationReturnsExistingLinkForSameUrl() {
+    ReflectionTestUtils.setField(linkServiceImpl, "urlDedupEnabled", true);
+    User owner = new User();
+    ReflectionTestUtils.setField(owner, "id", UUID.randomUUID());
+    Link existing = new Link();
+    existing.setOwner(owner);
+    existing.setCode("kX9bQ2r");
+    existing.setOriginalUrl("https://Example.com/docs/");
+    existing.setExpiresAt(Instant.now().plus(1, ChronoUnit.DAYS));
+    UrlRequestDto urlRequestDto = new UrlRequestDto();
+    urlRequestDto.setUrl("https://example.com:443/docs");
+    long urlHash = UrlNormalizer.hash("https://example.com/docs");
+    when(userServiceImpl.getCurrentUser()).thenReturn(owner);
+    when(linkRepository.findByOwnerIdAndUrlHashAndStatus(owner.getId(), urlHash,
+        LinkStatus.ACTIVE)).thenReturn(List.of(existing));
+
+    LinkResponseDto result = linkServiceImpl.createLink(urlRequestDto);
+
+    assertEquals("kX9bQ2r", result.code());
+    verify(codeGenerator, never()).nextCode();
+    verify(linkRepository, never()).save(any(Link.class));
+  }
+
+  @Test
+  @DisplayName("Link Creation - custom alias is saved as the code")
+  void linkCreationWithAlias() {
+    UrlRequestDto urlRequestDto = new UrlRequestDto();
+    urlRequestDto.setUrl("https://www.example.com");
+    urlRequestDto.setAlias("spring-sale");
+    when(userServiceImpl.getCurrentUser()).thenReturn(new User());
+    when(linkRepository.saveAndFlush(any(Link.class))).thenAnswer(i -> i.getArguments()[0]);
+
+    LinkResponseDto result = linkServiceImpl.createLink(urlRequestDto);
+
+    assertEquals("spring-sale", result.code());
+    verify(codeGenerator, never()).nextCode();
+  }
+
+  @Test
+  @DisplayName("Link Creation - taken alias is rejected with free variants")
+  void linkCreationWithTakenAlias() {
+    UrlRequestDto urlRequestDto = new UrlRequestDto();
+    urlRequestDto.setUrl("https://www.example.com");
+    urlRequestDto.setAlias("promo");
+    when(userServiceImpl.getCurrentUser()).thenReturn(new User());
+    when(codeAvailabilityIndex.isTaken("promo")).thenReturn(true);
+    when(codeAvailabilityIndex.suggest("promo", 10, 12)).thenReturn(List.of("promo1", "promo-1"));
+
+    AliasAlreadyTakenException ex = assertThrows(AliasAlreadyTakenException.class,
+        () -> linkServiceImpl.createLink(urlRequestDto));
+
+    assertEquals(List.of("promo1", "promo-1"), ex.getSuggestions());
+    verify(linkRepository, never()).saveAndFlush(any(Link.class));
+  }
+
+  @Test
+  @DisplayName("Alias Check - aliases in the generated keyspace are refused")
+  void aliasCheckRefusesGeneratedKeyspace() {
+    AliasAvailabilityDto result = linkServiceImpl.checkAlias("springsale");
+
+    assertFalse(result.available());
+    verify(codeAvailabilityIndex, never()).isTaken("springsale");
+  }
+
+  @Test
+  @DisplayName("Alias Check - suggestions skip variants in the generated keyspace")
+  void aliasCheckSuggestsOnlyValidAliases() {
+    when(codeAvailabilityIndex.isTaken("spring")).thenReturn(true);
+    when(codeAvailabilityIndex.suggest("spring", 10, 12))
+        .thenReturn(List.of("spring1", "spring-1", "spring2", "spring-2"));
+
+    AliasAvailabilityDto result = linkServiceImpl.checkAlias("spring");
+
+    assertEquals(List.of("spring-1", "spring-2"), result.suggestions());
+  }
+
   @Test
   @DisplayName("Increment of Clicks - Success")
   void incrementOfClicksSuccess() {
@@ -84,7 +239,52 @@ class LinkServiceImplTest {
     when(linkRepository.findByCode("abc123")).thenReturn(Optional.of(link));
     LinkResponseDto result = linkServiceImpl.incrementClicks(linkResponseDto);
     assertNotEquals(1, result.clicks());
+    verify(transactionManager, times(1)).commit(any());
+
+  }
+
+  @Test
+  @DisplayName("Increment of Clicks - Unknown code rolls the direct writes back")
+  void incrementOfClicksUnknownCodeRollsBack() {
+    LinkResponseDto linkResponseDto = new LinkResponseDto(
+        UUID.randomUUID(),
+        "abc123",
+        "https://www.example.com",
+        Instant.now(),
+        Instant.now().plusSeconds(86400),
+        0,
+        "ACTIVE",
+        UUID.randomUUID()
+    );
+
+    when(linkRepository.incrementClicksByCodeNative("abc123")).thenReturn(0);
 
+    assertThrows(NoSuchShortLinkFoundInTheSystemException.class,
+        () -> linkServiceImpl.incrementClicks(linkResponseDto));
+    verify(transactionManager, times(1)).rollback(any());
+    verify(clickEventRepository, never()).insertByCodeNative(any(), any());
+  }
+
+  @Test
+  @DisplayName("Increment of Clicks - Journaled click counts its referrer")
+  void incrementOfClicksRecordsReferrer() {
+    LinkResponseDto linkResponseDto = new LinkResponseDto(
+        UUID.randomUUID(),
+        "abc123",
+        "https://www.example.com",
+        Instant.now(),
+        Instant.now().plusSeconds(86400),
+        4,
+        "ACTIVE",
+        UUID.randomUUID()
+    );
+
+    when(clickJournal.append(any(), any(), any())).thenReturn(true);
+    LinkResponseDto result = linkServiceImpl.incrementClicks(
+        linkResponseDto, new ClickContext("US", "ycombinator.com"));
+
+    assertEquals(5, result.clicks());
+    verify(referrerStatsService, times(1)).recordReferral("abc123", "ycombinator.com");
   }
 
   @Test
@@ -113,19 +313,15 @@ class LinkServiceImplTest {
   @Test
   @DisplayName("Get Link By Code - Success")
   void getLinkByCodeSuccess() {
-    User owner = new User();
-    Link link = new Link();
-    link.setOwner(owner);
-    link.setCode("abc123");
-    link.setOriginalUrl("https://example.com");
-    link.setClicks(5);
-    link.setStatus(LinkStatus.ACTIVE);
-    link.setExpiresAt(Instant.now().plus(2, ChronoUnit.DAYS));
-    when(linkRepository.findByCode("abc123")).thenReturn(Optional.of(link));
+    UUID ownerId = UUID.randomUUID();
+    LinkResponseDto link = new LinkResponseDto(UUID.randomUUID(), "abc123",
+        "https://example.com", Instant.now(), Instant.now().plus(2, ChronoUnit.DAYS), 5,
+        LinkStatus.ACTIVE, ownerId);
+    when(linkRepository.findResponseByCode("abc123")).thenReturn(Optional.of(link));
     LinkResponseDto result = linkServiceImpl.getLinkByCode("abc123");
     assertEquals("abc123", result.code());
     assertEquals("https://example.com", result.originalUrl());
-    assertEquals(owner.getId(), result.ownerId());
+    assertEquals(ownerId, result.ownerId());
     assertEquals(5, result.clicks());
     assertEquals(LinkStatus.ACTIVE.name(), result.status());
   }
@@ -134,11 +330,7 @@ class LinkServiceImplTest {
   @DisplayName("Deactivate Link - Success")
   void deactivateLinkSuccess() {
 
-    User owner = new User();
-    Link link = new Link();
-    link.setOwner(owner);
-    link.setCode("abc123");
-    link.setStatus(LinkStatus.ACTIVE);
+    UUID ownerId = UUID.randomUUID();
     LinkResponseDto linkResponseDto = new LinkResponseDto(
         UUID.randomUUID(),
         "abc123",
@@ -147,13 +339,30 @@ class LinkServiceImplTest {
         Instant.now().plusSeconds(86400),
         0,
         "ACTIVE",
-        UUID.randomUUID()
+        ownerId
     );
 
-    when(linkRepository.findByCode("abc123")).thenReturn(Optional.of(link));
-    when(linkRepository.save(any(Link.class))).thenAnswer(i -> i.getArguments()[0]);
+    when(linkRepository.deactivateByCode("abc123")).thenReturn(1);
+    when(linkRepository.findResponseByCode("abc123")).thenReturn(Optional.of(
+        new LinkResponseDto(linkResponseDto.id(), "abc123", linkResponseDto.originalUrl(),
+            linkResponseDto.createdAt(), linkResponseDto.expiresAt(), 0, "INACTIVE", ownerId)));
     LinkResponseDto result = linkServiceImpl.deactivateLink(linkResponseDto);
     assertEquals("INACTIVE", result.status());
+    verify(userLinkStatsRepository).addTotals(ownerId, 0, -1, 1, 0);
+  }
+
+  @Test
+  @DisplayName("Deactivate Link - an already inactive link leaves the totals alone")
+  void deactivateInactiveLinkKeepsTotals() {
+    UUID ownerId = UUID.randomUUID();
+    LinkResponseDto inactive = new LinkResponseDto(UUID.randomUUID(), "abc123",
+        "https://www.example.com", Instant.now(), null, 0, "INACTIVE", ownerId);
+    when(linkRepository.deactivateByCode("abc123")).thenReturn(0);
+    when(linkRepository.findResponseByCode("abc123")).thenReturn(Optional.of(inactive));
+
+    assertEquals(inactive, linkServiceImpl.deactivateLink(inactive));
+    verify(userLinkStatsRepository, never()).addTotals(any(), anyLong(), anyLong(), anyLong(),
+        anyLong());
   }
 
   @Test
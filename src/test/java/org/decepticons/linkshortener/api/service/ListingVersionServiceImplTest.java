@@ -0,0 +1,180 @@
+package org.decepticons.linkshortener.api.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import org.decepticons.linkshortener.api.model.User;
+import org.decepticons.linkshortener.api.model.UserLinkStats;
+import org.decepticons.linkshortener.api.repository.UserLinkStatsRepository;
+import org.decepticons.linkshortener.api.security.model.CustomUserDetails;
+import org.decepticons.linkshortener.api.service.impl.ListingVersionServiceImpl;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ListingVersionService Unit Tests")
+class ListingVersionServiceImplTest {
+
+  @Mock
+  private UserLinkStatsRepository userLinkStatsRepository;
+
+  private ListingVersionServiceImpl listingVersionService;
+
+  private UUID ownerId;
+
+  @BeforeEach
+  void setUp() {
+    listingVersionService = new ListingVersionServiceImpl(userLinkStatsRepository, 600000);
+    User user = new User();
+    ownerId = UUID.randomUUID();
+    ReflectionTestUtils.setField(user, "id", ownerId);
+    SecurityContextHolder.getContext().setAuthentication(
+        new UsernamePasswordAuthenticationToken(new CustomUserDetails(user), null, null));
+  }
+
+  @AfterEach
+  void tearDown() {
+    SecurityContextHolder.clearContext();
+  }
+
+  private UserLinkStats stats(long listingVersion) {
+    UserLinkStats stats = new UserLinkStats(ownerId);
+    ReflectionTestUtils.setField(stats, "listingVersion", listingVersion);
+    return stats;
+  }
+
+  @Test
+  @DisplayName("should change the tag after a change and save the change on the next refresh")
+  void shouldRestampAfterChange() {
+    when(userLinkStatsRepository.findById(ownerId)).thenReturn(Optional.empty());
+
+    String first = listingVersionService.currentTag("all", 0, 10);
+    assertEquals(first, listingVersionService.currentTag("all", 0, 10));
+    assertNotEquals(first, listingVersionService.currentTag("all", 1, 10));
+
+    listingVersionService.ownerChanged(ownerId);
+    listingVersionService.ownerChanged(ownerId);
+
+    assertNotEquals(first, listingVersionService.currentTag("all", 0, 10));
+    verify(userLinkStatsRepository, never()).incrementListingVersions(any());
+
+    listingVersionService.refresh();
+    listingVersionService.refresh();
+    verify(userLinkStatsRepository).incrementListingVersions(List.of(ownerId));
+  }
+
+  @Test
+  @DisplayName("should fold clicks into one saved change per refresh, after commit only")
+  void shouldSaveClicksInBatches() {
+    when(userLinkStatsRepository.findById(ownerId)).thenReturn(Optional.of(stats(3L)));
+    when(userLinkStatsRepository.findAllById(any())).thenReturn(List.of(stats(4L)));
+    String first = listingVersionService.currentTag("all", 0, 10);
+
+    TransactionSynchronizationManager.initSynchronization();
+    try {
+      listingVersionService.linksClicked(ownerId);
+      TransactionSynchronizationUtils.invokeAfterCompletion(
+          TransactionSynchronizationManager.getSynchronizations(),
+          TransactionSynchronization.STATUS_ROLLED_BACK);
+    } finally {
+      TransactionSynchronizationManager.clearSynchronization();
+    }
+    for (int i = 0; i < 100; i++) {
+      listingVersionService.linksClicked(ownerId);
+    }
+    assertEquals(first, listingVersionService.currentTag("all", 0, 10));
+
+    assertEquals(1, listingVersionService.refresh());
+
+    verify(userLinkStatsRepository).incrementListingVersions(List.of(ownerId));
+    assertNotEquals(first, listingVersionService.currentTag("all", 0, 10));
+  }
+
+  @Test
+  @DisplayName("should keep changes unsaved while the database fails")
+  void shouldRetryFailedSave() {
+    UUID otherOwner = UUID.randomUUID();
+    when(userLinkStatsRepository.incrementListingVersions(List.of(otherOwner)))
+        .thenThrow(new DataAccessResourceFailureException("down"))
+        .thenReturn(1);
+
+    listingVersionService.ownerChanged(otherOwner);
+    listingVersionService.refresh();
+    listingVersionService.refresh();
+    listingVersionService.refresh();
+
+    verify(userLinkStatsRepository, times(2)).incrementListingVersions(List.of(otherOwner));
+  }
+
+  @Test
+  @DisplayName("should change the tag after a change made through another node")
+  void shouldRestampAfterRemoteChange() {
+    when(userLinkStatsRepository.findById(ownerId)).thenReturn(Optional.of(stats(41L)));
+    when(userLinkStatsRepository.findAllById(any())).thenReturn(List.of(stats(42L)));
+
+    String first = listingVersionService.currentTag("slice", null, 10);
+    assertEquals(1, listingVersionService.refresh());
+    String second = listingVersionService.currentTag("slice", null, 10);
+    assertEquals(0, listingVersionService.refresh());
+
+    assertNotEquals(first, second);
+    assertEquals(second, listingVersionService.currentTag("slice", null, 10));
+  }
+
+  @Test
+  @DisplayName("should save changes of owners that were never tagged without polling them")
+  void shouldNotPollUntaggedOwners() {
+    UUID otherOwner = UUID.randomUUID();
+
+    listingVersionService.ownerChanged(otherOwner);
+
+    assertEquals(0, listingVersionService.refresh());
+    verify(userLinkStatsRepository).incrementListingVersions(List.of(otherOwner));
+    verify(userLinkStatsRepository, never()).findById(any());
+    verify(userLinkStatsRepository, never()).findAllById(any());
+  }
+
+  @Test
+  @DisplayName("should drop idle owners and give them a new tag when they are loaded again")
+  void shouldDropIdleOwners() {
+    listingVersionService = new ListingVersionServiceImpl(userLinkStatsRepository, -1);
+    when(userLinkStatsRepository.findById(ownerId)).thenReturn(Optional.of(stats(7L)));
+
+    String first = listingVersionService.currentTag("all", 0, 10);
+    listingVersionService.refresh();
+
+    assertNotEquals(first, listingVersionService.currentTag("all", 0, 10));
+    verify(userLinkStatsRepository, times(2)).findById(ownerId);
+    verify(userLinkStatsRepository, never()).findAllById(any());
+  }
+
+  @Test
+  @DisplayName("should not tag listings when the principal carries no user")
+  void shouldSkipTagWithoutUserPrincipal() {
+    SecurityContextHolder.getContext().setAuthentication(
+        new UsernamePasswordAuthenticationToken("someName", null, null));
+
+    assertNull(listingVersionService.currentTag("all", 0, 10));
+  }
+}
@@ -0,0 +1,62 @@
+package org.decepticons.linkshortener.api.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.UUID;
+import org.decepticons.linkshortener.api.repository.UserLinkStatsRepository;
+import org.decepticons.linkshortener.api.service.impl.UserLinkStatsServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.data.domain.Limit;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("UserLinkStatsService Unit Tests")
+class UserLinkStatsServiceImplTest {
+
+  @Mock
+  private UserLinkStatsRepository userLinkStatsRepository;
+
+  private UserLinkStatsServiceImpl userLinkStatsService;
+
+  @BeforeEach
+  void setUp() {
+    userLinkStatsService = new UserLinkStatsServiceImpl(userLinkStatsRepository, 2);
+  }
+
+  @Test
+  @DisplayName("should create missing totals and repair drifted ones range by range")
+  void shouldCreateAndRepairTotals() {
+    UUID first = new UUID(0L, 1L);
+    UUID second = new UUID(0L, 2L);
+    UUID third = new UUID(0L, 3L);
+    when(userLinkStatsRepository.insertMissing()).thenReturn(1);
+    when(userLinkStatsRepository.findOwnerIdsAfter(new UUID(0L, 0L), Limit.of(2)))
+        .thenReturn(List.of(first, second));
+    when(userLinkStatsRepository.findOwnerIdsAfter(second, Limit.of(2)))
+        .thenReturn(List.of(third));
+    when(userLinkStatsRepository.recount(new UUID(0L, 0L), second)).thenReturn(2);
+    when(userLinkStatsRepository.recount(second, third)).thenReturn(1);
+
+    assertEquals(4, userLinkStatsService.reconcile());
+  }
+
+  @Test
+  @DisplayName("should postpone the repair while the database fails")
+  void shouldPostponeOnDatabaseFailure() {
+    when(userLinkStatsRepository.insertMissing())
+        .thenThrow(new DataAccessResourceFailureException("down"));
+
+    assertEquals(0, userLinkStatsService.reconcile());
+    verify(userLinkStatsRepository, never()).recount(any(), any());
+  }
+}
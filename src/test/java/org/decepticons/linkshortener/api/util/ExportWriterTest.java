@@ -0,0 +1,70 @@
+package org.decepticons.linkshortener.api.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.List;
+import org.decepticons.linkshortener.api.dto.ExportFormat;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class ExportWriterTest {
+
+  private static final List<String> COLUMNS = List.of("id", "code", "clickedAt");
+
+  @Test
+  @DisplayName("NDJSON - one object per line with typed values")
+  void writesNdjsonLines() throws IOException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    Instant clickedAt = Instant.parse("2025-01-01T10:00:00Z");
+
+    try (ExportWriter writer = ExportWriter.open(ExportFormat.NDJSON, out, COLUMNS)) {
+      writer.writeRow(1L, "abc123", clickedAt);
+      writer.writeRow(2L, "say \"hi\"", null);
+    }
+
+    assertEquals(
+        "{\"id\":1,\"code\":\"abc123\",\"clickedAt\":\"2025-01-01T10:00:00Z\"}\n"
+            + "{\"id\":2,\"code\":\"say \\\"hi\\\"\",\"clickedAt\":null}\n",
+        out.toString(StandardCharsets.UTF_8));
+  }
+
+  @Test
+  @DisplayName("CSV - header line and escaped values")
+  void writesCsvWithHeader() throws IOException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+    try (ExportWriter writer = ExportWriter.open(ExportFormat.CSV, out, COLUMNS)) {
+      writer.writeRow(1L, "a,b", "x\"y");
+      writer.writeRow(2L, "plain", null);
+    }
+
+    assertEquals("id,code,clickedAt\n1,\"a,b\",\"x\"\"y\"\n2,plain,\n",
+        out.toString(StandardCharsets.UTF_8));
+  }
+
+  @Test
+  @DisplayName("Accept-Encoding - gzip detection")
+  void detectsGzipSupport() {
+    assertTrue(ExportWriter.acceptsGzip("gzip, deflate, br"));
+    assertFalse(ExportWriter.acceptsGzip("identity"));
+    assertFalse(ExportWriter.acceptsGzip(null));
+  }
+
+  @Test
+  @DisplayName("Accept-Encoding - q-values weigh gzip and the wildcard")
+  void weighsGzipByQuality() {
+    assertTrue(ExportWriter.acceptsGzip("br;q=1.0, GZIP;q=0.5"));
+    assertFalse(ExportWriter.acceptsGzip("gzip;q=0, deflate"));
+    assertFalse(ExportWriter.acceptsGzip("gzip ; q=0.000"));
+    assertTrue(ExportWriter.acceptsGzip("*"));
+    assertFalse(ExportWriter.acceptsGzip("*, gzip;q=0"));
+    assertFalse(ExportWriter.acceptsGzip("*;q=0"));
+    assertFalse(ExportWriter.acceptsGzip("gzip;q=abc"));
+  }
+}
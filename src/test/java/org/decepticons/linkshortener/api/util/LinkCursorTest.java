@@ -0,0 +1,32 @@
+package org.decepticons.linkshortener.api.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.Instant;
+import java.util.UUID;
+import org.decepticons.linkshortener.api.exception.InvalidCursorException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class LinkCursorTest {
+
+  @Test
+  @DisplayName("Cursor - a token decodes to the same position")
+  void roundTrips() {
+    LinkCursor cursor = new LinkCursor(Instant.parse("2025-03-04T05:06:07.123456Z"),
+        UUID.fromString("0f8fad5b-d9cb-469f-a165-70867728950e"));
+
+    String token = cursor.encode();
+
+    assertEquals(cursor, LinkCursor.decode(token));
+    assertEquals(-1, token.indexOf('='));
+  }
+
+  @Test
+  @DisplayName("Cursor - tampered tokens are rejected")
+  void rejectsForeignTokens() {
+    assertThrows(InvalidCursorException.class, () -> LinkCursor.decode("not a token"));
+    assertThrows(InvalidCursorException.class, () -> LinkCursor.decode("AAAA"));
+  }
+}
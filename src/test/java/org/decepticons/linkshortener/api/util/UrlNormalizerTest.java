@@ -0,0 +1,40 @@
+package org.decepticons.linkshortener.api.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class UrlNormalizerTest {
+
+  @Test
+  @DisplayName("Normalize - scheme and host case, default ports and trailing slashes")
+  void normalizesEquivalentSpellings() {
+    String expected = "https://example.com/docs";
+
+    assertEquals(expected, UrlNormalizer.normalize("https://example.com/docs"));
+    assertEquals(expected, UrlNormalizer.normalize("HTTPS://Example.COM/docs/"));
+    assertEquals(expected, UrlNormalizer.normalize("https://example.com:443/docs"));
+    assertEquals(expected, UrlNormalizer.normalize("  https://example.com/docs  "));
+    assertEquals("http://example.com/", UrlNormalizer.normalize("http://example.com:80"));
+    assertEquals("http://example.com:8080/", UrlNormalizer.normalize("http://EXAMPLE.com:8080/"));
+  }
+
+  @Test
+  @DisplayName("Normalize - path case, query and fragment are kept")
+  void keepsSignificantParts() {
+    assertEquals("https://example.com/Docs?q=A#Top",
+        UrlNormalizer.normalize("https://Example.com/Docs/?q=A#Top"));
+    assertEquals("not a url", UrlNormalizer.normalize(" not a url "));
+  }
+
+  @Test
+  @DisplayName("Hash - equal for equal normalized URLs only")
+  void hashesNormalizedUrls() {
+    assertEquals(UrlNormalizer.hash(UrlNormalizer.normalize("https://example.com")),
+        UrlNormalizer.hash(UrlNormalizer.normalize("https://EXAMPLE.com:443/")));
+    assertNotEquals(UrlNormalizer.hash("https://example.com/a"),
+        UrlNormalizer.hash("https://example.com/b"));
+  }
+}
@@ -1,15 +1,23 @@
 package org.decepticons.linkshortener.api.v1.controller.unversioned;
 
 import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import java.io.IOException;
 import java.time.Instant;
+import org.decepticons.linkshortener.api.click.BotClassifier;
+import org.decepticons.linkshortener.api.click.ClickContext;
+import org.decepticons.linkshortener.api.click.ClickDeduplicator;
+import org.decepticons.linkshortener.api.click.CountryResolver;
+import org.decepticons.linkshortener.api.click.ReferrerParser;
 import org.decepticons.linkshortener.api.dto.LinkResponseDto;
 import org.decepticons.linkshortener.api.exception.ShortLinkIsOutOfDateException;
 import org.decepticons.linkshortener.api.model.User;
@@ -27,6 +35,16 @@ class RedirectControllerTest {
   @Mock
   private LinkServiceImpl linkServiceImpl;
   @Mock
+  private BotClassifier botClassifier;
+  @Mock
+  private CountryResolver countryResolver;
+  @Mock
+  private ReferrerParser referrerParser;
+  @Mock
+  private ClickDeduplicator clickDeduplicator;
+  @Mock
+  private HttpServletRequest httpServletRequest;
+  @Mock
   private HttpServletResponse httpServletResponse;
 
   @Test
@@ -46,12 +64,62 @@ class RedirectControllerTest {
     );
 
     when(linkServiceImpl.getLinkByCode(code)).thenReturn(responseDto);
-    when(linkServiceImpl.incrementClicks(responseDto)).thenReturn(responseDto);
+    when(linkServiceImpl.incrementClicks(eq(responseDto), any(ClickContext.class)))
+        .thenReturn(responseDto);
     when(linkServiceImpl.validateLink(responseDto)).thenReturn(true);
+    when(clickDeduplicator.isFirstClick(code, null, null)).thenReturn(true);
     doNothing().when(httpServletResponse).sendRedirect(responseDto.originalUrl());
-    redirectController.redirect(code, httpServletResponse);
+    redirectController.redirect(code, httpServletRequest, httpServletResponse);
+    verify(httpServletResponse, times(1)).sendRedirect("https://www.example.com");
+    verify(linkServiceImpl, times(1)).incrementClicks(eq(responseDto), any(ClickContext.class));
+  }
+
+  @Test
+  void verifyRepeatedClickIsRedirectedWithoutCounting() throws IOException {
+    String code = "abc123";
+
+    LinkResponseDto responseDto = new LinkResponseDto(
+        java.util.UUID.randomUUID(),
+        code,
+        "https://www.example.com",
+        Instant.now(),
+        Instant.now().plusSeconds(3600),
+        3,
+        "ACTIVE",
+        null
+    );
+
+    when(linkServiceImpl.getLinkByCode(code)).thenReturn(responseDto);
+    when(linkServiceImpl.validateLink(responseDto)).thenReturn(true);
+    when(httpServletRequest.getRemoteAddr()).thenReturn("203.0.113.7");
+    when(clickDeduplicator.isFirstClick(code, "203.0.113.7", null)).thenReturn(false);
+    redirectController.redirect(code, httpServletRequest, httpServletResponse);
+    verify(httpServletResponse, times(1)).sendRedirect("https://www.example.com");
+    verify(linkServiceImpl, never()).incrementClicks(eq(responseDto), any(ClickContext.class));
+  }
+
+  @Test
+  void verifyBotIsRedirectedWithoutCountingClick() throws IOException {
+    String code = "abc123";
+
+    LinkResponseDto responseDto = new LinkResponseDto(
+        java.util.UUID.randomUUID(),
+        code,
+        "https://www.example.com",
+        Instant.now(),
+        Instant.now().plusSeconds(3600),
+        0,
+        "ACTIVE",
+        null
+    );
+
+    when(linkServiceImpl.getLinkByCode(code)).thenReturn(responseDto);
+    when(linkServiceImpl.validateLink(responseDto)).thenReturn(true);
+    when(httpServletRequest.getHeader("User-Agent")).thenReturn("Slackbot-LinkExpanding 1.0");
+    when(botClassifier.isBot("Slackbot-LinkExpanding 1.0")).thenReturn(true);
+    redirectController.redirect(code, httpServletRequest, httpServletResponse);
     verify(httpServletResponse, times(1)).sendRedirect("https://www.example.com");
-    verify(linkServiceImpl, times(1)).incrementClicks(responseDto);
+    verify(linkServiceImpl, never()).incrementClicks(eq(responseDto), any(ClickContext.class));
   }
 
   @Test
@@ -75,7 +143,7 @@ class RedirectControllerTest {
     Exception ex = null;
 
     try {
-      redirectController.redirect(code, httpServletResponse);
+      redirectController.redirect(code, httpServletRequest, httpServletResponse);
     } catch (Exception e) {
       ex = e;
     }